@@ -13,28 +13,54 @@
  */
 package com.facebook.presto.cache;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
 import org.weakref.jmx.Managed;
 
 import javax.annotation.concurrent.ThreadSafe;
 
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
 
 @ThreadSafe
 public class CacheStats
 {
+    private static final int MAX_TRACKED_CACHE_SCOPES = 10_000;
+
     private final AtomicLong inMemoryRetainedBytes = new AtomicLong();
     private final AtomicLong hit = new AtomicLong();
     private final AtomicLong miss = new AtomicLong();
     private final AtomicLong quotaExceed = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong admissionRejected = new AtomicLong();
+
+    // per cache scope (e.g., table) breakdown; bounded so that partition-level scopes cannot grow it without limit
+    private final Cache<String, CacheScopeStats> cacheScopeStats = CacheBuilder.newBuilder()
+            .maximumSize(MAX_TRACKED_CACHE_SCOPES)
+            .build();
 
-    public void incrementCacheHit()
+    public void incrementCacheHit(String cacheScope, long bytes)
     {
         hit.getAndIncrement();
+        bytesSaved.addAndGet(bytes);
+        CacheScopeStats scopeStats = getCacheScopeStats(cacheScope);
+        scopeStats.hit.getAndIncrement();
+        scopeStats.bytesSaved.addAndGet(bytes);
     }
 
-    public void incrementCacheMiss()
+    public void incrementCacheMiss(String cacheScope)
     {
         miss.getAndIncrement();
+        getCacheScopeStats(cacheScope).miss.getAndIncrement();
+    }
+
+    public void incrementAdmissionRejected()
+    {
+        admissionRejected.getAndIncrement();
     }
 
     public void incrementQuotaExceed()
@@ -70,4 +96,73 @@ public class CacheStats
     {
         return quotaExceed.get();
     }
+
+    @Managed
+    public long getCacheBytesSaved()
+    {
+        return bytesSaved.get();
+    }
+
+    @Managed
+    public long getAdmissionRejected()
+    {
+        return admissionRejected.get();
+    }
+
+    @Managed
+    public Map<String, Long> getCacheHitByScope()
+    {
+        return getCacheScopeStats(CacheScopeStats::getCacheHit);
+    }
+
+    @Managed
+    public Map<String, Long> getCacheMissByScope()
+    {
+        return getCacheScopeStats(CacheScopeStats::getCacheMiss);
+    }
+
+    @Managed
+    public Map<String, Long> getCacheBytesSavedByScope()
+    {
+        return getCacheScopeStats(CacheScopeStats::getCacheBytesSaved);
+    }
+
+    public Map<String, CacheScopeStats> getCacheScopeStats()
+    {
+        return ImmutableMap.copyOf(cacheScopeStats.asMap());
+    }
+
+    private Map<String, Long> getCacheScopeStats(ToLongFunction<CacheScopeStats> statistic)
+    {
+        return cacheScopeStats.asMap().entrySet().stream()
+                .collect(toImmutableMap(Map.Entry::getKey, entry -> statistic.applyAsLong(entry.getValue())));
+    }
+
+    private CacheScopeStats getCacheScopeStats(String cacheScope)
+    {
+        return cacheScopeStats.asMap().computeIfAbsent(cacheScope, key -> new CacheScopeStats());
+    }
+
+    @ThreadSafe
+    public static class CacheScopeStats
+    {
+        private final AtomicLong hit = new AtomicLong();
+        private final AtomicLong miss = new AtomicLong();
+        private final AtomicLong bytesSaved = new AtomicLong();
+
+        public long getCacheHit()
+        {
+            return hit.get();
+        }
+
+        public long getCacheMiss()
+        {
+            return miss.get();
+        }
+
+        public long getCacheBytesSaved()
+        {
+            return bytesSaved.get();
+        }
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.cache;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.math.IntMath.ceilingPowerOfTwo;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+
+/**
+ * A count-min sketch of 4-bit counters that estimates how often a key has been seen recently.
+ * Once the number of recorded accesses reaches ten times the expected number of entries, all counters are halved
+ * so that the estimates favor recent popularity over historical popularity.
+ */
+@NotThreadSafe
+public class FrequencySketch
+{
+    private static final int MAX_FREQUENCY = 15;
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    // every long packs sixteen 4-bit counters
+    private final long[] table;
+    private final int counterMask;
+    private final int sampleSize;
+    private int additions;
+
+    public FrequencySketch(long expectedEntries)
+    {
+        checkArgument(expectedEntries > 0, "expectedEntries must be positive");
+        int tableSize = ceilingPowerOfTwo(toIntExact(min(max(expectedEntries, 8), 1 << 24)));
+        this.table = new long[tableSize];
+        this.counterMask = tableSize * 16 - 1;
+        this.sampleSize = toIntExact(min(10 * expectedEntries, Integer.MAX_VALUE));
+    }
+
+    public int frequency(Object key)
+    {
+        int hash = key.hashCode();
+        int frequency = MAX_FREQUENCY;
+        for (long seed : SEEDS) {
+            frequency = min(frequency, getCounter(counterIndex(hash, seed)));
+        }
+        return frequency;
+    }
+
+    public void increment(Object key)
+    {
+        int hash = key.hashCode();
+        boolean incremented = false;
+        for (long seed : SEEDS) {
+            int index = counterIndex(hash, seed);
+            if (getCounter(index) < MAX_FREQUENCY) {
+                table[index >>> 4] += 1L << shift(index);
+                incremented = true;
+            }
+        }
+
+        if (incremented && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset()
+    {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int getCounter(int index)
+    {
+        return (int) ((table[index >>> 4] >>> shift(index)) & 0xF);
+    }
+
+    private int counterIndex(int hash, long seed)
+    {
+        long mixed = (hash + seed) * seed;
+        mixed += mixed >>> 32;
+        return (int) mixed & counterMask;
+    }
+
+    private static int shift(int index)
+    {
+        return (index & 15) << 2;
+    }
+}
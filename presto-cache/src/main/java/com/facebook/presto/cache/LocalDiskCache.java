@@ -0,0 +1,429 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.cache;
+
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+import io.airlift.slice.XxHash64;
+import org.weakref.jmx.Managed;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Math.toIntExact;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A size bounded, least recently used cache of immutable byte values stored as files
+ * in a local directory. It is meant for small, expensive to fetch values such as file
+ * footers, so they survive restarts and are not limited by the heap. Keys must identify
+ * the content, e.g. contain the path and modification time of the source file.
+ * <p>
+ * Every value is stored with an XxHash64 checksum. An entry is memory mapped on its first
+ * hit, when the checksum is verified, and all later hits share that mapping. A file that
+ * does not match its checksum is removed and reported as a miss. The file of an evicted
+ * entry is deleted right away, but the operating system only releases its disk space
+ * once the slices returned for it are garbage collected.
+ * <p>
+ * The keys in recency order are saved to an index file on {@link #close()} and
+ * periodically while values are added, and the cache is warmed from that index when it
+ * is created again on the same directory. A directory must not be shared by two caches.
+ */
+public final class LocalDiskCache
+        implements Closeable
+{
+    private static final String INDEX_FILE_NAME = "index";
+    private static final String ENTRY_FILE_SUFFIX = ".entry";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final int INDEX_VERSION = 2;
+    private static final int CHECKSUM_SIZE = Long.BYTES;
+    private static final int INDEX_WRITE_INTERVAL = 1000;
+
+    private final Path directory;
+    private final long maxSizeInBytes;
+
+    // access ordered, the eldest entry is evicted first
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+    private int putsSinceIndexWrite;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public LocalDiskCache(Path directory, long maxSizeInBytes)
+    {
+        this.directory = requireNonNull(directory, "directory is null");
+        if (maxSizeInBytes <= 0) {
+            throw new IllegalArgumentException("maxSizeInBytes must be positive: " + maxSizeInBytes);
+        }
+        this.maxSizeInBytes = maxSizeInBytes;
+        try {
+            Files.createDirectories(directory);
+            loadIndex();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed to initialize local disk cache in " + directory, e);
+        }
+    }
+
+    public Optional<Slice> get(String key)
+    {
+        requireNonNull(key, "key is null");
+        CacheEntry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return Optional.empty();
+        }
+
+        Slice value = entry.getMappedValue();
+        if (value != null) {
+            hitCount.incrementAndGet();
+            return Optional.of(value);
+        }
+
+        Path file = directory.resolve(entry.getFileName());
+        try {
+            Optional<Slice> mappedValue = mapValue(file, entry.getSize());
+            if (mappedValue.isPresent()) {
+                entry.setMappedValue(mappedValue.get());
+                hitCount.incrementAndGet();
+                return mappedValue;
+            }
+            // a truncated or corrupted file can not be served again, unless the value was replaced meanwhile
+            if (removeEntry(key, entry)) {
+                deleteQuietly(file);
+            }
+        }
+        catch (IOException ignored) {
+            // the file was evicted concurrently or removed externally, treat it as a miss
+            removeEntry(key, entry);
+        }
+        missCount.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Removes the entry, e.g. because its value could not be parsed by the caller.
+     */
+    public void invalidate(String key)
+    {
+        requireNonNull(key, "key is null");
+        CacheEntry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry != null && removeEntry(key, entry)) {
+            deleteQuietly(directory.resolve(entry.getFileName()));
+        }
+    }
+
+    /**
+     * Adds the value to the cache. Failures to write to the local disk are ignored,
+     * since the value can always be fetched from the source again.
+     */
+    public void put(String key, Slice value)
+    {
+        requireNonNull(key, "key is null");
+        requireNonNull(value, "value is null");
+        if (value.length() > maxSizeInBytes) {
+            return;
+        }
+
+        String fileName = toFileName(key);
+        Path temporaryFile = directory.resolve(fileName + "." + UUID.randomUUID() + TEMPORARY_FILE_SUFFIX);
+        try {
+            try (OutputStream output = Files.newOutputStream(temporaryFile)) {
+                value.getBytes(0, output, value.length());
+                Slice checksum = Slices.allocate(CHECKSUM_SIZE);
+                checksum.setLong(0, XxHash64.hash(value));
+                checksum.getBytes(0, output, CHECKSUM_SIZE);
+            }
+            Files.move(temporaryFile, directory.resolve(fileName), ATOMIC_MOVE, REPLACE_EXISTING);
+        }
+        catch (IOException e) {
+            deleteQuietly(temporaryFile);
+            return;
+        }
+
+        List<String> evictedFiles = new ArrayList<>();
+        boolean writeIndex;
+        synchronized (this) {
+            CacheEntry previous = entries.put(key, new CacheEntry(fileName, value.length()));
+            if (previous != null) {
+                sizeInBytes -= previous.getSize();
+            }
+            sizeInBytes += value.length();
+            evictedFiles.addAll(evictToMaxSize());
+            putsSinceIndexWrite++;
+            writeIndex = putsSinceIndexWrite >= INDEX_WRITE_INTERVAL;
+            if (writeIndex) {
+                putsSinceIndexWrite = 0;
+            }
+        }
+        evictedFiles.forEach(evictedFile -> deleteQuietly(directory.resolve(evictedFile)));
+        if (writeIndex) {
+            writeIndexQuietly();
+        }
+    }
+
+    @Managed
+    public synchronized long getSizeInBytes()
+    {
+        return sizeInBytes;
+    }
+
+    @Managed
+    public synchronized int getEntryCount()
+    {
+        return entries.size();
+    }
+
+    @Managed
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+    @Managed
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+
+    @Managed
+    public long getEvictionCount()
+    {
+        return evictionCount.get();
+    }
+
+    @Override
+    public void close()
+    {
+        writeIndexQuietly();
+    }
+
+    private synchronized boolean removeEntry(String key, CacheEntry entry)
+    {
+        if (entries.get(key) != entry) {
+            return false;
+        }
+        entries.remove(key);
+        sizeInBytes -= entry.getSize();
+        return true;
+    }
+
+    // must be called while holding the lock
+    private List<String> evictToMaxSize()
+    {
+        List<String> evictedFiles = new ArrayList<>();
+        Iterator<CacheEntry> iterator = entries.values().iterator();
+        while (sizeInBytes > maxSizeInBytes && iterator.hasNext()) {
+            CacheEntry eldest = iterator.next();
+            iterator.remove();
+            sizeInBytes -= eldest.getSize();
+            evictedFiles.add(eldest.getFileName());
+            evictionCount.incrementAndGet();
+        }
+        return evictedFiles;
+    }
+
+    private void loadIndex()
+            throws IOException
+    {
+        Path indexFile = directory.resolve(INDEX_FILE_NAME);
+        if (Files.exists(indexFile)) {
+            try (DataInputStream input = new DataInputStream(Files.newInputStream(indexFile))) {
+                if (input.readInt() == INDEX_VERSION) {
+                    int count = input.readInt();
+                    // the index is written from the eldest to the most recently used entry
+                    for (int i = 0; i < count; i++) {
+                        String key = readString(input);
+                        long size = input.readLong();
+                        String fileName = toFileName(key);
+                        Path file = directory.resolve(fileName);
+                        if (Files.isRegularFile(file) && Files.size(file) == size + CHECKSUM_SIZE) {
+                            entries.put(key, new CacheEntry(fileName, size));
+                            sizeInBytes += size;
+                        }
+                    }
+                }
+            }
+            catch (IOException e) {
+                // a truncated or corrupted index only loses the entries that could not be read
+            }
+        }
+
+        // the configured size may have been reduced since the index was written
+        List<String> evictedFiles = evictToMaxSize();
+        evictedFiles.forEach(evictedFile -> deleteQuietly(directory.resolve(evictedFile)));
+
+        // remove files of entries added after the last index write and of interrupted writes
+        Set<String> indexedFiles = new HashSet<>();
+        entries.values().forEach(entry -> indexedFiles.add(entry.getFileName()));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if ((fileName.endsWith(ENTRY_FILE_SUFFIX) && !indexedFiles.contains(fileName)) || fileName.endsWith(TEMPORARY_FILE_SUFFIX)) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    private static Optional<Slice> mapValue(Path file, long size)
+            throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            if (channel.size() != size + CHECKSUM_SIZE) {
+                return Optional.empty();
+            }
+            // the mapping stays valid after the channel is closed
+            Slice content = Slices.wrappedBuffer(channel.map(READ_ONLY, 0, channel.size()));
+            Slice value = content.slice(0, toIntExact(size));
+            if (XxHash64.hash(value) != content.getLong(value.length())) {
+                return Optional.empty();
+            }
+            return Optional.of(value);
+        }
+    }
+
+    private void writeIndexQuietly()
+    {
+        List<Map.Entry<String, Long>> snapshot = new ArrayList<>();
+        synchronized (this) {
+            entries.forEach((key, entry) -> snapshot.add(new SimpleImmutableEntry<>(key, entry.getSize())));
+        }
+
+        Path temporaryFile = directory.resolve(INDEX_FILE_NAME + "." + UUID.randomUUID() + TEMPORARY_FILE_SUFFIX);
+        try {
+            try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(temporaryFile))) {
+                output.writeInt(INDEX_VERSION);
+                output.writeInt(snapshot.size());
+                for (Map.Entry<String, Long> entry : snapshot) {
+                    writeString(output, entry.getKey());
+                    output.writeLong(entry.getValue());
+                }
+            }
+            Files.move(temporaryFile, directory.resolve(INDEX_FILE_NAME), ATOMIC_MOVE, REPLACE_EXISTING);
+        }
+        catch (IOException e) {
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value)
+            throws IOException
+    {
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input)
+            throws IOException
+    {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static String toFileName(String key)
+    {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(UTF_8));
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+        StringBuilder fileName = new StringBuilder(digest.length * 2 + ENTRY_FILE_SUFFIX.length());
+        for (byte value : digest) {
+            fileName.append(Character.forDigit((value >> 4) & 0xF, 16));
+            fileName.append(Character.forDigit(value & 0xF, 16));
+        }
+        return fileName.append(ENTRY_FILE_SUFFIX).toString();
+    }
+
+    private static void deleteQuietly(Path file)
+    {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException ignored) {
+        }
+    }
+
+    private static final class CacheEntry
+    {
+        private final String fileName;
+        private final long size;
+        private volatile Slice mappedValue;
+
+        private CacheEntry(String fileName, long size)
+        {
+            this.fileName = fileName;
+            this.size = size;
+        }
+
+        public String getFileName()
+        {
+            return fileName;
+        }
+
+        public long getSize()
+        {
+            return size;
+        }
+
+        public Slice getMappedValue()
+        {
+            return mappedValue;
+        }
+
+        public void setMappedValue(Slice mappedValue)
+        {
+            this.mappedValue = mappedValue;
+        }
+    }
+}
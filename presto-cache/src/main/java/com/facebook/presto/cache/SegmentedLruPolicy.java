@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.cache;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Segmented LRU ordering of cache entries. New entries start in a probation segment and move to a protected segment
+ * when they are accessed again, so entries touched only once (e.g., by a full table scan) are evicted before the
+ * working set. The protected segment is capped at a fixed share of the resident entries; entries that overflow it
+ * are demoted back to the most recently used end of the probation segment.
+ */
+@ThreadSafe
+public class SegmentedLruPolicy<K>
+{
+    private static final double PROTECTED_RATIO = 0.8;
+
+    // access ordered, least recently used first
+    private final LinkedHashMap<K, Boolean> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Boolean> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+    public synchronized void add(K key)
+    {
+        if (!protectedSegment.containsKey(key)) {
+            probation.put(key, Boolean.TRUE);
+        }
+    }
+
+    public synchronized void recordAccess(K key)
+    {
+        if (probation.remove(key) == null) {
+            // refresh the position if the key is protected
+            protectedSegment.get(key);
+            return;
+        }
+
+        protectedSegment.put(key, Boolean.TRUE);
+        long maxProtectedSize = (long) (size() * PROTECTED_RATIO);
+        Iterator<K> iterator = protectedSegment.keySet().iterator();
+        while (protectedSegment.size() > maxProtectedSize && iterator.hasNext()) {
+            K demoted = iterator.next();
+            iterator.remove();
+            probation.put(demoted, Boolean.TRUE);
+        }
+    }
+
+    public synchronized boolean contains(K key)
+    {
+        return probation.containsKey(key) || protectedSegment.containsKey(key);
+    }
+
+    public synchronized void remove(K key)
+    {
+        if (probation.remove(key) == null) {
+            protectedSegment.remove(key);
+        }
+    }
+
+    public synchronized int size()
+    {
+        return probation.size() + protectedSegment.size();
+    }
+
+    /**
+     * Returns the entry that should be evicted next without removing it.
+     */
+    public Optional<K> victim()
+    {
+        return victim(key -> true);
+    }
+
+    /**
+     * Returns the least recently used entry matching {@code predicate}, preferring the probation segment, without removing it.
+     */
+    public synchronized Optional<K> victim(Predicate<K> predicate)
+    {
+        // iterating over the key set does not change the access order
+        for (K key : probation.keySet()) {
+            if (predicate.test(key)) {
+                return Optional.of(key);
+            }
+        }
+        for (K key : protectedSegment.keySet()) {
+            if (predicate.test(key)) {
+                return Optional.of(key);
+            }
+        }
+        return Optional.empty();
+    }
+}
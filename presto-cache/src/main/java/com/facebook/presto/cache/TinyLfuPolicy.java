@@ -0,0 +1,178 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.cache;
+
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.math.IntMath.ceilingPowerOfTwo;
+
+/**
+ * Bounded, scan resistant cache policy. Accesses to every key, cached or not, are recorded in a {@link FrequencySketch}.
+ * While the policy is full, a new key is only admitted when it has been accessed more often than the entry it would
+ * replace, and resident entries are ordered by a {@link SegmentedLruPolicy}.
+ * <p>
+ * Accesses are recorded in per-thread striped buffers and applied to the sketch and the segments in batches by
+ * whichever thread acquires the policy lock, so that recording a cache hit does not wait on that lock. Like the read
+ * buffers of Caffeine, the buffers are lossy: accesses are dropped while a buffer is full.
+ */
+@ThreadSafe
+public class TinyLfuPolicy<K>
+{
+    private static final int DRAIN_THRESHOLD = 64;
+    private static final int MAX_BUFFERED_ACCESSES = 4 * DRAIN_THRESHOLD;
+
+    private final int maximumSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    @GuardedBy("lock")
+    private final FrequencySketch sketch;
+    private final SegmentedLruPolicy<K> segments = new SegmentedLruPolicy<>();
+    private final List<AccessBuffer<K>> accessBuffers;
+
+    public TinyLfuPolicy(int maximumSize)
+    {
+        checkArgument(maximumSize > 0, "maximumSize must be positive");
+        this.maximumSize = maximumSize;
+        this.sketch = new FrequencySketch(maximumSize);
+
+        int stripes = ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors());
+        ImmutableList.Builder<AccessBuffer<K>> accessBuffers = ImmutableList.builder();
+        for (int i = 0; i < stripes; i++) {
+            accessBuffers.add(new AccessBuffer<>());
+        }
+        this.accessBuffers = accessBuffers.build();
+    }
+
+    public void recordAccess(K key)
+    {
+        AccessBuffer<K> buffer = accessBuffers.get((int) Thread.currentThread().getId() & (accessBuffers.size() - 1));
+        int buffered = buffer.add(key);
+        if (buffered >= DRAIN_THRESHOLD && lock.tryLock()) {
+            try {
+                drainAccessBuffers();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public boolean contains(K key)
+    {
+        return segments.contains(key);
+    }
+
+    /**
+     * Returns true if {@code key} is resident or should replace the current eviction victim.
+     */
+    public boolean admit(K key)
+    {
+        lock.lock();
+        try {
+            drainAccessBuffers();
+            if (segments.contains(key) || segments.size() < maximumSize) {
+                return true;
+            }
+            Optional<K> victim = segments.victim();
+            return !victim.isPresent() || sketch.frequency(key) > sketch.frequency(victim.get());
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds {@code key} regardless of its frequency and returns the entries evicted to make room for it.
+     */
+    public List<K> add(K key)
+    {
+        lock.lock();
+        try {
+            drainAccessBuffers();
+            segments.add(key);
+            ImmutableList.Builder<K> evicted = ImmutableList.builder();
+            while (segments.size() > maximumSize) {
+                K victim = segments.victim(candidate -> !candidate.equals(key)).get();
+                segments.remove(victim);
+                evicted.add(victim);
+            }
+            return evicted.build();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(K key)
+    {
+        segments.remove(key);
+    }
+
+    public int size()
+    {
+        return segments.size();
+    }
+
+    @GuardedBy("lock")
+    private void drainAccessBuffers()
+    {
+        for (AccessBuffer<K> buffer : accessBuffers) {
+            buffer.drain(key -> {
+                sketch.increment(key);
+                segments.recordAccess(key);
+            });
+        }
+    }
+
+    @ThreadSafe
+    private static class AccessBuffer<K>
+    {
+        private final Queue<K> accesses = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * Returns the number of buffered accesses. The access is dropped if the buffer is full.
+         */
+        public int add(K key)
+        {
+            int buffered = size.incrementAndGet();
+            if (buffered > MAX_BUFFERED_ACCESSES) {
+                size.decrementAndGet();
+                return MAX_BUFFERED_ACCESSES;
+            }
+            accesses.add(key);
+            return buffered;
+        }
+
+        public void drain(Consumer<K> consumer)
+        {
+            K key;
+            while ((key = accesses.poll()) != null) {
+                size.decrementAndGet();
+                consumer.accept(key);
+            }
+        }
+    }
+}
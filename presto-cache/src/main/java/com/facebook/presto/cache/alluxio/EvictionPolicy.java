@@ -19,6 +19,7 @@ public enum EvictionPolicy
     LFU("alluxio.client.file.cache.evictor.LFUCacheEvictor"),
     LRU("alluxio.client.file.cache.evictor.LRUCacheEvictor"),
     UNEVICTABLE("alluxio.client.file.cache.evictor.UnevictableCacheEvictor"),
+    SEGMENTED_LRU("com.facebook.presto.cache.alluxio.SegmentedLruCacheEvictor"),
     /**/;
 
     private final String className;
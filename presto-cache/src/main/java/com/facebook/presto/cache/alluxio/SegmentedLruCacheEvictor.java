@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.cache.alluxio;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import com.facebook.presto.cache.SegmentedLruPolicy;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.function.Predicate;
+
+/**
+ * Alluxio evictor backed by {@link SegmentedLruPolicy}, so pages read only once are evicted before pages that
+ * have been read repeatedly. Alluxio admits every page, so unlike the file merge cache there is no admission filter.
+ */
+@ThreadSafe
+public class SegmentedLruCacheEvictor
+        implements CacheEvictor
+{
+    private volatile SegmentedLruPolicy<PageId> policy = new SegmentedLruPolicy<>();
+
+    // instantiated reflectively by Alluxio
+    public SegmentedLruCacheEvictor(CacheEvictorOptions options)
+    {
+    }
+
+    @Override
+    public void updateOnGet(PageId pageId)
+    {
+        policy.recordAccess(pageId);
+    }
+
+    @Override
+    public void updateOnPut(PageId pageId)
+    {
+        policy.add(pageId);
+    }
+
+    @Override
+    public void updateOnDelete(PageId pageId)
+    {
+        policy.remove(pageId);
+    }
+
+    @Nullable
+    @Override
+    public PageId evict()
+    {
+        return policy.victim().orElse(null);
+    }
+
+    @Nullable
+    @Override
+    public PageId evictMatching(Predicate<PageId> predicate)
+    {
+        return policy.victim(predicate).orElse(null);
+    }
+
+    @Override
+    public void reset()
+    {
+        policy = new SegmentedLruPolicy<>();
+    }
+}
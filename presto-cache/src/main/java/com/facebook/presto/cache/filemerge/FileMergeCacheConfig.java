@@ -29,6 +29,9 @@ public class FileMergeCacheConfig
     private int maxCachedEntries = 1_000;
     private Duration cacheTtl = new Duration(2, DAYS);
     private DataSize maxInMemoryCacheSize = new DataSize(2, GIGABYTE);
+    private boolean memoryMappedReadsEnabled;
+    private int admissionMissThreshold = 1;
+    private boolean tinyLfuEnabled;
 
     @Min(1)
     public int getMaxCachedEntries()
@@ -70,4 +73,44 @@ public class FileMergeCacheConfig
         this.cacheTtl = cacheTtl;
         return this;
     }
+
+    public boolean isMemoryMappedReadsEnabled()
+    {
+        return memoryMappedReadsEnabled;
+    }
+
+    @Config("cache.memory-mapped-reads-enabled")
+    @ConfigDescription("Serve cache hits from memory mapped cache files instead of opening and reading the file on every hit")
+    public FileMergeCacheConfig setMemoryMappedReadsEnabled(boolean memoryMappedReadsEnabled)
+    {
+        this.memoryMappedReadsEnabled = memoryMappedReadsEnabled;
+        return this;
+    }
+
+    @Min(1)
+    public int getAdmissionMissThreshold()
+    {
+        return admissionMissThreshold;
+    }
+
+    @Config("cache.admission-miss-threshold")
+    @ConfigDescription("Number of times a range has to be missed before it is written to the cache")
+    public FileMergeCacheConfig setAdmissionMissThreshold(int admissionMissThreshold)
+    {
+        this.admissionMissThreshold = admissionMissThreshold;
+        return this;
+    }
+
+    public boolean isTinyLfuEnabled()
+    {
+        return tinyLfuEnabled;
+    }
+
+    @Config("cache.tiny-lfu-enabled")
+    @ConfigDescription("Admit files to the cache based on their estimated access frequency and evict them with a segmented LRU policy, so large scans do not flush frequently read files")
+    public FileMergeCacheConfig setTinyLfuEnabled(boolean tinyLfuEnabled)
+    {
+        this.tinyLfuEnabled = tinyLfuEnabled;
+        return this;
+    }
 }
@@ -20,12 +20,14 @@ import com.facebook.presto.cache.CacheManager;
 import com.facebook.presto.cache.CacheResult;
 import com.facebook.presto.cache.CacheStats;
 import com.facebook.presto.cache.FileReadRequest;
+import com.facebook.presto.cache.TinyLfuPolicy;
 import com.facebook.presto.hive.CacheQuota;
 import com.facebook.presto.spi.PrestoException;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Range;
 import com.google.common.collect.RangeMap;
@@ -41,19 +43,26 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -64,8 +73,11 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Iterators.getOnlyElement;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static java.lang.StrictMath.toIntExact;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
 import static java.nio.file.StandardOpenOption.APPEND;
 import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Comparator.comparingLong;
 import static java.util.Objects.requireNonNull;
 import static java.util.UUID.randomUUID;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -80,6 +92,8 @@ public class FileMergeCacheManager
     private static final String EXTENSION = ".cache";
 
     private static final int FILE_MERGE_BUFFER_SIZE = toIntExact(new DataSize(8, MEGABYTE).toBytes());
+    private static final int MAX_ADMISSION_CANDIDATES = 100_000;
+    private static final int MAX_MAPPED_CACHE_FILES = 10_000;
 
     private final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[FILE_MERGE_BUFFER_SIZE]);
 
@@ -95,6 +109,19 @@ public class FileMergeCacheManager
     // CacheScope identifier to its cached files mapping
     private final Map<Long, Set<Path>> cacheScopeFiles = new ConcurrentHashMap<>();
     private final Map<Long, Long> cacheScopeSizeInBytes = new ConcurrentHashMap<>();
+    // ranges waiting to be flushed, grouped by remote file so that adjacent ranges are coalesced into a single local file
+    private final Map<Path, List<PendingWrite>> pendingWrites = new ConcurrentHashMap<>();
+    // mappings of local cache files used by memory-mapped reads; bounded so that the process does not run out of mappings,
+    // and invalidated when a cache file is deleted so that its disk space is released once the mapping is collected
+    private final Cache<Path, MappedByteBuffer> mappedCacheFiles = CacheBuilder.newBuilder()
+            .maximumSize(MAX_MAPPED_CACHE_FILES)
+            .build();
+    // number of misses per range; a range is only admitted once it has been missed admissionMissThreshold times
+    private final Cache<FileReadRequest, AtomicInteger> admissionCandidates;
+    // when present, bounds the number of cached files instead of the size limit of `cache`
+    private final Optional<TinyLfuPolicy<Path>> admissionPolicy;
+    // keeps the files held by `admissionPolicy` and the keys of `cache` in sync
+    private final Object admissionPolicyLock = new Object();
 
     // stats
     private final CacheStats stats;
@@ -102,6 +129,8 @@ public class FileMergeCacheManager
     // config
     private final Path baseDirectory;
     private final long maxInflightBytes;
+    private final boolean memoryMappedReadsEnabled;
+    private final int admissionMissThreshold;
 
     @Inject
     public FileMergeCacheManager(
@@ -116,8 +145,12 @@ public class FileMergeCacheManager
         this.cacheFlushExecutor = cacheFlushExecutor;
         this.cacheRemovalExecutor = cacheRemovalExecutor;
         this.cacheSizeCalculateExecutor = cacheSizeCalculateExecutor;
-        this.cache = CacheBuilder.newBuilder()
-                .maximumSize(fileMergeCacheConfig.getMaxCachedEntries())
+        this.admissionPolicy = fileMergeCacheConfig.isTinyLfuEnabled() ? Optional.of(new TinyLfuPolicy<>(fileMergeCacheConfig.getMaxCachedEntries())) : Optional.empty();
+        CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+        if (!admissionPolicy.isPresent()) {
+            cacheBuilder.maximumSize(fileMergeCacheConfig.getMaxCachedEntries());
+        }
+        this.cache = cacheBuilder
                 .expireAfterAccess(fileMergeCacheConfig.getCacheTtl().toMillis(), MILLISECONDS)
                 .removalListener(new CacheRemovalListener())
                 .recordStats()
@@ -126,6 +159,12 @@ public class FileMergeCacheManager
         this.baseDirectory = new Path(cacheConfig.getBaseDirectory());
         checkArgument(fileMergeCacheConfig.getMaxInMemoryCacheSize().toBytes() >= 0, "maxInflightBytes is negative");
         this.maxInflightBytes = fileMergeCacheConfig.getMaxInMemoryCacheSize().toBytes();
+        this.memoryMappedReadsEnabled = fileMergeCacheConfig.isMemoryMappedReadsEnabled();
+        this.admissionMissThreshold = fileMergeCacheConfig.getAdmissionMissThreshold();
+        this.admissionCandidates = CacheBuilder.newBuilder()
+                .maximumSize(MAX_ADMISSION_CANDIDATES)
+                .expireAfterWrite(fileMergeCacheConfig.getCacheTtl().toMillis(), MILLISECONDS)
+                .build();
 
         File target = new File(baseDirectory.toUri());
         if (!target.exists()) {
@@ -186,20 +225,27 @@ public class FileMergeCacheManager
             return CacheResult.CACHE_QUOTA_EXCEED;
         }
 
-        try {
-            // hint the cache
-            cache.get(request.getPath(), cacheQuota::getIdentifier);
+        if (admissionPolicy.isPresent()) {
+            // misses count towards the frequency of a file as well; only files held by the policy are tracked by the cache
+            admissionPolicy.get().recordAccess(request.getPath());
+            cache.getIfPresent(request.getPath());
         }
-        catch (ExecutionException e) {
-            // ignore
+        else {
+            try {
+                // hint the cache
+                cache.get(request.getPath(), cacheQuota::getIdentifier);
+            }
+            catch (ExecutionException e) {
+                // ignore
+            }
         }
 
         if (result) {
-            stats.incrementCacheHit();
+            stats.incrementCacheHit(cacheQuota.getIdentity(), request.getLength());
             return CacheResult.HIT;
         }
 
-        stats.incrementCacheMiss();
+        stats.incrementCacheMiss(cacheQuota.getIdentity());
         return CacheResult.MISS;
     }
 
@@ -244,6 +290,15 @@ public class FileMergeCacheManager
             return;
         }
 
+        if (!isAdmitted(key, cacheQuota)) {
+            stats.incrementAdmissionRejected();
+            return;
+        }
+
+        if (admissionPolicy.isPresent()) {
+            addToAdmissionPolicy(admissionPolicy.get(), key.getPath(), cacheQuota.getIdentifier());
+        }
+
         Set<Path> paths = cacheScopeFiles.computeIfAbsent(cacheQuota.getIdentifier(), k -> new ConcurrentHashSet<>());
         paths.add(key.getPath());
 
@@ -251,13 +306,101 @@ public class FileMergeCacheManager
         stats.addInMemoryRetainedBytes(data.length());
         byte[] copy = data.getBytes();
 
-        cacheFlushExecutor.submit(() -> {
-            Path newFilePath = new Path(baseDirectory.toUri() + "/" + randomUUID() + EXTENSION);
-            if (!write(key, copy, newFilePath)) {
-                log.warn("%s Fail to persist cache %s with length %s ", Thread.currentThread().getName(), newFilePath, key.getLength());
-            }
-            stats.addInMemoryRetainedBytes(-copy.length);
+        // only the put that starts a new batch schedules the flush, later puts join it until it is drained;
+        // the batch is only mutated inside compute, and is owned by the flush once it is removed from the map
+        List<PendingWrite> newBatch = new ArrayList<>();
+        List<PendingWrite> batch = pendingWrites.compute(key.getPath(), (path, pending) -> {
+            List<PendingWrite> writes = pending == null ? newBatch : pending;
+            writes.add(new PendingWrite(key.getOffset(), copy));
+            return writes;
         });
+        if (batch == newBatch) {
+            cacheFlushExecutor.submit(() -> flush(key.getPath()));
+        }
+    }
+
+    private boolean isAdmitted(FileReadRequest request, CacheQuota cacheQuota)
+    {
+        if (!cacheQuota.isAdmissionFilterEnabled()) {
+            return true;
+        }
+
+        if (admissionMissThreshold > 1) {
+            AtomicInteger misses = admissionCandidates.asMap().computeIfAbsent(request, key -> new AtomicInteger());
+            if (misses.incrementAndGet() < admissionMissThreshold) {
+                return false;
+            }
+            admissionCandidates.invalidate(request);
+        }
+
+        return admissionPolicy.map(policy -> policy.admit(request.getPath())).orElse(true);
+    }
+
+    private void addToAdmissionPolicy(TinyLfuPolicy<Path> policy, Path path, long cacheIdentifier)
+    {
+        // a concurrent put could otherwise evict the file between adding it to the policy and inserting it into the cache
+        synchronized (admissionPolicyLock) {
+            if (policy.contains(path)) {
+                return;
+            }
+            policy.add(path).forEach(cache::invalidate);
+            cache.asMap().putIfAbsent(path, cacheIdentifier);
+        }
+    }
+
+    private void flush(Path path)
+    {
+        List<PendingWrite> batch = pendingWrites.remove(path);
+        if (batch == null) {
+            return;
+        }
+
+        long batchBytes = 0;
+        for (PendingWrite pendingWrite : batch) {
+            batchBytes += pendingWrite.getData().length;
+        }
+
+        try {
+            for (PendingWrite pendingWrite : coalesce(batch)) {
+                Path newFilePath = new Path(baseDirectory.toUri() + "/" + randomUUID() + EXTENSION);
+                if (!write(new FileReadRequest(path, pendingWrite.getOffset(), pendingWrite.getData().length), pendingWrite.getData(), newFilePath)) {
+                    log.warn("%s Fail to persist cache %s with length %s ", Thread.currentThread().getName(), newFilePath, pendingWrite.getData().length);
+                }
+            }
+        }
+        finally {
+            stats.addInMemoryRetainedBytes(-batchBytes);
+        }
+    }
+
+    /**
+     * Merges overlapping and adjacent ranges so that each contiguous region of the remote file is persisted with a single write.
+     */
+    private static List<PendingWrite> coalesce(List<PendingWrite> batch)
+    {
+        List<PendingWrite> sorted = new ArrayList<>(batch);
+        sorted.sort(comparingLong(PendingWrite::getOffset));
+
+        ImmutableList.Builder<PendingWrite> coalesced = ImmutableList.builder();
+        PendingWrite current = sorted.get(0);
+        for (int i = 1; i < sorted.size(); i++) {
+            PendingWrite next = sorted.get(i);
+            if (next.getOffset() > current.getEnd()) {
+                coalesced.add(current);
+                current = next;
+                continue;
+            }
+            if (next.getEnd() <= current.getEnd()) {
+                // fully covered
+                continue;
+            }
+            byte[] merged = Arrays.copyOf(current.getData(), toIntExact(next.getEnd() - current.getOffset()));
+            int overlap = toIntExact(current.getEnd() - next.getOffset());
+            System.arraycopy(next.getData(), overlap, merged, current.getData().length, next.getData().length - overlap);
+            current = new PendingWrite(current.getOffset(), merged);
+        }
+        coalesced.add(current);
+        return coalesced.build();
     }
 
     private boolean read(FileReadRequest request, byte[] buffer, int offset)
@@ -289,6 +432,20 @@ public class FileMergeCacheManager
             readLock.unlock();
         }
 
+        if (memoryMappedReadsEnabled) {
+            try {
+                // copy straight from the page cache into the caller's buffer without opening the file again
+                ByteBuffer mapped = mappedCacheFiles.get(cacheFile.getPath(), () -> mapFile(cacheFile.getPath())).duplicate();
+                mapped.position(toIntExact(request.getOffset() - cacheFile.getOffset()));
+                mapped.get(buffer, offset, request.getLength());
+                return true;
+            }
+            catch (ExecutionException e) {
+                // there might be a chance the file has been deleted before it was mapped
+                return false;
+            }
+        }
+
         try (RandomAccessFile file = new RandomAccessFile(new File(cacheFile.getPath().toUri()), "r")) {
             file.seek(request.getOffset() - cacheFile.getOffset());
             file.readFully(buffer, offset, request.getLength());
@@ -422,10 +579,20 @@ public class FileMergeCacheManager
             cacheFilesToDelete = ImmutableSet.of(newFilePath);
         }
 
+        mappedCacheFiles.invalidateAll(cacheFilesToDelete);
         cacheFilesToDelete.forEach(FileMergeCacheManager::tryDeleteFile);
         return true;
     }
 
+    private static MappedByteBuffer mapFile(Path path)
+            throws IOException
+    {
+        // cache files are never modified after they are published, so the mapping stays valid until the file is deleted
+        try (FileChannel channel = FileChannel.open(new File(path.toUri()).toPath(), READ)) {
+            return channel.map(READ_ONLY, 0, channel.size());
+        }
+    }
+
     private int appendToFile(LocalCacheFile source, long offset, File destination)
             throws IOException
     {
@@ -522,6 +689,33 @@ public class FileMergeCacheManager
         }
     }
 
+    private static class PendingWrite
+    {
+        private final long offset;
+        private final byte[] data;
+
+        public PendingWrite(long offset, byte[] data)
+        {
+            this.offset = offset;
+            this.data = requireNonNull(data, "data is null");
+        }
+
+        public long getOffset()
+        {
+            return offset;
+        }
+
+        public long getEnd()
+        {
+            return offset + data.length;
+        }
+
+        public byte[] getData()
+        {
+            return data;
+        }
+    }
+
     private static class CacheRange
     {
         private final RangeMap<Long, LocalCacheFile> range = TreeRangeMap.create();
@@ -545,6 +739,14 @@ public class FileMergeCacheManager
         public void onRemoval(RemovalNotification<Path, Long> notification)
         {
             Path path = notification.getKey();
+            admissionPolicy.ifPresent(policy -> {
+                synchronized (admissionPolicyLock) {
+                    // the file may have been added again since this entry was removed
+                    if (!cache.asMap().containsKey(path)) {
+                        policy.remove(path);
+                    }
+                }
+            });
             CacheRange cacheRange = persistedRanges.remove(path);
             Set<Path> paths = cacheScopeFiles.get(notification.getValue());
             if (paths != null) {
@@ -574,6 +776,7 @@ public class FileMergeCacheManager
                 // There is a chance of the files to be deleted are being read.
                 // We may just fail the cache hit and do it in a simple way given the chance is low.
                 for (LocalCacheFile file : files) {
+                    mappedCacheFiles.invalidate(file.getPath());
                     try {
                         Files.delete(new File(file.getPath().toUri()).toPath());
                     }
@@ -0,0 +1,197 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.cache;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a workload of skewed point reads against a small working set, interrupted by large sequential scans,
+ * and reports the hit rate of each cache policy.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Measurement(iterations = 5)
+@Warmup(iterations = 2)
+@Fork(1)
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public class BenchmarkCacheAdmissionPolicy
+{
+    private static final int CACHE_SIZE = 1_000;
+    private static final int WORKING_SET_SIZE = 800;
+    private static final int POINT_READS_BETWEEN_SCANS = 20_000;
+    private static final int SCAN_LENGTH = 5_000;
+    private static final int SCANS = 10;
+
+    @Param({"LRU", "SEGMENTED_LRU", "TINY_LFU"})
+    private String policy = "TINY_LFU";
+
+    private int[] workload;
+
+    @Setup
+    public void setup()
+    {
+        Random random = new Random(42);
+        workload = new int[(POINT_READS_BETWEEN_SCANS + SCAN_LENGTH) * SCANS];
+        int position = 0;
+        int nextScanKey = WORKING_SET_SIZE;
+        for (int scan = 0; scan < SCANS; scan++) {
+            for (int i = 0; i < POINT_READS_BETWEEN_SCANS; i++) {
+                // skewed towards the low keys of the working set
+                double uniform = random.nextDouble();
+                workload[position++] = (int) (uniform * uniform * WORKING_SET_SIZE);
+            }
+            for (int i = 0; i < SCAN_LENGTH; i++) {
+                workload[position++] = nextScanKey++;
+            }
+        }
+    }
+
+    @SuppressWarnings("PublicField")
+    @AuxCounters
+    @State(Scope.Thread)
+    public static class HitCounter
+    {
+        public long hits;
+        public long misses;
+    }
+
+    @Benchmark
+    public void replay(HitCounter counter)
+    {
+        SimulatedCache cache = createCache(policy);
+        for (int key : workload) {
+            if (cache.access(key)) {
+                counter.hits++;
+            }
+            else {
+                counter.misses++;
+            }
+        }
+    }
+
+    private static SimulatedCache createCache(String policy)
+    {
+        switch (policy) {
+            case "LRU":
+                return new LruCache();
+            case "SEGMENTED_LRU":
+                return new SegmentedLruCache();
+            case "TINY_LFU":
+                return new TinyLfuCache();
+        }
+        throw new IllegalArgumentException("Unsupported policy " + policy);
+    }
+
+    private interface SimulatedCache
+    {
+        /**
+         * Returns true on a hit; on a miss the key is considered for caching.
+         */
+        boolean access(int key);
+    }
+
+    private static class LruCache
+            implements SimulatedCache
+    {
+        private final Map<Integer, Boolean> entries = new LinkedHashMap<Integer, Boolean>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Boolean> eldest)
+            {
+                return size() > CACHE_SIZE;
+            }
+        };
+
+        @Override
+        public boolean access(int key)
+        {
+            return entries.put(key, Boolean.TRUE) != null;
+        }
+    }
+
+    private static class SegmentedLruCache
+            implements SimulatedCache
+    {
+        private final SegmentedLruPolicy<Integer> entries = new SegmentedLruPolicy<>();
+
+        @Override
+        public boolean access(int key)
+        {
+            if (entries.contains(key)) {
+                entries.recordAccess(key);
+                return true;
+            }
+            entries.add(key);
+            if (entries.size() > CACHE_SIZE) {
+                entries.victim().ifPresent(entries::remove);
+            }
+            return false;
+        }
+    }
+
+    private static class TinyLfuCache
+            implements SimulatedCache
+    {
+        private final TinyLfuPolicy<Integer> entries = new TinyLfuPolicy<>(CACHE_SIZE);
+
+        @Override
+        public boolean access(int key)
+        {
+            entries.recordAccess(key);
+            if (entries.contains(key)) {
+                return true;
+            }
+            if (entries.admit(key)) {
+                entries.add(key);
+            }
+            return false;
+        }
+    }
+
+    public static void main(String[] args)
+            throws Exception
+    {
+        Options options = new OptionsBuilder()
+                .include(".*\\." + BenchmarkCacheAdmissionPolicy.class.getSimpleName() + ".*")
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        for (RunResult result : results) {
+            double hits = result.getSecondaryResults().get("hits").getStatistics().getSum();
+            double misses = result.getSecondaryResults().get("misses").getStatistics().getSum();
+            System.out.printf("  %-15s  hit rate %5.2f%%\n", result.getParams().getParam("policy"), hits * 100 / (hits + misses));
+        }
+        System.out.println();
+    }
+}
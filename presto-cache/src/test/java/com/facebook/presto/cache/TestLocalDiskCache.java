@@ -0,0 +1,214 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.cache;
+
+import io.airlift.slice.Slice;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.slice.Slices.utf8Slice;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Test(singleThreaded = true)
+public class TestLocalDiskCache
+{
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp()
+            throws IOException
+    {
+        directory = Files.createTempDirectory("local-disk-cache");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(directory, ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testPutAndGet()
+    {
+        try (LocalDiskCache cache = new LocalDiskCache(directory, 1024)) {
+            assertFalse(cache.get("a").isPresent());
+            cache.put("a", utf8Slice("apple"));
+            cache.put("b", utf8Slice("banana"));
+
+            assertEquals(cache.get("a"), Optional.of(utf8Slice("apple")));
+            assertEquals(cache.get("b"), Optional.of(utf8Slice("banana")));
+            assertEquals(cache.getEntryCount(), 2);
+            assertEquals(cache.getSizeInBytes(), 11);
+            assertEquals(cache.getHitCount(), 2);
+            assertEquals(cache.getMissCount(), 1);
+
+            // replacing a value updates the size
+            cache.put("a", utf8Slice("avocado"));
+            assertEquals(cache.get("a"), Optional.of(utf8Slice("avocado")));
+            assertEquals(cache.getSizeInBytes(), 13);
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction()
+    {
+        try (LocalDiskCache cache = new LocalDiskCache(directory, 10)) {
+            cache.put("a", utf8Slice("aaaa"));
+            cache.put("b", utf8Slice("bbbb"));
+            // make "a" the most recently used entry
+            assertTrue(cache.get("a").isPresent());
+            cache.put("c", utf8Slice("cccc"));
+
+            assertTrue(cache.get("a").isPresent());
+            assertFalse(cache.get("b").isPresent());
+            assertTrue(cache.get("c").isPresent());
+            assertEquals(cache.getSizeInBytes(), 8);
+            assertEquals(cache.getEvictionCount(), 1);
+
+            // values larger than the cache are not stored
+            cache.put("d", utf8Slice("ddddddddddd"));
+            assertFalse(cache.get("d").isPresent());
+            assertEquals(cache.getEntryCount(), 2);
+        }
+        assertEquals(countEntryFiles(), 2);
+    }
+
+    @Test
+    public void testReloadFromIndex()
+    {
+        try (LocalDiskCache cache = new LocalDiskCache(directory, 1024)) {
+            cache.put("a", utf8Slice("apple"));
+            cache.put("b", utf8Slice("banana"));
+            cache.get("a");
+        }
+
+        // the recency order is kept, so "b" is evicted first when the cache is reopened with a smaller size
+        try (LocalDiskCache cache = new LocalDiskCache(directory, 6)) {
+            assertEquals(cache.getEntryCount(), 1);
+            Optional<Slice> value = cache.get("a");
+            assertEquals(value, Optional.of(utf8Slice("apple")));
+            assertFalse(cache.get("b").isPresent());
+        }
+        assertEquals(countEntryFiles(), 1);
+    }
+
+    @Test
+    public void testRemovesFilesMissingFromIndex()
+            throws IOException
+    {
+        try (LocalDiskCache cache = new LocalDiskCache(directory, 1024)) {
+            cache.put("a", utf8Slice("apple"));
+        }
+        Files.write(directory.resolve("orphan.entry"), new byte[] {1, 2, 3});
+        Files.write(directory.resolve("interrupted.tmp"), new byte[] {1, 2, 3});
+
+        try (LocalDiskCache cache = new LocalDiskCache(directory, 1024)) {
+            assertEquals(cache.get("a"), Optional.of(utf8Slice("apple")));
+        }
+        assertFalse(Files.exists(directory.resolve("orphan.entry")));
+        assertFalse(Files.exists(directory.resolve("interrupted.tmp")));
+        assertEquals(countEntryFiles(), 1);
+    }
+
+    @Test
+    public void testMissingFileIsMiss()
+            throws IOException
+    {
+        try (LocalDiskCache cache = new LocalDiskCache(directory, 1024)) {
+            cache.put("a", utf8Slice("apple"));
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            assertFalse(cache.get("a").isPresent());
+            assertEquals(cache.getEntryCount(), 0);
+            assertEquals(cache.getSizeInBytes(), 0);
+        }
+    }
+
+    @Test
+    public void testTruncatedFileIsRemoved()
+            throws IOException
+    {
+        try (LocalDiskCache cache = new LocalDiskCache(directory, 1024)) {
+            cache.put("a", utf8Slice("apple"));
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.write(file, new byte[] {1, 2});
+                }
+            }
+            assertFalse(cache.get("a").isPresent());
+            assertEquals(cache.getEntryCount(), 0);
+            assertEquals(cache.getSizeInBytes(), 0);
+            assertEquals(countEntryFiles(), 0);
+        }
+    }
+
+    @Test
+    public void testCorruptedFileIsRemoved()
+            throws IOException
+    {
+        try (LocalDiskCache cache = new LocalDiskCache(directory, 1024)) {
+            cache.put("a", utf8Slice("apple"));
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    // same length, different content
+                    byte[] content = Files.readAllBytes(file);
+                    content[0] ^= 1;
+                    Files.write(file, content);
+                }
+            }
+            assertFalse(cache.get("a").isPresent());
+            assertEquals(cache.getEntryCount(), 0);
+            assertEquals(countEntryFiles(), 0);
+        }
+    }
+
+    @Test
+    public void testInvalidate()
+    {
+        try (LocalDiskCache cache = new LocalDiskCache(directory, 1024)) {
+            cache.put("a", utf8Slice("apple"));
+            assertTrue(cache.get("a").isPresent());
+            cache.invalidate("a");
+            cache.invalidate("missing");
+            assertFalse(cache.get("a").isPresent());
+            assertEquals(cache.getSizeInBytes(), 0);
+            assertEquals(countEntryFiles(), 0);
+        }
+    }
+
+    private long countEntryFiles()
+    {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".entry")).count();
+        }
+        catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
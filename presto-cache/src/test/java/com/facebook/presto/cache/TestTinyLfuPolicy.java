@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.cache;
+
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestTinyLfuPolicy
+{
+    @Test
+    public void testFrequencySketch()
+    {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("hot");
+        }
+        sketch.increment("cold");
+
+        assertEquals(sketch.frequency("hot"), 5);
+        assertEquals(sketch.frequency("cold"), 1);
+        assertEquals(sketch.frequency("absent"), 0);
+
+        // counters saturate
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("hot");
+        }
+        assertEquals(sketch.frequency("hot"), 15);
+    }
+
+    @Test
+    public void testFrequencySketchAging()
+    {
+        FrequencySketch sketch = new FrequencySketch(8);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment("hot");
+        }
+        // the sample size is ten times the expected entries; crossing it halves every counter
+        for (int i = 0; i < 72; i++) {
+            sketch.increment("key" + i);
+        }
+        assertTrue(sketch.frequency("hot") <= 4);
+    }
+
+    @Test
+    public void testSegmentedLruPolicy()
+    {
+        SegmentedLruPolicy<String> policy = new SegmentedLruPolicy<>();
+        policy.add("a");
+        policy.add("b");
+        policy.add("c");
+        assertEquals(policy.size(), 3);
+        assertEquals(policy.victim(), Optional.of("a"));
+
+        // a second access protects the entry, so entries in probation are evicted first
+        policy.recordAccess("a");
+        assertEquals(policy.victim(), Optional.of("b"));
+        assertEquals(policy.victim(key -> !key.equals("b")), Optional.of("c"));
+
+        policy.remove("b");
+        policy.remove("c");
+        assertEquals(policy.victim(), Optional.of("a"));
+        policy.remove("a");
+        assertEquals(policy.victim(), Optional.empty());
+        assertFalse(policy.contains("a"));
+    }
+
+    @Test
+    public void testScanResistance()
+    {
+        TinyLfuPolicy<Integer> policy = new TinyLfuPolicy<>(100);
+        for (int round = 0; round < 3; round++) {
+            for (int key = 0; key < 100; key++) {
+                policy.recordAccess(key);
+                if (policy.admit(key)) {
+                    assertEquals(policy.add(key), ImmutableList.of());
+                }
+            }
+        }
+        assertEquals(policy.size(), 100);
+
+        // a scan touches every key once and must not displace the working set
+        for (int key = 1000; key < 1200; key++) {
+            policy.recordAccess(key);
+            assertFalse(policy.admit(key));
+        }
+        for (int key = 0; key < 100; key++) {
+            assertTrue(policy.contains(key));
+        }
+
+        // keys added regardless of their frequency replace a resident entry
+        List<Integer> evicted = policy.add(1000);
+        assertEquals(evicted.size(), 1);
+        assertTrue(evicted.get(0) < 100);
+        assertFalse(policy.contains(evicted.get(0)));
+        assertTrue(policy.contains(1000));
+        assertEquals(policy.size(), 100);
+    }
+
+    @Test(timeOut = 30_000)
+    public void testConcurrentAccesses()
+            throws Exception
+    {
+        TinyLfuPolicy<String> policy = new TinyLfuPolicy<>(1);
+        assertEquals(policy.add("resident"), ImmutableList.of());
+        assertFalse(policy.admit("hot"));
+
+        // accesses recorded without the policy lock are applied before the next admission decision
+        ExecutorService executor = newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        policy.recordAccess("hot");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(policy.admit("hot"));
+        assertEquals(policy.add("hot"), ImmutableList.of("resident"));
+        assertTrue(policy.contains("hot"));
+    }
+}
@@ -264,6 +264,29 @@ public class TestAlluxioCachingFileSystem
         });
     }
 
+    @Test(invocationCount = 3)
+    public void testStressWithSegmentedLruEviction()
+            throws ExecutionException, InterruptedException, URISyntaxException, IOException
+    {
+        CacheConfig cacheConfig = new CacheConfig()
+                .setCacheType(ALLUXIO)
+                .setCachingEnabled(true)
+                .setBaseDirectory(cacheDirectory);
+        AlluxioCacheConfig alluxioCacheConfig = new AlluxioCacheConfig()
+                .setMaxCacheSize(new DataSize(10, KILOBYTE))
+                .setEvictionPolicy(EvictionPolicy.SEGMENTED_LRU);
+        Configuration configuration = getHdfsConfiguration(cacheConfig, alluxioCacheConfig);
+        AlluxioCachingFileSystem cachingFileSystem = cachingFileSystem(configuration, cacheConfig);
+        stressTest(data, (position, buffer, offset, length) -> {
+            try {
+                readFully(cachingFileSystem, position, buffer, offset, length);
+            }
+            catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
     @Test(timeOut = 30_000, expectedExceptions = {IOException.class})
     public void testSyncRestoreFailure()
             throws Exception
@@ -36,7 +36,10 @@ public class TestFileMergeCacheConfig
         assertRecordedDefaults(recordDefaults(FileMergeCacheConfig.class)
                 .setMaxCachedEntries(1_000)
                 .setMaxInMemoryCacheSize(new DataSize(2, GIGABYTE))
-                .setCacheTtl(new Duration(2, DAYS)));
+                .setCacheTtl(new Duration(2, DAYS))
+                .setMemoryMappedReadsEnabled(false)
+                .setAdmissionMissThreshold(1)
+                .setTinyLfuEnabled(false));
     }
 
     @Test
@@ -46,12 +49,18 @@ public class TestFileMergeCacheConfig
                 .put("cache.max-cached-entries", "5")
                 .put("cache.max-in-memory-cache-size", "42MB")
                 .put("cache.ttl", "10s")
+                .put("cache.memory-mapped-reads-enabled", "true")
+                .put("cache.admission-miss-threshold", "3")
+                .put("cache.tiny-lfu-enabled", "true")
                 .build();
 
         FileMergeCacheConfig expected = new FileMergeCacheConfig()
                 .setMaxCachedEntries(5)
                 .setMaxInMemoryCacheSize(new DataSize(42, MEGABYTE))
-                .setCacheTtl(new Duration(10, SECONDS));
+                .setCacheTtl(new Duration(10, SECONDS))
+                .setMemoryMappedReadsEnabled(true)
+                .setAdmissionMissThreshold(3)
+                .setTinyLfuEnabled(true);
         assertFullMapping(properties, expected);
     }
 }
@@ -18,6 +18,7 @@ import com.facebook.presto.cache.CacheManager;
 import com.facebook.presto.cache.CacheStats;
 import com.facebook.presto.cache.FileReadRequest;
 import com.facebook.presto.hive.CacheQuota;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.SettableFuture;
 import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
@@ -33,6 +34,7 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
@@ -47,6 +49,7 @@ import static io.airlift.units.DataSize.Unit.KILOBYTE;
 import static java.nio.file.Files.createTempDirectory;
 import static java.nio.file.StandardOpenOption.CREATE_NEW;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -203,6 +206,129 @@ public class TestFileMergeCacheManager
         validateBuffer(data, 47, buffer, 0, 90);
     }
 
+    @Test(timeOut = 30_000)
+    public void testMemoryMappedReads()
+            throws InterruptedException, ExecutionException, IOException
+    {
+        TestingCacheStats stats = new TestingCacheStats();
+        CacheManager cacheManager = fileMergeCacheManager(stats, new FileMergeCacheConfig().setMemoryMappedReadsEnabled(true), flushExecutor);
+        byte[] buffer = new byte[1024];
+
+        assertFalse(readFully(cacheManager, NO_CACHE_CONSTRAINTS, 42, buffer, 0, 100));
+        stats.trigger();
+        validateBuffer(data, 42, buffer, 0, 100);
+
+        assertTrue(readFully(cacheManager, NO_CACHE_CONSTRAINTS, 47, buffer, 10, 90));
+        validateBuffer(data, 47, buffer, 10, 90);
+
+        // extend the cached range; the merged file is mapped on its first hit
+        assertFalse(readFully(cacheManager, NO_CACHE_CONSTRAINTS, 142, buffer, 0, 100));
+        stats.trigger();
+        assertTrue(readFully(cacheManager, NO_CACHE_CONSTRAINTS, 42, buffer, 0, 200));
+        validateBuffer(data, 42, buffer, 0, 200);
+
+        assertEquals(stats.getCacheHit(), 2);
+        assertEquals(stats.getCacheMiss(), 2);
+        assertEquals(stats.getCacheBytesSaved(), 290);
+        assertEquals(stats.getCacheScopeStats().get(NO_CACHE_CONSTRAINTS.getIdentity()).getCacheBytesSaved(), 290);
+    }
+
+    @Test(timeOut = 30_000)
+    public void testAdmissionMissThreshold()
+            throws InterruptedException, ExecutionException, IOException
+    {
+        TestingCacheStats stats = new TestingCacheStats();
+        CacheManager cacheManager = fileMergeCacheManager(stats, new FileMergeCacheConfig().setAdmissionMissThreshold(2), flushExecutor);
+        byte[] buffer = new byte[1024];
+        CacheQuota cacheQuota = new CacheQuota("test.admission", Optional.empty());
+
+        // the first miss is not admitted
+        assertFalse(readFully(cacheManager, cacheQuota, 42, buffer, 0, 100));
+        assertEquals(stats.getAdmissionRejected(), 1);
+        assertEquals(stats.getInMemoryRetainedBytes(), 0);
+        assertFalse(readFully(cacheManager, cacheQuota, 42, buffer, 0, 100));
+        assertEquals(stats.getAdmissionRejected(), 1);
+        stats.trigger();
+
+        assertTrue(readFully(cacheManager, cacheQuota, 42, buffer, 0, 100));
+        validateBuffer(data, 42, buffer, 0, 100);
+
+        CacheStats.CacheScopeStats scopeStats = stats.getCacheScopeStats().get("test.admission");
+        assertEquals(scopeStats.getCacheMiss(), 2);
+        assertEquals(scopeStats.getCacheHit(), 1);
+        assertEquals(scopeStats.getCacheBytesSaved(), 100);
+        assertEquals(stats.getCacheMissByScope(), ImmutableMap.of("test.admission", 2L));
+        assertEquals(stats.getCacheHitByScope(), ImmutableMap.of("test.admission", 1L));
+        assertEquals(stats.getCacheBytesSavedByScope(), ImmutableMap.of("test.admission", 100L));
+    }
+
+    @Test(timeOut = 30_000)
+    public void testCoalescedWrites()
+            throws InterruptedException, ExecutionException, IOException
+    {
+        ExecutorService singleFlushExecutor = newSingleThreadExecutor(daemonThreadsNamed("test-cache-single-flusher-%s"));
+        try {
+            TestingCacheStats stats = new TestingCacheStats();
+            CacheManager cacheManager = fileMergeCacheManager(stats, new FileMergeCacheConfig(), singleFlushExecutor);
+            byte[] buffer = new byte[1024];
+
+            // hold the flusher so that all the writes below end up in a single batch
+            CountDownLatch flushBlocked = new CountDownLatch(1);
+            singleFlushExecutor.submit(() -> {
+                flushBlocked.await();
+                return null;
+            });
+            assertFalse(readFully(cacheManager, NO_CACHE_CONSTRAINTS, 300, buffer, 0, 100));
+            assertFalse(readFully(cacheManager, NO_CACHE_CONSTRAINTS, 100, buffer, 0, 100));
+            assertFalse(readFully(cacheManager, NO_CACHE_CONSTRAINTS, 150, buffer, 0, 200));
+            assertFalse(readFully(cacheManager, NO_CACHE_CONSTRAINTS, 180, buffer, 0, 20));
+            assertEquals(stats.getInMemoryRetainedBytes(), 420);
+            flushBlocked.countDown();
+            stats.trigger();
+            assertEquals(stats.getInMemoryRetainedBytes(), 0);
+
+            assertTrue(readFully(cacheManager, NO_CACHE_CONSTRAINTS, 100, buffer, 0, 300));
+            validateBuffer(data, 100, buffer, 0, 300);
+        }
+        finally {
+            singleFlushExecutor.shutdownNow();
+        }
+    }
+
+    @Test(timeOut = 30_000)
+    public void testTinyLfuAdmission()
+            throws InterruptedException, ExecutionException, IOException
+    {
+        File otherDataFile = new File(fileDirectory.getPath() + "/other");
+        Files.write(otherDataFile.toPath(), data, CREATE_NEW);
+        try {
+            TestingCacheStats stats = new TestingCacheStats();
+            CacheManager cacheManager = fileMergeCacheManager(stats, new FileMergeCacheConfig().setMaxCachedEntries(1).setTinyLfuEnabled(true), flushExecutor);
+            byte[] buffer = new byte[1024];
+
+            assertFalse(readFully(cacheManager, NO_CACHE_CONSTRAINTS, dataFile, 42, buffer, 0, 100));
+            stats.trigger();
+            assertTrue(readFully(cacheManager, NO_CACHE_CONSTRAINTS, dataFile, 42, buffer, 0, 100));
+
+            // the other file has been read less often than the cached one
+            assertFalse(readFully(cacheManager, NO_CACHE_CONSTRAINTS, otherDataFile, 42, buffer, 0, 100));
+            assertEquals(stats.getAdmissionRejected(), 1);
+            assertTrue(readFully(cacheManager, NO_CACHE_CONSTRAINTS, dataFile, 42, buffer, 0, 100));
+
+            // a query that bypasses the admission filter replaces the cached file
+            CacheQuota bypassAdmission = new CacheQuota("test.table", Optional.empty(), false);
+            assertFalse(readFully(cacheManager, bypassAdmission, otherDataFile, 42, buffer, 0, 100));
+            assertEquals(stats.getAdmissionRejected(), 1);
+            stats.trigger();
+            assertTrue(readFully(cacheManager, bypassAdmission, otherDataFile, 42, buffer, 0, 100));
+            validateBuffer(data, 42, buffer, 0, 100);
+            assertFalse(readFully(cacheManager, bypassAdmission, dataFile, 142, buffer, 0, 100));
+        }
+        finally {
+            Files.deleteIfExists(otherDataFile.toPath());
+        }
+    }
+
     private CacheManager fileMergeCacheManager(CacheConfig cacheConfig, FileMergeCacheConfig fileMergeCacheConfig)
     {
         return new FileMergeCacheManager(cacheConfig, fileMergeCacheConfig, new CacheStats(), flushExecutor, removeExecutor, cacheSizeCalculator);
@@ -215,6 +341,31 @@ public class TestFileMergeCacheManager
         return new FileMergeCacheManager(cacheConfig.setBaseDirectory(cacheDirectory), fileMergeCacheConfig, cacheStats, flushExecutor, removeExecutor, cacheSizeCalculator);
     }
 
+    private CacheManager fileMergeCacheManager(CacheStats cacheStats, FileMergeCacheConfig fileMergeCacheConfig, ExecutorService cacheFlushExecutor)
+    {
+        return new FileMergeCacheManager(new CacheConfig().setBaseDirectory(cacheDirectory), fileMergeCacheConfig, cacheStats, cacheFlushExecutor, removeExecutor, cacheSizeCalculator);
+    }
+
+    private boolean readFully(CacheManager cacheManager, CacheQuota cacheQuota, File file, long position, byte[] buffer, int offset, int length)
+            throws IOException
+    {
+        FileReadRequest key = new FileReadRequest(new Path(file.getAbsolutePath()), position, length);
+        switch (cacheManager.get(key, buffer, offset, cacheQuota)) {
+            case HIT:
+                return true;
+            case MISS:
+                try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+                    randomAccessFile.seek(position);
+                    randomAccessFile.readFully(buffer, offset, length);
+                }
+                cacheManager.put(key, wrappedBuffer(buffer, offset, length), cacheQuota);
+                return false;
+            case CACHE_QUOTA_EXCEED:
+            default:
+                return false;
+        }
+    }
+
     private boolean readFully(CacheManager cacheManager, CacheQuota cacheQuota, long position, byte[] buffer, int offset, int length)
             throws IOException
     {
@@ -326,13 +326,13 @@ public final class Page
     public Page getLoadedPage()
     {
         for (int i = 0; i < blocks.length; i++) {
-            Block loaded = blocks[i].getLoadedBlock();
+            Block loaded = blocks[i].getFullyLoadedBlock();
             if (loaded != blocks[i]) {
                 // Transition to new block creation mode after the first newly loaded block is encountered
                 Block[] loadedBlocks = blocks.clone();
                 loadedBlocks[i++] = loaded;
                 for (; i < blocks.length; i++) {
-                    loadedBlocks[i] = blocks[i].getLoadedBlock();
+                    loadedBlocks[i] = blocks[i].getFullyLoadedBlock();
                 }
                 return wrapBlocksWithoutCopy(positionCount, loadedBlocks);
             }
@@ -343,7 +343,7 @@ public final class Page
 
     public Page getLoadedPage(int channel)
     {
-        return wrapBlocksWithoutCopy(positionCount, new Block[] {this.blocks[channel].getLoadedBlock()});
+        return wrapBlocksWithoutCopy(positionCount, new Block[] {this.blocks[channel].getFullyLoadedBlock()});
     }
 
     public Page getLoadedPage(int... channels)
@@ -352,7 +352,7 @@ public final class Page
 
         Block[] blocks = new Block[channels.length];
         for (int i = 0; i < channels.length; i++) {
-            blocks[i] = this.blocks[channels[i]].getLoadedBlock();
+            blocks[i] = this.blocks[channels[i]].getFullyLoadedBlock();
         }
         return wrapBlocksWithoutCopy(positionCount, blocks);
     }
@@ -50,6 +50,10 @@ public class RuntimeMetricName
     public static final String SCAN_STAGE_SCHEDULER_CPU_TIME_NANOS = "scanStageSchedulerCpuTimeNanos";
     public static final String SCAN_STAGE_SCHEDULER_WALL_TIME_NANOS = "scanStageSchedulerWallTimeNanos";
     public static final String SCAN_STAGE_SCHEDULER_BLOCKED_TIME_NANOS = "scanStageSchedulerBlockedTimeNanos";
+    // Soft affinity splits placed on one of their preferred nodes, i.e. splits that can hit the worker local cache
+    public static final String SCHEDULER_AFFINITY_PREFERRED_NODE_SPLITS = "schedulerAffinityPreferredNodeSplits";
+    // Soft affinity splits placed on a node that is not one of their preferred nodes
+    public static final String SCHEDULER_AFFINITY_NON_PREFERRED_NODE_SPLITS = "schedulerAffinityNonPreferredNodeSplits";
     public static final String ANALYZE_TIME_NANOS = "analyzeTimeNanos";
     public static final String PLAN_AND_OPTIMIZE_TIME_NANOS = "planAndOptimizeTimeNanos";
     public static final String CREATE_SCHEDULER_TIME_NANOS = "createSchedulerTimeNanos";
@@ -57,6 +61,8 @@ public class RuntimeMetricName
     public static final String OPTIMIZER_TIME_NANOS = "optimizerTimeNanos";
     public static final String VALIDATE_FINAL_PLAN_TIME_NANOS = "validateFinalPlanTimeNanos";
     public static final String VALIDATE_INTERMEDIATE_PLAN_TIME_NANOS = "validateIntermediatePlanTimeNanos";
+    // Time spent validating plan fragments, summed over all fragments of the query
+    public static final String VALIDATE_FRAGMENT_PLAN_TIME_NANOS = "validateFragmentPlanTimeNanos";
     public static final String GET_CANONICAL_INFO_TIME_NANOS = "getCanonicalInfoTimeNanos";
     public static final String FRAGMENT_PLAN_TIME_NANOS = "fragmentPlanTimeNanos";
     public static final String GET_LAYOUT_TIME_NANOS = "getLayoutTimeNanos";
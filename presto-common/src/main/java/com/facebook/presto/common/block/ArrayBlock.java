@@ -215,7 +215,7 @@ public class ArrayBlock
     @Override
     public Block getLoadedBlock()
     {
-        Block loadedValuesBlock = values.getLoadedBlock();
+        Block loadedValuesBlock = values.getFullyLoadedBlock();
 
         if (loadedValuesBlock == values) {
             return this;
@@ -380,6 +380,16 @@ public interface Block
         return this;
     }
 
+    /**
+     * Returns a block that assures all data is in memory, including the data of
+     * nested blocks that are loaded lazily. Unlike {@link #getLoadedBlock()}, which
+     * for a {@link LazyBlock} only loads the top level, this loads every level.
+     */
+    default Block getFullyLoadedBlock()
+    {
+        return getLoadedBlock();
+    }
+
     /**
      * Returns a block that has an appended null at the end, no matter if the original block has null or not.
      * The original block won't be modified.
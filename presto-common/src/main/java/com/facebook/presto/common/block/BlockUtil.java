@@ -294,13 +294,13 @@ public final class BlockUtil
     static Block[] ensureBlocksAreLoaded(Block[] blocks)
     {
         for (int i = 0; i < blocks.length; i++) {
-            Block loaded = blocks[i].getLoadedBlock();
+            Block loaded = blocks[i].getFullyLoadedBlock();
             if (loaded != blocks[i]) {
                 // Transition to new block creation mode after the first newly loaded block is encountered
                 Block[] loadedBlocks = blocks.clone();
                 loadedBlocks[i++] = loaded;
                 for (; i < blocks.length; i++) {
-                    loadedBlocks[i] = blocks[i].getLoadedBlock();
+                    loadedBlocks[i] = blocks[i].getFullyLoadedBlock();
                 }
                 return loadedBlocks;
             }
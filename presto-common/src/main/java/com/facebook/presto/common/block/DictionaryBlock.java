@@ -500,7 +500,7 @@ public class DictionaryBlock
     @Override
     public Block getLoadedBlock()
     {
-        Block loadedDictionary = dictionary.getLoadedBlock();
+        Block loadedDictionary = dictionary.getFullyLoadedBlock();
 
         if (loadedDictionary == dictionary) {
             return this;
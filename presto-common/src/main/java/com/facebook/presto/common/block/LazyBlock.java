@@ -28,14 +28,31 @@ public class LazyBlock
     private static final int INSTANCE_SIZE = ClassLayout.parseClass(LazyBlock.class).instanceSize();
 
     private final int positionCount;
+    private final boolean nested;
     private LazyBlockLoader<LazyBlock> loader;
 
     private Block block;
 
     public LazyBlock(int positionCount, LazyBlockLoader<LazyBlock> loader)
+    {
+        this(positionCount, loader, false);
+    }
+
+    protected LazyBlock(int positionCount, LazyBlockLoader<LazyBlock> loader, boolean nested)
     {
         this.positionCount = positionCount;
         this.loader = requireNonNull(loader, "loader is null");
+        this.nested = nested;
+    }
+
+    /**
+     * Creates a lazy block to be used as a field, element or value block of a nested block.
+     * Unlike other lazy blocks, computing the retained size of an unloaded nested lazy block
+     * does not load it, since the enclosing block computes its retained size on construction.
+     */
+    public static LazyBlock nestedLazyBlock(int positionCount, LazyBlockLoader<LazyBlock> loader)
+    {
+        return new LazyBlock(positionCount, loader, true);
     }
 
     @Override
@@ -217,6 +234,9 @@ public class LazyBlock
     @Override
     public long getRetainedSizeInBytes()
     {
+        if (nested && block == null) {
+            return INSTANCE_SIZE;
+        }
         assureLoaded();
         return INSTANCE_SIZE + block.getRetainedSizeInBytes();
     }
@@ -231,6 +251,10 @@ public class LazyBlock
     @Override
     public void retainedBytesForEachPart(ObjLongConsumer<Object> consumer)
     {
+        if (nested && block == null) {
+            consumer.accept(this, INSTANCE_SIZE);
+            return;
+        }
         assureLoaded();
         block.retainedBytesForEachPart(consumer);
         consumer.accept(this, INSTANCE_SIZE);
@@ -305,6 +329,14 @@ public class LazyBlock
         return block;
     }
 
+    @Override
+    public Block getFullyLoadedBlock()
+    {
+        assureLoaded();
+        // the loaded block can contain lazy nested blocks
+        return block.getLoadedBlock();
+    }
+
     private void assureLoaded()
     {
         if (block != null) {
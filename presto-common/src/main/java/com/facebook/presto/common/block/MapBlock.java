@@ -272,12 +272,12 @@ public class MapBlock
     @Override
     public Block getLoadedBlock()
     {
-        if (keyBlock != keyBlock.getLoadedBlock()) {
+        if (keyBlock != keyBlock.getFullyLoadedBlock()) {
             // keyBlock has to be loaded since MapBlock constructs hash table eagerly.
             throw new IllegalStateException();
         }
 
-        Block loadedValueBlock = valueBlock.getLoadedBlock();
+        Block loadedValueBlock = valueBlock.getFullyLoadedBlock();
         if (loadedValueBlock == valueBlock) {
             return this;
         }
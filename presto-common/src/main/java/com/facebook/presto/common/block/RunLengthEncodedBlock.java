@@ -330,7 +330,7 @@ public class RunLengthEncodedBlock
     @Override
     public Block getLoadedBlock()
     {
-        Block loadedValueBlock = value.getLoadedBlock();
+        Block loadedValueBlock = value.getFullyLoadedBlock();
 
         if (loadedValueBlock == value) {
             return this;
@@ -120,12 +120,12 @@ public class SingleMapBlock
     @Override
     public Block getLoadedBlock()
     {
-        if (mapBlock.getRawKeyBlock() != mapBlock.getRawKeyBlock().getLoadedBlock()) {
+        if (mapBlock.getRawKeyBlock() != mapBlock.getRawKeyBlock().getFullyLoadedBlock()) {
             // keyBlock has to be loaded since MapBlock constructs hash table eagerly.
             throw new IllegalStateException();
         }
 
-        Block loadedValueBlock = mapBlock.getRawValueBlock().getLoadedBlock();
+        Block loadedValueBlock = mapBlock.getRawValueBlock().getFullyLoadedBlock();
         if (loadedValueBlock == mapBlock.getRawValueBlock()) {
             return this;
         }
@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.delta;
 
+import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.common.type.TypeSignature;
 import com.facebook.presto.hive.HdfsContext;
 import com.facebook.presto.hive.HdfsEnvironment;
@@ -20,6 +21,7 @@ import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.PrestoException;
 import com.facebook.presto.spi.SchemaTableName;
 import com.facebook.presto.spi.StandardErrorCode;
+import io.delta.kernel.ScanBuilder;
 import io.delta.kernel.Snapshot;
 import io.delta.kernel.Table;
 import io.delta.kernel.data.FilteredColumnarBatch;
@@ -27,6 +29,7 @@ import io.delta.kernel.data.Row;
 import io.delta.kernel.defaults.engine.DefaultEngine;
 import io.delta.kernel.engine.Engine;
 import io.delta.kernel.exceptions.TableNotFoundException;
+import io.delta.kernel.expressions.Predicate;
 import io.delta.kernel.internal.InternalScanFileUtils;
 import io.delta.kernel.internal.SnapshotImpl;
 import io.delta.kernel.utils.CloseableIterator;
@@ -44,6 +47,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.facebook.presto.delta.DeltaDataSkippingUtils.getDataSkippingPredicate;
 import static com.facebook.presto.delta.DeltaTable.DataFormat.PARQUET;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
@@ -142,10 +146,16 @@ public class DeltaClient
     /**
      * Get the list of files corresponding to the given Delta table.
      *
+     * @param dataSkippingPredicate Predicate used to skip files whose column statistics in the Delta log
+     *                              show that they have no matching rows
      * @return Closeable iterator of files. It is responsibility of the caller to close the iterator.
      */
-    public CloseableIterator<FilteredColumnarBatch> listFiles(ConnectorSession session, DeltaTable deltaTable)
+    public CloseableIterator<FilteredColumnarBatch> listFiles(
+            ConnectorSession session,
+            DeltaTable deltaTable,
+            TupleDomain<DeltaColumnHandle> dataSkippingPredicate)
     {
+        requireNonNull(dataSkippingPredicate, "dataSkippingPredicate is null");
         requireNonNull(deltaTable, "deltaTable is null");
         checkArgument(deltaTable.getSnapshotId().isPresent(), "Snapshot id is missing from the Delta table");
         Optional<Engine> deltaEngine = loadDeltaEngine(session,
@@ -162,9 +172,15 @@ public class DeltaClient
         }
 
         try {
-            return sourceTable.getSnapshotAsOfVersion(deltaEngine.get(),
-                            deltaTable.getSnapshotId().get()).getScanBuilder(deltaEngine.get()).build()
-                    .getScanFiles(deltaEngine.get());
+            Snapshot snapshot = sourceTable.getSnapshotAsOfVersion(deltaEngine.get(), deltaTable.getSnapshotId().get());
+            ScanBuilder scanBuilder = snapshot.getScanBuilder(deltaEngine.get());
+            // The kernel reads the statistics of all files in columnar batches, from the checkpoint parquet
+            // files and the commit files after it, and evaluates the predicate on each batch at once.
+            Optional<Predicate> filter = getDataSkippingPredicate(dataSkippingPredicate, snapshot.getSchema(deltaEngine.get()));
+            if (filter.isPresent()) {
+                scanBuilder = scanBuilder.withFilter(deltaEngine.get(), filter.get());
+            }
+            return scanBuilder.build().getScanFiles(deltaEngine.get());
         }
         catch (TableNotFoundException e) {
             throw new PrestoException(StandardErrorCode.NOT_FOUND,
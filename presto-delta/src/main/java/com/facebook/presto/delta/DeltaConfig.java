@@ -22,6 +22,7 @@ public class DeltaConfig
     private int maxSplitsBatchSize = 200;
     private boolean parquetDereferencePushdownEnabled = true;
     private boolean caseSensitivePartitionsEnabled = true;
+    private boolean dataSkippingEnabled = true;
 
     @NotNull
     public boolean isParquetDereferencePushdownEnabled()
@@ -59,4 +60,16 @@ public class DeltaConfig
         this.caseSensitivePartitionsEnabled = caseSensitivePartitionsEnabled;
         return this;
     }
+
+    public boolean isDataSkippingEnabled()
+    {
+        return dataSkippingEnabled;
+    }
+
+    @Config("delta.data-skipping-enabled")
+    public DeltaConfig setDataSkippingEnabled(boolean dataSkippingEnabled)
+    {
+        this.dataSkippingEnabled = dataSkippingEnabled;
+        return this;
+    }
 }
@@ -0,0 +1,219 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.delta;
+
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.Range;
+import com.facebook.presto.common.predicate.Ranges;
+import com.facebook.presto.common.predicate.SortedRangeSet;
+import com.facebook.presto.common.predicate.TupleDomain;
+import com.facebook.presto.common.predicate.ValueSet;
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+import io.delta.kernel.expressions.And;
+import io.delta.kernel.expressions.Column;
+import io.delta.kernel.expressions.Literal;
+import io.delta.kernel.expressions.Or;
+import io.delta.kernel.expressions.Predicate;
+import io.delta.kernel.types.ByteType;
+import io.delta.kernel.types.DataType;
+import io.delta.kernel.types.DateType;
+import io.delta.kernel.types.DoubleType;
+import io.delta.kernel.types.FloatType;
+import io.delta.kernel.types.IntegerType;
+import io.delta.kernel.types.LongType;
+import io.delta.kernel.types.ShortType;
+import io.delta.kernel.types.StringType;
+import io.delta.kernel.types.StructField;
+import io.delta.kernel.types.StructType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.facebook.presto.delta.DeltaColumnHandle.ColumnType.REGULAR;
+import static java.lang.Float.intBitsToFloat;
+import static java.lang.Math.toIntExact;
+import static java.util.Locale.US;
+
+/**
+ * Translates the predicate of a table layout into a Delta kernel predicate, which the kernel evaluates
+ * against the min/max values and null counts recorded for each data file in the Delta log.
+ */
+public final class DeltaDataSkippingUtils
+{
+    // beyond this many ranges a domain is widened to its span, which the file statistics can still prune on
+    private static final int MAX_RANGES_PER_COLUMN = 100;
+
+    private DeltaDataSkippingUtils()
+    {
+    }
+
+    /**
+     * Build the data skipping predicate for the regular columns of the given predicate. Partition columns
+     * are pruned separately, and domains that the file statistics can not answer are left out, so the
+     * result only ever skips files that have no matching rows.
+     *
+     * @param predicate Predicate of the table layout
+     * @param schema    Schema of the Delta snapshot being scanned
+     * @return Predicate to pass to the Delta kernel scan, or empty if no file can be skipped
+     */
+    public static Optional<Predicate> getDataSkippingPredicate(TupleDomain<DeltaColumnHandle> predicate, StructType schema)
+    {
+        if (predicate.isNone() || !predicate.getDomains().isPresent()) {
+            return Optional.empty();
+        }
+
+        // column handles may carry lower case names, while the kernel resolves names as they appear in the schema
+        Map<String, StructField> fields = new HashMap<>();
+        for (StructField field : schema.fields()) {
+            fields.put(field.getName().toLowerCase(US), field);
+        }
+
+        Optional<Predicate> result = Optional.empty();
+        for (Map.Entry<DeltaColumnHandle, Domain> entry : predicate.getDomains().get().entrySet()) {
+            DeltaColumnHandle columnHandle = entry.getKey();
+            if (columnHandle.getColumnType() != REGULAR || columnHandle.getSubfield().isPresent()) {
+                continue;
+            }
+            StructField field = fields.get(columnHandle.getName().toLowerCase(US));
+            if (field == null) {
+                continue;
+            }
+            Optional<Predicate> columnPredicate = toPredicate(new Column(field.getName()), field.getDataType(), entry.getValue());
+            if (columnPredicate.isPresent()) {
+                result = Optional.of(result.isPresent() ? new And(result.get(), columnPredicate.get()) : columnPredicate.get());
+            }
+        }
+        return result;
+    }
+
+    private static Optional<Predicate> toPredicate(Column column, DataType type, Domain domain)
+    {
+        if (domain.isAll()) {
+            return Optional.empty();
+        }
+        if (domain.isOnlyNull()) {
+            return Optional.of(new Predicate("IS_NULL", column));
+        }
+
+        ValueSet values = domain.getValues();
+        if (values.isAll()) {
+            return domain.isNullAllowed() ? Optional.empty() : Optional.of(new Predicate("IS_NOT_NULL", column));
+        }
+        if (!isSkippingEligible(type) || !(values instanceof SortedRangeSet)) {
+            return Optional.empty();
+        }
+
+        Ranges ranges = values.getRanges();
+        List<Range> orderedRanges = ranges.getRangeCount() > MAX_RANGES_PER_COLUMN ? ImmutableList.of(ranges.getSpan()) : ranges.getOrderedRanges();
+        Predicate disjunction = null;
+        for (Range range : orderedRanges) {
+            Optional<Predicate> rangePredicate = toPredicate(column, type, range);
+            if (!rangePredicate.isPresent()) {
+                return Optional.empty();
+            }
+            disjunction = disjunction == null ? rangePredicate.get() : new Or(disjunction, rangePredicate.get());
+        }
+        if (disjunction == null) {
+            return Optional.empty();
+        }
+        if (domain.isNullAllowed()) {
+            disjunction = new Or(disjunction, new Predicate("IS_NULL", column));
+        }
+        return Optional.of(disjunction);
+    }
+
+    private static Optional<Predicate> toPredicate(Column column, DataType type, Range range)
+    {
+        if (range.isSingleValue()) {
+            return toLiteral(type, range.getSingleValue())
+                    .map(value -> new Predicate("=", column, value));
+        }
+
+        Optional<Predicate> lower = Optional.empty();
+        if (!range.isLowUnbounded()) {
+            Optional<Literal> value = toLiteral(type, range.getLowBoundedValue());
+            if (!value.isPresent()) {
+                return Optional.empty();
+            }
+            lower = Optional.of(new Predicate(range.isLowInclusive() ? ">=" : ">", column, value.get()));
+        }
+        Optional<Predicate> upper = Optional.empty();
+        if (!range.isHighUnbounded()) {
+            Optional<Literal> value = toLiteral(type, range.getHighBoundedValue());
+            if (!value.isPresent()) {
+                return Optional.empty();
+            }
+            upper = Optional.of(new Predicate(range.isHighInclusive() ? "<=" : "<", column, value.get()));
+        }
+
+        if (lower.isPresent() && upper.isPresent()) {
+            return Optional.of(new And(lower.get(), upper.get()));
+        }
+        return lower.isPresent() ? lower : upper;
+    }
+
+    private static boolean isSkippingEligible(DataType type)
+    {
+        // timestamps are left out, since Delta truncates their statistics to milliseconds
+        return type instanceof ByteType ||
+                type instanceof ShortType ||
+                type instanceof IntegerType ||
+                type instanceof LongType ||
+                type instanceof FloatType ||
+                type instanceof DoubleType ||
+                type instanceof DateType ||
+                type instanceof StringType;
+    }
+
+    /**
+     * Convert a Presto native value to a literal of the Delta column type, the kernel rejects comparisons
+     * between different types.
+     */
+    private static Optional<Literal> toLiteral(DataType type, Object value)
+    {
+        if (value instanceof Long) {
+            long longValue = (Long) value;
+            if (type instanceof ByteType) {
+                return Optional.of(Literal.ofByte((byte) longValue));
+            }
+            if (type instanceof ShortType) {
+                return Optional.of(Literal.ofShort((short) longValue));
+            }
+            if (type instanceof IntegerType) {
+                return Optional.of(Literal.ofInt(toIntExact(longValue)));
+            }
+            if (type instanceof LongType) {
+                return Optional.of(Literal.ofLong(longValue));
+            }
+            if (type instanceof DateType) {
+                return Optional.of(Literal.ofDate(toIntExact(longValue)));
+            }
+            if (type instanceof FloatType) {
+                float floatValue = intBitsToFloat(toIntExact(longValue));
+                return Float.isNaN(floatValue) ? Optional.empty() : Optional.of(Literal.ofFloat(floatValue));
+            }
+        }
+        if (value instanceof Double && type instanceof DoubleType) {
+            double doubleValue = (Double) value;
+            return Double.isNaN(doubleValue) ? Optional.empty() : Optional.of(Literal.ofDouble(doubleValue));
+        }
+        if (value instanceof Slice && type instanceof StringType) {
+            return Optional.of(Literal.ofString(((Slice) value).toStringUtf8()));
+        }
+        return Optional.empty();
+    }
+}
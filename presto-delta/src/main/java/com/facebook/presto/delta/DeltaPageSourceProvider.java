@@ -86,6 +86,8 @@ import static com.facebook.presto.delta.DeltaErrorCode.DELTA_MISSING_DATA;
 import static com.facebook.presto.delta.DeltaErrorCode.DELTA_PARQUET_SCHEMA_MISMATCH;
 import static com.facebook.presto.delta.DeltaTypeUtils.convertPartitionValue;
 import static com.facebook.presto.hive.CacheQuota.NO_CACHE_CONSTRAINTS;
+import static com.facebook.presto.hive.HiveCommonSessionProperties.getParquetMaxBufferSize;
+import static com.facebook.presto.hive.HiveCommonSessionProperties.getParquetMaxMergeDistance;
 import static com.facebook.presto.hive.HiveCommonSessionProperties.getParquetMaxReadBlockSize;
 import static com.facebook.presto.hive.HiveCommonSessionProperties.getReadNullMaskedParquetEncryptedValue;
 import static com.facebook.presto.hive.HiveCommonSessionProperties.isParquetBatchReaderVerificationEnabled;
@@ -238,7 +240,7 @@ public class DeltaPageSourceProvider
             FSDataInputStream inputStream = fileSystem.openFile(path, hiveFileContext);
 
             // Lambda expression below requires final variable, so we define a new variable parquetDataSource.
-            final ParquetDataSource parquetDataSource = buildHdfsParquetDataSource(inputStream, path, stats);
+            final ParquetDataSource parquetDataSource = buildHdfsParquetDataSource(inputStream, path, stats, getParquetMaxMergeDistance(session), getParquetMaxBufferSize(session));
             dataSource = parquetDataSource;
             Optional<InternalFileDecryptor> fileDecryptor = createDecryptor(configuration, path);
             ParquetMetadata parquetMetadata = hdfsEnvironment.doAs(user, () -> MetadataReader.readFooter(parquetDataSource, fileSize, fileDecryptor, readMaskedValue).getParquetMetadata());
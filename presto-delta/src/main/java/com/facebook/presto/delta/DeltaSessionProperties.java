@@ -28,6 +28,7 @@ public final class DeltaSessionProperties
 {
     private static final String CACHE_ENABLED = "cache_enabled";
     public static final String PARQUET_DEREFERENCE_PUSHDOWN_ENABLED = "parquet_dereference_pushdown_enabled";
+    public static final String DATA_SKIPPING_ENABLED = "data_skipping_enabled";
 
     private final List<PropertyMetadata<?>> sessionProperties;
 
@@ -47,6 +48,11 @@ public final class DeltaSessionProperties
                         PARQUET_DEREFERENCE_PUSHDOWN_ENABLED,
                         "Is dereference pushdown expression pushdown into Parquet reader enabled?",
                         deltaConfigConfig.isParquetDereferencePushdownEnabled(),
+                        false),
+                booleanProperty(
+                        DATA_SKIPPING_ENABLED,
+                        "Skip data files using the column statistics recorded in the Delta log",
+                        deltaConfigConfig.isDataSkippingEnabled(),
                         false));
     }
 
@@ -59,4 +65,9 @@ public final class DeltaSessionProperties
     {
         return session.getProperty(PARQUET_DEREFERENCE_PUSHDOWN_ENABLED, Boolean.class);
     }
+
+    public static boolean isDataSkippingEnabled(ConnectorSession session)
+    {
+        return session.getProperty(DATA_SKIPPING_ENABLED, Boolean.class);
+    }
 }
@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.delta;
 
+import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.common.type.TypeManager;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.ConnectorSplit;
@@ -35,6 +36,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
 
+import static com.facebook.presto.delta.DeltaSessionProperties.isDataSkippingEnabled;
 import static com.facebook.presto.hive.HiveCommonSessionProperties.getNodeSelectionStrategy;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
@@ -80,7 +82,10 @@ public class DeltaSplitManager
             this.session = requireNonNull(session, "session is null");
             this.deltaTable = deltaTableHandle.getTable().getDeltaTable();
             this.rowIterator = DeltaExpressionUtils.iterateWithPartitionPruning(
-                    deltaClient.listFiles(session, deltaTable),
+                    deltaClient.listFiles(
+                            session,
+                            deltaTable,
+                            isDataSkippingEnabled(session) ? deltaTableHandle.getPredicate() : TupleDomain.all()),
                     deltaTableHandle.getPredicate(),
                     typeManager);
             this.maxBatchSize = deltaConfig.getMaxSplitsBatchSize();
@@ -0,0 +1,127 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.delta;
+
+import com.facebook.presto.common.Subfield;
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.Range;
+import com.facebook.presto.common.predicate.TupleDomain;
+import com.facebook.presto.common.predicate.ValueSet;
+import com.google.common.collect.ImmutableMap;
+import io.delta.kernel.expressions.Predicate;
+import io.delta.kernel.types.BooleanType;
+import io.delta.kernel.types.IntegerType;
+import io.delta.kernel.types.StringType;
+import io.delta.kernel.types.StructType;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static com.facebook.presto.common.predicate.Domain.notNull;
+import static com.facebook.presto.common.predicate.Domain.onlyNull;
+import static com.facebook.presto.common.predicate.Domain.singleValue;
+import static com.facebook.presto.common.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.common.type.IntegerType.INTEGER;
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.delta.DeltaColumnHandle.ColumnType.PARTITION;
+import static com.facebook.presto.delta.DeltaColumnHandle.ColumnType.REGULAR;
+import static com.facebook.presto.delta.DeltaDataSkippingUtils.getDataSkippingPredicate;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.slice.Slices.utf8Slice;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+public class TestDeltaDataSkippingUtils
+{
+    private static final StructType SCHEMA = new StructType()
+            .add("as_int", IntegerType.INTEGER)
+            .add("As_String", StringType.STRING)
+            .add("as_boolean", BooleanType.BOOLEAN)
+            .add("part", StringType.STRING);
+
+    private static final DeltaColumnHandle INT_COLUMN = new DeltaColumnHandle("as_int", INTEGER.getTypeSignature(), REGULAR, Optional.empty());
+    private static final DeltaColumnHandle STRING_COLUMN = new DeltaColumnHandle("as_string", VARCHAR.getTypeSignature(), REGULAR, Optional.empty());
+    private static final DeltaColumnHandle BOOLEAN_COLUMN = new DeltaColumnHandle("as_boolean", BOOLEAN.getTypeSignature(), REGULAR, Optional.empty());
+    private static final DeltaColumnHandle PARTITION_COLUMN = new DeltaColumnHandle("part", VARCHAR.getTypeSignature(), PARTITION, Optional.empty());
+
+    @Test
+    public void testComparisons()
+    {
+        assertPredicate(
+                ImmutableMap.of(INT_COLUMN, singleValue(INTEGER, 1L)),
+                "(column(`as_int`) = 1)");
+        assertPredicate(
+                ImmutableMap.of(INT_COLUMN, Domain.create(ValueSet.ofRanges(Range.range(INTEGER, 1L, true, 10L, false)), false)),
+                "((column(`as_int`) >= 1) AND (column(`as_int`) < 10))");
+        assertPredicate(
+                ImmutableMap.of(INT_COLUMN, Domain.create(ValueSet.ofRanges(Range.lessThan(INTEGER, 0L), Range.greaterThanOrEqual(INTEGER, 5L)), true)),
+                "(((column(`as_int`) < 0) OR (column(`as_int`) >= 5)) OR IS_NULL(column(`as_int`)))");
+    }
+
+    @Test
+    public void testNulls()
+    {
+        assertPredicate(ImmutableMap.of(INT_COLUMN, onlyNull(INTEGER)), "IS_NULL(column(`as_int`))");
+        assertPredicate(ImmutableMap.of(INT_COLUMN, notNull(INTEGER)), "IS_NOT_NULL(column(`as_int`))");
+    }
+
+    @Test
+    public void testColumnNamesResolvedAgainstSchema()
+    {
+        assertPredicate(
+                ImmutableMap.of(
+                        INT_COLUMN, singleValue(INTEGER, 1L),
+                        STRING_COLUMN, singleValue(VARCHAR, utf8Slice("abc"))),
+                "((column(`as_int`) = 1) AND (column(`As_String`) = abc))");
+    }
+
+    @Test
+    public void testManyValuesWidenedToSpan()
+    {
+        List<Long> values = LongStream.range(0, 1000).map(value -> value * 2).boxed().collect(toImmutableList());
+        assertPredicate(ImmutableMap.of(INT_COLUMN, Domain.multipleValues(INTEGER, values)), "((column(`as_int`) >= 0) AND (column(`as_int`) <= 1998))");
+    }
+
+    @Test
+    public void testUnsupportedDomainsIgnored()
+    {
+        // partition columns are pruned by the connector
+        assertNoPredicate(ImmutableMap.of(PARTITION_COLUMN, singleValue(VARCHAR, utf8Slice("a"))));
+        // booleans have no min/max statistics
+        assertNoPredicate(ImmutableMap.of(BOOLEAN_COLUMN, singleValue(BOOLEAN, true)));
+        // nested fields
+        assertNoPredicate(ImmutableMap.of(
+                new DeltaColumnHandle("as_int", INTEGER.getTypeSignature(), REGULAR, Optional.of(new Subfield("as_int.a"))),
+                singleValue(INTEGER, 1L)));
+        // columns missing from the snapshot schema
+        assertNoPredicate(ImmutableMap.of(
+                new DeltaColumnHandle("dropped", INTEGER.getTypeSignature(), REGULAR, Optional.empty()),
+                singleValue(INTEGER, 1L)));
+        assertFalse(getDataSkippingPredicate(TupleDomain.all(), SCHEMA).isPresent());
+        assertFalse(getDataSkippingPredicate(TupleDomain.none(), SCHEMA).isPresent());
+    }
+
+    private static void assertPredicate(ImmutableMap<DeltaColumnHandle, Domain> domains, String expected)
+    {
+        Optional<Predicate> predicate = getDataSkippingPredicate(TupleDomain.withColumnDomains(domains), SCHEMA);
+        assertEquals(predicate.map(Predicate::toString), Optional.of(expected));
+    }
+
+    private static void assertNoPredicate(ImmutableMap<DeltaColumnHandle, Domain> domains)
+    {
+        assertEquals(getDataSkippingPredicate(TupleDomain.withColumnDomains(domains), SCHEMA), Optional.empty());
+    }
+}
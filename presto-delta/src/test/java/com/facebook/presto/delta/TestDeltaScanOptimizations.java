@@ -27,8 +27,12 @@ import com.facebook.presto.sql.planner.assertions.MatchResult;
 import com.facebook.presto.sql.planner.assertions.Matcher;
 import com.facebook.presto.sql.planner.assertions.PlanMatchPattern;
 import com.facebook.presto.sql.planner.assertions.SymbolAliases;
+import com.facebook.presto.testing.MaterializedResult;
+import com.facebook.presto.tests.DistributedQueryRunner;
+import com.facebook.presto.tests.ResultWithQueryId;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import org.testng.annotations.Test;
 
 import java.util.Collections;
@@ -40,12 +44,14 @@ import static com.facebook.presto.common.predicate.Domain.onlyNull;
 import static com.facebook.presto.common.predicate.Domain.singleValue;
 import static com.facebook.presto.common.type.IntegerType.INTEGER;
 import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.delta.DeltaSessionProperties.DATA_SKIPPING_ENABLED;
 import static com.facebook.presto.delta.DeltaSessionProperties.PARQUET_DEREFERENCE_PUSHDOWN_ENABLED;
 import static com.facebook.presto.sql.planner.assertions.MatchResult.NO_MATCH;
 import static com.facebook.presto.sql.planner.assertions.MatchResult.match;
 import static com.facebook.presto.sql.planner.assertions.PlanMatchPattern.anyTree;
 import static io.airlift.slice.Slices.utf8Slice;
 import static java.lang.String.format;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Integrations tests for various optimization (such as filter pushdown, nested column project/filter pushdown etc)
@@ -182,6 +188,29 @@ public class TestDeltaScanOptimizations
                 ImmutableMap.of());
     }
 
+    @Test
+    public void filterOnRegularColumnSkipsFiles()
+    {
+        // the table has two files with as_int values 0 to 3 and 4 to 9, the delta_v1 copy has no file statistics
+        String tableName = getVersionPrefix(DELTA_V3) + "data-reader-primitives";
+        String testQuery = format("SELECT as_int FROM \"%s\" WHERE as_int = 1", tableName);
+
+        Session dataSkippingDisabled = Session.builder(getSession())
+                .setCatalogSessionProperty(DELTA_CATALOG, DATA_SKIPPING_ENABLED, "false")
+                .build();
+        int driversWithoutSkipping = getTotalDrivers(dataSkippingDisabled, testQuery);
+        int driversWithSkipping = getTotalDrivers(getSession(), testQuery);
+        assertEquals(driversWithSkipping, driversWithoutSkipping - 1);
+    }
+
+    private int getTotalDrivers(Session session, String sql)
+    {
+        DistributedQueryRunner queryRunner = (DistributedQueryRunner) getQueryRunner();
+        ResultWithQueryId<MaterializedResult> result = queryRunner.executeWithQueryId(session, sql);
+        assertEquals(result.getResult().getOnlyColumnAsSet(), ImmutableSet.of(1));
+        return queryRunner.getCoordinator().getQueryManager().getFullQueryInfo(result.getQueryId()).getQueryStats().getTotalDrivers();
+    }
+
     private void assertDeltaQueryOptimized(
             String tableName,
             String testQuery,
@@ -29,12 +29,19 @@ public class CacheQuota
     private final String identity;
     private final long identifier;
     private final Optional<DataSize> quota;
+    private final boolean admissionFilterEnabled;
 
     public CacheQuota(String identity, Optional<DataSize> quota)
+    {
+        this(identity, quota, true);
+    }
+
+    public CacheQuota(String identity, Optional<DataSize> quota, boolean admissionFilterEnabled)
     {
         this.identity = requireNonNull(identity, "identity is null");
         this.identifier = sha256().hashString(identity, UTF_8).asLong();
         this.quota = requireNonNull(quota, "quota is null");
+        this.admissionFilterEnabled = admissionFilterEnabled;
     }
 
     public String getIdentity()
@@ -52,6 +59,15 @@ public class CacheQuota
         return quota;
     }
 
+    /**
+     * Whether data read under this quota has to pass the cache admission filter before it is cached.
+     * When false, every miss is written to the cache.
+     */
+    public boolean isAdmissionFilterEnabled()
+    {
+        return admissionFilterEnabled;
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -62,12 +78,12 @@ public class CacheQuota
             return false;
         }
         CacheQuota that = (CacheQuota) o;
-        return identity.equals(that.identity) && identifier == that.identifier && Objects.equals(quota, that.quota);
+        return identity.equals(that.identity) && identifier == that.identifier && Objects.equals(quota, that.quota) && admissionFilterEnabled == that.admissionFilterEnabled;
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(identity, identifier, quota);
+        return Objects.hash(identity, identifier, quota, admissionFilterEnabled);
     }
 }
@@ -24,6 +24,7 @@ import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.NotNull;
 
 import static com.facebook.presto.spi.schedule.NodeSelectionStrategy.NO_PREFERENCE;
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 
 public class HiveCommonClientConfig
@@ -42,12 +43,19 @@ public class HiveCommonClientConfig
     private boolean parquetBatchReadOptimizationEnabled;
     private boolean parquetEnableBatchReaderVerification;
     private DataSize parquetMaxReadBlockSize = new DataSize(16, MEGABYTE);
+    private DataSize parquetMaxMergeDistance = new DataSize(1, MEGABYTE);
+    private DataSize parquetMaxBufferSize = new DataSize(8, MEGABYTE);
+    private boolean parquetBloomFiltersEnabled = true;
     private boolean rangeFiltersOnSubscriptsEnabled;
     private boolean readNullMaskedParquetEncryptedValueEnabled;
     private boolean useParquetColumnNames;
     private boolean zstdJniDecompressionEnabled;
     private String catalogName;
     private DataSize affinitySchedulingFileSectionSize = new DataSize(256, MEGABYTE);
+    private String metadataDiskCacheDirectory;
+    private DataSize metadataDiskCacheMaxSize = new DataSize(1, GIGABYTE);
+    private boolean lazyNestedBlocksEnabled;
+    private boolean orcStripePrefetchEnabled;
 
     public NodeSelectionStrategy getNodeSelectionStrategy()
     {
@@ -236,6 +244,47 @@ public class HiveCommonClientConfig
         return this;
     }
 
+    @NotNull
+    public DataSize getParquetMaxMergeDistance()
+    {
+        return parquetMaxMergeDistance;
+    }
+
+    @Config("hive.parquet.max-merge-distance")
+    @ConfigDescription("Maximum size of gap between two column chunks to merge into a single read")
+    public HiveCommonClientConfig setParquetMaxMergeDistance(DataSize parquetMaxMergeDistance)
+    {
+        this.parquetMaxMergeDistance = parquetMaxMergeDistance;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getParquetMaxBufferSize()
+    {
+        return parquetMaxBufferSize;
+    }
+
+    @Config("hive.parquet.max-buffer-size")
+    @ConfigDescription("Maximum size of a single merged read of column chunks")
+    public HiveCommonClientConfig setParquetMaxBufferSize(DataSize parquetMaxBufferSize)
+    {
+        this.parquetMaxBufferSize = parquetMaxBufferSize;
+        return this;
+    }
+
+    public boolean isParquetBloomFiltersEnabled()
+    {
+        return parquetBloomFiltersEnabled;
+    }
+
+    @Config("hive.parquet.bloom-filters.enabled")
+    @ConfigDescription("Use Parquet bloom filters to skip row groups for equality and IN predicates")
+    public HiveCommonClientConfig setParquetBloomFiltersEnabled(boolean parquetBloomFiltersEnabled)
+    {
+        this.parquetBloomFiltersEnabled = parquetBloomFiltersEnabled;
+        return this;
+    }
+
     public boolean isRangeFiltersOnSubscriptsEnabled()
     {
         return rangeFiltersOnSubscriptsEnabled;
@@ -312,4 +361,57 @@ public class HiveCommonClientConfig
         this.affinitySchedulingFileSectionSize = affinitySchedulingFileSectionSize;
         return this;
     }
+
+    public String getMetadataDiskCacheDirectory()
+    {
+        return metadataDiskCacheDirectory;
+    }
+
+    @Config("hive.metadata-disk-cache.directory")
+    @ConfigDescription("Local directory for the ORC and Parquet footer cache, must be different for every catalog. The cache is disabled when not set")
+    public HiveCommonClientConfig setMetadataDiskCacheDirectory(String metadataDiskCacheDirectory)
+    {
+        this.metadataDiskCacheDirectory = metadataDiskCacheDirectory;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getMetadataDiskCacheMaxSize()
+    {
+        return metadataDiskCacheMaxSize;
+    }
+
+    @Config("hive.metadata-disk-cache.max-size")
+    @ConfigDescription("Maximum size of the ORC and Parquet footer cache on the local disk")
+    public HiveCommonClientConfig setMetadataDiskCacheMaxSize(DataSize metadataDiskCacheMaxSize)
+    {
+        this.metadataDiskCacheMaxSize = metadataDiskCacheMaxSize;
+        return this;
+    }
+
+    public boolean isLazyNestedBlocksEnabled()
+    {
+        return lazyNestedBlocksEnabled;
+    }
+
+    @Config("hive.lazy-nested-blocks-enabled")
+    @ConfigDescription("Experimental: defer decoding of struct fields, array elements and map values of ORC and Parquet columns until they are accessed")
+    public HiveCommonClientConfig setLazyNestedBlocksEnabled(boolean lazyNestedBlocksEnabled)
+    {
+        this.lazyNestedBlocksEnabled = lazyNestedBlocksEnabled;
+        return this;
+    }
+
+    public boolean isOrcStripePrefetchEnabled()
+    {
+        return orcStripePrefetchEnabled;
+    }
+
+    @Config("hive.orc.stripe-prefetch-enabled")
+    @ConfigDescription("Read the streams of the next ORC stripe in the background while the current stripe is being processed")
+    public HiveCommonClientConfig setOrcStripePrefetchEnabled(boolean orcStripePrefetchEnabled)
+    {
+        this.orcStripePrefetchEnabled = orcStripePrefetchEnabled;
+        return this;
+    }
 }
@@ -27,5 +27,6 @@ public class HiveCommonModule
     {
         configBinder(binder).bindConfig(HiveCommonClientConfig.class);
         binder.bind(HiveCommonSessionProperties.class).in(Scopes.SINGLETON);
+        binder.bind(MetadataDiskCacheProvider.class).in(Scopes.SINGLETON);
     }
 }
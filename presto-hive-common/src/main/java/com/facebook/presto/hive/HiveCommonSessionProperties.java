@@ -59,9 +59,14 @@ public class HiveCommonSessionProperties
     private static final String ORC_ZSTD_JNI_DECOMPRESSION_ENABLED = "orc_zstd_jni_decompression_enabled";
     private static final String PARQUET_BATCH_READER_VERIFICATION_ENABLED = "parquet_batch_reader_verification_enabled";
     private static final String PARQUET_MAX_READ_BLOCK_SIZE = "parquet_max_read_block_size";
+    private static final String PARQUET_MAX_MERGE_DISTANCE = "parquet_max_merge_distance";
+    private static final String PARQUET_MAX_BUFFER_SIZE = "parquet_max_buffer_size";
+    private static final String PARQUET_BLOOM_FILTERS_ENABLED = "parquet_bloom_filters_enabled";
     private static final String PARQUET_USE_COLUMN_NAMES = "parquet_use_column_names";
     public static final String READ_MASKED_VALUE_ENABLED = "read_null_masked_parquet_encrypted_value_enabled";
     public static final String AFFINITY_SCHEDULING_FILE_SECTION_SIZE = "affinity_scheduling_file_section_size";
+    private static final String LAZY_NESTED_BLOCKS_ENABLED = "lazy_nested_blocks_enabled";
+    private static final String ORC_STRIPE_PREFETCH_ENABLED = "orc_stripe_prefetch_enabled";
     private final List<PropertyMetadata<?>> sessionProperties;
 
     @Inject
@@ -169,6 +174,21 @@ public class HiveCommonSessionProperties
                         "Parquet: Maximum size of a block to read",
                         hiveCommonClientConfig.getParquetMaxReadBlockSize(),
                         false),
+                dataSizeSessionProperty(
+                        PARQUET_MAX_MERGE_DISTANCE,
+                        "Parquet: Maximum size of gap between two column chunks to merge into a single read",
+                        hiveCommonClientConfig.getParquetMaxMergeDistance(),
+                        false),
+                dataSizeSessionProperty(
+                        PARQUET_MAX_BUFFER_SIZE,
+                        "Parquet: Maximum size of a single merged read",
+                        hiveCommonClientConfig.getParquetMaxBufferSize(),
+                        false),
+                booleanProperty(
+                        PARQUET_BLOOM_FILTERS_ENABLED,
+                        "Parquet: Enable bloom filters for predicate pushdown",
+                        hiveCommonClientConfig.isParquetBloomFiltersEnabled(),
+                        false),
                 booleanProperty(
                         PARQUET_USE_COLUMN_NAMES,
                         "Experimental: Parquet: Access Parquet columns using names from the file",
@@ -183,6 +203,16 @@ public class HiveCommonSessionProperties
                         AFFINITY_SCHEDULING_FILE_SECTION_SIZE,
                         "Size of file section for affinity scheduling",
                         hiveCommonClientConfig.getAffinitySchedulingFileSectionSize(),
+                        false),
+                booleanProperty(
+                        LAZY_NESTED_BLOCKS_ENABLED,
+                        "Experimental: ORC and Parquet: Decode nested fields of complex columns only when they are accessed",
+                        hiveCommonClientConfig.isLazyNestedBlocksEnabled(),
+                        false),
+                booleanProperty(
+                        ORC_STRIPE_PREFETCH_ENABLED,
+                        "ORC: Read the next stripe in the background while the current stripe is being processed",
+                        hiveCommonClientConfig.isOrcStripePrefetchEnabled(),
                         false));
     }
 
@@ -278,6 +308,31 @@ public class HiveCommonSessionProperties
         return session.getProperty(PARQUET_MAX_READ_BLOCK_SIZE, DataSize.class);
     }
 
+    public static DataSize getParquetMaxMergeDistance(ConnectorSession session)
+    {
+        return session.getProperty(PARQUET_MAX_MERGE_DISTANCE, DataSize.class);
+    }
+
+    public static DataSize getParquetMaxBufferSize(ConnectorSession session)
+    {
+        return session.getProperty(PARQUET_MAX_BUFFER_SIZE, DataSize.class);
+    }
+
+    public static boolean isParquetBloomFiltersEnabled(ConnectorSession session)
+    {
+        return session.getProperty(PARQUET_BLOOM_FILTERS_ENABLED, Boolean.class);
+    }
+
+    public static boolean isLazyNestedBlocksEnabled(ConnectorSession session)
+    {
+        return session.getProperty(LAZY_NESTED_BLOCKS_ENABLED, Boolean.class);
+    }
+
+    public static boolean isOrcStripePrefetchEnabled(ConnectorSession session)
+    {
+        return session.getProperty(ORC_STRIPE_PREFETCH_ENABLED, Boolean.class);
+    }
+
     public static boolean isUseParquetColumnNames(ConnectorSession session)
     {
         return session.getProperty(PARQUET_USE_COLUMN_NAMES, Boolean.class);
@@ -0,0 +1,63 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive;
+
+import com.facebook.presto.cache.LocalDiskCache;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Owns the local disk cache shared by the ORC and Parquet metadata sources of a catalog.
+ */
+public class MetadataDiskCacheProvider
+{
+    private final Optional<LocalDiskCache> diskCache;
+
+    @Inject
+    public MetadataDiskCacheProvider(HiveCommonClientConfig config)
+    {
+        if (config.getMetadataDiskCacheDirectory() == null) {
+            diskCache = Optional.empty();
+        }
+        else {
+            diskCache = Optional.of(new LocalDiskCache(Paths.get(config.getMetadataDiskCacheDirectory()), config.getMetadataDiskCacheMaxSize().toBytes()));
+        }
+    }
+
+    public Optional<LocalDiskCache> get()
+    {
+        return diskCache;
+    }
+
+    @Managed
+    @Nested
+    @Nullable
+    public LocalDiskCache getDiskCache()
+    {
+        return diskCache.orElse(null);
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        diskCache.ifPresent(LocalDiskCache::close);
+    }
+}
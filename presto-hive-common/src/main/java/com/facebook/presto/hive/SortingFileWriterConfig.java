@@ -29,6 +29,8 @@ public class SortingFileWriterConfig
 {
     private DataSize writerSortBufferSize = new DataSize(64, MEGABYTE);
     private int maxOpenSortFiles = 50;
+    private String localTempDirectory;
+    private int mergeThreads = 1;
 
     @MinDataSize("1MB")
     @MaxDataSize("1GB")
@@ -59,4 +61,31 @@ public class SortingFileWriterConfig
         this.maxOpenSortFiles = maxOpenSortFiles;
         return this;
     }
+
+    public String getLocalTempDirectory()
+    {
+        return localTempDirectory;
+    }
+
+    @Config("writer-sort-local-temp-directory")
+    @ConfigDescription("Local directory used for the temporary sorted runs instead of the target file system")
+    public SortingFileWriterConfig setLocalTempDirectory(String localTempDirectory)
+    {
+        this.localTempDirectory = localTempDirectory;
+        return this;
+    }
+
+    @Min(1)
+    public int getMergeThreads()
+    {
+        return mergeThreads;
+    }
+
+    @Config("writer-sort-merge-threads")
+    @ConfigDescription("Number of threads used to merge the sorted runs of different writers of a page sink in parallel")
+    public SortingFileWriterConfig setMergeThreads(int mergeThreads)
+    {
+        this.mergeThreads = mergeThreads;
+        return this;
+    }
 }
@@ -23,6 +23,7 @@ import org.testng.annotations.Test;
 import java.util.Map;
 
 import static com.facebook.presto.spi.schedule.NodeSelectionStrategy.HARD_AFFINITY;
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 
 public class TestHiveCommonClientConfig
@@ -35,6 +36,9 @@ public class TestHiveCommonClientConfig
                 .setNodeSelectionStrategy(NodeSelectionStrategy.valueOf("NO_PREFERENCE"))
                 .setUseParquetColumnNames(false)
                 .setParquetMaxReadBlockSize(new DataSize(16, DataSize.Unit.MEGABYTE))
+                .setParquetMaxMergeDistance(new DataSize(1, DataSize.Unit.MEGABYTE))
+                .setParquetMaxBufferSize(new DataSize(8, DataSize.Unit.MEGABYTE))
+                .setParquetBloomFiltersEnabled(true)
                 .setOrcBloomFiltersEnabled(false)
                 .setOrcMaxMergeDistance(new DataSize(1, DataSize.Unit.MEGABYTE))
                 .setOrcMaxBufferSize(new DataSize(8, DataSize.Unit.MEGABYTE))
@@ -50,7 +54,11 @@ public class TestHiveCommonClientConfig
                 .setParquetBatchReadOptimizationEnabled(false)
                 .setReadNullMaskedParquetEncryptedValue(false)
                 .setCatalogName(null)
-                .setAffinitySchedulingFileSectionSize(new DataSize(256, MEGABYTE)));
+                .setAffinitySchedulingFileSectionSize(new DataSize(256, MEGABYTE))
+                .setMetadataDiskCacheDirectory(null)
+                .setMetadataDiskCacheMaxSize(new DataSize(1, GIGABYTE))
+                .setLazyNestedBlocksEnabled(false)
+                .setOrcStripePrefetchEnabled(false));
     }
 
     @Test
@@ -61,6 +69,9 @@ public class TestHiveCommonClientConfig
                 .put("hive.node-selection-strategy", "HARD_AFFINITY")
                 .put("hive.parquet.use-column-names", "true")
                 .put("hive.parquet.max-read-block-size", "66kB")
+                .put("hive.parquet.max-merge-distance", "23kB")
+                .put("hive.parquet.max-buffer-size", "45kB")
+                .put("hive.parquet.bloom-filters.enabled", "false")
                 .put("hive.orc.bloom-filters.enabled", "true")
                 .put("hive.orc.max-merge-distance", "22kB")
                 .put("hive.orc.max-buffer-size", "44kB")
@@ -77,6 +88,10 @@ public class TestHiveCommonClientConfig
                 .put("hive.read-null-masked-parquet-encrypted-value-enabled", "true")
                 .put("hive.metastore.catalog.name", "catalogName")
                 .put("hive.affinity-scheduling-file-section-size", "512MB")
+                .put("hive.metadata-disk-cache.directory", "/mnt/ssd/hive-metadata")
+                .put("hive.metadata-disk-cache.max-size", "8GB")
+                .put("hive.lazy-nested-blocks-enabled", "true")
+                .put("hive.orc.stripe-prefetch-enabled", "true")
                 .build();
 
         HiveCommonClientConfig expected = new HiveCommonClientConfig()
@@ -84,6 +99,9 @@ public class TestHiveCommonClientConfig
                 .setNodeSelectionStrategy(HARD_AFFINITY)
                 .setUseParquetColumnNames(true)
                 .setParquetMaxReadBlockSize(new DataSize(66, DataSize.Unit.KILOBYTE))
+                .setParquetMaxMergeDistance(new DataSize(23, DataSize.Unit.KILOBYTE))
+                .setParquetMaxBufferSize(new DataSize(45, DataSize.Unit.KILOBYTE))
+                .setParquetBloomFiltersEnabled(false)
                 .setOrcBloomFiltersEnabled(true)
                 .setOrcMaxMergeDistance(new DataSize(22, DataSize.Unit.KILOBYTE))
                 .setOrcMaxBufferSize(new DataSize(44, DataSize.Unit.KILOBYTE))
@@ -99,7 +117,11 @@ public class TestHiveCommonClientConfig
                 .setParquetBatchReadOptimizationEnabled(true)
                 .setReadNullMaskedParquetEncryptedValue(true)
                 .setCatalogName("catalogName")
-                .setAffinitySchedulingFileSectionSize(new DataSize(512, MEGABYTE));
+                .setAffinitySchedulingFileSectionSize(new DataSize(512, MEGABYTE))
+                .setMetadataDiskCacheDirectory("/mnt/ssd/hive-metadata")
+                .setMetadataDiskCacheMaxSize(new DataSize(8, GIGABYTE))
+                .setLazyNestedBlocksEnabled(true)
+                .setOrcStripePrefetchEnabled(true);
 
         ConfigAssertions.assertFullMapping(properties, expected);
     }
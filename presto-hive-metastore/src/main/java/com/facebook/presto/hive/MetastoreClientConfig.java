@@ -38,6 +38,8 @@ public class MetastoreClientConfig
 
     private Duration metastoreCacheTtl = new Duration(0, TimeUnit.SECONDS);
     private Duration metastoreRefreshInterval = new Duration(0, TimeUnit.SECONDS);
+    private Duration metastoreRefreshJitter = new Duration(0, TimeUnit.SECONDS);
+    private boolean partitionPrefetchEnabled;
     private long metastoreCacheMaximumSize = 10000;
     private long perTransactionMetastoreCacheMaximumSize = 1000;
     private int maxMetastoreRefreshThreads = 100;
@@ -119,6 +121,33 @@ public class MetastoreClientConfig
         return this;
     }
 
+    @NotNull
+    public Duration getMetastoreRefreshJitter()
+    {
+        return metastoreRefreshJitter;
+    }
+
+    @Config("hive.metastore-refresh-jitter")
+    @ConfigDescription("Maximum random delay added to asynchronous refreshes of cached metastore data, so entries loaded together are not refreshed together")
+    public MetastoreClientConfig setMetastoreRefreshJitter(Duration metastoreRefreshJitter)
+    {
+        this.metastoreRefreshJitter = metastoreRefreshJitter;
+        return this;
+    }
+
+    public boolean isPartitionPrefetchEnabled()
+    {
+        return partitionPrefetchEnabled;
+    }
+
+    @Config("hive.metastore-partition-prefetch-enabled")
+    @ConfigDescription("Asynchronously load partitions and partition statistics into the metastore cache after listing partition names")
+    public MetastoreClientConfig setPartitionPrefetchEnabled(boolean partitionPrefetchEnabled)
+    {
+        this.partitionPrefetchEnabled = partitionPrefetchEnabled;
+        return this;
+    }
+
     public long getMetastoreCacheMaximumSize()
     {
         return metastoreCacheMaximumSize;
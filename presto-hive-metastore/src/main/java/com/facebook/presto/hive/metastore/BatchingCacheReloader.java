@@ -0,0 +1,153 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.metastore;
+
+import com.google.common.cache.CacheLoader;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Cache loader that coalesces refreshes into bulk loads. Keys passed to {@link CacheLoader#reload}
+ * are buffered and reloaded together after a random delay of up to {@code maxJitterMillis}, so entries
+ * that were loaded at the same time are not refreshed at the same time, and entries that do become due
+ * within the same window are fetched with one bulk call instead of one call per key.
+ * <p>
+ * A key missing from the bulk result fails its refresh, which makes the cache keep the previous value.
+ */
+@ThreadSafe
+final class BatchingCacheReloader<K, V>
+        extends CacheLoader<K, V>
+{
+    private final CacheLoader<K, V> delegate;
+    private final Function<List<K>, Map<K, V>> bulkLoader;
+    private final long maxJitterMillis;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+
+    @GuardedBy("this")
+    private Map<K, SettableFuture<V>> pendingReloads = new LinkedHashMap<>();
+
+    private BatchingCacheReloader(CacheLoader<K, V> delegate, Function<List<K>, Map<K, V>> bulkLoader, long maxJitterMillis, Executor executor, ScheduledExecutorService scheduler)
+    {
+        this.delegate = requireNonNull(delegate, "delegate is null");
+        this.bulkLoader = requireNonNull(bulkLoader, "bulkLoader is null");
+        checkArgument(maxJitterMillis >= 0, "maxJitterMillis is negative");
+        this.maxJitterMillis = maxJitterMillis;
+        this.executor = requireNonNull(executor, "executor is null");
+        this.scheduler = requireNonNull(scheduler, "scheduler is null");
+    }
+
+    public static <K, V> CacheLoader<K, V> batchReloading(
+            CacheLoader<K, V> loader,
+            Function<List<K>, Map<K, V>> bulkLoader,
+            long maxJitterMillis,
+            Executor executor,
+            ScheduledExecutorService scheduler)
+    {
+        return new BatchingCacheReloader<>(loader, bulkLoader, maxJitterMillis, executor, scheduler);
+    }
+
+    @Override
+    public V load(K key)
+            throws Exception
+    {
+        return delegate.load(key);
+    }
+
+    @Override
+    public Map<K, V> loadAll(Iterable<? extends K> keys)
+            throws Exception
+    {
+        return delegate.loadAll(keys);
+    }
+
+    @Override
+    public ListenableFuture<V> reload(K key, V oldValue)
+    {
+        SettableFuture<V> future;
+        boolean scheduleFlush;
+        synchronized (this) {
+            scheduleFlush = pendingReloads.isEmpty();
+            future = pendingReloads.computeIfAbsent(key, ignored -> SettableFuture.create());
+        }
+        if (scheduleFlush) {
+            long delay = maxJitterMillis == 0 ? 0 : ThreadLocalRandom.current().nextLong(maxJitterMillis + 1);
+            try {
+                scheduler.schedule(this::executeFlush, delay, MILLISECONDS);
+            }
+            catch (RejectedExecutionException e) {
+                executeFlush();
+            }
+        }
+        return future;
+    }
+
+    private void executeFlush()
+    {
+        try {
+            executor.execute(this::flush);
+        }
+        catch (RejectedExecutionException e) {
+            flush();
+        }
+    }
+
+    private void flush()
+    {
+        Map<K, SettableFuture<V>> batch;
+        synchronized (this) {
+            batch = pendingReloads;
+            pendingReloads = new LinkedHashMap<>();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<K, V> values;
+        try {
+            values = bulkLoader.apply(ImmutableList.copyOf(batch.keySet()));
+        }
+        catch (Throwable t) {
+            batch.values().forEach(future -> future.setException(t));
+            return;
+        }
+
+        batch.forEach((key, future) -> {
+            V value = values.get(key);
+            if (value == null) {
+                future.setException(new IllegalStateException("Bulk reload did not return a value for " + key));
+            }
+            else {
+                future.set(value);
+            }
+        });
+    }
+}
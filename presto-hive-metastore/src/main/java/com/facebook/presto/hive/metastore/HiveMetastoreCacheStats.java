@@ -14,14 +14,23 @@
 package com.facebook.presto.hive.metastore;
 
 import com.facebook.airlift.stats.CounterStat;
+import com.facebook.airlift.stats.TimeStat;
 import com.google.common.cache.LoadingCache;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
 public class HiveMetastoreCacheStats
         implements MetastoreCacheStats
 {
     private final CounterStat partitionsWithColumnCountGreaterThanThreshold = new CounterStat();
+    private final CounterStat prefetchedPartitions = new CounterStat();
+    private final TimeStat tableLoadTime = new TimeStat(MILLISECONDS);
+    private final TimeStat partitionNamesLoadTime = new TimeStat(MILLISECONDS);
+    private final TimeStat partitionLoadTime = new TimeStat(MILLISECONDS);
+    private final TimeStat partitionStatisticsLoadTime = new TimeStat(MILLISECONDS);
     private LoadingCache<?, ?> tableCache;
     private LoadingCache<?, ?> partitionNamesCache;
     private LoadingCache<?, ?> partitionCache;
@@ -50,6 +59,36 @@ public class HiveMetastoreCacheStats
         partitionsWithColumnCountGreaterThanThreshold.update(1);
     }
 
+    @Override
+    public void incrementPrefetchedPartitions(long count)
+    {
+        prefetchedPartitions.update(count);
+    }
+
+    @Override
+    public void addTableLoadTime(long nanos)
+    {
+        tableLoadTime.add(nanos, NANOSECONDS);
+    }
+
+    @Override
+    public void addPartitionNamesLoadTime(long nanos)
+    {
+        partitionNamesLoadTime.add(nanos, NANOSECONDS);
+    }
+
+    @Override
+    public void addPartitionLoadTime(long nanos)
+    {
+        partitionLoadTime.add(nanos, NANOSECONDS);
+    }
+
+    @Override
+    public void addPartitionStatisticsLoadTime(long nanos)
+    {
+        partitionStatisticsLoadTime.add(nanos, NANOSECONDS);
+    }
+
     @Managed
     @Override
     public long getTableCacheHit()
@@ -141,4 +180,44 @@ public class HiveMetastoreCacheStats
     {
         return partitionsWithColumnCountGreaterThanThreshold;
     }
+
+    @Managed
+    @Nested
+    @Override
+    public CounterStat getPrefetchedPartitions()
+    {
+        return prefetchedPartitions;
+    }
+
+    @Managed
+    @Nested
+    @Override
+    public TimeStat getTableLoadTime()
+    {
+        return tableLoadTime;
+    }
+
+    @Managed
+    @Nested
+    @Override
+    public TimeStat getPartitionNamesLoadTime()
+    {
+        return partitionNamesLoadTime;
+    }
+
+    @Managed
+    @Nested
+    @Override
+    public TimeStat getPartitionLoadTime()
+    {
+        return partitionLoadTime;
+    }
+
+    @Managed
+    @Nested
+    @Override
+    public TimeStat getPartitionStatisticsLoadTime()
+    {
+        return partitionStatisticsLoadTime;
+    }
 }
@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.hive.metastore;
 
+import com.facebook.airlift.log.Logger;
 import com.facebook.presto.common.predicate.Domain;
 import com.facebook.presto.hive.ForCachingHiveMetastore;
 import com.facebook.presto.hive.HiveTableHandle;
@@ -25,14 +26,17 @@ import com.facebook.presto.spi.security.RoleGrant;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.collect.SetMultimap;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.airlift.units.Duration;
 import org.weakref.jmx.Managed;
 
+import javax.annotation.PreDestroy;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 
@@ -45,15 +49,23 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_CORRUPTED_PARTITION_CACHE;
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_PARTITION_DROPPED_DURING_QUERY;
 import static com.facebook.presto.hive.metastore.AbstractCachingHiveMetastore.MetastoreCacheScope.ALL;
+import static com.facebook.presto.hive.metastore.BatchingCacheReloader.batchReloading;
 import static com.facebook.presto.hive.metastore.HivePartitionName.hivePartitionName;
 import static com.facebook.presto.hive.metastore.HiveTableName.hiveTableName;
 import static com.facebook.presto.hive.metastore.NoopMetastoreCacheStats.NOOP_METASTORE_CACHE_STATS;
@@ -70,8 +82,11 @@ import static com.google.common.collect.ImmutableSetMultimap.toImmutableSetMulti
 import static com.google.common.collect.Iterables.transform;
 import static com.google.common.collect.Streams.stream;
 import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.hadoop.hive.common.FileUtils.makePartName;
 
@@ -79,7 +94,12 @@ import static org.apache.hadoop.hive.common.FileUtils.makePartName;
 public class InMemoryCachingHiveMetastore
         extends AbstractCachingHiveMetastore
 {
+    private static final Logger log = Logger.get(InMemoryCachingHiveMetastore.class);
+    private static final int PARTITION_PREFETCH_BATCH_SIZE = 1000;
+
     private final ExtendedHiveMetastore delegate;
+    private final ExecutorService executor;
+    private final Optional<ScheduledExecutorService> refreshScheduler;
     private final LoadingCache<KeyAndContext<String>, Optional<Database>> databaseCache;
     private final LoadingCache<KeyAndContext<String>, List<String>> databaseNamesCache;
     private final LoadingCache<KeyAndContext<HiveTableHandle>, Optional<Table>> tableCache;
@@ -100,6 +120,8 @@ public class InMemoryCachingHiveMetastore
     private final boolean partitionVersioningEnabled;
     private final double partitionCacheValidationPercentage;
     private final int partitionCacheColumnCountLimit;
+    private final boolean partitionPrefetchEnabled;
+    private final Set<KeyAndContext<HiveTableName>> partitionPrefetchesInProgress = ConcurrentHashMap.newKeySet();
 
     @Inject
     public InMemoryCachingHiveMetastore(
@@ -119,6 +141,8 @@ public class InMemoryCachingHiveMetastore
                 metastoreClientConfig.getMetastoreCacheScope(),
                 metastoreClientConfig.getPartitionCacheValidationPercentage(),
                 metastoreClientConfig.getPartitionCacheColumnCountLimit(),
+                metastoreClientConfig.getMetastoreRefreshJitter(),
+                metastoreClientConfig.isPartitionPrefetchEnabled(),
                 metastoreCacheStats);
     }
 
@@ -134,6 +158,37 @@ public class InMemoryCachingHiveMetastore
             double partitionCacheValidationPercentage,
             int partitionCacheColumnCountLimit,
             MetastoreCacheStats metastoreCacheStats)
+    {
+        this(
+                delegate,
+                executor,
+                metastoreImpersonationEnabled,
+                cacheTtl,
+                refreshInterval,
+                maximumSize,
+                partitionVersioningEnabled,
+                metastoreCacheScope,
+                partitionCacheValidationPercentage,
+                partitionCacheColumnCountLimit,
+                new Duration(0, MILLISECONDS),
+                false,
+                metastoreCacheStats);
+    }
+
+    public InMemoryCachingHiveMetastore(
+            ExtendedHiveMetastore delegate,
+            ExecutorService executor,
+            boolean metastoreImpersonationEnabled,
+            Duration cacheTtl,
+            Duration refreshInterval,
+            long maximumSize,
+            boolean partitionVersioningEnabled,
+            MetastoreCacheScope metastoreCacheScope,
+            double partitionCacheValidationPercentage,
+            int partitionCacheColumnCountLimit,
+            Duration refreshJitter,
+            boolean partitionPrefetchEnabled,
+            MetastoreCacheStats metastoreCacheStats)
     {
         this(
                 delegate,
@@ -146,6 +201,8 @@ public class InMemoryCachingHiveMetastore
                 metastoreCacheScope,
                 partitionCacheValidationPercentage,
                 partitionCacheColumnCountLimit,
+                refreshJitter.toMillis(),
+                partitionPrefetchEnabled,
                 metastoreCacheStats);
     }
 
@@ -162,6 +219,8 @@ public class InMemoryCachingHiveMetastore
                 ALL,
                 0.0,
                 partitionCacheMaxColumnCount,
+                0,
+                false,
                 NOOP_METASTORE_CACHE_STATS);
     }
 
@@ -176,10 +235,12 @@ public class InMemoryCachingHiveMetastore
             MetastoreCacheScope metastoreCacheScope,
             double partitionCacheValidationPercentage,
             int partitionCacheColumnCountLimit,
+            long refreshJitterMillis,
+            boolean partitionPrefetchEnabled,
             MetastoreCacheStats metastoreCacheStats)
     {
         this.delegate = requireNonNull(delegate, "delegate is null");
-        requireNonNull(executor, "executor is null");
+        this.executor = requireNonNull(executor, "executor is null");
         this.metastoreImpersonationEnabled = metastoreImpersonationEnabled;
         this.partitionVersioningEnabled = partitionVersioningEnabled;
         this.partitionCacheValidationPercentage = partitionCacheValidationPercentage;
@@ -217,14 +278,28 @@ public class InMemoryCachingHiveMetastore
                 throw new IllegalArgumentException("Unknown metastore-cache-scope: " + metastoreCacheScope);
         }
 
+        // Prefetching is only useful when fetched partitions stay in the cache
+        this.partitionPrefetchEnabled = partitionPrefetchEnabled && partitionCacheMaxSize > 0 && partitionCacheExpiresAfterWriteMillis.orElse(1) > 0;
+
+        long maxRefreshJitterMillis = getMaxRefreshJitterMillis(refreshJitterMillis, expiresAfterWriteMillis, refreshMills);
+        Executor refreshExecutor = executor;
+        if (maxRefreshJitterMillis > 0) {
+            ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor(daemonThreadsNamed("hive-metastore-refresh-scheduler-%s"));
+            this.refreshScheduler = Optional.of(scheduler);
+            refreshExecutor = jitteringExecutor(executor, scheduler, maxRefreshJitterMillis);
+        }
+        else {
+            this.refreshScheduler = Optional.empty();
+        }
+
         databaseNamesCache = newCacheBuilder(cacheExpiresAfterWriteMillis, cacheRefreshMills, cacheMaxSize)
-                .build(asyncReloading(CacheLoader.from(this::loadAllDatabases), executor));
+                .build(asyncReloading(CacheLoader.from(this::loadAllDatabases), refreshExecutor));
 
         databaseCache = newCacheBuilder(cacheExpiresAfterWriteMillis, cacheRefreshMills, cacheMaxSize)
-                .build(asyncReloading(CacheLoader.from(this::loadDatabase), executor));
+                .build(asyncReloading(CacheLoader.from(this::loadDatabase), refreshExecutor));
 
         tableNamesCache = newCacheBuilder(cacheExpiresAfterWriteMillis, cacheRefreshMills, cacheMaxSize)
-                .build(asyncReloading(CacheLoader.from(this::loadAllTables), executor));
+                .build(asyncReloading(CacheLoader.from(this::loadAllTables), refreshExecutor));
 
         tableStatisticsCache = newCacheBuilder(cacheExpiresAfterWriteMillis, cacheRefreshMills, cacheMaxSize)
                 .build(asyncReloading(new CacheLoader<KeyAndContext<HiveTableName>, PartitionStatistics>()
@@ -234,10 +309,10 @@ public class InMemoryCachingHiveMetastore
                     {
                         return loadTableColumnStatistics(key);
                     }
-                }, executor));
+                }, refreshExecutor));
 
         partitionStatisticsCache = newCacheBuilder(partitionCacheExpiresAfterWriteMillis, partitionCacheRefreshMills, partitionCacheMaxSize)
-                .build(asyncReloading(new CacheLoader<KeyAndContext<HivePartitionName>, PartitionStatistics>()
+                .build(partitionReloading(new CacheLoader<KeyAndContext<HivePartitionName>, PartitionStatistics>()
                 {
                     @Override
                     public PartitionStatistics load(KeyAndContext<HivePartitionName> key)
@@ -250,27 +325,27 @@ public class InMemoryCachingHiveMetastore
                     {
                         return loadPartitionColumnStatistics(keys);
                     }
-                }, executor));
+                }, this::loadPartitionColumnStatistics, executor, refreshScheduler, maxRefreshJitterMillis));
 
         tableCache = newCacheBuilder(cacheExpiresAfterWriteMillis, cacheRefreshMills, cacheMaxSize)
-                .build(asyncReloading(CacheLoader.from(this::loadTable), executor));
+                .build(asyncReloading(CacheLoader.from(this::loadTable), refreshExecutor));
         metastoreCacheStats.setTableCache(tableCache);
 
         tableConstraintsCache = newCacheBuilder(cacheExpiresAfterWriteMillis, cacheRefreshMills, cacheMaxSize)
-                .build(asyncReloading(CacheLoader.from(this::loadTableConstraints), executor));
+                .build(asyncReloading(CacheLoader.from(this::loadTableConstraints), refreshExecutor));
 
         viewNamesCache = newCacheBuilder(cacheExpiresAfterWriteMillis, cacheRefreshMills, cacheMaxSize)
-                .build(asyncReloading(CacheLoader.from(this::loadAllViews), executor));
+                .build(asyncReloading(CacheLoader.from(this::loadAllViews), refreshExecutor));
 
         partitionNamesCache = newCacheBuilder(cacheExpiresAfterWriteMillis, cacheRefreshMills, cacheMaxSize)
-                .build(asyncReloading(CacheLoader.from(this::loadPartitionNames), executor));
+                .build(asyncReloading(CacheLoader.from(this::loadPartitionNames), refreshExecutor));
 
         partitionFilterCache = newCacheBuilder(cacheExpiresAfterWriteMillis, cacheRefreshMills, cacheMaxSize)
-                .build(asyncReloading(CacheLoader.from(this::loadPartitionNamesByFilter), executor));
+                .build(asyncReloading(CacheLoader.from(this::loadPartitionNamesByFilter), refreshExecutor));
         metastoreCacheStats.setPartitionNamesCache(partitionFilterCache);
 
         partitionCache = newCacheBuilder(partitionCacheExpiresAfterWriteMillis, partitionCacheRefreshMills, partitionCacheMaxSize)
-                .build(asyncReloading(new CacheLoader<KeyAndContext<HivePartitionName>, Optional<Partition>>()
+                .build(partitionReloading(new CacheLoader<KeyAndContext<HivePartitionName>, Optional<Partition>>()
                 {
                     @Override
                     public Optional<Partition> load(KeyAndContext<HivePartitionName> partitionName)
@@ -283,17 +358,23 @@ public class InMemoryCachingHiveMetastore
                     {
                         return loadPartitionsByNames(partitionNames);
                     }
-                }, executor));
+                }, this::reloadPartitionsByNames, executor, refreshScheduler, maxRefreshJitterMillis));
         metastoreCacheStats.setPartitionCache(partitionCache);
 
         tablePrivilegesCache = newCacheBuilder(cacheExpiresAfterWriteMillis, cacheRefreshMills, cacheMaxSize)
-                .build(asyncReloading(CacheLoader.from(this::loadTablePrivileges), executor));
+                .build(asyncReloading(CacheLoader.from(this::loadTablePrivileges), refreshExecutor));
 
         rolesCache = newCacheBuilder(cacheExpiresAfterWriteMillis, cacheRefreshMills, cacheMaxSize)
-                .build(asyncReloading(CacheLoader.from(this::loadAllRoles), executor));
+                .build(asyncReloading(CacheLoader.from(this::loadAllRoles), refreshExecutor));
 
         roleGrantsCache = newCacheBuilder(cacheExpiresAfterWriteMillis, cacheRefreshMills, cacheMaxSize)
-                .build(asyncReloading(CacheLoader.from(this::loadRoleGrants), executor));
+                .build(asyncReloading(CacheLoader.from(this::loadRoleGrants), refreshExecutor));
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        refreshScheduler.ifPresent(ScheduledExecutorService::shutdownNow);
     }
 
     @Override
@@ -386,7 +467,7 @@ public class InMemoryCachingHiveMetastore
 
     private Optional<Table> loadTable(KeyAndContext<HiveTableHandle> hiveTableHandle)
     {
-        return delegate.getTable(hiveTableHandle.getContext(), hiveTableHandle.getKey());
+        return timeLoad(() -> delegate.getTable(hiveTableHandle.getContext(), hiveTableHandle.getKey()), metastoreCacheStats::addTableLoadTime);
     }
 
     private List<TableConstraint<String>> loadTableConstraints(KeyAndContext<HiveTableName> hiveTableName)
@@ -420,11 +501,13 @@ public class InMemoryCachingHiveMetastore
     private PartitionStatistics loadPartitionColumnStatistics(KeyAndContext<HivePartitionName> partition)
     {
         String partitionName = partition.getKey().getPartitionNameWithVersion().get().getPartitionName();
-        Map<String, PartitionStatistics> partitionStatistics = delegate.getPartitionStatistics(
-                partition.getContext(),
-                partition.getKey().getHiveTableName().getDatabaseName(),
-                partition.getKey().getHiveTableName().getTableName(),
-                ImmutableSet.of(partitionName));
+        Map<String, PartitionStatistics> partitionStatistics = timeLoad(
+                () -> delegate.getPartitionStatistics(
+                        partition.getContext(),
+                        partition.getKey().getHiveTableName().getDatabaseName(),
+                        partition.getKey().getHiveTableName().getTableName(),
+                        ImmutableSet.of(partitionName)),
+                metastoreCacheStats::addPartitionStatisticsLoadTime);
         if (!partitionStatistics.containsKey(partitionName)) {
             throw new PrestoException(HIVE_PARTITION_DROPPED_DURING_QUERY, "Statistics result does not contain entry for partition: " + partition.getKey().getPartitionNameWithVersion());
         }
@@ -440,7 +523,9 @@ public class InMemoryCachingHiveMetastore
             Set<String> partitionNames = tablePartitions.get(table).stream()
                     .map(partitionName -> partitionName.getKey().getPartitionNameWithVersion().get().getPartitionName())
                     .collect(toImmutableSet());
-            Map<String, PartitionStatistics> partitionStatistics = delegate.getPartitionStatistics(table.getContext(), table.getKey().getDatabaseName(), table.getKey().getTableName(), partitionNames);
+            Map<String, PartitionStatistics> partitionStatistics = timeLoad(
+                    () -> delegate.getPartitionStatistics(table.getContext(), table.getKey().getDatabaseName(), table.getKey().getTableName(), partitionNames),
+                    metastoreCacheStats::addPartitionStatisticsLoadTime);
             for (String partitionName : partitionNames) {
                 if (!partitionStatistics.containsKey(partitionName)) {
                     throw new PrestoException(HIVE_PARTITION_DROPPED_DURING_QUERY, "Statistics result does not contain entry for partition: " + partitionName);
@@ -593,10 +678,62 @@ public class InMemoryCachingHiveMetastore
             String tableName,
             Map<Column, Domain> partitionPredicates)
     {
+        List<PartitionNameWithVersion> partitionNames;
         if (partitionVersioningEnabled) {
-            return getPartitionNamesWithVersionByFilter(metastoreContext, databaseName, tableName, partitionPredicates);
+            partitionNames = getPartitionNamesWithVersionByFilter(metastoreContext, databaseName, tableName, partitionPredicates);
+        }
+        else {
+            partitionNames = get(partitionFilterCache, getCachingKey(metastoreContext, partitionFilter(databaseName, tableName, partitionPredicates)));
+        }
+        if (partitionPrefetchEnabled && !partitionNames.isEmpty()) {
+            prefetchPartitions(metastoreContext, databaseName, tableName, partitionNames);
+        }
+        return partitionNames;
+    }
+
+    private void prefetchPartitions(MetastoreContext metastoreContext, String databaseName, String tableName, List<PartitionNameWithVersion> partitionNames)
+    {
+        // The listed partitions are usually requested next by split generation, so load them ahead of time in bulk
+        KeyAndContext<HiveTableName> tableKey = getCachingKey(metastoreContext, hiveTableName(databaseName, tableName));
+        if (!partitionPrefetchesInProgress.add(tableKey)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    loadPartitionsIntoCache(metastoreContext, databaseName, tableName, partitionNames);
+                }
+                catch (RuntimeException e) {
+                    log.warn(e, "Failed to prefetch partitions for table %s.%s", databaseName, tableName);
+                }
+                finally {
+                    partitionPrefetchesInProgress.remove(tableKey);
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            partitionPrefetchesInProgress.remove(tableKey);
+        }
+    }
+
+    private void loadPartitionsIntoCache(MetastoreContext metastoreContext, String databaseName, String tableName, List<PartitionNameWithVersion> partitionNames)
+    {
+        List<KeyAndContext<HivePartitionName>> missingPartitions = partitionNames.stream()
+                .map(partitionName -> getCachingKey(metastoreContext, hivePartitionName(databaseName, tableName, partitionName)))
+                .filter(partitionKey -> !partitionCache.asMap().containsKey(partitionKey))
+                .collect(toImmutableList());
+        for (List<KeyAndContext<HivePartitionName>> batch : Lists.partition(missingPartitions, PARTITION_PREFETCH_BATCH_SIZE)) {
+            ImmutableList.Builder<KeyAndContext<HivePartitionName>> statisticsKeys = ImmutableList.builder();
+            for (Entry<KeyAndContext<HivePartitionName>, Optional<Partition>> entry : getAll(partitionCache, batch).entrySet()) {
+                invalidatePartitionsWithHighColumnCount(entry.getValue(), entry.getKey());
+                if (entry.getValue().isPresent()) {
+                    String partitionName = entry.getKey().getKey().getPartitionNameWithVersion().get().getPartitionName();
+                    statisticsKeys.add(getCachingKey(metastoreContext, hivePartitionName(databaseName, tableName, partitionName)));
+                }
+            }
+            metastoreCacheStats.incrementPrefetchedPartitions(batch.size());
+            getAll(partitionStatisticsCache, statisticsKeys.build());
         }
-        return get(partitionFilterCache, getCachingKey(metastoreContext, partitionFilter(databaseName, tableName, partitionPredicates)));
     }
 
     private void invalidateStalePartitions(
@@ -671,11 +808,13 @@ public class InMemoryCachingHiveMetastore
 
     private List<PartitionNameWithVersion> loadPartitionNamesByFilter(KeyAndContext<PartitionFilter> partitionFilterKey)
     {
-        return delegate.getPartitionNamesByFilter(
-                partitionFilterKey.getContext(),
-                partitionFilterKey.getKey().getHiveTableName().getDatabaseName(),
-                partitionFilterKey.getKey().getHiveTableName().getTableName(),
-                partitionFilterKey.getKey().getPartitionPredicates());
+        return timeLoad(
+                () -> delegate.getPartitionNamesByFilter(
+                        partitionFilterKey.getContext(),
+                        partitionFilterKey.getKey().getHiveTableName().getDatabaseName(),
+                        partitionFilterKey.getKey().getHiveTableName().getTableName(),
+                        partitionFilterKey.getKey().getPartitionPredicates()),
+                metastoreCacheStats::addPartitionNamesLoadTime);
     }
 
     @Override
@@ -701,11 +840,13 @@ public class InMemoryCachingHiveMetastore
         //Invalidate Partition Statistics Cache on a partition cache miss.
         partitionStatisticsCache.invalidate(getCachingKey(partitionName.getContext(), partitionName.getKey()));
 
-        return delegate.getPartition(
-                partitionName.getContext(),
-                partitionName.getKey().getHiveTableName().getDatabaseName(),
-                partitionName.getKey().getHiveTableName().getTableName(),
-                partitionName.getKey().getPartitionValues());
+        return timeLoad(
+                () -> delegate.getPartition(
+                        partitionName.getContext(),
+                        partitionName.getKey().getHiveTableName().getDatabaseName(),
+                        partitionName.getKey().getHiveTableName().getTableName(),
+                        partitionName.getKey().getPartitionValues()),
+                metastoreCacheStats::addPartitionLoadTime);
     }
 
     private Map<KeyAndContext<HivePartitionName>, Optional<Partition>> loadPartitionsByNames(Iterable<? extends KeyAndContext<HivePartitionName>> partitionNamesKey)
@@ -732,13 +873,27 @@ public class InMemoryCachingHiveMetastore
         }
 
         ImmutableMap.Builder<KeyAndContext<HivePartitionName>, Optional<Partition>> partitions = ImmutableMap.builder();
-        Map<String, Optional<Partition>> partitionsByNames = delegate.getPartitionsByNames(firstPartitionKey.getContext(), databaseName, tableName, partitionsToFetch);
+        Map<String, Optional<Partition>> partitionsByNames = timeLoad(
+                () -> delegate.getPartitionsByNames(firstPartitionKey.getContext(), databaseName, tableName, partitionsToFetch),
+                metastoreCacheStats::addPartitionLoadTime);
         for (Entry<String, Optional<Partition>> entry : partitionsByNames.entrySet()) {
             partitions.put(getCachingKey(firstPartitionKey.getContext(), HivePartitionName.hivePartitionName(hiveTableName, partitionNameToVersionMap.get(entry.getKey()))), entry.getValue());
         }
         return partitions.build();
     }
 
+    private Map<KeyAndContext<HivePartitionName>, Optional<Partition>> reloadPartitionsByNames(List<KeyAndContext<HivePartitionName>> partitionNamesKey)
+    {
+        // Refreshes of different tables and queries are coalesced, but each bulk load must target a single table and context
+        SetMultimap<KeyAndContext<HiveTableName>, KeyAndContext<HivePartitionName>> tablePartitions = partitionNamesKey.stream()
+                .collect(toImmutableSetMultimap(nameKey -> getCachingKey(nameKey.getContext(), nameKey.getKey().getHiveTableName()), nameKey -> nameKey));
+        ImmutableMap.Builder<KeyAndContext<HivePartitionName>, Optional<Partition>> result = ImmutableMap.builder();
+        for (KeyAndContext<HiveTableName> table : tablePartitions.keySet()) {
+            result.putAll(loadPartitionsByNames(transform(tablePartitions.get(table), nameKey -> getCachingKey(table.getContext(), nameKey.getKey()))));
+        }
+        return result.build();
+    }
+
     @Override
     protected void invalidateRolesCache()
     {
@@ -1065,6 +1220,58 @@ public class InMemoryCachingHiveMetastore
         return new KeyAndContext<>(applyImpersonationToMetastoreContext(context), key);
     }
 
+    private static <T> T timeLoad(Supplier<T> loader, LongConsumer loadTimeRecorder)
+    {
+        long start = System.nanoTime();
+        try {
+            return loader.get();
+        }
+        finally {
+            loadTimeRecorder.accept(System.nanoTime() - start);
+        }
+    }
+
+    private static long getMaxRefreshJitterMillis(long refreshJitterMillis, OptionalLong expiresAfterWriteMillis, OptionalLong refreshMillis)
+    {
+        if (refreshJitterMillis <= 0 || !refreshMillis.isPresent()) {
+            return 0;
+        }
+        if (!expiresAfterWriteMillis.isPresent()) {
+            return refreshJitterMillis;
+        }
+        // Leave the delayed refresh enough time to complete before the stale entry expires
+        return max(0, min(refreshJitterMillis, (expiresAfterWriteMillis.getAsLong() - refreshMillis.getAsLong()) / 2));
+    }
+
+    private static Executor jitteringExecutor(Executor executor, ScheduledExecutorService scheduler, long maxJitterMillis)
+    {
+        return command -> scheduler.schedule(
+                () -> {
+                    try {
+                        executor.execute(command);
+                    }
+                    catch (RejectedExecutionException e) {
+                        // The refresh must still complete, otherwise readers of the expired entry would wait on it forever
+                        command.run();
+                    }
+                },
+                ThreadLocalRandom.current().nextLong(maxJitterMillis + 1),
+                MILLISECONDS);
+    }
+
+    private static <K, V> CacheLoader<K, V> partitionReloading(
+            CacheLoader<K, V> loader,
+            Function<List<K>, Map<K, V>> bulkLoader,
+            Executor executor,
+            Optional<ScheduledExecutorService> refreshScheduler,
+            long maxRefreshJitterMillis)
+    {
+        if (refreshScheduler.isPresent()) {
+            return batchReloading(loader, bulkLoader, maxRefreshJitterMillis, executor, refreshScheduler.get());
+        }
+        return asyncReloading(loader, executor);
+    }
+
     private static CacheBuilder<Object, Object> newCacheBuilder(OptionalLong expiresAfterWriteMillis, OptionalLong refreshMillis, long maximumSize)
     {
         CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
@@ -14,6 +14,7 @@
 package com.facebook.presto.hive.metastore;
 
 import com.facebook.airlift.stats.CounterStat;
+import com.facebook.airlift.stats.TimeStat;
 import com.google.common.cache.LoadingCache;
 
 public interface MetastoreCacheStats
@@ -26,6 +27,16 @@ public interface MetastoreCacheStats
 
     void incrementPartitionsWithColumnCountGreaterThanThreshold();
 
+    void incrementPrefetchedPartitions(long count);
+
+    void addTableLoadTime(long nanos);
+
+    void addPartitionNamesLoadTime(long nanos);
+
+    void addPartitionLoadTime(long nanos);
+
+    void addPartitionStatisticsLoadTime(long nanos);
+
     long getTableCacheHit();
 
     long getTableCacheMiss();
@@ -51,4 +62,14 @@ public interface MetastoreCacheStats
     long getPartitionCacheSize();
 
     CounterStat getPartitionsWithColumnCountGreaterThanThreshold();
+
+    CounterStat getPrefetchedPartitions();
+
+    TimeStat getTableLoadTime();
+
+    TimeStat getPartitionNamesLoadTime();
+
+    TimeStat getPartitionLoadTime();
+
+    TimeStat getPartitionStatisticsLoadTime();
 }
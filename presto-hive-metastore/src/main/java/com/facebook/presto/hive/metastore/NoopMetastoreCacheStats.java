@@ -14,6 +14,7 @@
 package com.facebook.presto.hive.metastore;
 
 import com.facebook.airlift.stats.CounterStat;
+import com.facebook.airlift.stats.TimeStat;
 import com.google.common.cache.LoadingCache;
 
 public class NoopMetastoreCacheStats
@@ -41,6 +42,31 @@ public class NoopMetastoreCacheStats
     {
     }
 
+    @Override
+    public void incrementPrefetchedPartitions(long count)
+    {
+    }
+
+    @Override
+    public void addTableLoadTime(long nanos)
+    {
+    }
+
+    @Override
+    public void addPartitionNamesLoadTime(long nanos)
+    {
+    }
+
+    @Override
+    public void addPartitionLoadTime(long nanos)
+    {
+    }
+
+    @Override
+    public void addPartitionStatisticsLoadTime(long nanos)
+    {
+    }
+
     public long getTableCacheHit()
     {
         return 0;
@@ -106,4 +132,34 @@ public class NoopMetastoreCacheStats
     {
         return null;
     }
+
+    @Override
+    public CounterStat getPrefetchedPartitions()
+    {
+        return null;
+    }
+
+    @Override
+    public TimeStat getTableLoadTime()
+    {
+        return null;
+    }
+
+    @Override
+    public TimeStat getPartitionNamesLoadTime()
+    {
+        return null;
+    }
+
+    @Override
+    public TimeStat getPartitionLoadTime()
+    {
+        return null;
+    }
+
+    @Override
+    public TimeStat getPartitionStatisticsLoadTime()
+    {
+        return null;
+    }
 }
@@ -660,6 +660,10 @@ public class SemiTransactionalHiveMetastore
                 throw new UnsupportedOperationException("Unknown table source");
         }
         Map<List<String>, Action<PartitionAndMore>> partitionActionsOfTable = partitionActions.computeIfAbsent(table.get().getSchemaTableName(), k -> new HashMap<>());
+        if (partitionActionsOfTable.isEmpty()) {
+            // return the names as listed, so that callers can tell that the cached names have not changed without comparing them
+            return Optional.of(ImmutableList.copyOf(partitionNames));
+        }
         ImmutableList.Builder<PartitionNameWithVersion> resultBuilder = ImmutableList.builder();
         // alter/remove newly-altered/dropped partitions from the results from underlying metastore
         for (PartitionNameWithVersion partitionNameWithVersion : partitionNames) {
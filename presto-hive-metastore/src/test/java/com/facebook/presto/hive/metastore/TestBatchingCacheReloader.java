@@ -0,0 +1,123 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.metastore;
+
+import com.google.common.cache.CacheLoader;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.facebook.airlift.concurrent.MoreFutures.getFutureValue;
+import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
+import static com.facebook.presto.hive.metastore.BatchingCacheReloader.batchReloading;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.testng.Assert.assertEquals;
+
+@Test(singleThreaded = true)
+public class TestBatchingCacheReloader
+{
+    private ScheduledExecutorService scheduler;
+
+    @BeforeClass
+    public void setUp()
+    {
+        scheduler = newSingleThreadScheduledExecutor(daemonThreadsNamed("test-batching-cache-reloader-%s"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+    {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testReloadsAreBatched()
+            throws Exception
+    {
+        List<List<String>> bulkLoads = new CopyOnWriteArrayList<>();
+        CacheLoader<String, String> loader = batchReloading(
+                CacheLoader.from(String::toUpperCase),
+                keys -> {
+                    bulkLoads.add(keys);
+                    return keys.stream().collect(toImmutableMap(key -> key, String::toUpperCase));
+                },
+                10,
+                directExecutor(),
+                scheduler);
+
+        // Hold the scheduler so that both refreshes are pending when the batch is flushed
+        CountDownLatch release = blockScheduler();
+        ListenableFuture<String> first = loader.reload("a", "old");
+        ListenableFuture<String> second = loader.reload("b", "old");
+        ListenableFuture<String> duplicate = loader.reload("a", "old");
+        release.countDown();
+
+        assertEquals(getFutureValue(first), "A");
+        assertEquals(getFutureValue(second), "B");
+        assertEquals(getFutureValue(duplicate), "A");
+        assertEquals(bulkLoads, ImmutableList.of(ImmutableList.of("a", "b")));
+
+        // A later refresh starts a new batch
+        assertEquals(getFutureValue(loader.reload("c", "old")), "C");
+        assertEquals(bulkLoads, ImmutableList.of(ImmutableList.of("a", "b"), ImmutableList.of("c")));
+    }
+
+    @Test
+    public void testMissingValueFailsReload()
+            throws Exception
+    {
+        CacheLoader<String, String> loader = batchReloading(
+                CacheLoader.from(String::toUpperCase),
+                keys -> ImmutableMap.of("a", "A"),
+                0,
+                directExecutor(),
+                scheduler);
+
+        CountDownLatch release = blockScheduler();
+        ListenableFuture<String> present = loader.reload("a", "old");
+        ListenableFuture<String> missing = loader.reload("b", "old");
+        release.countDown();
+
+        assertEquals(getFutureValue(present), "A");
+        assertThatThrownBy(missing::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private CountDownLatch blockScheduler()
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.execute(() -> {
+            try {
+                release.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return release;
+    }
+}
@@ -37,6 +37,8 @@ public class TestMetastoreClientConfig
                 .setRequireHadoopNative(true)
                 .setMetastoreCacheTtl(new Duration(0, TimeUnit.SECONDS))
                 .setMetastoreRefreshInterval(new Duration(0, TimeUnit.SECONDS))
+                .setMetastoreRefreshJitter(new Duration(0, TimeUnit.SECONDS))
+                .setPartitionPrefetchEnabled(false)
                 .setMetastoreCacheMaximumSize(10000)
                 .setPerTransactionMetastoreCacheMaximumSize(1000)
                 .setMaxMetastoreRefreshThreads(100)
@@ -63,6 +65,8 @@ public class TestMetastoreClientConfig
                 .put("hive.dfs.require-hadoop-native", "false")
                 .put("hive.metastore-cache-ttl", "2h")
                 .put("hive.metastore-refresh-interval", "30m")
+                .put("hive.metastore-refresh-jitter", "1m")
+                .put("hive.metastore-partition-prefetch-enabled", "true")
                 .put("hive.metastore-cache-maximum-size", "5000")
                 .put("hive.per-transaction-metastore-cache-maximum-size", "500")
                 .put("hive.metastore-refresh-max-threads", "2500")
@@ -86,6 +90,8 @@ public class TestMetastoreClientConfig
                 .setRequireHadoopNative(false)
                 .setMetastoreCacheTtl(new Duration(2, TimeUnit.HOURS))
                 .setMetastoreRefreshInterval(new Duration(30, TimeUnit.MINUTES))
+                .setMetastoreRefreshJitter(new Duration(1, TimeUnit.MINUTES))
+                .setPartitionPrefetchEnabled(true)
                 .setMetastoreCacheMaximumSize(5000)
                 .setPerTransactionMetastoreCacheMaximumSize(500)
                 .setMaxMetastoreRefreshThreads(2500)
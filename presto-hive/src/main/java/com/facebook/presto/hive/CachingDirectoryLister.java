@@ -95,7 +95,8 @@ public class CachingDirectoryLister
             // DO NOT USE Caching, when cache is disabled.
             // This is useful for debugging issues, when cache is explicitly disabled via session property.
             ValueHolder value = Optional.ofNullable(cache.getIfPresent(path.toString())).orElse(null);
-            if (value != null) {
+            // A listing that returned nested directories cannot stand in for one that recursed into them, or the other way round
+            if (value != null && value.getNestedDirectoryPolicy() == hiveDirectoryContext.getNestedDirectoryPolicy()) {
                 List<HiveFileInfo> files = value.getFiles();
                 runtimeStats.addMetricValue(DIRECTORY_LISTING_CACHE_HIT, NONE, 1);
                 runtimeStats.addMetricValue(DIRECTORY_LISTING_TIME_NANOS, NANO, System.nanoTime() - startTime);
@@ -108,12 +109,12 @@ public class CachingDirectoryLister
         Iterator<HiveFileInfo> iterator = delegate.list(fileSystem, table, path, partition, namenodeStats, hiveDirectoryContext);
         runtimeStats.addMetricValue(DIRECTORY_LISTING_TIME_NANOS, NANO, System.nanoTime() - startTime);
         if (hiveDirectoryContext.isCacheable() && cachedTableChecker.isCachedTable(table.getSchemaTableName())) {
-            return fileCountTrackingIterator(iterator, path, runtimeStats, true);
+            return fileCountTrackingIterator(iterator, path, hiveDirectoryContext.getNestedDirectoryPolicy(), runtimeStats, true);
         }
-        return fileCountTrackingIterator(iterator, path, runtimeStats, false);
+        return fileCountTrackingIterator(iterator, path, hiveDirectoryContext.getNestedDirectoryPolicy(), runtimeStats, false);
     }
 
-    private Iterator<HiveFileInfo> fileCountTrackingIterator(Iterator<HiveFileInfo> iterator, Path path, RuntimeStats runtimeStats, boolean enableCaching)
+    private Iterator<HiveFileInfo> fileCountTrackingIterator(Iterator<HiveFileInfo> iterator, Path path, NestedDirectoryPolicy nestedDirectoryPolicy, RuntimeStats runtimeStats, boolean enableCaching)
     {
         return new Iterator<HiveFileInfo>()
         {
@@ -126,7 +127,7 @@ public class CachingDirectoryLister
                 if (!hasNext) {
                     runtimeStats.addMetricValue(FILES_READ_COUNT, NONE, files.size());
                     if (enableCaching) {
-                        cache.put(path.toString(), new ValueHolder(files));
+                        cache.put(path.toString(), new ValueHolder(files, nestedDirectoryPolicy));
                     }
                 }
                 return hasNext;
@@ -213,10 +214,12 @@ public class CachingDirectoryLister
         private static final long INSTANCE_SIZE = ClassLayout.parseClass(ValueHolder.class).instanceSize();
 
         private final List<HiveFileInfo> files;
+        private final NestedDirectoryPolicy nestedDirectoryPolicy;
 
-        public ValueHolder(List<HiveFileInfo> files)
+        public ValueHolder(List<HiveFileInfo> files, NestedDirectoryPolicy nestedDirectoryPolicy)
         {
             this.files = ImmutableList.copyOf(requireNonNull(files, "files is null"));
+            this.nestedDirectoryPolicy = requireNonNull(nestedDirectoryPolicy, "nestedDirectoryPolicy is null");
         }
 
         public List<HiveFileInfo> getFiles()
@@ -224,6 +227,11 @@ public class CachingDirectoryLister
             return files;
         }
 
+        public NestedDirectoryPolicy getNestedDirectoryPolicy()
+        {
+            return nestedDirectoryPolicy;
+        }
+
         public long getRetainedSizeInBytes()
         {
             return INSTANCE_SIZE + files.stream().map(HiveFileInfo::getRetainedSizeInBytes).reduce(0L, Long::sum);
@@ -28,6 +28,7 @@ import io.airlift.units.MinDataSize;
 import io.airlift.units.MinDuration;
 import org.joda.time.DateTimeZone;
 
+import javax.validation.constraints.AssertTrue;
 import javax.validation.constraints.DecimalMax;
 import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Min;
@@ -167,6 +168,7 @@ public class HiveClientConfig
     private List<String> fileStatusCacheTables = ImmutableList.of();
 
     private DataSize pageFileStripeMaxSize = new DataSize(24, MEGABYTE);
+    private boolean pageFileColumnarWriterEnabled;
     private boolean parquetDereferencePushdownEnabled;
 
     private int maxMetadataUpdaterThreads = 100;
@@ -210,6 +212,7 @@ public class HiveClientConfig
 
     private boolean parallelParsingOfPartitionValuesEnabled;
     private int maxParallelParsingConcurrency = 100;
+    private long partitionKeyIndexMaxCachedPartitions;
     private boolean quickStatsEnabled;
     // Duration the initiator query of the quick stats fetch for a partition should wait for stats to be built, before failing and returning EMPTY PartitionStats
     private Duration quickStatsInlineBuildTimeout = new Duration(60, TimeUnit.SECONDS);
@@ -224,6 +227,7 @@ public class HiveClientConfig
     private boolean legacyTimestampBucketing;
     private boolean optimizeParsingOfPartitionValues;
     private int optimizeParsingOfPartitionValuesThreshold = 500;
+    private boolean directoryListingWorkStealingEnabled;
 
     @Min(0)
     public int getMaxInitialSplits()
@@ -1358,6 +1362,19 @@ public class HiveClientConfig
         return this;
     }
 
+    public boolean isPageFileColumnarWriterEnabled()
+    {
+        return pageFileColumnarWriterEnabled;
+    }
+
+    @Config("hive.pagefile.writer.columnar-enabled")
+    @ConfigDescription("Write PAGEFILE files with each column stored separately and per-page column statistics, which allows readers to project columns and skip pages")
+    public HiveClientConfig setPageFileColumnarWriterEnabled(boolean pageFileColumnarWriterEnabled)
+    {
+        this.pageFileColumnarWriterEnabled = pageFileColumnarWriterEnabled;
+        return this;
+    }
+
     @Config("hive.enable-parquet-dereference-pushdown")
     @ConfigDescription("enable parquet dereference pushdown")
     public HiveClientConfig setParquetDereferencePushdownEnabled(boolean parquetDereferencePushdownEnabled)
@@ -1808,6 +1825,26 @@ public class HiveClientConfig
         return this.maxParallelParsingConcurrency;
     }
 
+    @Min(0)
+    public long getPartitionKeyIndexMaxCachedPartitions()
+    {
+        return partitionKeyIndexMaxCachedPartitions;
+    }
+
+    @Config("hive.partition-key-index-max-cached-partitions")
+    @ConfigDescription("Maximum number of partitions, across all tables, whose parsed partition key values are kept in memory for pruning partitions without the metastore filter, 0 to disable")
+    public HiveClientConfig setPartitionKeyIndexMaxCachedPartitions(long partitionKeyIndexMaxCachedPartitions)
+    {
+        this.partitionKeyIndexMaxCachedPartitions = partitionKeyIndexMaxCachedPartitions;
+        return this;
+    }
+
+    @AssertTrue(message = "hive.partition-key-index-max-cached-partitions requires hive.partition-filtering-from-metastore-enabled to be false")
+    public boolean isPartitionKeyIndexCompatibleWithMetastoreFiltering()
+    {
+        return partitionKeyIndexMaxCachedPartitions == 0 || !partitionFilteringFromMetastoreEnabled;
+    }
+
     @Config("hive.skip-empty-files")
     @ConfigDescription("Enables skip of empty files avoiding output error")
     public HiveClientConfig setSkipEmptyFilesEnabled(boolean skipEmptyFiles)
@@ -1860,4 +1897,17 @@ public class HiveClientConfig
     {
         return optimizeParsingOfPartitionValuesThreshold;
     }
+
+    public boolean isDirectoryListingWorkStealingEnabled()
+    {
+        return directoryListingWorkStealingEnabled;
+    }
+
+    @Config("hive.directory-listing-work-stealing-enabled")
+    @ConfigDescription("List nested directories of a partition as separate tasks that any split loader thread can pick up")
+    public HiveClientConfig setDirectoryListingWorkStealingEnabled(boolean directoryListingWorkStealingEnabled)
+    {
+        this.directoryListingWorkStealingEnabled = directoryListingWorkStealingEnabled;
+        return this;
+    }
 }
@@ -98,6 +98,7 @@ public class HivePageSink
 
     private final int maxOpenWriters;
     private final ListeningExecutorService writeVerificationExecutor;
+    private final ListeningExecutorService writerCommitExecutor;
 
     private final JsonCodec<PartitionUpdate> partitionUpdateCodec;
     private final SmileCodec<PartitionUpdate> partitionUpdateSmileCodec;
@@ -125,6 +126,7 @@ public class HivePageSink
             HdfsEnvironment hdfsEnvironment,
             int maxOpenWriters,
             ListeningExecutorService writeVerificationExecutor,
+            ListeningExecutorService writerCommitExecutor,
             JsonCodec<PartitionUpdate> partitionUpdateCodec,
             SmileCodec<PartitionUpdate> partitionUpdateSmileCodec,
             ConnectorSession session,
@@ -142,6 +144,7 @@ public class HivePageSink
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.maxOpenWriters = maxOpenWriters;
         this.writeVerificationExecutor = requireNonNull(writeVerificationExecutor, "writeVerificationExecutor is null");
+        this.writerCommitExecutor = requireNonNull(writerCommitExecutor, "writerCommitExecutor is null");
         this.partitionUpdateCodec = requireNonNull(partitionUpdateCodec, "partitionUpdateCodec is null");
         this.partitionUpdateSmileCodec = requireNonNull(partitionUpdateSmileCodec, "partitionUpdateSmileCodec is null");
 
@@ -240,8 +243,8 @@ public class HivePageSink
     {
         ImmutableList.Builder<PartitionUpdate> partitionUpdatesBuilder = ImmutableList.builder();
         List<Callable<Object>> verificationTasks = new ArrayList<>();
+        commitWriters();
         for (HiveWriter writer : writers) {
-            writer.commit();
             partitionUpdatesBuilder.add(writer.getPartitionUpdate());
             writer.getVerificationTask()
                     .map(Executors::callable)
@@ -311,6 +314,27 @@ public class HivePageSink
         }
     }
 
+    private void commitWriters()
+    {
+        if (writers.size() <= 1) {
+            writers.forEach(HiveWriter::commit);
+            return;
+        }
+
+        // committing a sorted writer merges its temporary files into the target file, which dominates the
+        // finish time of bucketed sorted writes, so the writers are committed concurrently when configured
+        List<Callable<Object>> commitTasks = writers.stream()
+                .map(writer -> Executors.callable(() -> hdfsEnvironment.doAs(session.getUser(), writer::commit)))
+                .collect(toList());
+        try {
+            writerCommitExecutor.invokeAll(commitTasks).forEach(MoreFutures::getFutureValue);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public void abort()
     {
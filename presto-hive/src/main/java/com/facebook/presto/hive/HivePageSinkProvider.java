@@ -16,6 +16,7 @@ package com.facebook.presto.hive;
 import com.facebook.airlift.event.client.EventClient;
 import com.facebook.airlift.json.JsonCodec;
 import com.facebook.airlift.json.smile.SmileCodec;
+import com.facebook.airlift.log.Logger;
 import com.facebook.presto.common.type.TypeManager;
 import com.facebook.presto.hive.metastore.ExtendedHiveMetastore;
 import com.facebook.presto.hive.metastore.HivePageSinkMetadataProvider;
@@ -37,8 +38,15 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import io.airlift.units.DataSize;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -51,12 +59,15 @@ import static com.facebook.presto.hive.metastore.MetastoreUtil.getMetastoreHeade
 import static com.facebook.presto.hive.metastore.MetastoreUtil.isUserDefinedTypeEncodingEnabled;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.Executors.newFixedThreadPool;
 
 public class HivePageSinkProvider
         implements ConnectorPageSinkProvider
 {
+    private static final Logger log = Logger.get(HivePageSinkProvider.class);
+
     private final Set<HiveFileWriterFactory> fileWriterFactories;
     private final HdfsEnvironment hdfsEnvironment;
     private final PageSorter pageSorter;
@@ -66,9 +77,11 @@ public class HivePageSinkProvider
     private final int maxOpenPartitions;
     private final int maxOpenSortFiles;
     private final DataSize writerSortBufferSize;
+    private final Optional<String> writerSortLocalTempDirectory;
     private final boolean immutablePartitions;
     private final LocationService locationService;
     private final ListeningExecutorService writeVerificationExecutor;
+    private final ListeningExecutorService writerCommitExecutor;
     private final JsonCodec<PartitionUpdate> partitionUpdateCodec;
     private final SmileCodec<PartitionUpdate> partitionUpdateSmileCodec;
     private final NodeManager nodeManager;
@@ -113,9 +126,15 @@ public class HivePageSinkProvider
         this.maxOpenPartitions = hiveClientConfig.getMaxPartitionsPerWriter();
         this.maxOpenSortFiles = sortingFileWriterConfig.getMaxOpenSortFiles();
         this.writerSortBufferSize = requireNonNull(sortingFileWriterConfig.getWriterSortBufferSize(), "writerSortBufferSize is null");
+        this.writerSortLocalTempDirectory = Optional.ofNullable(sortingFileWriterConfig.getLocalTempDirectory());
+        writerSortLocalTempDirectory.ifPresent(HivePageSinkProvider::deleteStaleSortFiles);
         this.immutablePartitions = hiveClientConfig.isImmutablePartitions();
         this.locationService = requireNonNull(locationService, "locationService is null");
         this.writeVerificationExecutor = listeningDecorator(newFixedThreadPool(hiveClientConfig.getWriteValidationThreads(), daemonThreadsNamed("hive-write-validation-%s")));
+        // committing a sorted writer merges its temporary runs, so writers of different buckets can be merged in parallel
+        this.writerCommitExecutor = sortingFileWriterConfig.getMergeThreads() > 1
+                ? listeningDecorator(newFixedThreadPool(sortingFileWriterConfig.getMergeThreads(), daemonThreadsNamed("hive-writer-commit-%s")))
+                : newDirectExecutorService();
         this.partitionUpdateCodec = requireNonNull(partitionUpdateCodec, "partitionUpdateCodec is null");
         this.partitionUpdateSmileCodec = requireNonNull(partitionUpdateSmileCodec, "partitionUpdateSmileCodec is null");
         this.nodeManager = requireNonNull(nodeManager, "nodeManager is null");
@@ -129,6 +148,12 @@ public class HivePageSinkProvider
         this.metastorePartitionCacheMaxColumnCount = metastoreClientConfig.getPartitionCacheColumnCountLimit();
     }
 
+    @PreDestroy
+    public void stop()
+    {
+        writerCommitExecutor.shutdownNow();
+    }
+
     @Override
     public ConnectorPageSink createPageSink(ConnectorTransactionHandle transaction, ConnectorSession session, ConnectorOutputTableHandle tableHandle, PageSinkContext pageSinkContext)
     {
@@ -185,6 +210,7 @@ public class HivePageSinkProvider
                 pageSorter,
                 writerSortBufferSize,
                 maxOpenSortFiles,
+                writerSortLocalTempDirectory,
                 immutablePartitions,
                 session,
                 nodeManager,
@@ -206,9 +232,27 @@ public class HivePageSinkProvider
                 hdfsEnvironment,
                 maxOpenPartitions,
                 writeVerificationExecutor,
+                writerCommitExecutor,
                 partitionUpdateCodec,
                 partitionUpdateSmileCodec,
                 session,
                 hiveMetadataUpdater);
     }
+
+    private static void deleteStaleSortFiles(String directory)
+    {
+        // sorted runs are only left behind when a worker dies while writing, so none of them belong to a running query;
+        // the local file system writes a ".<name>.crc" checksum file next to each run
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(directory), "{.tmp-sort.*,..tmp-sort.*}")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        catch (NoSuchFileException e) {
+            // the directory is created when the first run is written
+        }
+        catch (IOException e) {
+            log.warn(e, "Failed to delete stale sorted runs in %s", directory);
+        }
+    }
 }
@@ -73,6 +73,7 @@ import static com.facebook.presto.hive.HiveColumnHandle.isRowIdColumnHandle;
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_UNKNOWN_ERROR;
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_UNSUPPORTED_FORMAT;
 import static com.facebook.presto.hive.HivePageSourceProvider.ColumnMapping.toColumnHandles;
+import static com.facebook.presto.hive.HiveSessionProperties.isCacheAdmissionFilterEnabled;
 import static com.facebook.presto.hive.HiveSessionProperties.isLegacyTimestampBucketing;
 import static com.facebook.presto.hive.HiveSessionProperties.isUseRecordPageSourceForCustomSplit;
 import static com.facebook.presto.hive.HiveUtil.getPrefilledColumnValue;
@@ -161,7 +162,7 @@ public class HivePageSourceProvider
                 path);
 
         Optional<EncryptionInformation> encryptionInformation = hiveSplit.getEncryptionInformation();
-        CacheQuota cacheQuota = generateCacheQuota(hiveSplit);
+        CacheQuota cacheQuota = generateCacheQuota(hiveSplit, isCacheAdmissionFilterEnabled(session));
         HiveFileContext fileContext = new HiveFileContext(
                 splitContext.isCacheable(),
                 cacheQuota,
@@ -294,17 +295,23 @@ public class HivePageSourceProvider
 
     @VisibleForTesting
     protected static CacheQuota generateCacheQuota(HiveSplit hiveSplit)
+    {
+        return generateCacheQuota(hiveSplit, true);
+    }
+
+    @VisibleForTesting
+    protected static CacheQuota generateCacheQuota(HiveSplit hiveSplit, boolean admissionFilterEnabled)
     {
         Optional<DataSize> quota = hiveSplit.getCacheQuotaRequirement().getQuota();
         switch (hiveSplit.getCacheQuotaRequirement().getCacheQuotaScope()) {
             case GLOBAL:
-                return new CacheQuota(".", quota);
+                return new CacheQuota(".", quota, admissionFilterEnabled);
             case SCHEMA:
-                return new CacheQuota(hiveSplit.getDatabase(), quota);
+                return new CacheQuota(hiveSplit.getDatabase(), quota, admissionFilterEnabled);
             case TABLE:
-                return new CacheQuota(hiveSplit.getDatabase() + "." + hiveSplit.getTable(), quota);
+                return new CacheQuota(hiveSplit.getDatabase() + "." + hiveSplit.getTable(), quota, admissionFilterEnabled);
             case PARTITION:
-                return new CacheQuota(hiveSplit.getDatabase() + "." + hiveSplit.getTable() + "." + hiveSplit.getPartitionName(), quota);
+                return new CacheQuota(hiveSplit.getDatabase() + "." + hiveSplit.getTable() + "." + hiveSplit.getPartitionName(), quota, admissionFilterEnabled);
             default:
                 throw new PrestoException(HIVE_UNKNOWN_ERROR, format("%s is not supported", quota));
         }
@@ -0,0 +1,279 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive;
+
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.NullableValue;
+import com.facebook.presto.common.predicate.Range;
+import com.facebook.presto.common.predicate.SortedRangeSet;
+import com.facebook.presto.common.predicate.ValueSet;
+import com.facebook.presto.common.type.DecimalType;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.common.type.VarcharType;
+import com.facebook.presto.spi.ColumnHandle;
+import com.facebook.presto.spi.SchemaTableName;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.joda.time.DateTimeZone;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.common.type.DateType.DATE;
+import static com.facebook.presto.common.type.IntegerType.INTEGER;
+import static com.facebook.presto.common.type.SmallintType.SMALLINT;
+import static com.facebook.presto.common.type.TimestampType.TIMESTAMP;
+import static com.facebook.presto.common.type.TinyintType.TINYINT;
+import static com.facebook.presto.hive.HivePartitionManager.parsePartition;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * In-memory index over the partition key values of a single table. Partition names are parsed
+ * once, and for every partition column with a natively comparable type the non-null values are
+ * kept sorted, so that range and IN predicates are resolved with binary searches instead of
+ * evaluating the domain against every partition.
+ */
+public class HivePartitionKeyIndex
+{
+    private final List<PartitionNameWithVersion> partitionNames;
+    private final List<HiveColumnHandle> partitionColumns;
+    private final List<Type> partitionTypes;
+    private final List<HivePartition> partitions;
+    private final Map<HiveColumnHandle, ColumnIndex> columnIndexes;
+
+    private HivePartitionKeyIndex(
+            List<PartitionNameWithVersion> partitionNames,
+            List<HiveColumnHandle> partitionColumns,
+            List<Type> partitionTypes,
+            List<HivePartition> partitions)
+    {
+        this.partitionNames = ImmutableList.copyOf(requireNonNull(partitionNames, "partitionNames is null"));
+        this.partitionColumns = ImmutableList.copyOf(requireNonNull(partitionColumns, "partitionColumns is null"));
+        this.partitionTypes = ImmutableList.copyOf(requireNonNull(partitionTypes, "partitionTypes is null"));
+        this.partitions = ImmutableList.copyOf(requireNonNull(partitions, "partitions is null"));
+        checkArgument(partitionColumns.size() == partitionTypes.size(), "partitionColumns and partitionTypes must have the same size");
+
+        ImmutableMap.Builder<HiveColumnHandle, ColumnIndex> columnIndexes = ImmutableMap.builder();
+        for (int i = 0; i < partitionColumns.size(); i++) {
+            Type type = partitionTypes.get(i);
+            if (isIndexable(type)) {
+                HiveColumnHandle column = partitionColumns.get(i);
+                columnIndexes.put(column, new ColumnIndex(column, this.partitions));
+            }
+        }
+        this.columnIndexes = columnIndexes.build();
+    }
+
+    /**
+     * Builds an index for the given partition names. Partitions that were already parsed
+     * by {@code previous} are reused, so refreshing an index after partitions were added
+     * or dropped only parses the new partition names.
+     */
+    public static HivePartitionKeyIndex create(
+            Optional<HivePartitionKeyIndex> previous,
+            SchemaTableName tableName,
+            List<PartitionNameWithVersion> partitionNames,
+            List<HiveColumnHandle> partitionColumns,
+            List<Type> partitionTypes,
+            DateTimeZone timeZone)
+    {
+        Map<PartitionNameWithVersion, HivePartition> parsedPartitions = ImmutableMap.of();
+        if (previous.isPresent() && previous.get().partitionColumns.equals(partitionColumns) && previous.get().partitionTypes.equals(partitionTypes)) {
+            ImmutableMap.Builder<PartitionNameWithVersion, HivePartition> builder = ImmutableMap.builder();
+            previous.get().partitions.forEach(partition -> builder.put(partition.getPartitionId(), partition));
+            parsedPartitions = builder.build();
+        }
+
+        ImmutableList.Builder<HivePartition> partitions = ImmutableList.builder();
+        for (PartitionNameWithVersion partitionName : partitionNames) {
+            HivePartition partition = parsedPartitions.get(partitionName);
+            if (partition == null) {
+                partition = parsePartition(tableName, partitionName, partitionColumns, partitionTypes, timeZone);
+            }
+            partitions.add(partition);
+        }
+        return new HivePartitionKeyIndex(partitionNames, partitionColumns, partitionTypes, partitions.build());
+    }
+
+    /**
+     * Returns true if this index was built from exactly the given partition names and columns.
+     * While the metastore serves the partition names from its cache, the same list instance is
+     * returned, and the names are not compared one by one.
+     */
+    public boolean matches(List<PartitionNameWithVersion> partitionNames, List<HiveColumnHandle> partitionColumns, List<Type> partitionTypes)
+    {
+        if (!this.partitionColumns.equals(partitionColumns) || !this.partitionTypes.equals(partitionTypes)) {
+            return false;
+        }
+        return this.partitionNames == partitionNames || this.partitionNames.equals(partitionNames);
+    }
+
+    public int getPartitionCount()
+    {
+        return partitions.size();
+    }
+
+    /**
+     * Returns the partitions whose keys satisfy all of the given partition column domains,
+     * in the order of the partition names the index was built from.
+     */
+    public List<HivePartition> getPartitions(Map<ColumnHandle, Domain> domains)
+    {
+        BitSet matches = new BitSet(partitions.size());
+        matches.set(0, partitions.size());
+        for (HiveColumnHandle column : partitionColumns) {
+            Domain domain = domains.get(column);
+            if (domain == null || domain.isAll()) {
+                continue;
+            }
+            ColumnIndex columnIndex = columnIndexes.get(column);
+            if (columnIndex != null) {
+                columnIndex.retainMatching(domain, matches);
+            }
+            else {
+                for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                    if (!domain.includesNullableValue(partitions.get(ordinal).getKeys().get(column).getValue())) {
+                        matches.clear(ordinal);
+                    }
+                }
+            }
+            if (matches.isEmpty()) {
+                return ImmutableList.of();
+            }
+        }
+
+        if (matches.cardinality() == partitions.size()) {
+            return partitions;
+        }
+        return matches.stream()
+                .mapToObj(partitions::get)
+                .collect(toImmutableList());
+    }
+
+    private static boolean isIndexable(Type type)
+    {
+        // only types whose native stack representation sorts in the same order as the SQL type
+        return type.equals(BIGINT) ||
+                type.equals(INTEGER) ||
+                type.equals(SMALLINT) ||
+                type.equals(TINYINT) ||
+                type.equals(DATE) ||
+                type.equals(TIMESTAMP) ||
+                type.equals(BOOLEAN) ||
+                (type instanceof DecimalType && ((DecimalType) type).isShort()) ||
+                type instanceof VarcharType;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareNativeValues(Object left, Object right)
+    {
+        return ((Comparable<Object>) left).compareTo(right);
+    }
+
+    private static class ColumnIndex
+    {
+        private final Object[] sortedValues;
+        private final int[] sortedOrdinals;
+        private final BitSet nullOrdinals;
+
+        public ColumnIndex(HiveColumnHandle column, List<HivePartition> partitions)
+        {
+            BitSet nullOrdinals = new BitSet(partitions.size());
+            ImmutableList.Builder<Integer> nonNullOrdinals = ImmutableList.builder();
+            for (int ordinal = 0; ordinal < partitions.size(); ordinal++) {
+                NullableValue value = partitions.get(ordinal).getKeys().get(column);
+                if (value.isNull()) {
+                    nullOrdinals.set(ordinal);
+                }
+                else {
+                    nonNullOrdinals.add(ordinal);
+                }
+            }
+            this.nullOrdinals = nullOrdinals;
+
+            Comparator<Integer> byValue = (left, right) -> compareNativeValues(
+                    partitions.get(left).getKeys().get(column).getValue(),
+                    partitions.get(right).getKeys().get(column).getValue());
+            List<Integer> ordinals = nonNullOrdinals.build().stream()
+                    .sorted(byValue)
+                    .collect(toImmutableList());
+            this.sortedOrdinals = new int[ordinals.size()];
+            this.sortedValues = new Object[ordinals.size()];
+            for (int i = 0; i < ordinals.size(); i++) {
+                sortedOrdinals[i] = ordinals.get(i);
+                sortedValues[i] = partitions.get(ordinals.get(i)).getKeys().get(column).getValue();
+            }
+        }
+
+        public void retainMatching(Domain domain, BitSet matches)
+        {
+            BitSet allowed = new BitSet(matches.length());
+            if (domain.isNullAllowed()) {
+                allowed.or(nullOrdinals);
+            }
+
+            ValueSet values = domain.getValues();
+            if (values.isAll()) {
+                for (int ordinal : sortedOrdinals) {
+                    allowed.set(ordinal);
+                }
+            }
+            else if (values instanceof SortedRangeSet) {
+                for (Range range : values.getRanges().getOrderedRanges()) {
+                    int from = range.isLowUnbounded() ? 0 : lowerBound(range.getLowBoundedValue(), !range.isLowInclusive());
+                    int to = range.isHighUnbounded() ? sortedValues.length : lowerBound(range.getHighBoundedValue(), range.isHighInclusive());
+                    for (int i = from; i < to; i++) {
+                        allowed.set(sortedOrdinals[i]);
+                    }
+                }
+            }
+            else {
+                for (int i = 0; i < sortedValues.length; i++) {
+                    if (values.containsValue(sortedValues[i])) {
+                        allowed.set(sortedOrdinals[i]);
+                    }
+                }
+            }
+            matches.and(allowed);
+        }
+
+        /**
+         * Returns the first position whose value is greater than {@code value} when {@code exclusive} is set,
+         * or greater than or equal to {@code value} otherwise.
+         */
+        private int lowerBound(Object value, boolean exclusive)
+        {
+            int low = 0;
+            int high = sortedValues.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = compareNativeValues(sortedValues[middle], value);
+                if (comparison < 0 || (exclusive && comparison == 0)) {
+                    low = middle + 1;
+                }
+                else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import com.facebook.presto.spi.SchemaTableName;
 import com.facebook.presto.spi.TableNotFoundException;
 import com.google.common.base.Predicates;
 import com.google.common.base.VerifyException;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -94,6 +95,7 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+import static java.lang.Math.max;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -111,6 +113,7 @@ public class HivePartitionManager
     private final boolean partitionFilteringFromMetastoreEnabled;
     private final ListeningExecutorService executorService;
     private final ThreadPoolExecutorMBean executorServiceMBean;
+    private final Optional<Cache<SchemaTableName, HivePartitionKeyIndex>> partitionKeyIndexCache;
 
     @Inject
     public HivePartitionManager(
@@ -124,7 +127,8 @@ public class HivePartitionManager
                 hiveClientConfig.getMaxPartitionsPerScan(),
                 hiveClientConfig.getDomainCompactionThreshold(),
                 hiveClientConfig.isPartitionFilteringFromMetastoreEnabled(),
-                hiveClientConfig.getMaxParallelParsingConcurrency());
+                hiveClientConfig.getMaxParallelParsingConcurrency(),
+                hiveClientConfig.getPartitionKeyIndexMaxCachedPartitions());
     }
 
     public HivePartitionManager(
@@ -134,7 +138,8 @@ public class HivePartitionManager
             int maxPartitionsPerScan,
             int domainCompactionThreshold,
             boolean partitionFilteringFromMetastoreEnabled,
-            int maxParallelParsingConcurrency)
+            int maxParallelParsingConcurrency,
+            long partitionKeyIndexMaxCachedPartitions)
     {
         this.timeZone = requireNonNull(timeZone, "timeZone is null");
         this.assumeCanonicalPartitionKeys = assumeCanonicalPartitionKeys;
@@ -147,6 +152,18 @@ public class HivePartitionManager
                 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), daemonThreadsNamed("partition-value-parser-%s"));
         this.executorService = listeningDecorator(threadPoolExecutor);
         this.executorServiceMBean = new ThreadPoolExecutorMBean((ThreadPoolExecutor) threadPoolExecutor);
+        checkArgument(partitionKeyIndexMaxCachedPartitions >= 0, "partitionKeyIndexMaxCachedPartitions is negative");
+        checkArgument(partitionKeyIndexMaxCachedPartitions == 0 || !partitionFilteringFromMetastoreEnabled, "partition key index requires partition filtering from metastore to be disabled");
+        if (partitionKeyIndexMaxCachedPartitions > 0) {
+            // weighed by partition count, since the memory of an index grows with the partitions of its table
+            this.partitionKeyIndexCache = Optional.of(CacheBuilder.newBuilder()
+                    .maximumWeight(partitionKeyIndexMaxCachedPartitions)
+                    .weigher((SchemaTableName tableName, HivePartitionKeyIndex index) -> max(1, index.getPartitionCount()))
+                    .build());
+        }
+        else {
+            this.partitionKeyIndexCache = Optional.empty();
+        }
     }
 
     public List<HivePartition> getPartitionsList(
@@ -177,6 +194,11 @@ public class HivePartitionManager
         if (partitionColumns.isEmpty()) {
             return ImmutableList.of(new HivePartition(tableName));
         }
+        else if (partitionKeyIndexCache.isPresent()) {
+            // Only enabled when partition filtering from metastore is disabled: all partition names are listed
+            // (and cached by the metastore) so the key index can prune them in memory
+            return getPartitionListFromKeyIndex(getAllPartitionNames(session, metastore, hiveTableHandle, constraint), tableName, partitionColumns, partitionTypes, constraint);
+        }
         else {
             List<PartitionNameWithVersion> partitionNames = partitionFilteringFromMetastoreEnabled ? getFilteredPartitionNames(session, metastore, hiveTableHandle, effectivePredicate) : getAllPartitionNames(session, metastore, hiveTableHandle, constraint);
 
@@ -260,6 +282,37 @@ public class HivePartitionManager
         }
     }
 
+    private List<HivePartition> getPartitionListFromKeyIndex(
+            List<PartitionNameWithVersion> partitionNames,
+            SchemaTableName tableName,
+            List<HiveColumnHandle> partitionColumns,
+            List<Type> partitionTypes,
+            Constraint<ColumnHandle> constraint)
+    {
+        if (constraint.getSummary().isNone()) {
+            return ImmutableList.of();
+        }
+
+        Cache<SchemaTableName, HivePartitionKeyIndex> cache = partitionKeyIndexCache.get();
+        Optional<HivePartitionKeyIndex> cachedIndex = Optional.ofNullable(cache.getIfPresent(tableName));
+        HivePartitionKeyIndex index;
+        if (cachedIndex.isPresent() && cachedIndex.get().matches(partitionNames, partitionColumns, partitionTypes)) {
+            index = cachedIndex.get();
+        }
+        else {
+            index = HivePartitionKeyIndex.create(cachedIndex, tableName, partitionNames, partitionColumns, partitionTypes, timeZone);
+            cache.put(tableName, index);
+        }
+
+        List<HivePartition> partitions = index.getPartitions(constraint.getSummary().getDomains().get());
+        if (!constraint.predicate().isPresent()) {
+            return partitions;
+        }
+        return partitions.stream()
+                .filter(partition -> constraint.predicate().get().test(partition.getKeys()))
+                .collect(toImmutableList());
+    }
+
     private Map<Column, Domain> createPartitionPredicates(
             SemiTransactionalHiveMetastore metastore,
             ConnectorSession session,
@@ -540,4 +593,10 @@ public class HivePartitionManager
     {
         return executorServiceMBean;
     }
+
+    @Managed
+    public long getPartitionKeyIndexCacheSize()
+    {
+        return partitionKeyIndexCache.map(Cache::size).orElse(0L);
+    }
 }
@@ -59,6 +59,7 @@ public final class HiveSessionProperties
     private static final String ORC_OPTIMIZED_WRITER_FLAT_MAP_WRITER_ENABLED = "orc_optimized_writer_flat_map_writer_enabled";
     private static final String ORC_OPTIMIZED_WRITER_COMPRESSION_LEVEL = "orc_optimized_writer_compression_level";
     private static final String PAGEFILE_WRITER_MAX_STRIPE_SIZE = "pagefile_writer_max_stripe_size";
+    private static final String PAGEFILE_WRITER_COLUMNAR_ENABLED = "pagefile_writer_columnar_enabled";
     public static final String HIVE_STORAGE_FORMAT = "hive_storage_format";
     private static final String COMPRESSION_CODEC = "compression_codec";
     private static final String ORC_COMPRESSION_CODEC = "orc_compression_codec";
@@ -113,6 +114,7 @@ public final class HiveSessionProperties
     public static final String OPTIMIZED_PARTITION_UPDATE_SERIALIZATION_ENABLED = "optimized_partition_update_serialization_enabled";
     public static final String PARTITION_LEASE_DURATION = "partition_lease_duration";
     public static final String CACHE_ENABLED = "cache_enabled";
+    public static final String CACHE_ADMISSION_FILTER_ENABLED = "cache_admission_filter_enabled";
     public static final String ENABLE_LOOSE_MEMORY_BASED_ACCOUNTING = "enable_loose_memory_based_accounting";
     public static final String MATERIALIZED_VIEW_MISSING_PARTITIONS_THRESHOLD = "materialized_view_missing_partitions_threshold";
     public static final String VERBOSE_RUNTIME_STATS_ENABLED = "verbose_runtime_stats_enabled";
@@ -138,6 +140,7 @@ public final class HiveSessionProperties
     public static final String OPTIMIZE_PARSING_OF_PARTITION_VALUES_THRESHOLD = "optimize_parsing_of_partition_values_threshold";
 
     public static final String NATIVE_STATS_BASED_FILTER_REORDER_DISABLED = "native_stats_based_filter_reorder_disabled";
+    public static final String DIRECTORY_LISTING_WORK_STEALING_ENABLED = "directory_listing_work_stealing_enabled";
 
     private final List<PropertyMetadata<?>> sessionProperties;
 
@@ -224,6 +227,11 @@ public final class HiveSessionProperties
                         "PAGEFILE: Max stripe size",
                         hiveClientConfig.getPageFileStripeMaxSize(),
                         false),
+                booleanProperty(
+                        PAGEFILE_WRITER_COLUMNAR_ENABLED,
+                        "PAGEFILE: Write columns separately with per-page column statistics",
+                        hiveClientConfig.isPageFileColumnarWriterEnabled(),
+                        false),
                 stringProperty(
                         HIVE_STORAGE_FORMAT,
                         "Default storage format for new tables or partitions",
@@ -527,6 +535,11 @@ public final class HiveSessionProperties
                         "Enable cache for hive",
                         cacheConfig.isCachingEnabled(),
                         false),
+                booleanProperty(
+                        CACHE_ADMISSION_FILTER_ENABLED,
+                        "Only cache data that passes the cache admission filter. When disabled, every cache miss of this query is written to the cache",
+                        true,
+                        false),
                 booleanProperty(
                         VERBOSE_RUNTIME_STATS_ENABLED,
                         "Enable tracking all runtime stats. Note that this may affect query performance.",
@@ -671,7 +684,12 @@ public final class HiveSessionProperties
                         NATIVE_STATS_BASED_FILTER_REORDER_DISABLED,
                         "Native Execution only. Disable stats based filter reordering.",
                         false,
-                        true));
+                        true),
+                booleanProperty(
+                        DIRECTORY_LISTING_WORK_STEALING_ENABLED,
+                        "List nested directories of a partition as separate tasks that any split loader thread can pick up",
+                        hiveClientConfig.isDirectoryListingWorkStealingEnabled(),
+                        false));
     }
 
     public List<PropertyMetadata<?>> getSessionProperties()
@@ -763,6 +781,11 @@ public final class HiveSessionProperties
         return session.getProperty(PAGEFILE_WRITER_MAX_STRIPE_SIZE, DataSize.class);
     }
 
+    public static boolean isPageFileColumnarWriterEnabled(ConnectorSession session)
+    {
+        return session.getProperty(PAGEFILE_WRITER_COLUMNAR_ENABLED, Boolean.class);
+    }
+
     public static HiveStorageFormat getHiveStorageFormat(ConnectorSession session)
     {
         return HiveStorageFormat.valueOf(session.getProperty(HIVE_STORAGE_FORMAT, String.class).toUpperCase(ENGLISH));
@@ -1054,6 +1077,11 @@ public final class HiveSessionProperties
         return session.getProperty(CACHE_ENABLED, Boolean.class);
     }
 
+    public static boolean isCacheAdmissionFilterEnabled(ConnectorSession session)
+    {
+        return session.getProperty(CACHE_ADMISSION_FILTER_ENABLED, Boolean.class);
+    }
+
     public static boolean isExecutionBasedMemoryAccountingEnabled(ConnectorSession session)
     {
         return session.getProperty(ENABLE_LOOSE_MEMORY_BASED_ACCOUNTING, Boolean.class);
@@ -1169,4 +1197,9 @@ public final class HiveSessionProperties
     {
         return session.getProperty(OPTIMIZE_PARSING_OF_PARTITION_VALUES_THRESHOLD, Integer.class);
     }
+
+    public static boolean isDirectoryListingWorkStealingEnabled(ConnectorSession session)
+    {
+        return session.getProperty(DIRECTORY_LISTING_WORK_STEALING_ENABLED, Boolean.class);
+    }
 }
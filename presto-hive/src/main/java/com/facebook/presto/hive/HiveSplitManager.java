@@ -55,7 +55,6 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
 import io.airlift.units.DataSize;
 import org.apache.hadoop.hive.ql.io.parquet.serde.ParquetHiveSerDe;
@@ -516,7 +515,8 @@ public class HiveSplitManager
             }
 
             Map<String, Partition> partitions = partitionSplitInfo.entrySet().stream()
-                    .collect(toImmutableMap(Entry::getKey, entry -> entry.getValue().getPartition()));
+                    .filter(entry -> entry.getValue().getPartition().isPresent())
+                    .collect(toImmutableMap(Entry::getKey, entry -> entry.getValue().getPartition().get()));
             Optional<Map<String, EncryptionInformation>> encryptionInformationForPartitions = encryptionInformationProvider.getReadEncryptionInformation(
                     session,
                     table,
@@ -759,11 +759,6 @@ public class HiveSplitManager
                 metastore.getColumnConverterProvider(),
                 session.getWarningCollector(),
                 session.getRuntimeStats());
-        Map<String, Optional<Partition>> partitions = metastore.getPartitionsByNames(
-                metastoreContext,
-                tableName.getSchemaName(),
-                tableName.getTableName(),
-                Lists.transform(partitionBatch, HivePartition::getPartitionId));
         Map<String, PartitionStatistics> partitionStatistics = ImmutableMap.of();
         if (domains.isPresent() && isPartitionStatisticsBasedOptimizationEnabled(session)) {
             partitionStatistics = metastore.getPartitionStatistics(
@@ -775,16 +770,16 @@ public class HiveSplitManager
                             .collect(toImmutableSet()));
         }
 
-        Map<String, String> partitionNameToLocation = new HashMap<>();
+        // Prune by column statistics first, so partition objects are only loaded for partitions that will be read
+        Map<String, Set<ColumnHandle>> redundantColumnDomainsByPartition = new HashMap<>();
+        ImmutableList.Builder<PartitionNameWithVersion> unprunedPartitionNames = ImmutableList.builder();
         ImmutableMap.Builder<String, PartitionSplitInfo> partitionSplitInfoBuilder = ImmutableMap.builder();
-        for (Map.Entry<String, Optional<Partition>> entry : partitions.entrySet()) {
+        for (HivePartition hivePartition : partitionBatch) {
+            String partitionName = hivePartition.getPartitionId().getPartitionName();
             ImmutableSet.Builder<ColumnHandle> redundantColumnDomainsBuilder = ImmutableSet.builder();
-            if (!entry.getValue().isPresent()) {
-                throw new PrestoException(HIVE_PARTITION_DROPPED_DURING_QUERY, format("Partition no longer exists: %s.%s/%s", tableName.getSchemaName(), tableName.getTableName(), entry.getKey()));
-            }
             boolean pruned = false;
-            if (partitionStatistics.containsKey(entry.getKey())) {
-                Map<String, HiveColumnStatistics> columnStatistics = partitionStatistics.get(entry.getKey()).getColumnStatistics();
+            if (partitionStatistics.containsKey(partitionName)) {
+                Map<String, HiveColumnStatistics> columnStatistics = partitionStatistics.get(partitionName).getColumnStatistics();
                 for (Map.Entry<String, HiveColumnHandle> predicateColumnEntry : predicateColumns.entrySet()) {
                     if (columnStatistics.containsKey(predicateColumnEntry.getKey())) {
                         Optional<ValueSet> columnsStatisticsValueSet = getColumnStatisticsValueSet(columnStatistics.get(predicateColumnEntry.getKey()), predicateColumnEntry.getValue().getHiveType());
@@ -803,11 +798,32 @@ public class HiveSplitManager
                 }
             }
 
-            if (!pruned) {
-                partitionNameToLocation.put(entry.getKey(), entry.getValue().get().getStorage().getLocation());
+            if (pruned) {
+                partitionSplitInfoBuilder.put(partitionName, new PartitionSplitInfo(Optional.empty(), true, ImmutableSet.of()));
             }
+            else {
+                unprunedPartitionNames.add(hivePartition.getPartitionId());
+                redundantColumnDomainsByPartition.put(partitionName, redundantColumnDomainsBuilder.build());
+            }
+        }
 
-            partitionSplitInfoBuilder.put(entry.getKey(), new PartitionSplitInfo(entry.getValue().get(), pruned, redundantColumnDomainsBuilder.build()));
+        Map<String, Optional<Partition>> partitions = ImmutableMap.of();
+        List<PartitionNameWithVersion> partitionNamesToLoad = unprunedPartitionNames.build();
+        if (!partitionNamesToLoad.isEmpty()) {
+            partitions = metastore.getPartitionsByNames(
+                    metastoreContext,
+                    tableName.getSchemaName(),
+                    tableName.getTableName(),
+                    partitionNamesToLoad);
+        }
+
+        Map<String, String> partitionNameToLocation = new HashMap<>();
+        for (Map.Entry<String, Optional<Partition>> entry : partitions.entrySet()) {
+            if (!entry.getValue().isPresent()) {
+                throw new PrestoException(HIVE_PARTITION_DROPPED_DURING_QUERY, format("Partition no longer exists: %s.%s/%s", tableName.getSchemaName(), tableName.getTableName(), entry.getKey()));
+            }
+            partitionNameToLocation.put(entry.getKey(), entry.getValue().get().getStorage().getLocation());
+            partitionSplitInfoBuilder.put(entry.getKey(), new PartitionSplitInfo(entry.getValue(), false, redundantColumnDomainsByPartition.get(entry.getKey())));
         }
         metastore.setPartitionLeases(metastoreContext, tableName.getSchemaName(), tableName.getTableName(), partitionNameToLocation, getLeaseDuration(session));
 
@@ -935,18 +951,18 @@ public class HiveSplitManager
 
     private static class PartitionSplitInfo
     {
-        private final Partition partition;
+        private final Optional<Partition> partition;
         private final boolean pruned;
         private final Set<ColumnHandle> redundantColumnDomains;
 
-        public PartitionSplitInfo(Partition partition, boolean pruned, Set<ColumnHandle> redundantColumnDomains)
+        public PartitionSplitInfo(Optional<Partition> partition, boolean pruned, Set<ColumnHandle> redundantColumnDomains)
         {
             this.partition = requireNonNull(partition, "partition is null");
             this.pruned = pruned;
             this.redundantColumnDomains = ImmutableSet.copyOf(requireNonNull(redundantColumnDomains, "redundantColumnDomains is null"));
         }
 
-        public Partition getPartition()
+        public Optional<Partition> getPartition()
         {
             return partition;
         }
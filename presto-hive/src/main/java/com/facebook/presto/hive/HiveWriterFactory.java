@@ -171,6 +171,7 @@ public class HiveWriterFactory
             PageSorter pageSorter,
             DataSize sortBufferSize,
             int maxOpenSortFiles,
+            Optional<String> sortLocalTempDirectory,
             boolean immutablePartitions,
             ConnectorSession session,
             NodeManager nodeManager,
@@ -294,7 +295,8 @@ public class HiveWriterFactory
                     pageSorter,
                     orcFileWriterFactory,
                     isSortedWriteToTempPathEnabled(session),
-                    getSortedWriteTempPathSubdirectoryCount(session)));
+                    getSortedWriteTempPathSubdirectoryCount(session),
+                    sortLocalTempDirectory));
         }
         else {
             this.sortingFileWriterFactory = Optional.empty();
@@ -17,5 +17,7 @@ public enum NestedDirectoryPolicy
 {
     IGNORED,
     RECURSE,
+    // Return nested directories to the caller instead of descending into them
+    RETURN,
     FAIL
 }
@@ -21,6 +21,7 @@ import com.facebook.presto.orc.metadata.DwrfStripeCacheMode;
 import com.facebook.presto.orc.writer.StreamLayoutFactory;
 import io.airlift.units.DataSize;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 import java.util.OptionalInt;
@@ -56,6 +57,7 @@ public class OrcFileWriterConfig
     private boolean isStringDictionarySortingEnabled = OrcWriterOptions.DEFAULT_STRING_DICTIONARY_SORTING_ENABLED;
     private boolean isFlatMapWriterEnabled = DEFAULT_FLAT_MAP_WRITER_ENABLED;
     private boolean addHostnameToFileMetadataEnabled = true;
+    private int encodingParallelism = OrcWriterOptions.DEFAULT_ENCODING_PARALLELISM;
 
     public OrcWriterOptions.Builder toOrcWriterOptionsBuilder()
     {
@@ -81,7 +83,8 @@ public class OrcFileWriterConfig
                 .withDwrfStripeCacheEnabled(isDwrfStripeCacheEnabled)
                 .withDwrfStripeCacheMaxSize(dwrfStripeCacheMaxSize)
                 .withDwrfStripeCacheMode(dwrfStripeCacheMode)
-                .withCompressionLevel(resolvedCompressionLevel);
+                .withCompressionLevel(resolvedCompressionLevel)
+                .withEncodingParallelism(encodingParallelism);
     }
 
     @NotNull
@@ -297,6 +300,20 @@ public class OrcFileWriterConfig
         return this;
     }
 
+    @Min(1)
+    public int getEncodingParallelism()
+    {
+        return encodingParallelism;
+    }
+
+    @Config("hive.orc.writer.encoding-parallelism")
+    @ConfigDescription("Number of threads each ORC/DWRF writer uses to encode and compress columns. Values greater than 1 also write stripes to the file in the background")
+    public OrcFileWriterConfig setEncodingParallelism(int encodingParallelism)
+    {
+        this.encodingParallelism = encodingParallelism;
+        return this;
+    }
+
     private static StreamLayoutFactory getStreamLayoutFactory(StreamLayoutType type)
     {
         switch (type) {
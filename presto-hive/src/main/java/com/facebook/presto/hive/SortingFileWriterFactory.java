@@ -25,6 +25,7 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
@@ -48,6 +49,7 @@ public class SortingFileWriterFactory
     private final OrcFileWriterFactory orcFileWriterFactory;
     private final boolean sortedWriteToTempPathEnabled;
     private final int sortedWriteTempFileSubdirectoryCount;
+    private final Optional<String> localTempDirectory;
 
     public SortingFileWriterFactory(
             HdfsEnvironment hdfsEnvironment,
@@ -61,7 +63,8 @@ public class SortingFileWriterFactory
             PageSorter pageSorter,
             OrcFileWriterFactory orcFileWriterFactory,
             boolean sortedWriteToTempPathEnabled,
-            int sortedWriteTempFileSubdirectoryCount)
+            int sortedWriteTempFileSubdirectoryCount,
+            Optional<String> localTempDirectory)
     {
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.session = requireNonNull(session, "session is null");
@@ -75,12 +78,26 @@ public class SortingFileWriterFactory
         this.orcFileWriterFactory = requireNonNull(orcFileWriterFactory, "orcFileWriterFactory is null");
         this.sortedWriteToTempPathEnabled = sortedWriteToTempPathEnabled;
         this.sortedWriteTempFileSubdirectoryCount = sortedWriteTempFileSubdirectoryCount;
+        this.localTempDirectory = requireNonNull(localTempDirectory, "localTempDirectory is null");
     }
 
     public SortingFileWriter createSortingFileWriter(Path path, HiveFileWriter outputWriter, int fileNumber, Optional<Path> tempPath)
     {
         checkState(tempPath.isPresent() == sortedWriteToTempPathEnabled, "tempPath existence is not consistent with sortedWriteToTempPathEnabled config");
 
+        if (localTempDirectory.isPresent()) {
+            // sorted runs are spilled to local disk and always removed once merged into the target file
+            Path prefix = new Path(new File(localTempDirectory.get()).toURI().toString(), format(".tmp-sort.%s.%s", session.getQueryId(), path.getName()));
+            FileSystem localFileSystem;
+            try {
+                localFileSystem = hdfsEnvironment.getFileSystem(session.getUser(), prefix, conf);
+            }
+            catch (IOException e) {
+                throw new PrestoException(HIVE_WRITER_OPEN_ERROR, e);
+            }
+            return createSortingFileWriter(localFileSystem, prefix, outputWriter, false);
+        }
+
         FileSystem fileSystem;
         try {
             fileSystem = hdfsEnvironment.getFileSystem(session.getUser(), path, conf);
@@ -92,6 +109,11 @@ public class SortingFileWriterFactory
         Path prefix = sortedWriteToTempPathEnabled
                 ? new Path(tempPath.get(), format(".tmp-sort-%s/.tmp-sort-%s", fileNumber % sortedWriteTempFileSubdirectoryCount, path.getName()))
                 : new Path(path.getParent(), ".tmp-sort." + path.getName());
+        return createSortingFileWriter(fileSystem, prefix, outputWriter, sortedWriteToTempPathEnabled);
+    }
+
+    private SortingFileWriter createSortingFileWriter(FileSystem fileSystem, Path prefix, HiveFileWriter outputWriter, boolean keepTempFiles)
+    {
         return new SortingFileWriter(
                 fileSystem,
                 prefix,
@@ -103,6 +125,6 @@ public class SortingFileWriterFactory
                 sortOrders,
                 pageSorter,
                 (fs, p) -> orcFileWriterFactory.createDataSink(session, fs, p),
-                sortedWriteToTempPathEnabled);
+                keepTempFiles);
     }
 }
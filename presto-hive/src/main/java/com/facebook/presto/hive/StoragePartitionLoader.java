@@ -24,6 +24,7 @@ import com.facebook.presto.hive.util.InternalHiveSplitFactory;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.PrestoException;
 import com.facebook.presto.spi.SchemaTableName;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
@@ -65,6 +66,7 @@ import static com.facebook.presto.hive.HiveErrorCode.HIVE_UNSUPPORTED_FORMAT;
 import static com.facebook.presto.hive.HiveMetadata.shouldCreateFilesForMissingBuckets;
 import static com.facebook.presto.hive.HiveSessionProperties.getMaxInitialSplitSize;
 import static com.facebook.presto.hive.HiveSessionProperties.getMaxSplitSize;
+import static com.facebook.presto.hive.HiveSessionProperties.isDirectoryListingWorkStealingEnabled;
 import static com.facebook.presto.hive.HiveSessionProperties.isFileSplittable;
 import static com.facebook.presto.hive.HiveSessionProperties.isOrderBasedExecutionEnabled;
 import static com.facebook.presto.hive.HiveSessionProperties.isSkipEmptyFilesEnabled;
@@ -79,6 +81,7 @@ import static com.facebook.presto.hive.HiveWriterFactory.getBucketNumber;
 import static com.facebook.presto.hive.NestedDirectoryPolicy.FAIL;
 import static com.facebook.presto.hive.NestedDirectoryPolicy.IGNORED;
 import static com.facebook.presto.hive.NestedDirectoryPolicy.RECURSE;
+import static com.facebook.presto.hive.NestedDirectoryPolicy.RETURN;
 import static com.facebook.presto.hive.metastore.MetastoreUtil.getHiveSchema;
 import static com.facebook.presto.hive.metastore.MetastoreUtil.getPartitionLocation;
 import static com.facebook.presto.hive.s3select.S3SelectPushdown.shouldEnablePushdownForTable;
@@ -391,6 +394,10 @@ public class StoragePartitionLoader
             cacheable &= partition.get().isSealedPartition();
         }
 
+        if (recursiveDirWalkerEnabled && isDirectoryListingWorkStealingEnabled(session) && !(directoryLister instanceof HudiDirectoryLister)) {
+            return new DirectorySplitIterator(path, fileSystem, splitFactory, splittable, partition, cacheable);
+        }
+
         HiveDirectoryContext hiveDirectoryContext = new HiveDirectoryContext(
                 recursiveDirWalkerEnabled ? RECURSE : IGNORED,
                 cacheable,
@@ -405,6 +412,57 @@ public class StoragePartitionLoader
                 .iterator();
     }
 
+    /**
+     * Lists a single directory. Nested directories are not walked by this iterator but pushed to the
+     * front of the shared file iterator queue, so any idle split loader thread can list them, and
+     * they are picked up before loaders move on to partitions that have not been started yet.
+     * Each directory is listed, and cached by the directory lister, on its own.
+     */
+    private class DirectorySplitIterator
+            extends AbstractIterator<InternalHiveSplit>
+    {
+        private final ExtendedFileSystem fileSystem;
+        private final InternalHiveSplitFactory splitFactory;
+        private final boolean splittable;
+        private final Optional<Partition> partition;
+        private final boolean cacheable;
+        private final Iterator<HiveFileInfo> files;
+
+        private DirectorySplitIterator(Path path, ExtendedFileSystem fileSystem, InternalHiveSplitFactory splitFactory, boolean splittable, Optional<Partition> partition, boolean cacheable)
+        {
+            this.fileSystem = requireNonNull(fileSystem, "fileSystem is null");
+            this.splitFactory = requireNonNull(splitFactory, "splitFactory is null");
+            this.splittable = splittable;
+            this.partition = requireNonNull(partition, "partition is null");
+            this.cacheable = cacheable;
+            HiveDirectoryContext hiveDirectoryContext = new HiveDirectoryContext(
+                    RETURN,
+                    cacheable,
+                    isSkipEmptyFilesEnabled(session),
+                    hdfsContext.getIdentity(),
+                    buildDirectoryContextProperties(session),
+                    session.getRuntimeStats());
+            this.files = directoryLister.list(fileSystem, table, path, partition, namenodeStats, hiveDirectoryContext);
+        }
+
+        @Override
+        protected InternalHiveSplit computeNext()
+        {
+            while (files.hasNext()) {
+                HiveFileInfo fileInfo = files.next();
+                if (fileInfo.isDirectory()) {
+                    fileIterators.addFirst(new DirectorySplitIterator(new Path(fileInfo.getPath()), fileSystem, splitFactory, splittable, partition, cacheable));
+                    continue;
+                }
+                Optional<InternalHiveSplit> split = splitFactory.createInternalHiveSplit(fileInfo, splittable);
+                if (split.isPresent()) {
+                    return split.get();
+                }
+            }
+            return endOfData();
+        }
+    }
+
     private List<InternalHiveSplit> getBucketedSplits(
             Path path,
             ExtendedFileSystem fileSystem,
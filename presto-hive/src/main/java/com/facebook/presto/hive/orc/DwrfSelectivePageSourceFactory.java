@@ -41,17 +41,22 @@ import com.facebook.presto.spi.relation.RowExpressionService;
 import org.apache.hadoop.conf.Configuration;
 import org.joda.time.DateTimeZone;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
+import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
+import static com.facebook.presto.hive.HiveCommonSessionProperties.isOrcStripePrefetchEnabled;
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_BAD_DATA;
 import static com.facebook.presto.hive.HiveUtil.checkRowIDPartitionComponent;
 import static com.facebook.presto.hive.orc.OrcSelectivePageSourceFactory.createOrcPageSource;
 import static com.facebook.presto.orc.OrcEncoding.DWRF;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 
 public class DwrfSelectivePageSourceFactory
         implements HiveSelectivePageSourceFactory
@@ -66,6 +71,8 @@ public class DwrfSelectivePageSourceFactory
     private final StripeMetadataSourceFactory stripeMetadataSourceFactory;
     private final TupleDomainFilterCache tupleDomainFilterCache;
     private final DwrfEncryptionProvider dwrfEncryptionProvider;
+    // only used by sessions with orc_stripe_prefetch_enabled, each record reader prefetches at most one stripe
+    private final ExecutorService stripePrefetchExecutor = newCachedThreadPool(daemonThreadsNamed("hive-dwrf-stripe-prefetch-%s"));
 
     @Inject
     public DwrfSelectivePageSourceFactory(
@@ -92,6 +99,12 @@ public class DwrfSelectivePageSourceFactory
         this.dwrfEncryptionProvider = requireNonNull(dwrfEncryptionProvider, "dwrfEncryptionProvider is null").toDwrfEncryptionProvider();
     }
 
+    @PreDestroy
+    public void stop()
+    {
+        stripePrefetchExecutor.shutdownNow();
+    }
+
     @Override
     public Optional<? extends ConnectorPageSource> createPageSource(
             Configuration configuration,
@@ -149,6 +162,7 @@ public class DwrfSelectivePageSourceFactory
                 encryptionInformation,
                 dwrfEncryptionProvider,
                 appendRowNumberEnabled,
-                rowIDPartitionComponent));
+                rowIDPartitionComponent,
+                isOrcStripePrefetchEnabled(session) ? Optional.of(stripePrefetchExecutor) : Optional.empty()));
     }
 }
@@ -0,0 +1,176 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.pagefile;
+
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockEncodingSerde;
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.Range;
+import com.facebook.presto.common.predicate.ValueSet;
+import com.facebook.presto.common.type.Type;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.SliceOutput;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.util.Optional;
+
+import static com.facebook.presto.common.block.BlockSerdeUtil.readBlock;
+import static com.facebook.presto.common.block.BlockSerdeUtil.writeBlock;
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.common.type.RealType.REAL;
+import static com.facebook.presto.common.type.TypeUtils.readNativeValue;
+import static com.facebook.presto.common.type.VarbinaryType.VARBINARY;
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Float.intBitsToFloat;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Null count and value range of one column in one page of a columnar PAGEFILE.
+ */
+public class PageFileColumnStatistics
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(PageFileColumnStatistics.class).instanceSize();
+
+    // longer values are not kept so that the footer stays small
+    private static final int MAX_VALUE_LENGTH = 64;
+
+    private final long nullCount;
+    // the minimum and the maximum non-null value, in this order
+    private final Optional<Block> minMax;
+
+    public PageFileColumnStatistics(long nullCount, Optional<Block> minMax)
+    {
+        checkArgument(nullCount >= 0, "nullCount is negative");
+        this.nullCount = nullCount;
+        this.minMax = requireNonNull(minMax, "minMax is null");
+        checkArgument(!minMax.isPresent() || minMax.get().getPositionCount() == 2, "minMax must have two positions");
+    }
+
+    public static PageFileColumnStatistics create(Optional<Type> type, Block block)
+    {
+        boolean collectRange = type.isPresent() && isRangeSupported(type.get());
+        long nullCount = 0;
+        int minPosition = -1;
+        int maxPosition = -1;
+        for (int position = 0; position < block.getPositionCount(); position++) {
+            if (block.isNull(position)) {
+                nullCount++;
+                continue;
+            }
+            if (!collectRange) {
+                continue;
+            }
+            if (isNaN(type.get(), block, position)) {
+                // NaN is not ordered, so a range would not describe the values in the page
+                collectRange = false;
+                continue;
+            }
+            if (minPosition < 0 || type.get().compareTo(block, position, block, minPosition) < 0) {
+                minPosition = position;
+            }
+            if (maxPosition < 0 || type.get().compareTo(block, position, block, maxPosition) > 0) {
+                maxPosition = position;
+            }
+        }
+
+        if (!collectRange || minPosition < 0) {
+            return new PageFileColumnStatistics(nullCount, Optional.empty());
+        }
+        if (type.get().getJavaType() == Slice.class && (block.getSliceLength(minPosition) > MAX_VALUE_LENGTH || block.getSliceLength(maxPosition) > MAX_VALUE_LENGTH)) {
+            return new PageFileColumnStatistics(nullCount, Optional.empty());
+        }
+        return new PageFileColumnStatistics(nullCount, Optional.of(block.copyPositions(new int[] {minPosition, maxPosition}, 0, 2)));
+    }
+
+    public static boolean isRangeSupported(Type type)
+    {
+        Class<?> javaType = type.getJavaType();
+        return type.isOrderable()
+                && (javaType == long.class || javaType == double.class || javaType == Slice.class)
+                && !type.equals(VARBINARY);
+    }
+
+    public long getNullCount()
+    {
+        return nullCount;
+    }
+
+    public Optional<Block> getMinMax()
+    {
+        return minMax;
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        return INSTANCE_SIZE + minMax.map(Block::getRetainedSizeInBytes).orElse(0L);
+    }
+
+    /**
+     * Returns a domain containing every value of the column in a page with {@code positionCount} positions.
+     */
+    public Domain toDomain(Type type, int positionCount)
+    {
+        if (nullCount == positionCount) {
+            return Domain.onlyNull(type);
+        }
+        boolean nullAllowed = nullCount > 0;
+        if (!minMax.isPresent() || !isRangeSupported(type)) {
+            return nullAllowed ? Domain.all(type) : Domain.notNull(type);
+        }
+        Object min = readNativeValue(type, minMax.get(), 0);
+        Object max = readNativeValue(type, minMax.get(), 1);
+        return Domain.create(ValueSet.ofRanges(Range.range(type, min, true, max, true)), nullAllowed);
+    }
+
+    public void write(BlockEncodingSerde blockEncodingSerde, SliceOutput output)
+    {
+        output.writeLong(nullCount);
+        output.writeBoolean(minMax.isPresent());
+        if (minMax.isPresent()) {
+            writeBlock(blockEncodingSerde, output, minMax.get());
+        }
+    }
+
+    public static PageFileColumnStatistics read(BlockEncodingSerde blockEncodingSerde, SliceInput input)
+    {
+        long nullCount = input.readLong();
+        Optional<Block> minMax = Optional.empty();
+        if (input.readBoolean()) {
+            minMax = Optional.of(readBlock(blockEncodingSerde, input));
+        }
+        return new PageFileColumnStatistics(nullCount, minMax);
+    }
+
+    private static boolean isNaN(Type type, Block block, int position)
+    {
+        if (type.equals(DOUBLE)) {
+            return Double.isNaN(DOUBLE.getDouble(block, position));
+        }
+        if (type.equals(REAL)) {
+            return Float.isNaN(intBitsToFloat((int) REAL.getLong(block, position)));
+        }
+        return false;
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("nullCount", nullCount)
+                .add("minMax", minMax.isPresent())
+                .toString();
+    }
+}
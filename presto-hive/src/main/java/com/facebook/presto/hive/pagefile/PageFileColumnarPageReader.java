@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.pagefile;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.page.PagesSerde;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.Slices;
+import org.apache.hadoop.fs.FSDataInputStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
+import static com.facebook.presto.spi.page.PagesSerdeUtil.readSerializedPage;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the projected columns of the pages of a columnar page file. Adjacent projected
+ * columns of a page are read with a single read, the other columns are not read at all.
+ */
+public class PageFileColumnarPageReader
+        implements Iterator<Page>
+{
+    private final FSDataInputStream inputStream;
+    private final PagesSerde pagesSerde;
+    private final Iterator<PageFilePageMetadata> pages;
+    private final int[] columns;
+    // distinct projected columns in file order
+    private final int[] sortedColumns;
+
+    public PageFileColumnarPageReader(
+            FSDataInputStream inputStream,
+            PagesSerde pagesSerde,
+            List<PageFilePageMetadata> pages,
+            int[] columns)
+    {
+        this.inputStream = requireNonNull(inputStream, "inputStream is null");
+        this.pagesSerde = requireNonNull(pagesSerde, "pagesSerde is null");
+        this.pages = requireNonNull(pages, "pages is null").iterator();
+        this.columns = requireNonNull(columns, "columns is null").clone();
+        this.sortedColumns = Arrays.stream(columns).distinct().sorted().toArray();
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        return pages.hasNext();
+    }
+
+    @Override
+    public Page next()
+    {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        PageFilePageMetadata page = pages.next();
+        if (sortedColumns.length > 0 && sortedColumns[sortedColumns.length - 1] >= page.getColumnCount()) {
+            throw new PrestoException(
+                    NOT_SUPPORTED,
+                    "schema evolution is not supported for PageFile format");
+        }
+
+        Block[] blocksByColumn = new Block[page.getColumnCount()];
+        try {
+            int runStart = 0;
+            while (runStart < sortedColumns.length) {
+                int runEnd = runStart + 1;
+                while (runEnd < sortedColumns.length && sortedColumns[runEnd] == sortedColumns[runEnd - 1] + 1) {
+                    runEnd++;
+                }
+                readColumns(page, sortedColumns[runStart], sortedColumns[runEnd - 1], blocksByColumn);
+                runStart = runEnd;
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Block[] blocks = new Block[columns.length];
+        for (int channel = 0; channel < columns.length; channel++) {
+            blocks[channel] = blocksByColumn[columns[channel]];
+        }
+        return new Page(page.getPositionCount(), blocks);
+    }
+
+    private void readColumns(PageFilePageMetadata page, int firstColumn, int lastColumn, Block[] blocksByColumn)
+            throws IOException
+    {
+        long start = page.getColumnOffset(firstColumn);
+        long end = page.getColumnOffset(lastColumn) + page.getColumnSize(lastColumn);
+        byte[] buffer = new byte[toIntExact(end - start)];
+        inputStream.readFully(start, buffer);
+
+        SliceInput input = Slices.wrappedBuffer(buffer).getInput();
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            blocksByColumn[column] = pagesSerde.deserialize(readSerializedPage(input)).getBlock(0);
+        }
+    }
+}
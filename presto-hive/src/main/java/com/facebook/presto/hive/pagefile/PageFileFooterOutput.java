@@ -13,13 +13,16 @@
  */
 package com.facebook.presto.hive.pagefile;
 
+import com.facebook.presto.common.block.BlockEncodingSerde;
 import com.facebook.presto.common.io.DataOutput;
 import com.facebook.presto.hive.HiveCompressionCodec;
 import com.google.common.collect.ImmutableList;
+import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.Slice;
 import io.airlift.slice.SliceOutput;
 
 import java.util.List;
+import java.util.Optional;
 
 import static io.airlift.slice.SizeOf.SIZE_OF_INT;
 import static io.airlift.slice.SizeOf.SIZE_OF_LONG;
@@ -31,14 +34,23 @@ public class PageFileFooterOutput
         implements DataOutput
 {
     public static final int FOOTER_LENGTH_IN_BYTES = SIZE_OF_INT;
+    public static final int COLUMNAR_FORMAT_VERSION = 2;
 
     private final List<Long> stripeOffsets;
     private final Slice compressionSlice;
+    // metadata of the pages of a columnar page file, written after the stripe offsets
+    private final Optional<Slice> columnarMetadataSlice;
 
     public PageFileFooterOutput(List<Long> stripeOffsets, HiveCompressionCodec compressionCodec)
+    {
+        this(stripeOffsets, compressionCodec, Optional.empty());
+    }
+
+    private PageFileFooterOutput(List<Long> stripeOffsets, HiveCompressionCodec compressionCodec, Optional<Slice> columnarMetadataSlice)
     {
         this.stripeOffsets = ImmutableList.copyOf(requireNonNull(stripeOffsets, "stripeOffsets is null"));
         compressionSlice = utf8Slice(requireNonNull(compressionCodec, "compressionCodec is null").name());
+        this.columnarMetadataSlice = requireNonNull(columnarMetadataSlice, "columnarMetadataSlice is null");
     }
 
     @Override
@@ -48,6 +60,9 @@ public class PageFileFooterOutput
         if (!stripeOffsets.isEmpty()) {
             size += SIZE_OF_INT + compressionSlice.length() +
                     SIZE_OF_INT + SIZE_OF_LONG * stripeOffsets.size();
+            if (columnarMetadataSlice.isPresent()) {
+                size += columnarMetadataSlice.get().length();
+            }
         }
         return size;
     }
@@ -65,11 +80,29 @@ public class PageFileFooterOutput
             for (long offset : stripeOffsets) {
                 sliceOutput.writeLong(offset);
             }
+
+            // write format version and page metadata
+            columnarMetadataSlice.ifPresent(sliceOutput::writeBytes);
         }
         // write footer length
         sliceOutput.writeInt(toIntExact(size()));
     }
 
+    public static PageFileFooterOutput createColumnarPageFileFooterOutput(
+            List<Long> stripeOffsets,
+            HiveCompressionCodec compressionCodec,
+            List<PageFilePageMetadata> pages,
+            BlockEncodingSerde blockEncodingSerde)
+    {
+        DynamicSliceOutput output = new DynamicSliceOutput(SIZE_OF_INT + SIZE_OF_INT + pages.size() * SIZE_OF_LONG);
+        output.writeInt(COLUMNAR_FORMAT_VERSION);
+        output.writeInt(pages.size());
+        for (PageFilePageMetadata page : pages) {
+            page.write(blockEncodingSerde, output);
+        }
+        return new PageFileFooterOutput(stripeOffsets, compressionCodec, Optional.of(output.slice()));
+    }
+
     public static PageFileFooterOutput createEmptyPageFileFooterOutput()
     {
         return new PageFileFooterOutput(ImmutableList.of(), HiveCompressionCodec.NONE);
@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.hive.pagefile;
 
+import com.facebook.presto.common.block.BlockEncodingSerde;
 import com.facebook.presto.hive.HiveCompressionCodec;
 import com.facebook.presto.spi.PrestoException;
 import com.google.common.collect.ImmutableList;
@@ -26,6 +27,7 @@ import java.util.Optional;
 
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_BAD_DATA;
 import static com.facebook.presto.hive.HiveStorageFormat.PAGEFILE;
+import static com.facebook.presto.hive.pagefile.PageFileFooterOutput.COLUMNAR_FORMAT_VERSION;
 import static com.facebook.presto.hive.pagefile.PageFileFooterOutput.FOOTER_LENGTH_IN_BYTES;
 import static com.google.common.base.Preconditions.checkArgument;
 import static io.airlift.slice.SizeOf.SIZE_OF_INT;
@@ -42,14 +44,18 @@ public class PageFileFooterReader
     private final List<Long> stripeOffsets;
     private final long footerOffset;
     private final Optional<HiveCompressionCodec> compressionCodec;
+    private final Optional<List<PageFilePageMetadata>> pages;
 
     public PageFileFooterReader(
             FSDataInputStream inputStream,
-            long fileSize)
+            long fileSize,
+            BlockEncodingSerde blockEncodingSerde)
             throws IOException
     {
         checkArgument(fileSize >= FOOTER_LENGTH_IN_BYTES, "Malformed PageFile format, footer length is missing.");
         requireNonNull(inputStream, "inputStream is null");
+        requireNonNull(blockEncodingSerde, "blockEncodingSerde is null");
+        Optional<List<PageFilePageMetadata>> columnarPages = Optional.empty();
         ImmutableList.Builder<Long> stripeOffsetsBuilder = ImmutableList.builder();
 
         byte[] buffer = new byte[toIntExact(min(fileSize, ESTIMATED_FOOTER_SIZE))];
@@ -87,12 +93,30 @@ public class PageFileFooterReader
             // read stripeOffsets
             int stripeCount = sliceInput.readInt();
             remainingSize -= SIZE_OF_INT;
-            if (remainingSize != SIZE_OF_LONG * stripeCount) {
+            if (remainingSize < SIZE_OF_LONG * stripeCount) {
                 throw new PrestoException(HIVE_BAD_DATA, "Malformed PageFile format, incorrect stripe count.");
             }
             for (int i = 0; i < stripeCount; ++i) {
                 stripeOffsetsBuilder.add(sliceInput.readLong());
             }
+            remainingSize -= SIZE_OF_LONG * stripeCount;
+
+            // columnar page files store the page metadata after the stripe offsets
+            if (remainingSize > 0) {
+                int version = sliceInput.readInt();
+                if (version != COLUMNAR_FORMAT_VERSION) {
+                    throw new PrestoException(HIVE_BAD_DATA, format("Unsupported PageFile format version %s", version));
+                }
+                int pageCount = sliceInput.readInt();
+                ImmutableList.Builder<PageFilePageMetadata> pagesBuilder = ImmutableList.builder();
+                for (int i = 0; i < pageCount; ++i) {
+                    pagesBuilder.add(PageFilePageMetadata.read(blockEncodingSerde, sliceInput));
+                }
+                if (sliceInput.isReadable()) {
+                    throw new PrestoException(HIVE_BAD_DATA, "Malformed PageFile format, incorrect page metadata length.");
+                }
+                columnarPages = Optional.of(pagesBuilder.build());
+            }
         }
         else {
             // empty page file without stripe
@@ -100,6 +124,7 @@ public class PageFileFooterReader
         }
         compressionCodec = Optional.ofNullable(compression);
         stripeOffsets = stripeOffsetsBuilder.build();
+        pages = columnarPages;
     }
 
     public List<Long> getStripeOffsets()
@@ -116,4 +141,12 @@ public class PageFileFooterReader
     {
         return compressionCodec;
     }
+
+    /**
+     * Returns the metadata of all pages of a columnar page file, or empty if the pages are stored as whole serialized pages.
+     */
+    public Optional<List<PageFilePageMetadata>> getPages()
+    {
+        return pages;
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.pagefile;
+
+import com.facebook.presto.common.block.BlockEncodingSerde;
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.SliceOutput;
+
+import java.util.List;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Location and column statistics of a page in a columnar PAGEFILE. Each column of the
+ * page is stored as a separate serialized page, and the columns are stored one after another.
+ */
+public class PageFilePageMetadata
+{
+    private final long offset;
+    private final int positionCount;
+    private final List<Integer> columnSizes;
+    private final List<PageFileColumnStatistics> columnStatistics;
+
+    public PageFilePageMetadata(long offset, int positionCount, List<Integer> columnSizes, List<PageFileColumnStatistics> columnStatistics)
+    {
+        checkArgument(offset >= 0, "offset is negative");
+        checkArgument(positionCount >= 0, "positionCount is negative");
+        this.offset = offset;
+        this.positionCount = positionCount;
+        this.columnSizes = ImmutableList.copyOf(requireNonNull(columnSizes, "columnSizes is null"));
+        this.columnStatistics = ImmutableList.copyOf(requireNonNull(columnStatistics, "columnStatistics is null"));
+        checkArgument(columnSizes.size() == columnStatistics.size(), "columnSizes and columnStatistics must have the same size");
+    }
+
+    public long getOffset()
+    {
+        return offset;
+    }
+
+    public int getPositionCount()
+    {
+        return positionCount;
+    }
+
+    public int getColumnCount()
+    {
+        return columnSizes.size();
+    }
+
+    public long getColumnOffset(int column)
+    {
+        long columnOffset = offset;
+        for (int i = 0; i < column; i++) {
+            columnOffset += columnSizes.get(i);
+        }
+        return columnOffset;
+    }
+
+    public int getColumnSize(int column)
+    {
+        return columnSizes.get(column);
+    }
+
+    public PageFileColumnStatistics getColumnStatistics(int column)
+    {
+        return columnStatistics.get(column);
+    }
+
+    public void write(BlockEncodingSerde blockEncodingSerde, SliceOutput output)
+    {
+        output.writeLong(offset);
+        output.writeInt(positionCount);
+        output.writeInt(columnSizes.size());
+        for (int column = 0; column < columnSizes.size(); column++) {
+            output.writeInt(columnSizes.get(column));
+            columnStatistics.get(column).write(blockEncodingSerde, output);
+        }
+    }
+
+    public static PageFilePageMetadata read(BlockEncodingSerde blockEncodingSerde, SliceInput input)
+    {
+        long offset = input.readLong();
+        int positionCount = input.readInt();
+        int columnCount = input.readInt();
+        ImmutableList.Builder<Integer> columnSizes = ImmutableList.builder();
+        ImmutableList.Builder<PageFileColumnStatistics> columnStatistics = ImmutableList.builder();
+        for (int column = 0; column < columnCount; column++) {
+            columnSizes.add(input.readInt());
+            columnStatistics.add(PageFileColumnStatistics.read(blockEncodingSerde, input));
+        }
+        return new PageFilePageMetadata(offset, positionCount, columnSizes.build(), columnStatistics.build());
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("offset", offset)
+                .add("positionCount", positionCount)
+                .add("columnSizes", columnSizes)
+                .toString();
+    }
+}
@@ -14,17 +14,25 @@
 package com.facebook.presto.hive.pagefile;
 
 import com.facebook.presto.common.Page;
+import com.facebook.presto.common.RuntimeStats;
+import com.facebook.presto.common.RuntimeUnit;
 import com.facebook.presto.common.block.Block;
 import com.facebook.presto.common.block.BlockEncodingSerde;
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.hive.HiveColumnHandle;
 import com.facebook.presto.spi.ConnectorPageSource;
 import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.page.PagesSerde;
+import com.google.common.collect.ImmutableList;
 import org.apache.hadoop.fs.FSDataInputStream;
 
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
+import static com.facebook.presto.hive.BaseHiveColumnHandle.ColumnType.REGULAR;
 import static com.facebook.presto.hive.pagefile.PageFileWriterFactory.createPagesSerdeForPageFile;
 import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
 import static com.google.common.base.Preconditions.checkArgument;
@@ -36,6 +44,9 @@ public class PageFilePageSource
     private final FSDataInputStream inputStream;
     private final Iterator<Page> pageReader;
     private final int[] hiveColumnIndexes;
+    // columnar page files are read with the projection already applied
+    private final boolean projected;
+    private final RuntimeStats runtimeStats = new RuntimeStats();
 
     private boolean closed;
     private long completedPositions;
@@ -49,11 +60,13 @@ public class PageFilePageSource
             long splitLength,
             long fileSize,
             BlockEncodingSerde blockEncodingSerde,
-            List<HiveColumnHandle> columns)
+            List<HiveColumnHandle> columns,
+            TupleDomain<HiveColumnHandle> effectivePredicate)
             throws IOException
     {
         this.inputStream = requireNonNull(inputStream, "inputStream is null");
-        PageFileFooterReader pageFileFooterReader = new PageFileFooterReader(inputStream, fileSize);
+        requireNonNull(effectivePredicate, "effectivePredicate is null");
+        PageFileFooterReader pageFileFooterReader = new PageFileFooterReader(inputStream, fileSize, blockEncodingSerde);
 
         OffsetAndLength readStartAndLength = getReadStartAndLength(
                 start,
@@ -61,14 +74,6 @@ public class PageFilePageSource
                 pageFileFooterReader.getFooterOffset(),
                 pageFileFooterReader.getStripeOffsets());
 
-        pageReader = new PageFilePageReader(
-                readStartAndLength.getOffset(),
-                readStartAndLength.getLength(),
-                inputStream,
-                createPagesSerdeForPageFile(
-                        blockEncodingSerde,
-                        pageFileFooterReader.getCompression()));
-
         int size = requireNonNull(columns, "columns is null").size();
         this.hiveColumnIndexes = new int[size];
 
@@ -76,6 +81,62 @@ public class PageFilePageSource
             HiveColumnHandle column = columns.get(columnIndex);
             hiveColumnIndexes[columnIndex] = column.getHiveColumnIndex();
         }
+
+        PagesSerde pagesSerde = createPagesSerdeForPageFile(blockEncodingSerde, pageFileFooterReader.getCompression());
+        if (pageFileFooterReader.getPages().isPresent()) {
+            List<PageFilePageMetadata> pages = getMatchingPages(pageFileFooterReader.getPages().get(), readStartAndLength, effectivePredicate);
+            pageReader = new PageFileColumnarPageReader(inputStream, pagesSerde, pages, hiveColumnIndexes);
+            projected = true;
+        }
+        else {
+            pageReader = new PageFilePageReader(
+                    readStartAndLength.getOffset(),
+                    readStartAndLength.getLength(),
+                    inputStream,
+                    pagesSerde);
+            projected = false;
+        }
+    }
+
+    private List<PageFilePageMetadata> getMatchingPages(List<PageFilePageMetadata> pages, OffsetAndLength readStartAndLength, TupleDomain<HiveColumnHandle> effectivePredicate)
+    {
+        if (effectivePredicate.isNone()) {
+            return ImmutableList.of();
+        }
+        Map<HiveColumnHandle, Domain> domains = effectivePredicate.getDomains().get();
+
+        ImmutableList.Builder<PageFilePageMetadata> matchingPages = ImmutableList.builder();
+        long skippedPages = 0;
+        for (PageFilePageMetadata page : pages) {
+            long offset = page.getOffset();
+            if (offset < readStartAndLength.getOffset() || offset >= readStartAndLength.getOffset() + readStartAndLength.getLength()) {
+                continue;
+            }
+            if (pageMatches(page, domains)) {
+                matchingPages.add(page);
+            }
+            else {
+                skippedPages++;
+            }
+        }
+        runtimeStats.addMetricValue("PageFileSkippedPages", RuntimeUnit.NONE, skippedPages);
+        return matchingPages.build();
+    }
+
+    private static boolean pageMatches(PageFilePageMetadata page, Map<HiveColumnHandle, Domain> domains)
+    {
+        for (Map.Entry<HiveColumnHandle, Domain> entry : domains.entrySet()) {
+            HiveColumnHandle column = entry.getKey();
+            if (column.getColumnType() != REGULAR || column.getHiveColumnIndex() < 0 || column.getHiveColumnIndex() >= page.getColumnCount()) {
+                continue;
+            }
+            Domain domain = entry.getValue();
+            Domain pageDomain = page.getColumnStatistics(column.getHiveColumnIndex()).toDomain(domain.getType(), page.getPositionCount());
+            if (!domain.overlaps(pageDomain)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -90,6 +151,12 @@ public class PageFilePageSource
         return completedPositions;
     }
 
+    @Override
+    public RuntimeStats getRuntimeStats()
+    {
+        return runtimeStats;
+    }
+
     @Override
     public long getReadTimeNanos()
     {
@@ -111,6 +178,10 @@ public class PageFilePageSource
         long start = System.nanoTime();
 
         Page page = pageReader.next();
+        if (projected) {
+            readTimeNanos += System.nanoTime() - start;
+            return recordCompletedPage(page);
+        }
 
         Block[] blocks = new Block[hiveColumnIndexes.length];
         for (int fieldId = 0; fieldId < blocks.length; fieldId++) {
@@ -123,11 +194,17 @@ public class PageFilePageSource
         }
 
         readTimeNanos += System.nanoTime() - start;
+        recordCompletedPage(page);
+        return new Page(page.getPositionCount(), blocks);
+    }
+
+    private Page recordCompletedPage(Page page)
+    {
         completedPositions += page.getPositionCount();
         long pageSizeInBytes = page.getSizeInBytes();
         completedBytes += pageSizeInBytes;
         memoryUsageBytes = Math.max(memoryUsageBytes, pageSizeInBytes);
-        return new Page(page.getPositionCount(), blocks);
+        return page;
     }
 
     @Override
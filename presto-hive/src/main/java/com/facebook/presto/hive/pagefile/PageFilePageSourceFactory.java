@@ -93,7 +93,7 @@ public class PageFilePageSourceFactory
         }
 
         try {
-            PageFilePageSource pageFilePageSource = new PageFilePageSource(inputStream, fileSplit.getStart(), fileSplit.getLength(), fileSplit.getFileSize(), blockEncodingSerde, columns);
+            PageFilePageSource pageFilePageSource = new PageFilePageSource(inputStream, fileSplit.getStart(), fileSplit.getLength(), fileSplit.getFileSize(), blockEncodingSerde, columns, effectivePredicate);
             return Optional.of(pageFilePageSource);
         }
         catch (Throwable e) {
@@ -14,16 +14,19 @@
 package com.facebook.presto.hive.pagefile;
 
 import com.facebook.presto.common.Page;
-import com.facebook.presto.common.io.DataSink;
-import com.facebook.presto.hive.HiveCompressionCodec;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.type.Type;
 import com.facebook.presto.hive.HiveFileWriter;
 import com.facebook.presto.spi.PrestoException;
 import com.facebook.presto.spi.page.PagesSerde;
-import io.airlift.units.DataSize;
+import com.facebook.presto.spi.page.SerializedPage;
+import com.google.common.collect.ImmutableList;
 import org.openjdk.jol.info.ClassLayout;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 
@@ -39,17 +42,19 @@ public class PageFileWriter
 
     private final PageWriter pageWriter;
     private final PagesSerde pagesSerde;
+    // types of the input channels used to collect min and max values, only used by columnar page writers
+    private final List<Optional<Type>> statisticsTypes;
     private final Callable<Void> rollbackAction;
 
     public PageFileWriter(
-            DataSink dataSink,
+            PageWriter pageWriter,
             PagesSerde pagesSerde,
-            HiveCompressionCodec compression,
-            DataSize pageFileStripeMaxSize,
+            List<Optional<Type>> statisticsTypes,
             Callable<Void> rollbackAction)
     {
-        pageWriter = new PageWriter(dataSink, compression, pageFileStripeMaxSize);
+        this.pageWriter = requireNonNull(pageWriter, "pageWriter is null");
         this.pagesSerde = requireNonNull(pagesSerde, "pagesSerde is null");
+        this.statisticsTypes = ImmutableList.copyOf(requireNonNull(statisticsTypes, "statisticsTypes is null"));
         this.rollbackAction = requireNonNull(rollbackAction, "rollbackAction is null");
     }
 
@@ -69,13 +74,32 @@ public class PageFileWriter
     public void appendRows(Page dataPage)
     {
         try {
-            pageWriter.write(pagesSerde.serialize(dataPage));
+            if (pageWriter.isColumnar()) {
+                appendColumns(dataPage);
+            }
+            else {
+                pageWriter.write(pagesSerde.serialize(dataPage));
+            }
         }
         catch (IOException | UncheckedIOException e) {
             throw new PrestoException(HIVE_WRITER_DATA_ERROR, e);
         }
     }
 
+    private void appendColumns(Page dataPage)
+            throws IOException
+    {
+        List<SerializedPage> columns = new ArrayList<>(dataPage.getChannelCount());
+        List<PageFileColumnStatistics> columnStatistics = new ArrayList<>(dataPage.getChannelCount());
+        for (int channel = 0; channel < dataPage.getChannelCount(); channel++) {
+            Block block = dataPage.getBlock(channel).getLoadedBlock();
+            columns.add(pagesSerde.serialize(new Page(dataPage.getPositionCount(), block)));
+            Optional<Type> type = channel < statisticsTypes.size() ? statisticsTypes.get(channel) : Optional.empty();
+            columnStatistics.add(PageFileColumnStatistics.create(type, block));
+        }
+        pageWriter.write(dataPage.getPositionCount(), columns, columnStatistics);
+    }
+
     @Override
     public Optional<Page> commit()
     {
@@ -15,11 +15,14 @@ package com.facebook.presto.hive.pagefile;
 
 import com.facebook.presto.common.block.BlockEncodingSerde;
 import com.facebook.presto.common.io.DataSink;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.common.type.TypeManager;
 import com.facebook.presto.hive.EncryptionInformation;
 import com.facebook.presto.hive.HdfsEnvironment;
 import com.facebook.presto.hive.HiveCompressionCodec;
 import com.facebook.presto.hive.HiveFileWriter;
 import com.facebook.presto.hive.HiveFileWriterFactory;
+import com.facebook.presto.hive.HiveType;
 import com.facebook.presto.hive.datasink.DataSinkFactory;
 import com.facebook.presto.hive.metastore.StorageFormat;
 import com.facebook.presto.orc.zlib.DeflateCompressor;
@@ -31,6 +34,7 @@ import com.facebook.presto.spi.PrestoException;
 import com.facebook.presto.spi.page.PageCompressor;
 import com.facebook.presto.spi.page.PageDecompressor;
 import com.facebook.presto.spi.page.PagesSerde;
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import io.airlift.compress.lz4.Lz4Compressor;
 import io.airlift.compress.lz4.Lz4Decompressor;
@@ -51,13 +55,19 @@ import java.util.concurrent.Callable;
 
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_WRITER_OPEN_ERROR;
 import static com.facebook.presto.hive.HiveSessionProperties.getPageFileStripeMaxSize;
+import static com.facebook.presto.hive.HiveSessionProperties.isPageFileColumnarWriterEnabled;
 import static com.facebook.presto.hive.HiveStorageFormat.PAGEFILE;
+import static com.facebook.presto.hive.HiveType.toHiveTypes;
 import static com.facebook.presto.hive.pagefile.PageFileFooterOutput.createEmptyPageFileFooterOutput;
+import static com.facebook.presto.hive.pagefile.PageWriter.createColumnarPageWriter;
 import static com.facebook.presto.hive.util.ConfigurationUtils.PAGE_FILE_COMPRESSION;
 import static com.facebook.presto.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
 import static com.facebook.presto.spi.StandardErrorCode.GENERIC_USER_ERROR;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static org.apache.hadoop.hive.metastore.api.hive_metastoreConstants.META_TABLE_COLUMNS;
+import static org.apache.hadoop.hive.metastore.api.hive_metastoreConstants.META_TABLE_COLUMN_TYPES;
 
 public class PageFileWriterFactory
         implements HiveFileWriterFactory
@@ -65,16 +75,19 @@ public class PageFileWriterFactory
     private final HdfsEnvironment hdfsEnvironment;
     private final DataSinkFactory dataSinkFactory;
     private final BlockEncodingSerde blockEncodingSerde;
+    private final TypeManager typeManager;
 
     @Inject
     public PageFileWriterFactory(
             HdfsEnvironment hdfsEnvironment,
             DataSinkFactory dataSinkFactory,
-            BlockEncodingSerde blockEncodingSerde)
+            BlockEncodingSerde blockEncodingSerde,
+            TypeManager typeManager)
     {
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.dataSinkFactory = requireNonNull(dataSinkFactory, "dataSinkFactory is null");
         this.blockEncodingSerde = requireNonNull(blockEncodingSerde, "blockEncodingSerde is null");
+        this.typeManager = requireNonNull(typeManager, "typeManager is null");
     }
 
     @Override
@@ -107,13 +120,35 @@ public class PageFileWriterFactory
                 fileSystem.delete(path, false);
                 return null;
             };
-            return Optional.of(new PageFileWriter(dataSink, pagesSerde, compression, getPageFileStripeMaxSize(session), rollbackAction));
+            if (!isPageFileColumnarWriterEnabled(session)) {
+                PageWriter pageWriter = new PageWriter(dataSink, compression, getPageFileStripeMaxSize(session));
+                return Optional.of(new PageFileWriter(pageWriter, pagesSerde, ImmutableList.of(), rollbackAction));
+            }
+            PageWriter pageWriter = createColumnarPageWriter(dataSink, compression, getPageFileStripeMaxSize(session), blockEncodingSerde);
+            return Optional.of(new PageFileWriter(pageWriter, pagesSerde, getStatisticsTypes(inputColumnNames, schema), rollbackAction));
         }
         catch (IOException e) {
             throw new PrestoException(HIVE_WRITER_OPEN_ERROR, "Error creating pagefile", e);
         }
     }
 
+    private List<Optional<Type>> getStatisticsTypes(List<String> inputColumnNames, Properties schema)
+    {
+        List<String> fileColumnNames = Splitter.on(',').trimResults().omitEmptyStrings().splitToList(schema.getProperty(META_TABLE_COLUMNS, ""));
+        List<HiveType> fileColumnTypes = toHiveTypes(schema.getProperty(META_TABLE_COLUMN_TYPES, ""));
+        return inputColumnNames.stream()
+                .map(fileColumnNames::indexOf)
+                .map(index -> {
+                    if (index < 0 || index >= fileColumnTypes.size()) {
+                        return Optional.<Type>empty();
+                    }
+                    // columns with types not supported by Hive are declared as binary, which has no min and max values
+                    return Optional.of(fileColumnTypes.get(index).getType(typeManager))
+                            .filter(PageFileColumnStatistics::isRangeSupported);
+                })
+                .collect(toImmutableList());
+    }
+
     public static void createEmptyPageFile(
             DataSinkFactory dataSinkFactory,
             ConnectorSession session,
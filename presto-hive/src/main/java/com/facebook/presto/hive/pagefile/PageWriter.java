@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.hive.pagefile;
 
+import com.facebook.presto.common.block.BlockEncodingSerde;
 import com.facebook.presto.common.io.DataOutput;
 import com.facebook.presto.common.io.DataSink;
 import com.facebook.presto.hive.HiveCompressionCodec;
@@ -26,8 +27,13 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.facebook.presto.hive.pagefile.PageFileFooterOutput.createColumnarPageFileFooterOutput;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 
 public class PageWriter
@@ -44,15 +50,47 @@ public class PageWriter
     private List<DataOutput> bufferedPages = new ArrayList<>();
     private List<Long> stripeOffsets = new ArrayList<>();
     private long stripeOffset;
+    // present if the columns of each page are written separately, used to write the column statistics to the footer
+    private final Optional<BlockEncodingSerde> columnarBlockEncodingSerde;
+    private final List<PageFilePageMetadata> pages = new ArrayList<>();
+    private long pagesRetainedBytes;
 
     public PageWriter(
             DataSink dataSink,
             HiveCompressionCodec compressionCodec,
             DataSize pageFileStripeMaxSize)
+    {
+        this(dataSink, compressionCodec, pageFileStripeMaxSize, Optional.empty());
+    }
+
+    private PageWriter(
+            DataSink dataSink,
+            HiveCompressionCodec compressionCodec,
+            DataSize pageFileStripeMaxSize,
+            Optional<BlockEncodingSerde> columnarBlockEncodingSerde)
     {
         this.dataSink = requireNonNull(dataSink, "pageDataSink is null");
         this.compressionCodec = requireNonNull(compressionCodec, "compressionCodec is null");
         this.maxBufferedBytes = requireNonNull(pageFileStripeMaxSize, "pageFileStripeMaxSize is null").toBytes();
+        this.columnarBlockEncodingSerde = requireNonNull(columnarBlockEncodingSerde, "columnarBlockEncodingSerde is null");
+    }
+
+    /**
+     * Creates a writer of page files that store each column of a page separately,
+     * with the location and statistics of every column in the footer.
+     */
+    public static PageWriter createColumnarPageWriter(
+            DataSink dataSink,
+            HiveCompressionCodec compressionCodec,
+            DataSize pageFileStripeMaxSize,
+            BlockEncodingSerde blockEncodingSerde)
+    {
+        return new PageWriter(dataSink, compressionCodec, pageFileStripeMaxSize, Optional.of(requireNonNull(blockEncodingSerde, "blockEncodingSerde is null")));
+    }
+
+    public boolean isColumnar()
+    {
+        return columnarBlockEncodingSerde.isPresent();
     }
 
     /**
@@ -66,6 +104,7 @@ public class PageWriter
     public void write(SerializedPage page)
             throws IOException
     {
+        checkState(!isColumnar(), "columnar writer requires the columns of the page");
         PageDataOutput pageDataOutput = new PageDataOutput(page);
         long writtenSize = pageDataOutput.size();
         if (maxBufferedBytes - bufferedBytes < writtenSize) {
@@ -76,6 +115,37 @@ public class PageWriter
         retainedBytes += page.getRetainedSizeInBytes();
     }
 
+    /**
+     * Writes a page of a columnar page file, each column serialized as a single block page.
+     */
+    public void write(int positionCount, List<SerializedPage> columns, List<PageFileColumnStatistics> columnStatistics)
+            throws IOException
+    {
+        checkState(isColumnar(), "page writer is not columnar");
+        checkArgument(columns.size() == columnStatistics.size(), "columns and columnStatistics must have the same size");
+        List<PageDataOutput> columnDataOutputs = new ArrayList<>(columns.size());
+        List<Integer> columnSizes = new ArrayList<>(columns.size());
+        long writtenSize = 0;
+        for (SerializedPage column : columns) {
+            PageDataOutput columnDataOutput = new PageDataOutput(column);
+            columnDataOutputs.add(columnDataOutput);
+            columnSizes.add(toIntExact(columnDataOutput.size()));
+            writtenSize += columnDataOutput.size();
+        }
+        if (maxBufferedBytes - bufferedBytes < writtenSize) {
+            flushStripe();
+        }
+        pages.add(new PageFilePageMetadata(stripeOffset + bufferedBytes, positionCount, columnSizes, columnStatistics));
+        bufferedPages.addAll(columnDataOutputs);
+        bufferedBytes += writtenSize;
+        for (SerializedPage column : columns) {
+            retainedBytes += column.getRetainedSizeInBytes();
+        }
+        for (PageFileColumnStatistics statistics : columnStatistics) {
+            pagesRetainedBytes += statistics.getRetainedSizeInBytes();
+        }
+    }
+
     @Override
     public void close()
             throws IOException
@@ -86,7 +156,10 @@ public class PageWriter
         if (!bufferedPages.isEmpty()) {
             flushStripe();
         }
-        dataSink.write(ImmutableList.of(new PageFileFooterOutput(stripeOffsets, compressionCodec)));
+        PageFileFooterOutput footer = columnarBlockEncodingSerde
+                .map(blockEncodingSerde -> createColumnarPageFileFooterOutput(stripeOffsets, compressionCodec, pages, blockEncodingSerde))
+                .orElseGet(() -> new PageFileFooterOutput(stripeOffsets, compressionCodec));
+        dataSink.write(ImmutableList.of(footer));
         dataSink.close();
     }
 
@@ -100,7 +173,7 @@ public class PageWriter
 
     public long getRetainedBytes()
     {
-        return INSTANCE_SIZE + retainedBytes + dataSink.getRetainedSizeInBytes();
+        return INSTANCE_SIZE + retainedBytes + pagesRetainedBytes + dataSink.getRetainedSizeInBytes();
     }
 
     private void flushStripe()
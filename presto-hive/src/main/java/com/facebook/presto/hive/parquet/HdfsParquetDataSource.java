@@ -17,6 +17,7 @@ import com.facebook.presto.hive.FileFormatDataSourceStats;
 import com.facebook.presto.parquet.AbstractParquetDataSource;
 import com.facebook.presto.parquet.ParquetDataSourceId;
 import com.facebook.presto.spi.PrestoException;
+import io.airlift.units.DataSize;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -50,6 +51,13 @@ public class HdfsParquetDataSource
         this.inputStream = requireNonNull(inputStream, "inputStream is null");
     }
 
+    public HdfsParquetDataSource(ParquetDataSourceId id, FSDataInputStream inputStream, FileFormatDataSourceStats stats, DataSize maxMergeDistance, DataSize maxBufferSize)
+    {
+        super(id, maxMergeDistance, maxBufferSize);
+        this.stats = requireNonNull(stats, "stats is null");
+        this.inputStream = requireNonNull(inputStream, "inputStream is null");
+    }
+
     @Override
     public void close()
             throws IOException
@@ -117,4 +125,9 @@ public class HdfsParquetDataSource
     {
         return new HdfsParquetDataSource(new ParquetDataSourceId(path.toString()), inputStream, stats);
     }
+
+    public static HdfsParquetDataSource buildHdfsParquetDataSource(FSDataInputStream inputStream, Path path, FileFormatDataSourceStats stats, DataSize maxMergeDistance, DataSize maxBufferSize)
+    {
+        return new HdfsParquetDataSource(new ParquetDataSourceId(path.toString()), inputStream, stats, maxMergeDistance, maxBufferSize);
+    }
 }
@@ -81,6 +81,8 @@ public class HiveFileIterator
                         case RECURSE:
                             paths.add(new Path(fileInfo.getPath()));
                             continue;
+                        case RETURN:
+                            return fileInfo;
                         case FAIL:
                             throw new NestedDirectoryNotAllowedException();
                     }
@@ -30,13 +30,13 @@ import java.util.List;
 import static com.facebook.presto.hive.util.SortBuffer.appendPositionTo;
 import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.collect.Iterators.concat;
-import static com.google.common.collect.Iterators.mergeSorted;
-import static com.google.common.collect.Iterators.transform;
-import static java.util.Comparator.naturalOrder;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toList;
 
+/**
+ * Merges sorted page streams using a tournament (loser) tree. Each replacement
+ * of the current winner costs one comparison per tree level, and rows are
+ * read in place from their source pages rather than boxed per position.
+ */
 public class MergingPageIterator
         extends AbstractIterator<Page>
 {
@@ -44,7 +44,10 @@ public class MergingPageIterator
     private final List<Integer> sortFields;
     private final List<SortOrder> sortOrders;
     private final PageBuilder pageBuilder;
-    private final Iterator<PagePosition> pagePositions;
+    private final PageCursor[] cursors;
+    // tree[0] holds the index of the overall winner, tree[1..n-1] hold the loser of the match played at that node
+    private final int[] tree;
+    private boolean initialized;
 
     public MergingPageIterator(
             Collection<Iterator<Page>> iterators,
@@ -52,6 +55,7 @@ public class MergingPageIterator
             List<Integer> sortFields,
             List<SortOrder> sortOrders)
     {
+        requireNonNull(iterators, "iterators is null");
         requireNonNull(sortFields, "sortFields is null");
         requireNonNull(sortOrders, "sortOrders is null");
         checkArgument(sortFields.size() == sortOrders.size(), "sortFields and sortOrders size must match");
@@ -60,18 +64,35 @@ public class MergingPageIterator
         this.sortFields = ImmutableList.copyOf(sortFields);
         this.sortOrders = ImmutableList.copyOf(sortOrders);
         this.pageBuilder = new PageBuilder(types);
-        this.pagePositions = mergeSorted(
-                iterators.stream()
-                        .map(pages -> concat(transform(pages, PagePositionIterator::new)))
-                        .collect(toList()),
-                naturalOrder());
+        this.cursors = iterators.stream()
+                .map(PageCursor::new)
+                .toArray(PageCursor[]::new);
+        this.tree = new int[Math.max(cursors.length, 1)];
     }
 
     @Override
     protected Page computeNext()
     {
-        while (!pageBuilder.isFull() && pagePositions.hasNext()) {
-            pagePositions.next().appendTo(pageBuilder);
+        if (cursors.length == 0) {
+            return endOfData();
+        }
+        if (!initialized) {
+            for (PageCursor cursor : cursors) {
+                cursor.advance();
+            }
+            tree[0] = cursors.length == 1 ? 0 : initialize(1);
+            initialized = true;
+        }
+
+        while (!pageBuilder.isFull()) {
+            int winner = tree[0];
+            PageCursor cursor = cursors[winner];
+            if (cursor.isFinished()) {
+                break;
+            }
+            cursor.appendTo(pageBuilder);
+            cursor.advance();
+            replay(winner);
         }
 
         if (pageBuilder.isEmpty()) {
@@ -83,70 +104,107 @@ public class MergingPageIterator
         return page;
     }
 
-    private class PagePositionIterator
-            extends AbstractIterator<PagePosition>
+    /**
+     * Plays the matches of the subtree rooted at {@code node}, recording the losers, and
+     * returns the winner. Leaves are the nodes {@code n..2n-1} and map to cursor {@code node - n}.
+     */
+    private int initialize(int node)
+    {
+        if (node >= cursors.length) {
+            return node - cursors.length;
+        }
+        int left = initialize(2 * node);
+        int right = initialize(2 * node + 1);
+        if (beats(left, right)) {
+            tree[node] = right;
+            return left;
+        }
+        tree[node] = left;
+        return right;
+    }
+
+    private void replay(int source)
     {
-        private final Page page;
-        private int position = -1;
+        int winner = source;
+        for (int node = (source + cursors.length) / 2; node > 0; node /= 2) {
+            if (beats(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+    }
 
-        private PagePositionIterator(Page page)
-        {
-            this.page = requireNonNull(page, "page is null");
+    private boolean beats(int left, int right)
+    {
+        PageCursor leftCursor = cursors[left];
+        PageCursor rightCursor = cursors[right];
+        if (leftCursor.isFinished() || rightCursor.isFinished()) {
+            return rightCursor.isFinished() && (!leftCursor.isFinished() || left < right);
         }
+        int result = compare(leftCursor, rightCursor);
+        // break ties by source index to keep the merge deterministic
+        return result < 0 || (result == 0 && left < right);
+    }
 
-        @Override
-        protected PagePosition computeNext()
-        {
-            position++;
-            if (position == page.getPositionCount()) {
-                return endOfData();
+    private int compare(PageCursor left, PageCursor right)
+    {
+        for (int i = 0; i < sortFields.size(); i++) {
+            int channel = sortFields.get(i);
+            SortOrder order = sortOrders.get(i);
+            Type type = types.get(channel);
+
+            Block block = left.page.getBlock(channel);
+            Block otherBlock = right.page.getBlock(channel);
+
+            int result;
+            try {
+                result = order.compareBlockValue(type, block, left.position, otherBlock, right.position);
+            }
+            catch (NotSupportedException e) {
+                throw new PrestoException(NOT_SUPPORTED, e.getMessage(), e);
+            }
+
+            if (result != 0) {
+                return result;
             }
-            return new PagePosition(page, position);
         }
+        return 0;
     }
 
-    @SuppressWarnings("ComparableImplementedButEqualsNotOverridden")
-    private class PagePosition
-            implements Comparable<PagePosition>
+    private static class PageCursor
     {
-        private final Page page;
-        private final int position;
+        private final Iterator<Page> pages;
+        private Page page;
+        private int position;
 
-        public PagePosition(Page page, int position)
+        public PageCursor(Iterator<Page> pages)
         {
-            this.page = requireNonNull(page, "page is null");
-            this.position = position;
+            this.pages = requireNonNull(pages, "pages is null");
         }
 
-        public void appendTo(PageBuilder pageBuilder)
+        public boolean isFinished()
         {
-            appendPositionTo(page, position, pageBuilder);
+            return page == null;
         }
 
-        @Override
-        public int compareTo(PagePosition other)
+        public void advance()
         {
-            for (int i = 0; i < sortFields.size(); i++) {
-                int channel = sortFields.get(i);
-                SortOrder order = sortOrders.get(i);
-                Type type = types.get(channel);
-
-                Block block = page.getBlock(channel);
-                Block otherBlock = other.page.getBlock(channel);
-
-                int result;
-                try {
-                    result = order.compareBlockValue(type, block, position, otherBlock, other.position);
-                }
-                catch (NotSupportedException e) {
-                    throw new PrestoException(NOT_SUPPORTED, e.getMessage(), e);
-                }
-
-                if (result != 0) {
-                    return result;
+            position++;
+            while (page == null || position >= page.getPositionCount()) {
+                if (!pages.hasNext()) {
+                    page = null;
+                    return;
                 }
+                page = pages.next();
+                position = 0;
             }
-            return 0;
+        }
+
+        public void appendTo(PageBuilder pageBuilder)
+        {
+            appendPositionTo(page, position, pageBuilder);
         }
     }
 }
@@ -315,6 +315,60 @@ public class TestBackgroundHiveSplitLoader
                         "*,test_dbname.test_table"));
     }
 
+    @Test
+    public void testDirectoryListingWorkStealing()
+            throws Exception
+    {
+        Path tableRoot = new Path("hdfs://VOL1:9000/db_name/table_name");
+        Path first = new Path(tableRoot, "a");
+        Path nested = new Path(first, "x");
+        Path second = new Path(tableRoot, "b");
+        Map<Path, List<LocatedFileStatus>> directoryTree = ImmutableMap.of(
+                tableRoot, ImmutableList.of(locatedFileStatus(new Path(tableRoot, "f0"), 1L), directoryStatus(first), directoryStatus(second)),
+                first, ImmutableList.of(directoryStatus(nested), locatedFileStatus(new Path(first, "f1"), 1L)),
+                nested, ImmutableList.of(locatedFileStatus(new Path(nested, "f2"), 1L), locatedFileStatus(new Path(nested, "f3"), 1L)),
+                second, ImmutableList.of(locatedFileStatus(new Path(second, "f4"), 1L)));
+        List<String> expectedPaths = ImmutableList.of("f0", "a/x/f2", "a/x/f3", "a/f1", "b/f4").stream()
+                .map(name -> new Path(tableRoot, name).toString())
+                .sorted()
+                .collect(toImmutableList());
+
+        CachingDirectoryLister cachingDirectoryLister = new CachingDirectoryLister(
+                new HadoopDirectoryLister(),
+                new Duration(5, TimeUnit.MINUTES),
+                new DataSize(100, KILOBYTE),
+                ImmutableList.of("*"));
+        ConnectorSession connectorSession = new TestingConnectorSession(getAllSessionProperties(
+                new HiveClientConfig()
+                        .setFileStatusCacheTables("*")
+                        .setDirectoryListingWorkStealingEnabled(true),
+                new HiveCommonClientConfig()));
+
+        for (int i = 0; i < 2; i++) {
+            BackgroundHiveSplitLoader backgroundHiveSplitLoader = new BackgroundHiveSplitLoader(
+                    SIMPLE_TABLE,
+                    samplePartitionMetadatas(),
+                    ImmutableMap.of(),
+                    createBucketSplitInfo(Optional.empty(), Optional.empty()),
+                    connectorSession,
+                    new TestingDirectoryTreeHdfsEnvironment(directoryTree),
+                    new NamenodeStats(),
+                    cachingDirectoryLister,
+                    EXECUTOR,
+                    2,
+                    true,
+                    false,
+                    false);
+            HiveSplitSource hiveSplitSource = hiveSplitSource(backgroundHiveSplitLoader);
+            backgroundHiveSplitLoader.start(hiveSplitSource);
+            assertEquals(drain(hiveSplitSource).stream().sorted().collect(toImmutableList()), expectedPaths);
+        }
+
+        // every directory is listed and cached on its own, so the second load is served entirely from the cache
+        assertEquals(cachingDirectoryLister.getMissCount(), directoryTree.size());
+        assertEquals(cachingDirectoryLister.getHitCount(), directoryTree.size());
+    }
+
     @Test
     public void testSplittableNotCheckedOnSmallFiles()
             throws Exception
@@ -715,6 +769,23 @@ public class TestBackgroundHiveSplitLoader
                 new BlockLocation[]{});
     }
 
+    private static LocatedFileStatus directoryStatus(Path path)
+    {
+        return new LocatedFileStatus(
+                0L,
+                true,
+                0,
+                0L,
+                0L,
+                0L,
+                null,
+                null,
+                null,
+                null,
+                path,
+                new BlockLocation[]{});
+    }
+
     public static class TestingHdfsEnvironment
             extends HdfsEnvironment
     {
@@ -736,6 +807,45 @@ public class TestBackgroundHiveSplitLoader
         }
     }
 
+    private static class TestingDirectoryTreeHdfsEnvironment
+            extends TestingHdfsEnvironment
+    {
+        private final Map<Path, List<LocatedFileStatus>> directoryTree;
+
+        public TestingDirectoryTreeHdfsEnvironment(Map<Path, List<LocatedFileStatus>> directoryTree)
+        {
+            super(ImmutableList.of());
+            this.directoryTree = ImmutableMap.copyOf(directoryTree);
+        }
+
+        @Override
+        public ExtendedFileSystem getFileSystem(String user, Path path, Configuration configuration)
+        {
+            return new TestingHdfsFileSystem(ImmutableList.of())
+            {
+                @Override
+                public RemoteIterator<LocatedFileStatus> listLocatedStatus(Path f)
+                {
+                    Iterator<LocatedFileStatus> iterator = directoryTree.getOrDefault(f, ImmutableList.of()).iterator();
+                    return new RemoteIterator<LocatedFileStatus>()
+                    {
+                        @Override
+                        public boolean hasNext()
+                        {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public LocatedFileStatus next()
+                        {
+                            return iterator.next();
+                        }
+                    };
+                }
+            };
+        }
+    }
+
     private static class TestingHdfsFileSystem
             extends ExtendedFileSystem
     {
@@ -24,11 +24,15 @@ import io.airlift.units.DataSize.Unit;
 import io.airlift.units.Duration;
 import org.testng.annotations.Test;
 
+import javax.validation.constraints.AssertTrue;
+
 import java.time.ZoneId;
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
+import static com.facebook.airlift.testing.ValidationAssertions.assertFailsValidation;
+import static com.facebook.airlift.testing.ValidationAssertions.assertValidates;
 import static com.facebook.presto.hive.BucketFunctionType.HIVE_COMPATIBLE;
 import static com.facebook.presto.hive.BucketFunctionType.PRESTO_NATIVE;
 import static com.facebook.presto.hive.HiveClientConfig.InsertExistingPartitionsBehavior.APPEND;
@@ -125,6 +129,7 @@ public class TestHiveClientConfig
                 .setFileStatusCacheMaxRetainedSize(new DataSize(0, KILOBYTE))
                 .setFileStatusCacheTables("")
                 .setPageFileStripeMaxSize(new DataSize(24, Unit.MEGABYTE))
+                .setPageFileColumnarWriterEnabled(false)
                 .setBucketFunctionTypeForExchange(HIVE_COMPATIBLE)
                 .setBucketFunctionTypeForCteMaterialization(PRESTO_NATIVE)
                 .setParquetDereferencePushdownEnabled(false)
@@ -156,6 +161,7 @@ public class TestHiveClientConfig
                 .setPartitionFilteringFromMetastoreEnabled(true)
                 .setParallelParsingOfPartitionValuesEnabled(false)
                 .setMaxParallelParsingConcurrency(100)
+                .setPartitionKeyIndexMaxCachedPartitions(0)
                 .setQuickStatsEnabled(false)
                 .setQuickStatsInlineBuildTimeout(new Duration(60, TimeUnit.SECONDS))
                 .setQuickStatsBackgroundBuildTimeout(new Duration(0, TimeUnit.SECONDS))
@@ -168,7 +174,8 @@ public class TestHiveClientConfig
                 .setSkipEmptyFilesEnabled(false)
                 .setOptimizeParsingOfPartitionValues(false)
                 .setOptimizeParsingOfPartitionValuesThreshold(500)
-                .setLegacyTimestampBucketing(false));
+                .setLegacyTimestampBucketing(false)
+                .setDirectoryListingWorkStealingEnabled(false));
     }
 
     @Test
@@ -253,6 +260,7 @@ public class TestHiveClientConfig
                 .put("hive.file-status-cache.max-retained-size", "500MB")
                 .put("hive.file-status-cache-expire-time", "30m")
                 .put("hive.pagefile.writer.stripe-max-size", "1kB")
+                .put("hive.pagefile.writer.columnar-enabled", "true")
                 .put("hive.bucket-function-type-for-exchange", "PRESTO_NATIVE")
                 .put("hive.bucket-function-type-for-cte-materialization", "HIVE_COMPATIBLE")
                 .put("hive.enable-parquet-dereference-pushdown", "true")
@@ -284,6 +292,7 @@ public class TestHiveClientConfig
                 .put("hive.partition-filtering-from-metastore-enabled", "false")
                 .put("hive.parallel-parsing-of-partition-values-enabled", "true")
                 .put("hive.max-parallel-parsing-concurrency", "200")
+                .put("hive.partition-key-index-max-cached-partitions", "500000")
                 .put("hive.quick-stats.enabled", "true")
                 .put("hive.quick-stats.inline-build-timeout", "61s")
                 .put("hive.quick-stats.background-build-timeout", "1s")
@@ -297,6 +306,7 @@ public class TestHiveClientConfig
                 .put("hive.optimize-parsing-of-partition-values-enabled", "true")
                 .put("hive.optimize-parsing-of-partition-values-threshold", "100")
                 .put("hive.legacy-timestamp-bucketing", "true")
+                .put("hive.directory-listing-work-stealing-enabled", "true")
                 .build();
 
         HiveClientConfig expected = new HiveClientConfig()
@@ -377,6 +387,7 @@ public class TestHiveClientConfig
                 .setFileStatusCacheMaxRetainedSize((new DataSize(500, MEGABYTE)))
                 .setFileStatusCacheExpireAfterWrite(new Duration(30, TimeUnit.MINUTES))
                 .setPageFileStripeMaxSize(new DataSize(1, Unit.KILOBYTE))
+                .setPageFileColumnarWriterEnabled(true)
                 .setBucketFunctionTypeForExchange(PRESTO_NATIVE)
                 .setBucketFunctionTypeForCteMaterialization(HIVE_COMPATIBLE)
                 .setParquetDereferencePushdownEnabled(true)
@@ -408,6 +419,7 @@ public class TestHiveClientConfig
                 .setPartitionFilteringFromMetastoreEnabled(false)
                 .setParallelParsingOfPartitionValuesEnabled(true)
                 .setMaxParallelParsingConcurrency(200)
+                .setPartitionKeyIndexMaxCachedPartitions(500000)
                 .setQuickStatsEnabled(true)
                 .setQuickStatsInlineBuildTimeout(new Duration(61, TimeUnit.SECONDS))
                 .setQuickStatsBackgroundBuildTimeout(new Duration(1, TimeUnit.SECONDS))
@@ -420,8 +432,22 @@ public class TestHiveClientConfig
                 .setCteVirtualBucketCount(256)
                 .setOptimizeParsingOfPartitionValues(true)
                 .setOptimizeParsingOfPartitionValuesThreshold(100)
-                .setLegacyTimestampBucketing(true);
+                .setLegacyTimestampBucketing(true)
+                .setDirectoryListingWorkStealingEnabled(true);
 
         ConfigAssertions.assertFullMapping(properties, expected);
     }
+
+    @Test
+    public void testPartitionKeyIndexValidation()
+    {
+        assertValidates(new HiveClientConfig()
+                .setPartitionKeyIndexMaxCachedPartitions(1000)
+                .setPartitionFilteringFromMetastoreEnabled(false));
+        assertFailsValidation(
+                new HiveClientConfig().setPartitionKeyIndexMaxCachedPartitions(1000),
+                "partitionKeyIndexCompatibleWithMetastoreFiltering",
+                "hive.partition-key-index-max-cached-partitions requires hive.partition-filtering-from-metastore-enabled to be false",
+                AssertTrue.class);
+    }
 }
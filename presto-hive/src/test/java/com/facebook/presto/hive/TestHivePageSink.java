@@ -101,6 +101,7 @@ import static com.google.common.io.MoreFiles.deleteRecursively;
 import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 public class TestHivePageSink
@@ -140,6 +141,40 @@ public class TestHivePageSink
         }
     }
 
+    @Test
+    public void testDeleteStaleSortFilesOnStartup()
+            throws Exception
+    {
+        File tempDir = Files.createTempDir();
+        try {
+            File sortDirectory = new File(tempDir, "sort");
+            assertTrue(sortDirectory.mkdir());
+            File staleRun = new File(sortDirectory, ".tmp-sort.query.file.0");
+            File staleChecksum = new File(sortDirectory, "..tmp-sort.query.file.0.crc");
+            File otherFile = new File(sortDirectory, "other");
+            for (File file : ImmutableList.of(staleRun, staleChecksum, otherFile)) {
+                assertTrue(file.createNewFile());
+            }
+
+            HivePageSinkProvider provider = createPageSinkProvider(
+                    new HiveClientConfig(),
+                    new MetastoreClientConfig(),
+                    createTestingFileHiveMetastore(new File(tempDir, "metastore")),
+                    new HiveWriterStats(),
+                    new SortingFileWriterConfig()
+                            .setLocalTempDirectory(sortDirectory.getAbsolutePath())
+                            .setMergeThreads(2));
+            provider.stop();
+
+            assertFalse(staleRun.exists());
+            assertFalse(staleChecksum.exists());
+            assertTrue(otherFile.exists());
+        }
+        finally {
+            deleteRecursively(tempDir.toPath(), ALLOW_INSECURE);
+        }
+    }
+
     protected List<HiveStorageFormat> getSupportedHiveStorageFormats()
     {
         // CSV supports only unbounded VARCHAR type, and Alpha does not support DML yet
@@ -328,8 +363,14 @@ public class TestHivePageSink
                 "test",
                 ImmutableMap.of(),
                 Optional.empty());
+        HivePageSinkProvider provider = createPageSinkProvider(config, metastoreClientConfig, metastore, stats, sortingFileWriterConfig);
+        return provider.createPageSink(transaction, getSession(config, new HiveCommonClientConfig()), handle, TEST_HIVE_PAGE_SINK_CONTEXT);
+    }
+
+    private static HivePageSinkProvider createPageSinkProvider(HiveClientConfig config, MetastoreClientConfig metastoreClientConfig, ExtendedHiveMetastore metastore, HiveWriterStats stats, SortingFileWriterConfig sortingFileWriterConfig)
+    {
         HdfsEnvironment hdfsEnvironment = createTestHdfsEnvironment(config, metastoreClientConfig);
-        HivePageSinkProvider provider = new HivePageSinkProvider(
+        return new HivePageSinkProvider(
                 getDefaultHiveFileWriterFactories(config, metastoreClientConfig),
                 hdfsEnvironment,
                 PAGE_SORTER,
@@ -348,7 +389,6 @@ public class TestHivePageSink
                 stats,
                 getDefaultOrcFileWriterFactory(config, metastoreClientConfig),
                 HiveColumnConverterProvider.DEFAULT_COLUMN_CONVERTER_PROVIDER);
-        return provider.createPageSink(transaction, getSession(config, new HiveCommonClientConfig()), handle, TEST_HIVE_PAGE_SINK_CONTEXT);
     }
 
     private static TestingConnectorSession getSession(HiveClientConfig config, HiveCommonClientConfig hiveCommonClientConfig)
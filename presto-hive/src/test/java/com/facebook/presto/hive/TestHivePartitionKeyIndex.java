@@ -0,0 +1,170 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive;
+
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.Range;
+import com.facebook.presto.common.predicate.ValueSet;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.spi.ColumnHandle;
+import com.facebook.presto.spi.SchemaTableName;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.joda.time.DateTimeZone;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.hive.BaseHiveColumnHandle.ColumnType.PARTITION_KEY;
+import static com.facebook.presto.hive.HiveType.HIVE_DOUBLE;
+import static com.facebook.presto.hive.HiveType.HIVE_LONG;
+import static com.facebook.presto.hive.HiveType.HIVE_STRING;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.slice.Slices.utf8Slice;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class TestHivePartitionKeyIndex
+{
+    private static final SchemaTableName TABLE_NAME = new SchemaTableName("schema", "table");
+    private static final HiveColumnHandle DS_COLUMN = new HiveColumnHandle("ds", HIVE_STRING, VARCHAR.getTypeSignature(), -1, PARTITION_KEY, Optional.empty(), Optional.empty());
+    private static final HiveColumnHandle HOUR_COLUMN = new HiveColumnHandle("hour", HIVE_LONG, BIGINT.getTypeSignature(), -2, PARTITION_KEY, Optional.empty(), Optional.empty());
+    private static final HiveColumnHandle RATIO_COLUMN = new HiveColumnHandle("ratio", HIVE_DOUBLE, DOUBLE.getTypeSignature(), -3, PARTITION_KEY, Optional.empty(), Optional.empty());
+    private static final List<HiveColumnHandle> PARTITION_COLUMNS = ImmutableList.of(DS_COLUMN, HOUR_COLUMN, RATIO_COLUMN);
+    private static final List<Type> PARTITION_TYPES = ImmutableList.of(VARCHAR, BIGINT, DOUBLE);
+    private static final List<PartitionNameWithVersion> PARTITION_NAMES = partitionNames(
+            "ds=2024-01-03/hour=7/ratio=0.5",
+            "ds=2024-01-01/hour=23/ratio=1.5",
+            "ds=2024-01-02/hour=__HIVE_DEFAULT_PARTITION__/ratio=2.5",
+            "ds=2024-01-01/hour=0/ratio=3.5",
+            "ds=2024-01-02/hour=12/ratio=__HIVE_DEFAULT_PARTITION__");
+
+    @Test
+    public void testNoDomains()
+    {
+        HivePartitionKeyIndex index = createIndex(PARTITION_NAMES);
+        assertEquals(index.getPartitionCount(), 5);
+        assertEquals(getPartitionNames(index, ImmutableMap.of()), PARTITION_NAMES);
+        assertEquals(getPartitionNames(index, ImmutableMap.of(HOUR_COLUMN, Domain.all(BIGINT))), PARTITION_NAMES);
+    }
+
+    @Test
+    public void testSingleValueAndInList()
+    {
+        HivePartitionKeyIndex index = createIndex(PARTITION_NAMES);
+        assertEquals(
+                getPartitionNames(index, ImmutableMap.of(DS_COLUMN, Domain.singleValue(VARCHAR, utf8Slice("2024-01-01")))),
+                partitionNames("ds=2024-01-01/hour=23/ratio=1.5", "ds=2024-01-01/hour=0/ratio=3.5"));
+        assertEquals(
+                getPartitionNames(index, ImmutableMap.of(HOUR_COLUMN, Domain.multipleValues(BIGINT, ImmutableList.of(0L, 7L, 8L)))),
+                partitionNames("ds=2024-01-03/hour=7/ratio=0.5", "ds=2024-01-01/hour=0/ratio=3.5"));
+        assertEquals(
+                getPartitionNames(index, ImmutableMap.of(DS_COLUMN, Domain.singleValue(VARCHAR, utf8Slice("2023-12-31")))),
+                ImmutableList.of());
+    }
+
+    @Test
+    public void testRanges()
+    {
+        HivePartitionKeyIndex index = createIndex(PARTITION_NAMES);
+        assertEquals(
+                getPartitionNames(index, ImmutableMap.of(HOUR_COLUMN, Domain.create(ValueSet.ofRanges(Range.greaterThan(BIGINT, 7L)), false))),
+                partitionNames("ds=2024-01-01/hour=23/ratio=1.5", "ds=2024-01-02/hour=12/ratio=__HIVE_DEFAULT_PARTITION__"));
+        assertEquals(
+                getPartitionNames(index, ImmutableMap.of(HOUR_COLUMN, Domain.create(ValueSet.ofRanges(Range.lessThanOrEqual(BIGINT, 7L), Range.range(BIGINT, 12L, false, 23L, true)), false))),
+                partitionNames("ds=2024-01-03/hour=7/ratio=0.5", "ds=2024-01-01/hour=23/ratio=1.5", "ds=2024-01-01/hour=0/ratio=3.5"));
+        assertEquals(
+                getPartitionNames(index, ImmutableMap.of(
+                        DS_COLUMN, Domain.create(ValueSet.ofRanges(Range.range(VARCHAR, utf8Slice("2024-01-01"), false, utf8Slice("2024-01-03"), true)), false),
+                        HOUR_COLUMN, Domain.create(ValueSet.ofRanges(Range.lessThan(BIGINT, 12L)), true))),
+                partitionNames("ds=2024-01-03/hour=7/ratio=0.5", "ds=2024-01-02/hour=__HIVE_DEFAULT_PARTITION__/ratio=2.5"));
+    }
+
+    @Test
+    public void testNullPartitionValues()
+    {
+        HivePartitionKeyIndex index = createIndex(PARTITION_NAMES);
+        assertEquals(
+                getPartitionNames(index, ImmutableMap.of(HOUR_COLUMN, Domain.onlyNull(BIGINT))),
+                partitionNames("ds=2024-01-02/hour=__HIVE_DEFAULT_PARTITION__/ratio=2.5"));
+        assertEquals(
+                getPartitionNames(index, ImmutableMap.of(HOUR_COLUMN, Domain.notNull(BIGINT))).size(),
+                4);
+    }
+
+    @Test
+    public void testNonIndexedColumn()
+    {
+        HivePartitionKeyIndex index = createIndex(PARTITION_NAMES);
+        assertEquals(
+                getPartitionNames(index, ImmutableMap.of(RATIO_COLUMN, Domain.create(ValueSet.ofRanges(Range.greaterThan(DOUBLE, 2.0)), true))),
+                partitionNames(
+                        "ds=2024-01-02/hour=__HIVE_DEFAULT_PARTITION__/ratio=2.5",
+                        "ds=2024-01-01/hour=0/ratio=3.5",
+                        "ds=2024-01-02/hour=12/ratio=__HIVE_DEFAULT_PARTITION__"));
+    }
+
+    @Test
+    public void testRefresh()
+    {
+        HivePartitionKeyIndex index = createIndex(PARTITION_NAMES);
+        assertTrue(index.matches(PARTITION_NAMES, PARTITION_COLUMNS, PARTITION_TYPES));
+        assertTrue(index.matches(new ArrayList<>(PARTITION_NAMES), PARTITION_COLUMNS, PARTITION_TYPES));
+        assertFalse(index.matches(PARTITION_NAMES, PARTITION_COLUMNS.subList(0, 1), PARTITION_TYPES.subList(0, 1)));
+
+        List<PartitionNameWithVersion> newPartitionNames = ImmutableList.<PartitionNameWithVersion>builder()
+                .addAll(PARTITION_NAMES.subList(1, PARTITION_NAMES.size()))
+                .add(new PartitionNameWithVersion("ds=2024-01-04/hour=1/ratio=0.0", Optional.empty()))
+                .build();
+        assertFalse(index.matches(newPartitionNames, PARTITION_COLUMNS, PARTITION_TYPES));
+
+        HivePartitionKeyIndex refreshed = HivePartitionKeyIndex.create(Optional.of(index), TABLE_NAME, newPartitionNames, PARTITION_COLUMNS, PARTITION_TYPES, DateTimeZone.UTC);
+        assertTrue(refreshed.matches(newPartitionNames, PARTITION_COLUMNS, PARTITION_TYPES));
+        assertEquals(getPartitionNames(refreshed, ImmutableMap.of()), newPartitionNames);
+        assertEquals(
+                getPartitionNames(refreshed, ImmutableMap.of(DS_COLUMN, Domain.create(ValueSet.ofRanges(Range.greaterThan(VARCHAR, utf8Slice("2024-01-02"))), false))),
+                partitionNames("ds=2024-01-04/hour=1/ratio=0.0"));
+
+        // partitions which were already parsed are reused
+        HivePartition reused = refreshed.getPartitions(ImmutableMap.of(HOUR_COLUMN, Domain.singleValue(BIGINT, 23L))).get(0);
+        assertSame(reused, index.getPartitions(ImmutableMap.of(HOUR_COLUMN, Domain.singleValue(BIGINT, 23L))).get(0));
+    }
+
+    private static HivePartitionKeyIndex createIndex(List<PartitionNameWithVersion> partitionNames)
+    {
+        return HivePartitionKeyIndex.create(Optional.empty(), TABLE_NAME, partitionNames, PARTITION_COLUMNS, PARTITION_TYPES, DateTimeZone.UTC);
+    }
+
+    private static List<PartitionNameWithVersion> getPartitionNames(HivePartitionKeyIndex index, Map<ColumnHandle, Domain> domains)
+    {
+        return index.getPartitions(domains).stream()
+                .map(HivePartition::getPartitionId)
+                .collect(toImmutableList());
+    }
+
+    private static List<PartitionNameWithVersion> partitionNames(String... names)
+    {
+        return ImmutableList.copyOf(names).stream()
+                .map(name -> new PartitionNameWithVersion(name, Optional.empty()))
+                .collect(toImmutableList());
+    }
+}
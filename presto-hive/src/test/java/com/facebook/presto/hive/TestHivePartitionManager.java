@@ -283,4 +283,38 @@ public class TestHivePartitionManager
         HivePartitionResult result = hivePartitionManager.getPartitions(metastore, new HiveTableHandle(SCHEMA_NAME, TABLE_NAME_LARGE_PARTITIONS), constraint, session);
         assertEquals(result.getPartitions().size(), 2);
     }
+
+    @Test
+    public void testPartitionKeyIndex()
+    {
+        HivePartitionManager partitionManager = new HivePartitionManager(new TestingTypeManager(), new HiveClientConfig().setPartitionKeyIndexMaxCachedPartitions(1000).setPartitionFilteringFromMetastoreEnabled(false));
+        ConnectorSession session = new TestingConnectorSession(
+                new HiveSessionProperties(
+                        new HiveClientConfig().setIgnoreTableBucketing(true),
+                        new OrcFileWriterConfig(),
+                        new ParquetFileWriterConfig(),
+                        new CacheConfig())
+                        .getSessionProperties());
+        ColumnHandle columnHandle = new HiveColumnHandle(
+                PARTITION_COLUMN.getName(),
+                PARTITION_COLUMN.getType(),
+                parseTypeSignature(StandardTypes.VARCHAR),
+                MAX_PARTITION_KEY_COLUMN_INDEX,
+                PARTITION_KEY,
+                Optional.empty(),
+                Optional.empty());
+        Constraint<ColumnHandle> constraint = new Constraint<>(TupleDomain.withColumnDomains(
+                ImmutableMap.of(columnHandle, Domain.singleValue(VARCHAR, utf8Slice("2019-08-23")))));
+
+        HivePartitionResult result = partitionManager.getPartitions(metastore, new HiveTableHandle(SCHEMA_NAME, TABLE_NAME_LARGE_PARTITIONS), constraint, session);
+        assertEquals(result.getPartitions().size(), 2);
+        assertEquals(partitionManager.getPartitionKeyIndexCacheSize(), 1);
+
+        result = partitionManager.getPartitions(metastore, new HiveTableHandle(SCHEMA_NAME, TABLE_NAME_LARGE_PARTITIONS), Constraint.alwaysTrue(), session);
+        assertEquals(result.getPartitions().size(), PARTITIONS_LARGE_PARTITIONS.size());
+        assertEquals(partitionManager.getPartitionKeyIndexCacheSize(), 1);
+
+        result = partitionManager.getPartitions(metastore, new HiveTableHandle(SCHEMA_NAME, TABLE_NAME_LARGE_PARTITIONS), new Constraint<>(TupleDomain.none()), session);
+        assertEquals(result.getPartitions().size(), 0);
+    }
 }
@@ -32,7 +32,9 @@ public class TestSortingFileWriterConfig
     {
         assertRecordedDefaults(recordDefaults(SortingFileWriterConfig.class)
                 .setWriterSortBufferSize(new DataSize(64, MEGABYTE))
-                .setMaxOpenSortFiles(50));
+                .setMaxOpenSortFiles(50)
+                .setLocalTempDirectory(null)
+                .setMergeThreads(1));
     }
 
     @Test
@@ -41,10 +43,14 @@ public class TestSortingFileWriterConfig
         Map<String, String> properties = ImmutableMap.<String, String>builder()
                 .put("writer-sort-buffer-size", "1GB")
                 .put("max-open-sort-files", "3")
+                .put("writer-sort-local-temp-directory", "/tmp/presto-sort")
+                .put("writer-sort-merge-threads", "4")
                 .build();
         SortingFileWriterConfig expected = new SortingFileWriterConfig()
                 .setWriterSortBufferSize(new DataSize(1, GIGABYTE))
-                .setMaxOpenSortFiles(3);
+                .setMaxOpenSortFiles(3)
+                .setLocalTempDirectory("/tmp/presto-sort")
+                .setMergeThreads(4);
         assertFullMapping(properties, expected);
     }
 }
@@ -253,6 +253,12 @@ public class TestingSemiTransactionalHiveMetastore
         return Optional.ofNullable(getPartitionNamesWithEmptyVersion(partitionNames));
     }
 
+    @Override
+    public synchronized Optional<List<PartitionNameWithVersion>> getPartitionNames(MetastoreContext metastoreContext, HiveTableHandle hiveTableHandle)
+    {
+        return Optional.ofNullable(getPartitionNamesWithEmptyVersion(partitionsMap.get(hiveTableHandle)));
+    }
+
     @Override
     public synchronized Optional<List<PartitionNameWithVersion>> getPartitionNamesByFilter(MetastoreContext metastoreContext, HiveTableHandle hiveTableHandle, Map<Column, Domain> effectivePredicate)
     {
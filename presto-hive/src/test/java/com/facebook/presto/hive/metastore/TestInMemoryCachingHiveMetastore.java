@@ -63,6 +63,7 @@ import static com.facebook.presto.hive.metastore.thrift.MockHiveMetastoreClient.
 import static com.facebook.presto.hive.metastore.thrift.MockHiveMetastoreClient.TEST_TABLE;
 import static com.facebook.presto.hive.metastore.thrift.MockHiveMetastoreClient.TEST_TABLE_WITH_CONSTRAINTS;
 import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.function.UnaryOperator.identity;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -501,6 +502,47 @@ public class TestInMemoryCachingHiveMetastore
         assertEquals(mockClient.getAccessCount(), 5);
     }
 
+    @Test
+    public void testPartitionPrefetch()
+    {
+        MockHiveMetastoreClient mockClient = new MockHiveMetastoreClient();
+        MockHiveCluster mockHiveCluster = new MockHiveCluster(mockClient);
+        MetastoreClientConfig metastoreClientConfig = new MetastoreClientConfig();
+        ThriftHiveMetastore thriftHiveMetastore = new ThriftHiveMetastore(mockHiveCluster, metastoreClientConfig, HDFS_ENVIRONMENT);
+        HiveMetastoreCacheStats metastoreCacheStats = new HiveMetastoreCacheStats();
+        // Run the prefetch on the calling thread so its effect is visible as soon as the listing returns
+        InMemoryCachingHiveMetastore prefetchingMetastore = new InMemoryCachingHiveMetastore(
+                new BridgingHiveMetastore(thriftHiveMetastore, new HivePartitionMutator()),
+                newDirectExecutorService(),
+                false,
+                new Duration(5, TimeUnit.MINUTES),
+                new Duration(1, TimeUnit.MINUTES),
+                1000,
+                false,
+                MetastoreCacheScope.ALL,
+                0.0,
+                metastoreClientConfig.getPartitionCacheColumnCountLimit(),
+                new Duration(0, TimeUnit.SECONDS),
+                true,
+                metastoreCacheStats);
+
+        ImmutableList<PartitionNameWithVersion> partitionNames = ImmutableList.of(TEST_PARTITION_NAME_WITHOUT_VERSION1, TEST_PARTITION_NAME_WITHOUT_VERSION2);
+        assertEquals(prefetchingMetastore.getPartitionNamesByFilter(TEST_METASTORE_CONTEXT, TEST_DATABASE, TEST_TABLE, ImmutableMap.of()), partitionNames);
+        assertEquals(metastoreCacheStats.getPrefetchedPartitions().getTotalCount(), 2);
+        int accessCount = mockClient.getAccessCount();
+
+        // The listed partitions were loaded into the cache by the prefetch
+        assertEquals(prefetchingMetastore.getPartitionsByNames(TEST_METASTORE_CONTEXT, TEST_DATABASE, TEST_TABLE, partitionNames).size(), 2);
+        assertEquals(mockClient.getAccessCount(), accessCount);
+        assertEquals(metastoreCacheStats.getPartitionCacheMiss(), 2);
+        assertEquals(metastoreCacheStats.getPartitionLoadTime().getAllTime().getCount(), 1.0);
+
+        // Partitions that are already cached are not fetched again
+        assertEquals(prefetchingMetastore.getPartitionNamesByFilter(TEST_METASTORE_CONTEXT, TEST_DATABASE, TEST_TABLE, ImmutableMap.of()), partitionNames);
+        assertEquals(metastoreCacheStats.getPrefetchedPartitions().getTotalCount(), 2);
+        assertEquals(mockClient.getAccessCount(), accessCount);
+    }
+
     @Test
     public void testListRoles()
             throws Exception
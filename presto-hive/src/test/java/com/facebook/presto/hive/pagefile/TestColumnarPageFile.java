@@ -0,0 +1,233 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.pagefile;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockBuilder;
+import com.facebook.presto.common.block.BlockEncodingManager;
+import com.facebook.presto.common.block.BlockEncodingSerde;
+import com.facebook.presto.common.io.OutputStreamDataSink;
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.TupleDomain;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.hive.HiveColumnHandle;
+import com.facebook.presto.hive.HiveCompressionCodec;
+import com.facebook.presto.spi.page.PagesSerde;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.hive.BaseHiveColumnHandle.ColumnType.REGULAR;
+import static com.facebook.presto.hive.HiveType.HIVE_LONG;
+import static com.facebook.presto.hive.HiveType.HIVE_STRING;
+import static com.facebook.presto.hive.pagefile.PageFileWriterFactory.createPagesSerdeForPageFile;
+import static com.facebook.presto.hive.pagefile.PageWriter.createColumnarPageWriter;
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.airlift.units.DataSize.Unit.KILOBYTE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestColumnarPageFile
+{
+    private static final BlockEncodingSerde BLOCK_ENCODING_SERDE = new BlockEncodingManager();
+    private static final HiveColumnHandle ID_COLUMN = new HiveColumnHandle("id", HIVE_LONG, BIGINT.getTypeSignature(), 0, REGULAR, Optional.empty(), Optional.empty());
+    private static final HiveColumnHandle NAME_COLUMN = new HiveColumnHandle("name", HIVE_STRING, VARCHAR.getTypeSignature(), 1, REGULAR, Optional.empty(), Optional.empty());
+
+    @Test
+    public void testProjectionAndPageSkipping()
+            throws Exception
+    {
+        File file = File.createTempFile("columnar", ".page");
+        try {
+            // three pages with ids 0-99, 100-199 and 200-299, in stripes small enough to hold one page each
+            writeColumnarFile(file, new DataSize(1, KILOBYTE), createPage(0, 100), createPage(100, 100), createPage(200, 100));
+
+            // the name column is read before the id column to check that the projection follows the requested order
+            List<Page> pages = readFile(file, ImmutableList.of(NAME_COLUMN, ID_COLUMN), TupleDomain.all());
+            assertEquals(pages.size(), 3);
+            assertPage(pages.get(1), 100, 100);
+
+            PageFilePageSource pageSource = createPageSource(file, ImmutableList.of(NAME_COLUMN, ID_COLUMN), TupleDomain.withColumnDomains(ImmutableMap.of(ID_COLUMN, Domain.singleValue(BIGINT, 150L))));
+            pages = readAll(pageSource);
+            assertEquals(pages.size(), 1);
+            assertPage(pages.get(0), 100, 100);
+            assertEquals(pageSource.getRuntimeStats().getMetric("PageFileSkippedPages").getSum(), 2);
+
+            // a predicate on a column that is not read still skips pages
+            pages = readFile(file, ImmutableList.of(NAME_COLUMN), TupleDomain.withColumnDomains(ImmutableMap.of(ID_COLUMN, Domain.singleValue(BIGINT, 250L))));
+            assertEquals(pages.size(), 1);
+            assertEquals(pages.get(0).getChannelCount(), 1);
+            assertEquals(VARCHAR.getSlice(pages.get(0).getBlock(0), 0), utf8Slice("name_200"));
+
+            assertEquals(readFile(file, ImmutableList.of(ID_COLUMN), TupleDomain.none()).size(), 0);
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testSplits()
+            throws Exception
+    {
+        File file = File.createTempFile("columnar", ".page");
+        try {
+            writeColumnarFile(file, new DataSize(1, KILOBYTE), createPage(0, 100), createPage(100, 100), createPage(200, 100));
+
+            // every page is read by the split containing the start of its stripe
+            long fileSize = file.length();
+            List<Page> pages = new ArrayList<>();
+            for (long start = 0; start < fileSize; start += 100) {
+                pages.addAll(readAll(createPageSource(file, start, 100, ImmutableList.of(NAME_COLUMN, ID_COLUMN), TupleDomain.all())));
+            }
+            assertEquals(pages.size(), 3);
+            for (int i = 0; i < pages.size(); i++) {
+                assertPage(pages.get(i), i * 100, 100);
+            }
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testColumnStatistics()
+    {
+        BlockBuilder blockBuilder = BIGINT.createBlockBuilder(null, 4);
+        BIGINT.writeLong(blockBuilder, 7);
+        blockBuilder.appendNull();
+        BIGINT.writeLong(blockBuilder, -3);
+        BIGINT.writeLong(blockBuilder, 5);
+        PageFileColumnStatistics statistics = PageFileColumnStatistics.create(Optional.of(BIGINT), blockBuilder.build());
+        assertEquals(statistics.getNullCount(), 1);
+        Domain domain = statistics.toDomain(BIGINT, 4);
+        assertTrue(domain.isNullAllowed());
+        assertTrue(domain.includesNullableValue(-3L));
+        assertTrue(domain.includesNullableValue(7L));
+        assertFalse(domain.includesNullableValue(8L));
+
+        // NaN is not ordered, so no range is kept
+        blockBuilder = DOUBLE.createBlockBuilder(null, 2);
+        DOUBLE.writeDouble(blockBuilder, 1.0);
+        DOUBLE.writeDouble(blockBuilder, Double.NaN);
+        statistics = PageFileColumnStatistics.create(Optional.of(DOUBLE), blockBuilder.build());
+        assertFalse(statistics.getMinMax().isPresent());
+        assertEquals(statistics.toDomain(DOUBLE, 2), Domain.notNull(DOUBLE));
+
+        blockBuilder = VARCHAR.createBlockBuilder(null, 2);
+        blockBuilder.appendNull();
+        blockBuilder.appendNull();
+        statistics = PageFileColumnStatistics.create(Optional.of(VARCHAR), blockBuilder.build());
+        assertEquals(statistics.toDomain(VARCHAR, 2), Domain.onlyNull(VARCHAR));
+
+        // values without a type are only counted
+        statistics = PageFileColumnStatistics.create(Optional.empty(), createPage(0, 10).getBlock(0));
+        assertEquals(statistics.toDomain(BIGINT, 10), Domain.notNull(BIGINT));
+    }
+
+    private static Page createPage(long firstId, int positionCount)
+    {
+        BlockBuilder ids = BIGINT.createBlockBuilder(null, positionCount);
+        BlockBuilder names = VARCHAR.createBlockBuilder(null, positionCount);
+        for (int i = 0; i < positionCount; i++) {
+            BIGINT.writeLong(ids, firstId + i);
+            VARCHAR.writeSlice(names, utf8Slice("name_" + (firstId + i)));
+        }
+        return new Page(positionCount, ids.build(), names.build());
+    }
+
+    private static void assertPage(Page page, long firstId, int positionCount)
+    {
+        assertEquals(page.getPositionCount(), positionCount);
+        Block names = page.getBlock(0);
+        Block ids = page.getBlock(1);
+        for (int i = 0; i < positionCount; i++) {
+            assertEquals(BIGINT.getLong(ids, i), firstId + i);
+            assertEquals(VARCHAR.getSlice(names, i), utf8Slice("name_" + (firstId + i)));
+        }
+    }
+
+    private static void writeColumnarFile(File file, DataSize stripeMaxSize, Page... pages)
+            throws IOException
+    {
+        PagesSerde pagesSerde = createPagesSerdeForPageFile(BLOCK_ENCODING_SERDE, Optional.of(HiveCompressionCodec.SNAPPY));
+        PageWriter pageWriter = createColumnarPageWriter(new OutputStreamDataSink(new FileOutputStream(file)), HiveCompressionCodec.SNAPPY, stripeMaxSize, BLOCK_ENCODING_SERDE);
+        List<Optional<Type>> statisticsTypes = ImmutableList.of(Optional.of(BIGINT), Optional.of(VARCHAR));
+        PageFileWriter writer = new PageFileWriter(pageWriter, pagesSerde, statisticsTypes, () -> null);
+        for (Page page : pages) {
+            writer.appendRows(page);
+        }
+        writer.commit();
+    }
+
+    private static List<Page> readFile(File file, List<HiveColumnHandle> columns, TupleDomain<HiveColumnHandle> predicate)
+            throws IOException
+    {
+        return readAll(createPageSource(file, columns, predicate));
+    }
+
+    private static PageFilePageSource createPageSource(File file, List<HiveColumnHandle> columns, TupleDomain<HiveColumnHandle> predicate)
+            throws IOException
+    {
+        return createPageSource(file, 0, file.length(), columns, predicate);
+    }
+
+    private static PageFilePageSource createPageSource(File file, long start, long length, List<HiveColumnHandle> columns, TupleDomain<HiveColumnHandle> predicate)
+            throws IOException
+    {
+        FileSystem fileSystem = FileSystem.getLocal(new Configuration(false));
+        return new PageFilePageSource(
+                fileSystem.open(new Path(file.toURI())),
+                start,
+                length,
+                file.length(),
+                BLOCK_ENCODING_SERDE,
+                columns,
+                predicate);
+    }
+
+    private static List<Page> readAll(PageFilePageSource pageSource)
+            throws IOException
+    {
+        List<Page> pages = new ArrayList<>();
+        try {
+            while (!pageSource.isFinished()) {
+                Page page = pageSource.getNextPage();
+                if (page != null) {
+                    pages.add(page);
+                }
+            }
+        }
+        finally {
+            pageSource.close();
+        }
+        return pages;
+    }
+}
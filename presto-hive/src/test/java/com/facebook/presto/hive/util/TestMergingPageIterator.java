@@ -18,9 +18,11 @@ import com.facebook.presto.common.PageBuilder;
 import com.facebook.presto.common.block.SortOrder;
 import com.facebook.presto.common.type.Type;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
@@ -98,4 +100,55 @@ public class TestMergingPageIterator
 
         assertThat(values).isSortedAccordingTo(nullsFirst(naturalOrder()));
     }
+
+    @Test
+    public void testMergingUnevenSources()
+    {
+        List<Type> types = ImmutableList.of(INTEGER);
+        List<Integer> sortIndexes = ImmutableList.of(0);
+        List<SortOrder> sortOrders = ImmutableList.of(SortOrder.DESC_NULLS_LAST);
+
+        for (int sourceCount = 0; sourceCount <= 7; sourceCount++) {
+            List<Long> expected = new ArrayList<>();
+            List<Iterator<Page>> sources = new ArrayList<>();
+            for (int source = 0; source < sourceCount; source++) {
+                List<Page> pages = new ArrayList<>();
+                // every third source is empty and every source contains an empty page
+                int rows = (source % 3 == 2) ? 0 : (source + 1) * 37;
+                List<Long> values = ThreadLocalRandom.current().longs(rows, 0, 50)
+                        .boxed()
+                        .sorted(Comparator.reverseOrder())
+                        .collect(toList());
+                expected.addAll(values);
+                pages.add(createPage(ImmutableList.of()));
+                for (List<Long> chunk : Lists.partition(values, 10)) {
+                    pages.add(createPage(chunk));
+                    pages.add(createPage(ImmutableList.of()));
+                }
+                sources.add(pages.iterator());
+            }
+
+            Iterator<Page> iterator = new MergingPageIterator(sources, types, sortIndexes, sortOrders);
+            List<Long> actual = new ArrayList<>();
+            while (iterator.hasNext()) {
+                Page page = iterator.next();
+                for (int i = 0; i < page.getPositionCount(); i++) {
+                    actual.add(INTEGER.getLong(page.getBlock(0), i));
+                }
+            }
+
+            expected.sort(Comparator.reverseOrder());
+            assertEquals(actual, expected);
+        }
+    }
+
+    private static Page createPage(List<Long> values)
+    {
+        PageBuilder pageBuilder = new PageBuilder(ImmutableList.of(INTEGER));
+        for (long value : values) {
+            pageBuilder.declarePosition();
+            INTEGER.writeLong(pageBuilder.getBlockBuilder(0), value);
+        }
+        return pageBuilder.build();
+    }
 }
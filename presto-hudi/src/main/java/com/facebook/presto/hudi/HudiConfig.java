@@ -17,6 +17,8 @@ package com.facebook.presto.hudi;
 import com.facebook.airlift.configuration.Config;
 import com.facebook.airlift.configuration.ConfigDescription;
 import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.airlift.units.MinDuration;
 
 import javax.validation.constraints.DecimalMax;
 import javax.validation.constraints.DecimalMin;
@@ -24,6 +26,7 @@ import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 public class HudiConfig
 {
@@ -34,6 +37,9 @@ public class HudiConfig
     private int maxOutstandingSplits = 1000;
     private int splitLoaderParallelism = 4;
     private int splitGeneratorParallelism = 4;
+    private Duration fileSystemViewCacheTtl = new Duration(0, SECONDS);
+    private long fileSystemViewCacheMaximumSize = 1000;
+    private boolean columnStatsFilteringEnabled;
 
     public boolean isMetadataTableEnabled()
     {
@@ -133,4 +139,48 @@ public class HudiConfig
         this.splitLoaderParallelism = splitLoaderParallelism;
         return this;
     }
+
+    @NotNull
+    @MinDuration("0ms")
+    public Duration getFileSystemViewCacheTtl()
+    {
+        return fileSystemViewCacheTtl;
+    }
+
+    @Config("hudi.file-system-view-cache-ttl")
+    @ConfigDescription("How long the file system view of a table is reused across queries after its last access. "
+            + "The view is synced with the new instants of the timeline on every use. A zero duration disables the cache.")
+    public HudiConfig setFileSystemViewCacheTtl(Duration fileSystemViewCacheTtl)
+    {
+        this.fileSystemViewCacheTtl = fileSystemViewCacheTtl;
+        return this;
+    }
+
+    @Min(1)
+    public long getFileSystemViewCacheMaximumSize()
+    {
+        return fileSystemViewCacheMaximumSize;
+    }
+
+    @Config("hudi.file-system-view-cache-maximum-size")
+    @ConfigDescription("Maximum number of table file system views kept in the cache.")
+    public HudiConfig setFileSystemViewCacheMaximumSize(long fileSystemViewCacheMaximumSize)
+    {
+        this.fileSystemViewCacheMaximumSize = fileSystemViewCacheMaximumSize;
+        return this;
+    }
+
+    public boolean isColumnStatsFilteringEnabled()
+    {
+        return columnStatsFilteringEnabled;
+    }
+
+    @Config("hudi.column-stats-filtering-enabled")
+    @ConfigDescription("Skip base files whose column statistics in the metadata table do not match the query predicate. "
+            + "Requires the metadata table to be enabled.")
+    public HudiConfig setColumnStatsFilteringEnabled(boolean columnStatsFilteringEnabled)
+    {
+        this.columnStatsFilteringEnabled = columnStatsFilteringEnabled;
+        return this;
+    }
 }
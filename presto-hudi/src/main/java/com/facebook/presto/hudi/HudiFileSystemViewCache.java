@@ -0,0 +1,155 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hudi;
+
+import com.facebook.presto.spi.security.ConnectorIdentity;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Streams;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hudi.common.config.HoodieMetadataConfig;
+import org.weakref.jmx.Managed;
+
+import javax.inject.Inject;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Shares the file system views of Hudi tables across queries, so that repeated queries on a table
+ * only reload its timeline instead of building the view from scratch. A view is only shared by
+ * queries of the same user and credentials that use the same file system and metadata configuration,
+ * since the view keeps using the file system and configuration of the query that created it.
+ */
+public class HudiFileSystemViewCache
+{
+    private final Optional<Cache<TableViewKey, HudiTableView>> cache;
+    private final AtomicLong syncCount = new AtomicLong();
+
+    @Inject
+    public HudiFileSystemViewCache(HudiConfig hudiConfig)
+    {
+        long ttl = hudiConfig.getFileSystemViewCacheTtl().toMillis();
+        if (ttl == 0) {
+            this.cache = Optional.empty();
+        }
+        else {
+            // evicted views are not closed since in-flight queries may still be generating splits from them
+            this.cache = Optional.of(CacheBuilder.newBuilder()
+                    .expireAfterAccess(ttl, MILLISECONDS)
+                    .maximumSize(hudiConfig.getFileSystemViewCacheMaximumSize())
+                    .recordStats()
+                    .build());
+        }
+    }
+
+    public HudiTableView getTableView(ConnectorIdentity identity, Configuration conf, String basePath, HoodieMetadataConfig metadataConfig)
+    {
+        if (!cache.isPresent()) {
+            return HudiTableView.create(conf, basePath, metadataConfig);
+        }
+
+        TableViewKey key = new TableViewKey(
+                basePath,
+                identity.getUser(),
+                identity.getExtraCredentials(),
+                Streams.stream(conf).collect(toImmutableMap(Entry::getKey, Entry::getValue)),
+                Maps.fromProperties(metadataConfig.getProps()));
+        HudiTableView tableView = cache.get().getIfPresent(key);
+        if (tableView != null) {
+            if (tableView.refresh()) {
+                syncCount.incrementAndGet();
+            }
+            return tableView;
+        }
+
+        tableView = HudiTableView.createSyncable(conf, basePath, metadataConfig);
+        HudiTableView existing = cache.get().asMap().putIfAbsent(key, tableView);
+        return existing == null ? tableView : existing;
+    }
+
+    @Managed
+    public long getHitCount()
+    {
+        return cache.map(value -> value.stats().hitCount()).orElse(0L);
+    }
+
+    @Managed
+    public long getMissCount()
+    {
+        return cache.map(value -> value.stats().missCount()).orElse(0L);
+    }
+
+    @Managed
+    public long getSyncCount()
+    {
+        return syncCount.get();
+    }
+
+    @Managed
+    public long getSize()
+    {
+        return cache.map(Cache::size).orElse(0L);
+    }
+
+    private static class TableViewKey
+    {
+        private final String basePath;
+        private final String user;
+        private final Map<String, String> extraCredentials;
+        private final Map<String, String> configuration;
+        private final Map<String, String> metadataConfiguration;
+
+        public TableViewKey(String basePath, String user, Map<String, String> extraCredentials, Map<String, String> configuration, Map<String, String> metadataConfiguration)
+        {
+            this.basePath = requireNonNull(basePath, "basePath is null");
+            this.user = requireNonNull(user, "user is null");
+            this.extraCredentials = ImmutableMap.copyOf(requireNonNull(extraCredentials, "extraCredentials is null"));
+            this.configuration = ImmutableMap.copyOf(requireNonNull(configuration, "configuration is null"));
+            this.metadataConfiguration = ImmutableMap.copyOf(requireNonNull(metadataConfiguration, "metadataConfiguration is null"));
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            TableViewKey that = (TableViewKey) o;
+            return basePath.equals(that.basePath) &&
+                    user.equals(that.user) &&
+                    extraCredentials.equals(that.extraCredentials) &&
+                    configuration.equals(that.configuration) &&
+                    metadataConfiguration.equals(that.metadataConfiguration);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(basePath, user, extraCredentials, configuration, metadataConfiguration);
+        }
+    }
+}
@@ -125,6 +125,8 @@ public class HudiModule
 
         binder.bind(HudiMetadataFactory.class).in(Scopes.SINGLETON);
         binder.bind(HudiPartitionManager.class).in(Scopes.SINGLETON);
+        binder.bind(HudiFileSystemViewCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(HudiFileSystemViewCache.class).withGeneratedName();
 
         binder.bind(FileFormatDataSourceStats.class).in(Scopes.SINGLETON);
         newExporter(binder).export(FileFormatDataSourceStats.class).withGeneratedName();
@@ -42,6 +42,7 @@ public class HudiSessionProperties
     private static final String MINIMUM_ASSIGNED_SPLIT_WEIGHT = "minimum_assigned_split_weight";
     private static final String MAX_OUTSTANDING_SPLITS = "max_outstanding_splits";
     private static final String SPLIT_GENERATOR_PARALLELISM = "split_generator_parallelism";
+    private static final String COLUMN_STATS_FILTERING_ENABLED = "column_stats_filtering_enabled";
 
     @Inject
     public HudiSessionProperties(HudiConfig hudiConfig)
@@ -92,6 +93,11 @@ public class HudiSessionProperties
                         SPLIT_GENERATOR_PARALLELISM,
                         "Number of threads used to generate splits from partitions",
                         hudiConfig.getSplitGeneratorParallelism(),
+                        false),
+                booleanProperty(
+                        COLUMN_STATS_FILTERING_ENABLED,
+                        "Skip base files using the column statistics of the Hudi metadata table",
+                        hudiConfig.isColumnStatsFilteringEnabled(),
                         false));
     }
 
@@ -129,4 +135,9 @@ public class HudiSessionProperties
     {
         return session.getProperty(SPLIT_GENERATOR_PARALLELISM, Integer.class);
     }
+
+    public static boolean isColumnStatsFilteringEnabled(ConnectorSession session)
+    {
+        return session.getProperty(COLUMN_STATS_FILTERING_ENABLED, Boolean.class);
+    }
 }
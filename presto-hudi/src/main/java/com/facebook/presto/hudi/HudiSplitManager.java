@@ -15,6 +15,7 @@
 package com.facebook.presto.hudi;
 
 import com.facebook.airlift.log.Logger;
+import com.facebook.presto.common.predicate.Domain;
 import com.facebook.presto.hive.HdfsContext;
 import com.facebook.presto.hive.HdfsEnvironment;
 import com.facebook.presto.hive.filesystem.ExtendedFileSystem;
@@ -25,6 +26,7 @@ import com.facebook.presto.hive.metastore.Table;
 import com.facebook.presto.hudi.split.ForHudiBackgroundSplitLoader;
 import com.facebook.presto.hudi.split.ForHudiSplitAsyncQueue;
 import com.facebook.presto.hudi.split.ForHudiSplitSource;
+import com.facebook.presto.hudi.split.HudiColumnStatsFilter;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.ConnectorSplitSource;
 import com.facebook.presto.spi.ConnectorTableLayoutHandle;
@@ -35,14 +37,8 @@ import com.facebook.presto.spi.connector.ConnectorTransactionHandle;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Streams;
-import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hudi.common.config.HoodieMetadataConfig;
-import org.apache.hudi.common.engine.HoodieLocalEngineContext;
-import org.apache.hudi.common.table.HoodieTableMetaClient;
-import org.apache.hudi.common.table.timeline.HoodieInstant;
-import org.apache.hudi.common.table.timeline.HoodieTimeline;
-import org.apache.hudi.common.table.view.HoodieTableFileSystemView;
 import org.apache.hudi.common.util.HoodieTimer;
 
 import javax.inject.Inject;
@@ -50,6 +46,7 @@ import javax.inject.Inject;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -58,11 +55,13 @@ import static com.facebook.presto.hudi.HudiErrorCode.HUDI_FILESYSTEM_ERROR;
 import static com.facebook.presto.hudi.HudiErrorCode.HUDI_INVALID_METADATA;
 import static com.facebook.presto.hudi.HudiMetadata.fromDataColumns;
 import static com.facebook.presto.hudi.HudiSessionProperties.getMaxOutstandingSplits;
+import static com.facebook.presto.hudi.HudiSessionProperties.isColumnStatsFilteringEnabled;
 import static com.facebook.presto.hudi.HudiSessionProperties.isHudiMetadataTableEnabled;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
-import static org.apache.hudi.common.table.view.FileSystemViewManager.createInMemoryFileSystemViewWithTimeline;
+import static org.apache.hudi.metadata.MetadataPartitionType.COLUMN_STATS;
 
 public class HudiSplitManager
         implements ConnectorSplitManager
@@ -72,6 +71,7 @@ public class HudiSplitManager
     private final HdfsEnvironment hdfsEnvironment;
     private final HudiTransactionManager hudiTransactionManager;
     private final HudiPartitionManager hudiPartitionManager;
+    private final HudiFileSystemViewCache fileSystemViewCache;
     private final ExecutorService asyncQueueExecutor;
     private final ScheduledExecutorService splitLoaderExecutorService;
     private final ExecutorService splitGeneratorExecutorService;
@@ -81,6 +81,7 @@ public class HudiSplitManager
             HdfsEnvironment hdfsEnvironment,
             HudiTransactionManager hudiTransactionManager,
             HudiPartitionManager hudiPartitionManager,
+            HudiFileSystemViewCache fileSystemViewCache,
             @ForHudiSplitAsyncQueue ExecutorService asyncQueueExecutor,
             @ForHudiSplitSource ScheduledExecutorService splitLoaderExecutorService,
             @ForHudiBackgroundSplitLoader ExecutorService splitGeneratorExecutorService)
@@ -88,6 +89,7 @@ public class HudiSplitManager
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.hudiTransactionManager = requireNonNull(hudiTransactionManager, "hudiTransactionManager is null");
         this.hudiPartitionManager = requireNonNull(hudiPartitionManager, "hudiPartitionManager is null");
+        this.fileSystemViewCache = requireNonNull(fileSystemViewCache, "fileSystemViewCache is null");
         this.asyncQueueExecutor = requireNonNull(asyncQueueExecutor, "asyncQueueExecutor is null");
         this.splitLoaderExecutorService = requireNonNull(splitLoaderExecutorService, "splitLoaderExecutorService is null");
         this.splitGeneratorExecutorService = requireNonNull(splitGeneratorExecutorService, "splitGeneratorExecutorService is null");
@@ -115,30 +117,46 @@ public class HudiSplitManager
         // Load Hudi metadata
         ExtendedFileSystem fs = getFileSystem(session, table);
         HoodieMetadataConfig metadataConfig = HoodieMetadataConfig.newBuilder().enable(isHudiMetadataTableEnabled(session)).build();
-        Configuration conf = fs.getConf();
-        HoodieTableMetaClient metaClient = HoodieTableMetaClient.builder().setConf(conf).setBasePath(table.getPath()).build();
-        HoodieTimeline timeline = metaClient.getActiveTimeline().getCommitsTimeline().filterCompletedInstants();
-        String timestamp = timeline.lastInstant().map(HoodieInstant::getTimestamp).orElse(null);
-        if (timestamp == null) {
+        HudiTableView tableView = fileSystemViewCache.getTableView(session.getIdentity(), fs.getConf(), table.getPath(), metadataConfig);
+        Optional<String> timestamp = tableView.getLatestInstant();
+        if (!timestamp.isPresent()) {
             // no completed instant for current table
             return new FixedSplitSource(ImmutableList.of());
         }
-        HoodieLocalEngineContext engineContext = new HoodieLocalEngineContext(conf);
-        HoodieTableFileSystemView fsView = createInMemoryFileSystemViewWithTimeline(engineContext, metaClient, metadataConfig, timeline);
 
         return new HudiSplitSource(
                 session,
                 metastore,
                 layout,
-                fsView,
+                tableView.getFileSystemView(),
+                createColumnStatsFilter(session, layout, tableView),
                 partitions,
-                timestamp,
+                timestamp.get(),
                 asyncQueueExecutor,
                 splitLoaderExecutorService,
                 splitGeneratorExecutorService,
                 getMaxOutstandingSplits(session));
     }
 
+    private static Optional<HudiColumnStatsFilter> createColumnStatsFilter(ConnectorSession session, HudiTableLayoutHandle layout, HudiTableView tableView)
+    {
+        if (!isColumnStatsFilteringEnabled(session) || !isHudiMetadataTableEnabled(session)) {
+            return Optional.empty();
+        }
+        if (!tableView.getMetaClient().getTableConfig().isMetadataPartitionAvailable(COLUMN_STATS)) {
+            return Optional.empty();
+        }
+        Map<String, Domain> columnDomains = layout.getTupleDomain().getDomains()
+                .map(domains -> domains.entrySet().stream()
+                        .filter(entry -> ((HudiColumnHandle) entry.getKey()).isRegularColumn())
+                        .collect(toImmutableMap(entry -> ((HudiColumnHandle) entry.getKey()).getName(), Map.Entry::getValue)))
+                .orElse(ImmutableMap.of());
+        if (columnDomains.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new HudiColumnStatsFilter(tableView.getTableMetadata(), columnDomains));
+    }
+
     private ExtendedFileSystem getFileSystem(ConnectorSession session, HudiTableHandle table)
     {
         HdfsContext hdfsContext = new HdfsContext(
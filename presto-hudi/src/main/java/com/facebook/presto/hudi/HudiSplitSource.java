@@ -17,6 +17,7 @@ package com.facebook.presto.hudi;
 import com.facebook.presto.hive.metastore.ExtendedHiveMetastore;
 import com.facebook.presto.hive.util.AsyncQueue;
 import com.facebook.presto.hudi.split.HudiBackgroundSplitLoader;
+import com.facebook.presto.hudi.split.HudiColumnStatsFilter;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.ConnectorSplit;
 import com.facebook.presto.spi.ConnectorSplitSource;
@@ -25,6 +26,7 @@ import com.google.common.util.concurrent.Futures;
 import org.apache.hudi.common.table.view.HoodieTableFileSystemView;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
@@ -46,6 +48,7 @@ public class HudiSplitSource
             ExtendedHiveMetastore metastore,
             HudiTableLayoutHandle layout,
             HoodieTableFileSystemView fsView,
+            Optional<HudiColumnStatsFilter> columnStatsFilter,
             List<String> partitions,
             String latestInstant,
             ExecutorService asyncQueueExecutor,
@@ -60,6 +63,7 @@ public class HudiSplitSource
                 splitGeneratorExecutorService,
                 layout,
                 fsView,
+                columnStatsFilter,
                 queue,
                 partitions,
                 latestInstant);
@@ -0,0 +1,140 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hudi;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hudi.common.config.HoodieMetadataConfig;
+import org.apache.hudi.common.engine.HoodieLocalEngineContext;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.table.view.HoodieTableFileSystemView;
+import org.apache.hudi.metadata.HoodieMetadataFileSystemView;
+import org.apache.hudi.metadata.HoodieTableMetadata;
+
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+import static org.apache.hudi.common.table.view.FileSystemViewManager.createInMemoryFileSystemViewWithTimeline;
+
+/**
+ * The file system view of a Hudi table together with the latest completed instant it reflects.
+ */
+public class HudiTableView
+{
+    private final HoodieTableMetaClient metaClient;
+    private final HoodieLocalEngineContext engineContext;
+    private final HoodieTableFileSystemView fileSystemView;
+
+    // guarded by this
+    private Optional<String> latestInstant;
+    private HoodieTableMetadata tableMetadata;
+
+    private HudiTableView(HoodieTableMetaClient metaClient, HoodieLocalEngineContext engineContext, HoodieTableFileSystemView fileSystemView, Optional<String> latestInstant)
+    {
+        this.metaClient = requireNonNull(metaClient, "metaClient is null");
+        this.engineContext = requireNonNull(engineContext, "engineContext is null");
+        this.fileSystemView = requireNonNull(fileSystemView, "fileSystemView is null");
+        this.latestInstant = requireNonNull(latestInstant, "latestInstant is null");
+    }
+
+    /**
+     * Creates a view for a single query.
+     */
+    public static HudiTableView create(Configuration conf, String basePath, HoodieMetadataConfig metadataConfig)
+    {
+        HoodieTableMetaClient metaClient = HoodieTableMetaClient.builder().setConf(conf).setBasePath(basePath).build();
+        HoodieLocalEngineContext engineContext = new HoodieLocalEngineContext(conf);
+        HoodieTimeline timeline = getCompletedCommitsTimeline(metaClient);
+        HoodieTableFileSystemView fileSystemView = createInMemoryFileSystemViewWithTimeline(engineContext, metaClient, metadataConfig, timeline);
+        return new HudiTableView(metaClient, engineContext, fileSystemView, getLatestInstant(timeline));
+    }
+
+    /**
+     * Creates a view that is kept up to date with {@link #refresh()}. Without the metadata table the
+     * view is synced incrementally, replaying only the instants completed since the previous sync.
+     * With the metadata table a sync drops the loaded partitions, which are then read again from
+     * the metadata table rather than listed from storage.
+     */
+    public static HudiTableView createSyncable(Configuration conf, String basePath, HoodieMetadataConfig metadataConfig)
+    {
+        HoodieTableMetaClient metaClient = HoodieTableMetaClient.builder().setConf(conf).setBasePath(basePath).build();
+        HoodieLocalEngineContext engineContext = new HoodieLocalEngineContext(conf);
+        HoodieTimeline timeline = getCompletedCommitsTimeline(metaClient);
+        HoodieTableFileSystemView fileSystemView = metadataConfig.enabled()
+                ? new HoodieMetadataFileSystemView(engineContext, metaClient, timeline, metadataConfig)
+                : new HoodieTableFileSystemView(metaClient, timeline, true);
+        return new HudiTableView(metaClient, engineContext, fileSystemView, getLatestInstant(timeline));
+    }
+
+    /**
+     * Reloads the active timeline and syncs the view when new instants have completed.
+     *
+     * @return whether the view was synced
+     */
+    public synchronized boolean refresh()
+    {
+        metaClient.reloadActiveTimeline();
+        Optional<String> instant = getLatestInstant(getCompletedCommitsTimeline(metaClient));
+        if (instant.equals(latestInstant)) {
+            return false;
+        }
+        fileSystemView.sync();
+        if (tableMetadata != null) {
+            tableMetadata.reset();
+        }
+        latestInstant = instant;
+        return true;
+    }
+
+    public HoodieTableMetaClient getMetaClient()
+    {
+        return metaClient;
+    }
+
+    public HoodieTableFileSystemView getFileSystemView()
+    {
+        return fileSystemView;
+    }
+
+    public synchronized Optional<String> getLatestInstant()
+    {
+        return latestInstant;
+    }
+
+    /**
+     * Returns a reader of the metadata table of this table, used to look up column statistics.
+     */
+    public synchronized HoodieTableMetadata getTableMetadata()
+    {
+        if (tableMetadata == null) {
+            HoodieMetadataConfig metadataConfig = HoodieMetadataConfig.newBuilder()
+                    .enable(true)
+                    .withMetadataIndexColumnStats(true)
+                    .build();
+            tableMetadata = HoodieTableMetadata.create(engineContext, metadataConfig, metaClient.getBasePath());
+        }
+        return tableMetadata;
+    }
+
+    private static HoodieTimeline getCompletedCommitsTimeline(HoodieTableMetaClient metaClient)
+    {
+        return metaClient.getActiveTimeline().getCommitsTimeline().filterCompletedInstants();
+    }
+
+    private static Optional<String> getLatestInstant(HoodieTimeline timeline)
+    {
+        return Optional.ofNullable(timeline.lastInstant().map(HoodieInstant::getTimestamp).orElse(null));
+    }
+}
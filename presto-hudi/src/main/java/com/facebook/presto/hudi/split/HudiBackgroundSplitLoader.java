@@ -26,6 +26,7 @@ import org.apache.hudi.common.util.HoodieTimer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -47,6 +48,7 @@ public class HudiBackgroundSplitLoader
     private final ExtendedHiveMetastore metastore;
     private final HudiTableLayoutHandle layout;
     private final HoodieTableFileSystemView fsView;
+    private final Optional<HudiColumnStatsFilter> columnStatsFilter;
     private final AsyncQueue<ConnectorSplit> asyncQueue;
     private final List<String> partitions;
     private final String latestInstant;
@@ -59,6 +61,7 @@ public class HudiBackgroundSplitLoader
             ExecutorService splitGeneratorExecutorService,
             HudiTableLayoutHandle layout,
             HoodieTableFileSystemView fsView,
+            Optional<HudiColumnStatsFilter> columnStatsFilter,
             AsyncQueue<ConnectorSplit> asyncQueue,
             List<String> partitions,
             String latestInstant)
@@ -67,6 +70,7 @@ public class HudiBackgroundSplitLoader
         this.metastore = requireNonNull(metastore, "metastore is null");
         this.layout = requireNonNull(layout, "layout is null");
         this.fsView = requireNonNull(fsView, "fsView is null");
+        this.columnStatsFilter = requireNonNull(columnStatsFilter, "columnStatsFilter is null");
         this.asyncQueue = requireNonNull(asyncQueue, "asyncQueue is null");
         this.partitions = requireNonNull(partitions, "partitions is null");
         this.latestInstant = requireNonNull(latestInstant, "latestInstant is null");
@@ -86,7 +90,7 @@ public class HudiBackgroundSplitLoader
         // Start a number of partition split generators to generate the splits in parallel
         for (int i = 0; i < splitGeneratorNumThreads; i++) {
             HudiPartitionSplitGenerator generator = new HudiPartitionSplitGenerator(
-                    session, metastore, layout, fsView, asyncQueue, concurrentPartitionQueue, latestInstant);
+                    session, metastore, layout, fsView, columnStatsFilter, asyncQueue, concurrentPartitionQueue, latestInstant);
             splitGeneratorList.add(generator);
             splitGeneratorFutures.add(splitGeneratorExecutorService.submit(generator));
         }
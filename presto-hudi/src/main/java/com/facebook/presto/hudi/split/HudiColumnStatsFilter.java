@@ -0,0 +1,158 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hudi.split;
+
+import com.facebook.airlift.log.Logger;
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.Range;
+import com.facebook.presto.common.predicate.ValueSet;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.common.type.VarcharType;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.hudi.avro.model.HoodieMetadataColumnStats;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.metadata.HoodieTableMetadata;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.common.type.DateType.DATE;
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.common.type.IntegerType.INTEGER;
+import static com.facebook.presto.common.type.RealType.REAL;
+import static com.facebook.presto.common.type.SmallintType.SMALLINT;
+import static com.facebook.presto.common.type.TinyintType.TINYINT;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.slice.Slices.utf8Slice;
+import static java.lang.Float.floatToRawIntBits;
+import static java.util.Objects.requireNonNull;
+import static org.apache.hudi.avro.HoodieAvroUtils.unwrapAvroValueWrapper;
+
+/**
+ * Prunes base files using the per-file min/max values and null counts kept in the
+ * column stats partition of the Hudi metadata table.
+ */
+public class HudiColumnStatsFilter
+{
+    private static final Logger log = Logger.get(HudiColumnStatsFilter.class);
+
+    private final HoodieTableMetadata tableMetadata;
+    private final Map<String, Domain> columnDomains;
+
+    public HudiColumnStatsFilter(HoodieTableMetadata tableMetadata, Map<String, Domain> columnDomains)
+    {
+        this.tableMetadata = requireNonNull(tableMetadata, "tableMetadata is null");
+        this.columnDomains = ImmutableMap.copyOf(requireNonNull(columnDomains, "columnDomains is null"));
+    }
+
+    /**
+     * Returns the names of the given base files of a partition that cannot contain rows matching the predicate.
+     */
+    public Set<String> getPrunedFiles(String relativePartitionPath, Collection<String> fileNames)
+    {
+        if (fileNames.isEmpty()) {
+            return ImmutableSet.of();
+        }
+        List<Pair<String, String>> files = fileNames.stream()
+                .map(fileName -> Pair.of(relativePartitionPath, fileName))
+                .collect(toImmutableList());
+
+        ImmutableSet.Builder<String> prunedFiles = ImmutableSet.builder();
+        for (Map.Entry<String, Domain> entry : columnDomains.entrySet()) {
+            Map<Pair<String, String>, HoodieMetadataColumnStats> columnStats;
+            try {
+                columnStats = tableMetadata.getColumnStats(files, entry.getKey());
+            }
+            catch (RuntimeException e) {
+                log.warn(e, "Failed to read column stats of column %s in partition %s", entry.getKey(), relativePartitionPath);
+                return ImmutableSet.of();
+            }
+            columnStats.forEach((file, stats) -> {
+                if (!overlaps(entry.getValue(), stats)) {
+                    prunedFiles.add(file.getRight());
+                }
+            });
+        }
+        return prunedFiles.build();
+    }
+
+    @VisibleForTesting
+    static boolean overlaps(Domain domain, HoodieMetadataColumnStats stats)
+    {
+        if (stats == null || Boolean.TRUE.equals(stats.getIsDeleted())) {
+            return true;
+        }
+
+        Long valueCount = stats.getValueCount();
+        Long nullCount = stats.getNullCount();
+        if (valueCount != null && valueCount.equals(nullCount)) {
+            // the file only contains nulls
+            return domain.isNullAllowed();
+        }
+
+        Type type = domain.getType();
+        Optional<Object> min = toPrestoValue(type, stats.getMinValue());
+        Optional<Object> max = toPrestoValue(type, stats.getMaxValue());
+        if (!min.isPresent() || !max.isPresent()) {
+            return true;
+        }
+        boolean nullsPresent = nullCount == null || nullCount > 0;
+        Domain fileDomain = Domain.create(ValueSet.ofRanges(Range.range(type, min.get(), true, max.get(), true)), nullsPresent);
+        return domain.overlaps(fileDomain);
+    }
+
+    private static Optional<Object> toPrestoValue(Type type, Object wrappedValue)
+    {
+        Object value;
+        try {
+            value = unwrapAvroValueWrapper(wrappedValue);
+        }
+        catch (RuntimeException e) {
+            return Optional.empty();
+        }
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        if (type.equals(BOOLEAN) && value instanceof Boolean) {
+            return Optional.of(value);
+        }
+        if ((type.equals(BIGINT) || type.equals(INTEGER) || type.equals(SMALLINT) || type.equals(TINYINT)) && (value instanceof Integer || value instanceof Long)) {
+            return Optional.of(((Number) value).longValue());
+        }
+        if (type.equals(DOUBLE) && (value instanceof Double || value instanceof Float)) {
+            double doubleValue = ((Number) value).doubleValue();
+            return Double.isNaN(doubleValue) ? Optional.empty() : Optional.of(doubleValue);
+        }
+        if (type.equals(REAL) && value instanceof Float) {
+            float floatValue = (Float) value;
+            return Float.isNaN(floatValue) ? Optional.empty() : Optional.of((long) floatToRawIntBits(floatValue));
+        }
+        if (type instanceof VarcharType && value instanceof String) {
+            return Optional.of(utf8Slice((String) value));
+        }
+        if (type.equals(DATE) && value instanceof LocalDate) {
+            return Optional.of(((LocalDate) value).toEpochDay());
+        }
+        return Optional.empty();
+    }
+}
@@ -38,6 +38,7 @@ import org.apache.hudi.common.util.HoodieTimer;
 import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static com.facebook.presto.hudi.HudiMetadata.toMetastoreContext;
@@ -64,6 +65,7 @@ public class HudiPartitionSplitGenerator
     private final HudiTableHandle table;
     private final Path tablePath;
     private final HoodieTableFileSystemView fsView;
+    private final Optional<HudiColumnStatsFilter> columnStatsFilter;
     private final AsyncQueue<ConnectorSplit> asyncQueue;
     private final Queue<String> concurrentPartitionQueue;
     private final String latestInstant;
@@ -74,6 +76,7 @@ public class HudiPartitionSplitGenerator
             ExtendedHiveMetastore metastore,
             HudiTableLayoutHandle layout,
             HoodieTableFileSystemView fsView,
+            Optional<HudiColumnStatsFilter> columnStatsFilter,
             AsyncQueue<ConnectorSplit> asyncQueue,
             Queue<String> concurrentPartitionQueue,
             String latestInstant)
@@ -84,6 +87,7 @@ public class HudiPartitionSplitGenerator
         this.table = layout.getTable();
         this.tablePath = new Path(table.getPath());
         this.fsView = requireNonNull(fsView, "fsView is null");
+        this.columnStatsFilter = requireNonNull(columnStatsFilter, "columnStatsFilter is null");
         this.asyncQueue = requireNonNull(asyncQueue, "asyncQueue is null");
         this.concurrentPartitionQueue = requireNonNull(concurrentPartitionQueue, "concurrentPartitionQueue is null");
         this.latestInstant = requireNonNull(latestInstant, "latestInstant is null");
@@ -111,12 +115,31 @@ public class HudiPartitionSplitGenerator
         Stream<FileSlice> fileSlices = HudiTableType.MOR.equals(table.getTableType()) ?
                 fsView.getLatestMergedFileSlicesBeforeOrOn(relativePartitionPath, latestInstant) :
                 fsView.getLatestFileSlicesBeforeOrOn(relativePartitionPath, latestInstant, false);
+        if (columnStatsFilter.isPresent()) {
+            fileSlices = pruneFileSlices(columnStatsFilter.get(), relativePartitionPath, fileSlices.collect(toImmutableList()));
+        }
         fileSlices.map(fileSlice -> createHudiSplit(table, fileSlice, latestInstant, hudiPartition, splitWeightProvider))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .forEach(asyncQueue::offer);
     }
 
+    private static Stream<FileSlice> pruneFileSlices(HudiColumnStatsFilter columnStatsFilter, String relativePartitionPath, List<FileSlice> fileSlices)
+    {
+        // the column stats of a base file do not cover the updates in log files of the same slice
+        List<String> baseFileNames = fileSlices.stream()
+                .filter(fileSlice -> fileSlice.getBaseFile().isPresent() && !fileSlice.getLogFiles().findAny().isPresent())
+                .map(fileSlice -> fileSlice.getBaseFile().get().getFileName())
+                .collect(toImmutableList());
+        Set<String> prunedFiles = columnStatsFilter.getPrunedFiles(relativePartitionPath, baseFileNames);
+        if (prunedFiles.isEmpty()) {
+            return fileSlices.stream();
+        }
+        log.debug("Pruned %d of %d base files in partition %s using column stats", prunedFiles.size(), fileSlices.size(), relativePartitionPath);
+        return fileSlices.stream()
+                .filter(fileSlice -> !fileSlice.getBaseFile().isPresent() || !prunedFiles.contains(fileSlice.getBaseFile().get().getFileName()));
+    }
+
     private Optional<HudiSplit> createHudiSplit(
             HudiTableHandle table,
             FileSlice slice,
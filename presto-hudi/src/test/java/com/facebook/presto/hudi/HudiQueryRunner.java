@@ -50,13 +50,19 @@ public class HudiQueryRunner
 
     static DistributedQueryRunner createHudiQueryRunner(Optional<String> serverPort)
             throws Exception
+    {
+        return createHudiQueryRunner(serverPort, ImmutableMap.of());
+    }
+
+    static DistributedQueryRunner createHudiQueryRunner(Optional<String> serverPort, Map<String, String> connectorConfig)
+            throws Exception
     {
         Map<String, String> serverConfig = serverPort
                 .map(s -> ImmutableMap.of("http-server.http.port", s))
                 .orElse(ImmutableMap.of());
         return createQueryRunner(
                 serverConfig,
-                ImmutableMap.of(),
+                connectorConfig,
                 metastore -> new HudiPlugin("hudi", metastore),
                 "hudi",
                 "hudi",
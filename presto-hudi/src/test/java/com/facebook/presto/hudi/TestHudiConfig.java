@@ -16,6 +16,7 @@ package com.facebook.presto.hudi;
 
 import com.google.common.collect.ImmutableMap;
 import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
 import org.testng.annotations.Test;
 
 import java.util.Map;
@@ -24,6 +25,8 @@ import static com.facebook.airlift.configuration.testing.ConfigAssertions.assert
 import static com.facebook.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
 import static com.facebook.airlift.configuration.testing.ConfigAssertions.recordDefaults;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 public class TestHudiConfig
 {
@@ -37,7 +40,10 @@ public class TestHudiConfig
                 .setMinimumAssignedSplitWeight(0.05)
                 .setMaxOutstandingSplits(1000)
                 .setSplitLoaderParallelism(4)
-                .setSplitGeneratorParallelism(4));
+                .setSplitGeneratorParallelism(4)
+                .setFileSystemViewCacheTtl(new Duration(0, SECONDS))
+                .setFileSystemViewCacheMaximumSize(1000)
+                .setColumnStatsFilteringEnabled(false));
     }
 
     @Test
@@ -51,6 +57,9 @@ public class TestHudiConfig
                 .put("hudi.max-outstanding-splits", "300")
                 .put("hudi.split-loader-parallelism", "2")
                 .put("hudi.split-generator-parallelism", "8")
+                .put("hudi.file-system-view-cache-ttl", "10m")
+                .put("hudi.file-system-view-cache-maximum-size", "50")
+                .put("hudi.column-stats-filtering-enabled", "true")
                 .build();
 
         HudiConfig expected = new HudiConfig()
@@ -60,7 +69,10 @@ public class TestHudiConfig
                 .setMinimumAssignedSplitWeight(0.1)
                 .setMaxOutstandingSplits(300)
                 .setSplitLoaderParallelism(2)
-                .setSplitGeneratorParallelism(8);
+                .setSplitGeneratorParallelism(8)
+                .setFileSystemViewCacheTtl(new Duration(10, MINUTES))
+                .setFileSystemViewCacheMaximumSize(50)
+                .setColumnStatsFilteringEnabled(true);
 
         assertFullMapping(properties, expected);
     }
@@ -0,0 +1,157 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hudi;
+
+import com.facebook.presto.hive.hudi.HudiTestingDataGenerator;
+import com.facebook.presto.hive.metastore.UnimplementedHiveMetastore;
+import com.facebook.presto.spi.security.ConnectorIdentity;
+import io.airlift.units.Duration;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hudi.common.config.HoodieMetadataConfig;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static com.google.common.collect.Iterators.getOnlyElement;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static java.nio.file.Files.createTempDirectory;
+import static java.nio.file.Files.move;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+@Test(singleThreaded = true)
+public class TestHudiFileSystemViewCache
+{
+    private static final String FIRST_INSTANT = "20220310031235276";
+    private static final String SECOND_INSTANT = "20220310032022209";
+    private static final ConnectorIdentity IDENTITY = new ConnectorIdentity("user", Optional.empty(), Optional.empty());
+    private static final HoodieMetadataConfig METADATA_CONFIG = HoodieMetadataConfig.newBuilder().enable(false).build();
+
+    private Path dataDirectory;
+    private Path secondCommit;
+    private Path pendingSecondCommit;
+    private String basePath;
+
+    @BeforeMethod
+    public void setUp()
+            throws IOException
+    {
+        dataDirectory = createTempDirectory("hudi-view-cache");
+        new HudiTestingDataGenerator(new UnimplementedHiveMetastore(), "testing", dataDirectory).generateData();
+        Path tablePath = dataDirectory.resolve("stock_ticks_cown");
+        basePath = tablePath.toUri().toString();
+
+        // hide the second commit so that it can complete while views of the table are cached
+        secondCommit = tablePath.resolve(".hoodie").resolve(SECOND_INSTANT + ".commit");
+        pendingSecondCommit = dataDirectory.resolve(SECOND_INSTANT + ".commit");
+        move(secondCommit, pendingSecondCommit);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(dataDirectory, ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testRepeatedQueries()
+            throws IOException
+    {
+        HudiFileSystemViewCache cache = new HudiFileSystemViewCache(new HudiConfig().setFileSystemViewCacheTtl(new Duration(1, HOURS)));
+        Configuration conf = new Configuration();
+
+        HudiTableView tableView = cache.getTableView(IDENTITY, conf, basePath, METADATA_CONFIG);
+        assertEquals(tableView.getLatestInstant(), Optional.of(FIRST_INSTANT));
+        assertEquals(getLatestBaseFileInstant(tableView), FIRST_INSTANT);
+        assertEquals(cache.getMissCount(), 1);
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(cache.getTableView(IDENTITY, conf, basePath, METADATA_CONFIG), tableView);
+        }
+        assertEquals(cache.getHitCount(), 3);
+        assertEquals(cache.getSyncCount(), 0);
+
+        // a new commit is synced into the cached view on its next use
+        move(pendingSecondCommit, secondCommit);
+        assertSame(cache.getTableView(IDENTITY, conf, basePath, METADATA_CONFIG), tableView);
+        assertEquals(cache.getHitCount(), 4);
+        assertEquals(cache.getSyncCount(), 1);
+        assertEquals(tableView.getLatestInstant(), Optional.of(SECOND_INSTANT));
+        assertEquals(getLatestBaseFileInstant(tableView), SECOND_INSTANT);
+
+        assertSame(cache.getTableView(IDENTITY, conf, basePath, METADATA_CONFIG), tableView);
+        assertEquals(cache.getSyncCount(), 1);
+        assertEquals(cache.getSize(), 1);
+    }
+
+    @Test
+    public void testRefresh()
+            throws IOException
+    {
+        HudiTableView tableView = HudiTableView.createSyncable(new Configuration(), basePath, METADATA_CONFIG);
+        assertFalse(tableView.refresh());
+        assertEquals(tableView.getLatestInstant(), Optional.of(FIRST_INSTANT));
+
+        move(pendingSecondCommit, secondCommit);
+        assertTrue(tableView.refresh());
+        assertEquals(tableView.getLatestInstant(), Optional.of(SECOND_INSTANT));
+        assertEquals(getLatestBaseFileInstant(tableView), SECOND_INSTANT);
+        assertFalse(tableView.refresh());
+    }
+
+    @Test
+    public void testViewsAreNotSharedAcrossIdentitiesOrConfigurations()
+    {
+        HudiFileSystemViewCache cache = new HudiFileSystemViewCache(new HudiConfig().setFileSystemViewCacheTtl(new Duration(1, HOURS)));
+        Configuration conf = new Configuration();
+        HudiTableView tableView = cache.getTableView(IDENTITY, conf, basePath, METADATA_CONFIG);
+
+        ConnectorIdentity otherUser = new ConnectorIdentity("other", Optional.empty(), Optional.empty());
+        assertNotSame(cache.getTableView(otherUser, conf, basePath, METADATA_CONFIG), tableView);
+
+        Configuration otherConf = new Configuration(conf);
+        otherConf.set("fs.s3.awsAccessKeyId", "other");
+        assertNotSame(cache.getTableView(IDENTITY, otherConf, basePath, METADATA_CONFIG), tableView);
+
+        assertSame(cache.getTableView(IDENTITY, new Configuration(conf), basePath, METADATA_CONFIG), tableView);
+        assertEquals(cache.getMissCount(), 3);
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getSize(), 3);
+    }
+
+    @Test
+    public void testCacheDisabled()
+    {
+        HudiFileSystemViewCache cache = new HudiFileSystemViewCache(new HudiConfig());
+        Configuration conf = new Configuration();
+        assertNotSame(cache.getTableView(IDENTITY, conf, basePath, METADATA_CONFIG), cache.getTableView(IDENTITY, conf, basePath, METADATA_CONFIG));
+        assertEquals(cache.getHitCount(), 0);
+        assertEquals(cache.getMissCount(), 0);
+    }
+
+    private static String getLatestBaseFileInstant(HudiTableView tableView)
+    {
+        return getOnlyElement(tableView.getFileSystemView().getLatestBaseFiles("").iterator()).getCommitTime();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hudi.split;
+
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.Range;
+import com.facebook.presto.common.predicate.ValueSet;
+import org.apache.hudi.avro.model.HoodieMetadataColumnStats;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.DateType.DATE;
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.hudi.split.HudiColumnStatsFilter.overlaps;
+import static io.airlift.slice.Slices.utf8Slice;
+import static org.apache.hudi.avro.HoodieAvroUtils.wrapValueIntoAvro;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestHudiColumnStatsFilter
+{
+    @Test
+    public void testOverlaps()
+    {
+        HoodieMetadataColumnStats stats = columnStats(10L, 20L, 100, 0);
+        assertTrue(overlaps(Domain.singleValue(BIGINT, 15L), stats));
+        assertTrue(overlaps(Domain.singleValue(BIGINT, 10L), stats));
+        assertTrue(overlaps(Domain.singleValue(BIGINT, 20L), stats));
+        assertFalse(overlaps(Domain.singleValue(BIGINT, 9L), stats));
+        assertFalse(overlaps(Domain.singleValue(BIGINT, 21L), stats));
+        assertTrue(overlaps(Domain.create(ValueSet.ofRanges(Range.greaterThan(BIGINT, 19L)), false), stats));
+        assertFalse(overlaps(Domain.create(ValueSet.ofRanges(Range.greaterThan(BIGINT, 20L)), false), stats));
+        assertFalse(overlaps(Domain.onlyNull(BIGINT), stats));
+
+        // integer statistics of a smaller column type
+        assertFalse(overlaps(Domain.singleValue(BIGINT, 30L), columnStats(1, 5, 10, 0)));
+
+        assertTrue(overlaps(Domain.singleValue(VARCHAR, utf8Slice("GOOG")), columnStats("AAPL", "MSFT", 10, 0)));
+        assertFalse(overlaps(Domain.singleValue(VARCHAR, utf8Slice("TSLA")), columnStats("AAPL", "MSFT", 10, 0)));
+
+        assertFalse(overlaps(Domain.singleValue(DOUBLE, 1.5), columnStats(2.0, 3.0, 10, 0)));
+        assertTrue(overlaps(Domain.singleValue(DOUBLE, 1.5), columnStats(Double.NaN, 3.0, 10, 0)));
+
+        LocalDate date = LocalDate.of(2018, 8, 31);
+        assertTrue(overlaps(Domain.singleValue(DATE, date.toEpochDay()), columnStats(date, date, 10, 0)));
+        assertFalse(overlaps(Domain.singleValue(DATE, date.toEpochDay() + 1), columnStats(date, date, 10, 0)));
+    }
+
+    @Test
+    public void testNulls()
+    {
+        // a file containing only nulls
+        HoodieMetadataColumnStats nullStats = HoodieMetadataColumnStats.newBuilder()
+                .setFileName("file.parquet")
+                .setColumnName("column")
+                .setValueCount(10L)
+                .setNullCount(10L)
+                .setIsDeleted(false)
+                .build();
+        assertFalse(overlaps(Domain.singleValue(BIGINT, 1L), nullStats));
+        assertTrue(overlaps(Domain.onlyNull(BIGINT), nullStats));
+
+        HoodieMetadataColumnStats stats = columnStats(10L, 20L, 100, 5);
+        assertTrue(overlaps(Domain.onlyNull(BIGINT), stats));
+        assertFalse(overlaps(Domain.create(ValueSet.ofRanges(Range.lessThan(BIGINT, 10L)), false), stats));
+        assertTrue(overlaps(Domain.create(ValueSet.ofRanges(Range.lessThan(BIGINT, 10L)), true), stats));
+    }
+
+    @Test
+    public void testUnknownStatistics()
+    {
+        assertTrue(overlaps(Domain.singleValue(BIGINT, 1L), null));
+        // statistics of a type that does not match the column type are ignored
+        assertTrue(overlaps(Domain.singleValue(BIGINT, 1L), columnStats("a", "b", 10, 0)));
+
+        HoodieMetadataColumnStats deletedStats = HoodieMetadataColumnStats.newBuilder(columnStats(10L, 20L, 100, 0))
+                .setIsDeleted(true)
+                .build();
+        assertTrue(overlaps(Domain.singleValue(BIGINT, 1L), deletedStats));
+    }
+
+    private static HoodieMetadataColumnStats columnStats(Comparable<?> min, Comparable<?> max, long valueCount, long nullCount)
+    {
+        return HoodieMetadataColumnStats.newBuilder()
+                .setFileName("file.parquet")
+                .setColumnName("column")
+                .setMinValue(wrapValueIntoAvro(min))
+                .setMaxValue(wrapValueIntoAvro(max))
+                .setValueCount(valueCount)
+                .setNullCount(nullCount)
+                .setIsDeleted(false)
+                .build();
+    }
+}
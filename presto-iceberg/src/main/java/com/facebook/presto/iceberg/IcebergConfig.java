@@ -74,7 +74,10 @@ public class IcebergConfig
     private long manifestCacheMaxContentLength = IO_MANIFEST_CACHE_MAX_CONTENT_LENGTH_DEFAULT;
     private DataSize manifestCacheMaxChunkSize = succinctDataSize(2, MEGABYTE);
     private int splitManagerThreads = Runtime.getRuntime().availableProcessors();
+    private int maxOutstandingSplits = 1_000;
     private DataSize maxStatisticsFileCacheSize = succinctDataSize(256, MEGABYTE);
+    private boolean deleteFileCacheEnabled = true;
+    private DataSize maxDeleteFileCacheSize = succinctDataSize(128, MEGABYTE);
 
     @NotNull
     public FileFormat getFileFormat()
@@ -391,6 +394,20 @@ public class IcebergConfig
         return this;
     }
 
+    @Min(1)
+    public int getMaxOutstandingSplits()
+    {
+        return maxOutstandingSplits;
+    }
+
+    @Config("iceberg.max-outstanding-splits")
+    @ConfigDescription("Target number of buffered splits for each table scan before split generation pauses")
+    public IcebergConfig setMaxOutstandingSplits(int maxOutstandingSplits)
+    {
+        this.maxOutstandingSplits = maxOutstandingSplits;
+        return this;
+    }
+
     @Min(0)
     public int getMetadataPreviousVersionsMax()
     {
@@ -444,6 +461,32 @@ public class IcebergConfig
         return this;
     }
 
+    public boolean isDeleteFileCacheEnabled()
+    {
+        return deleteFileCacheEnabled;
+    }
+
+    @Config("iceberg.delete-file-cache-enabled")
+    @ConfigDescription("Cache parsed position and equality delete files on the worker")
+    public IcebergConfig setDeleteFileCacheEnabled(boolean deleteFileCacheEnabled)
+    {
+        this.deleteFileCacheEnabled = deleteFileCacheEnabled;
+        return this;
+    }
+
+    public DataSize getMaxDeleteFileCacheSize()
+    {
+        return maxDeleteFileCacheSize;
+    }
+
+    @Config("iceberg.max-delete-file-cache-size")
+    @ConfigDescription("The maximum size in bytes the delete file cache should consume")
+    public IcebergConfig setMaxDeleteFileCacheSize(DataSize maxDeleteFileCacheSize)
+    {
+        this.maxDeleteFileCacheSize = maxDeleteFileCacheSize;
+        return this;
+    }
+
     public int getStatisticsKllSketchKParameter()
     {
         return this.statisticsKllSketchKParameter;
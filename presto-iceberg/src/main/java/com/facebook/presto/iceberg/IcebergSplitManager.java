@@ -14,6 +14,7 @@
 package com.facebook.presto.iceberg;
 
 import com.facebook.airlift.concurrent.ThreadPoolExecutorMBean;
+import com.facebook.presto.common.RuntimeStats;
 import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.common.type.TypeManager;
 import com.facebook.presto.iceberg.changelog.ChangelogSplitSource;
@@ -34,37 +35,58 @@ import org.apache.iceberg.util.SnapshotUtil;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
+import static com.facebook.presto.common.RuntimeUnit.NANO;
 import static com.facebook.presto.iceberg.ExpressionConverter.toIcebergExpression;
 import static com.facebook.presto.iceberg.IcebergTableType.CHANGELOG;
 import static com.facebook.presto.iceberg.IcebergTableType.EQUALITY_DELETES;
 import static com.facebook.presto.iceberg.IcebergUtil.getIcebergTable;
 import static com.facebook.presto.iceberg.IcebergUtil.getMetadataColumnConstraints;
 import static com.facebook.presto.iceberg.IcebergUtil.getNonMetadataColumnConstraints;
+import static java.lang.management.ManagementFactory.getThreadMXBean;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 
 public class IcebergSplitManager
         implements ConnectorSplitManager
 {
+    private static final ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
     private final IcebergTransactionManager transactionManager;
     private final TypeManager typeManager;
     private final ExecutorService executor;
     private final ThreadPoolExecutorMBean executorServiceMBean;
+    private final ExecutorService splitLoaderExecutor = newCachedThreadPool(daemonThreadsNamed("iceberg-split-loader-%s"));
+    private final int maxOutstandingSplits;
 
     @Inject
     public IcebergSplitManager(
             IcebergTransactionManager transactionManager,
             TypeManager typeManager,
-            @ForIcebergSplitManager ExecutorService executor)
+            @ForIcebergSplitManager ExecutorService executor,
+            IcebergConfig icebergConfig)
     {
         this.transactionManager = requireNonNull(transactionManager, "transactionManager is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.executor = requireNonNull(executor, "executor is null");
         this.executorServiceMBean = new ThreadPoolExecutorMBean((ThreadPoolExecutor) executor);
+        this.maxOutstandingSplits = requireNonNull(icebergConfig, "icebergConfig is null").getMaxOutstandingSplits();
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        splitLoaderExecutor.shutdownNow();
     }
 
     @Override
@@ -108,14 +130,16 @@ public class IcebergSplitManager
             TableScan tableScan = icebergTable.newScan()
                     .filter(toIcebergExpression(predicate))
                     .useSnapshot(table.getIcebergTableName().getSnapshotId().get())
-                    .planWith(executor);
+                    .planWith(new ManifestReadExecutor(executor, session.getRuntimeStats()));
 
             // TODO Use residual. Right now there is no way to propagate residual to presto but at least we can
             //      propagate it at split level so the parquet pushdown can leverage it.
             IcebergSplitSource splitSource = new IcebergSplitSource(
                     session,
                     tableScan,
-                    getMetadataColumnConstraints(layoutHandle.getValidPredicate()));
+                    getMetadataColumnConstraints(layoutHandle.getValidPredicate()),
+                    splitLoaderExecutor,
+                    maxOutstandingSplits);
             return splitSource;
         }
     }
@@ -126,4 +150,68 @@ public class IcebergSplitManager
     {
         return executorServiceMBean;
     }
+
+    /**
+     * Iceberg submits one task per manifest to the planning executor. This wrapper
+     * records the CPU time of every task, so the query reports the planning cost per
+     * manifest. The shared executor is never shut down through it.
+     */
+    private static final class ManifestReadExecutor
+            extends AbstractExecutorService
+    {
+        private final ExecutorService delegate;
+        private final RuntimeStats runtimeStats;
+
+        public ManifestReadExecutor(ExecutorService delegate, RuntimeStats runtimeStats)
+        {
+            this.delegate = requireNonNull(delegate, "delegate is null");
+            this.runtimeStats = requireNonNull(runtimeStats, "runtimeStats is null");
+        }
+
+        @Override
+        public void execute(Runnable command)
+        {
+            requireNonNull(command, "command is null");
+            delegate.execute(() -> {
+                long start = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+                try {
+                    command.run();
+                }
+                finally {
+                    runtimeStats.addMetricValue("IcebergManifestReadCpuNanos", NANO, THREAD_MX_BEAN.getCurrentThreadCpuTime() - start);
+                }
+            });
+        }
+
+        @Override
+        public void shutdown()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isShutdown()
+        {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated()
+        {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit)
+                throws InterruptedException
+        {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
 }
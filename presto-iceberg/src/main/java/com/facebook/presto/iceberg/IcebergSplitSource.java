@@ -13,49 +13,63 @@
  */
 package com.facebook.presto.iceberg;
 
+import com.facebook.presto.common.RuntimeStats;
 import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.iceberg.delete.DeleteFile;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.ConnectorSplit;
 import com.facebook.presto.spi.ConnectorSplitSource;
+import com.facebook.presto.spi.PrestoException;
 import com.facebook.presto.spi.SplitWeight;
 import com.facebook.presto.spi.connector.ConnectorPartitionHandle;
 import com.facebook.presto.spi.schedule.NodeSelectionStrategy;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Closer;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.PartitionSpecParser;
 import org.apache.iceberg.TableScan;
 import org.apache.iceberg.io.CloseableIterator;
 
+import javax.annotation.concurrent.GuardedBy;
+
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import static com.facebook.presto.common.RuntimeUnit.NANO;
 import static com.facebook.presto.hive.HiveCommonSessionProperties.getAffinitySchedulingFileSectionSize;
 import static com.facebook.presto.hive.HiveCommonSessionProperties.getNodeSelectionStrategy;
 import static com.facebook.presto.iceberg.FileFormat.fromIcebergFileFormat;
+import static com.facebook.presto.iceberg.IcebergErrorCode.ICEBERG_INVALID_METADATA;
 import static com.facebook.presto.iceberg.IcebergSessionProperties.getMinimumAssignedSplitWeight;
 import static com.facebook.presto.iceberg.IcebergUtil.getDataSequenceNumber;
 import static com.facebook.presto.iceberg.IcebergUtil.getPartitionKeys;
 import static com.facebook.presto.iceberg.IcebergUtil.getTargetSplitSize;
 import static com.facebook.presto.iceberg.IcebergUtil.metadataColumnsMatchPredicates;
 import static com.facebook.presto.iceberg.IcebergUtil.partitionDataFromStructLike;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.collect.ImmutableList.toImmutableList;
-import static com.google.common.collect.Iterators.limit;
+import static java.lang.Math.min;
 import static java.util.Objects.requireNonNull;
-import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.apache.iceberg.util.TableScanUtil.splitFiles;
 
 public class IcebergSplitSource
         implements ConnectorSplitSource
 {
-    private CloseableIterator<FileScanTask> fileScanTaskIterator;
+    private final TableScan tableScan;
+    private final Executor splitLoaderExecutor;
+    private final int maxOutstandingSplits;
+    private final RuntimeStats runtimeStats;
+    private final long startNanos = System.nanoTime();
 
     private final Closer closer = Closer.create();
     private final double minimumAssignedSplitWeight;
@@ -65,54 +79,249 @@ public class IcebergSplitSource
 
     private final TupleDomain<IcebergColumnHandle> metadataColumnConstraints;
 
+    // only accessed by the split loader, which never runs concurrently with itself
+    private CloseableIterator<FileScanTask> fileScanTaskIterator;
+    private boolean firstSplitLoaded;
+
+    @GuardedBy("this")
+    private final Deque<ConnectorSplit> bufferedSplits = new ArrayDeque<>();
+    @GuardedBy("this")
+    private PendingBatch pendingBatch;
+    @GuardedBy("this")
+    private SettableFuture<?> notFull;
+    @GuardedBy("this")
+    private Throwable failure;
+    @GuardedBy("this")
+    private boolean started;
+    @GuardedBy("this")
+    private boolean loading;
+    @GuardedBy("this")
+    private boolean loaded;
+    @GuardedBy("this")
+    private boolean closed;
+
     public IcebergSplitSource(
             ConnectorSession session,
             TableScan tableScan,
-            TupleDomain<IcebergColumnHandle> metadataColumnConstraints)
+            TupleDomain<IcebergColumnHandle> metadataColumnConstraints,
+            Executor splitLoaderExecutor,
+            int maxOutstandingSplits)
     {
         requireNonNull(session, "session is null");
+        checkArgument(maxOutstandingSplits >= 1, "maxOutstandingSplits must be at least 1");
+        this.tableScan = requireNonNull(tableScan, "tableScan is null");
         this.metadataColumnConstraints = requireNonNull(metadataColumnConstraints, "metadataColumnConstraints is null");
+        this.splitLoaderExecutor = requireNonNull(splitLoaderExecutor, "splitLoaderExecutor is null");
+        this.maxOutstandingSplits = maxOutstandingSplits;
+        this.runtimeStats = session.getRuntimeStats();
         this.targetSplitSize = getTargetSplitSize(session, tableScan).toBytes();
         this.minimumAssignedSplitWeight = getMinimumAssignedSplitWeight(session);
         this.nodeSelectionStrategy = getNodeSelectionStrategy(session);
         this.affinitySchedulingFileSectionSize = getAffinitySchedulingFileSectionSize(session).toBytes();
-        this.fileScanTaskIterator = closer.register(
-                splitFiles(
-                        closer.register(tableScan.planFiles()),
-                        targetSplitSize)
-                        .iterator());
     }
 
+    /**
+     * Completes once {@code maxSize} splits are buffered or the table scan is exhausted,
+     * so batches stay as full as they were when splits were produced on this thread.
+     */
     @Override
     public CompletableFuture<ConnectorSplitBatch> getNextBatch(ConnectorPartitionHandle partitionHandle, int maxSize)
     {
-        // TODO: move this to a background thread
-        List<ConnectorSplit> splits = new ArrayList<>();
-        Iterator<FileScanTask> iterator = limit(fileScanTaskIterator, maxSize);
-        while (iterator.hasNext()) {
-            FileScanTask task = iterator.next();
-            IcebergSplit icebergSplit = (IcebergSplit) toIcebergSplit(task);
-            if (metadataColumnsMatchPredicates(metadataColumnConstraints, icebergSplit.getPath(), icebergSplit.getDataSequenceNumber())) {
-                splits.add(icebergSplit);
-            }
+        boolean start;
+        CompletableFuture<ConnectorSplitBatch> result;
+        SettableFuture<?> resumeLoader;
+        synchronized (this) {
+            checkState(!closed, "IcebergSplitSource is already closed");
+            checkState(pendingBatch == null, "previous batch has not completed");
+            start = !started;
+            started = true;
+            pendingBatch = new PendingBatch(maxSize);
+            result = pendingBatch.getFuture();
+            resumeLoader = completePendingBatch();
+        }
+        if (resumeLoader != null) {
+            resumeLoader.set(null);
+        }
+        if (start) {
+            splitLoaderExecutor.execute(this::loadSplits);
         }
-        return completedFuture(new ConnectorSplitBatch(splits, isFinished()));
+        return result;
     }
 
     @Override
-    public boolean isFinished()
+    public synchronized boolean isFinished()
     {
-        return !fileScanTaskIterator.hasNext();
+        throwIfFailed();
+        return loaded && bufferedSplits.isEmpty();
     }
 
     @Override
     public void close()
+    {
+        boolean closeNow;
+        SettableFuture<?> resumeLoader;
+        synchronized (this) {
+            closed = true;
+            bufferedSplits.clear();
+            // a running loader releases the resources when it returns
+            closeNow = !loading;
+            resumeLoader = notFull;
+            notFull = null;
+        }
+        if (resumeLoader != null) {
+            resumeLoader.set(null);
+        }
+        if (closeNow) {
+            closeResources();
+        }
+    }
+
+    /**
+     * Moves file scan tasks from the table scan into the split buffer. Iceberg reads the
+     * manifests in parallel on the executor passed to {@link TableScan#planWith}, and only
+     * schedules more manifest reads while this loader keeps consuming tasks, so a full
+     * buffer suspends the loader and with it the manifest reads.
+     */
+    private void loadSplits()
+    {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            loading = true;
+        }
+
+        Throwable loadFailure = null;
+        boolean done = false;
+        ListenableFuture<?> resume = null;
+        try {
+            if (fileScanTaskIterator == null) {
+                fileScanTaskIterator = closer.register(
+                        splitFiles(
+                                closer.register(tableScan.planFiles()),
+                                targetSplitSize)
+                                .iterator());
+            }
+
+            while (!isClosed() && fileScanTaskIterator.hasNext()) {
+                FileScanTask task = fileScanTaskIterator.next();
+                IcebergSplit icebergSplit = (IcebergSplit) toIcebergSplit(task);
+                if (!metadataColumnsMatchPredicates(metadataColumnConstraints, icebergSplit.getPath(), icebergSplit.getDataSequenceNumber())) {
+                    continue;
+                }
+                if (!firstSplitLoaded) {
+                    firstSplitLoaded = true;
+                    runtimeStats.addMetricValue("IcebergTimeToFirstSplitNanos", NANO, System.nanoTime() - startNanos);
+                }
+                resume = addSplit(icebergSplit);
+                if (resume != null) {
+                    return;
+                }
+            }
+            done = true;
+        }
+        catch (Throwable t) {
+            loadFailure = t;
+            done = true;
+        }
+        finally {
+            boolean closeNow;
+            synchronized (this) {
+                loading = false;
+                if (done) {
+                    loaded = true;
+                    if (failure == null) {
+                        failure = loadFailure;
+                    }
+                    completePendingBatch();
+                }
+                closeNow = closed || done;
+            }
+            if (closeNow) {
+                closeResources();
+            }
+            else if (resume != null) {
+                // resume only after this invocation has released the loader
+                resume.addListener(this::loadSplits, splitLoaderExecutor);
+            }
+        }
+    }
+
+    /**
+     * Returns a future to wait for when the buffer is full, or null to keep loading.
+     */
+    private synchronized ListenableFuture<?> addSplit(ConnectorSplit split)
+    {
+        if (closed) {
+            return null;
+        }
+        bufferedSplits.add(split);
+        completePendingBatch();
+        if (bufferedSplits.size() < maxOutstandingSplits) {
+            return null;
+        }
+        notFull = SettableFuture.create();
+        return notFull;
+    }
+
+    /**
+     * Returns the suspended loader future to complete outside the lock if a batch took
+     * the buffer below its limit.
+     */
+    @GuardedBy("this")
+    private SettableFuture<?> completePendingBatch()
+    {
+        if (pendingBatch == null) {
+            return null;
+        }
+        if (failure != null) {
+            PendingBatch batch = pendingBatch;
+            Throwable throwable = failure;
+            pendingBatch = null;
+            splitLoaderExecutor.execute(() -> batch.getFuture().completeExceptionally(throwable));
+            return null;
+        }
+        int batchSize = min(pendingBatch.getMaxSize(), maxOutstandingSplits);
+        if (!loaded && bufferedSplits.size() < batchSize) {
+            return null;
+        }
+
+        ImmutableList.Builder<ConnectorSplit> splits = ImmutableList.builder();
+        for (int i = 0; i < pendingBatch.getMaxSize() && !bufferedSplits.isEmpty(); i++) {
+            splits.add(bufferedSplits.poll());
+        }
+        ConnectorSplitBatch splitBatch = new ConnectorSplitBatch(splits.build(), loaded && bufferedSplits.isEmpty());
+        PendingBatch batch = pendingBatch;
+        pendingBatch = null;
+        // completed asynchronously, since callers chain work on the future
+        splitLoaderExecutor.execute(() -> batch.getFuture().complete(splitBatch));
+
+        SettableFuture<?> resumeLoader = null;
+        if (notFull != null && bufferedSplits.size() < maxOutstandingSplits) {
+            resumeLoader = notFull;
+            notFull = null;
+        }
+        return resumeLoader;
+    }
+
+    private synchronized boolean isClosed()
+    {
+        return closed;
+    }
+
+    @GuardedBy("this")
+    private void throwIfFailed()
+    {
+        if (failure != null) {
+            throwIfUnchecked(failure);
+            throw new PrestoException(ICEBERG_INVALID_METADATA, failure);
+        }
+    }
+
+    private void closeResources()
     {
         try {
             closer.close();
-            // TODO: remove this after org.apache.iceberg.io.CloseableIterator'withClose
-            //  correct release resources holds by iterator.
-            fileScanTaskIterator = CloseableIterator.empty();
         }
         catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -145,4 +354,25 @@ public class IcebergSplitSource
                 getDataSequenceNumber(task.file()),
                 affinitySchedulingFileSectionSize);
     }
+
+    private static class PendingBatch
+    {
+        private final int maxSize;
+        private final CompletableFuture<ConnectorSplitBatch> future = new CompletableFuture<>();
+
+        public PendingBatch(int maxSize)
+        {
+            this.maxSize = maxSize;
+        }
+
+        public int getMaxSize()
+        {
+            return maxSize;
+        }
+
+        public CompletableFuture<ConnectorSplitBatch> getFuture()
+        {
+            return future;
+        }
+    }
 }
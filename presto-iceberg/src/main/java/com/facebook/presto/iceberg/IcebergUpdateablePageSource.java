@@ -35,6 +35,7 @@ import org.apache.iceberg.util.Pair;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -371,12 +372,30 @@ public class IcebergUpdateablePageSource
             return page;
         }
 
+        // Resolve, for each position, the first filter that deletes it
+        String[] deleteFilePaths = new String[positionCount];
+        boolean[] unresolved = new boolean[positionCount];
+        Arrays.fill(unresolved, true);
+        for (Pair<DeleteFilter, RowPredicate> pair : filterPredicates) {
+            Optional<String> path = pair.first().getDeleteFilePath();
+            if (!path.isPresent()) {
+                continue;
+            }
+            boolean[] retained = pair.second().getRetainedPositions(page);
+            for (int position = 0; position < positionCount; position++) {
+                if (unresolved[position] && !retained[position]) {
+                    deleteFilePaths[position] = path.get();
+                    unresolved[position] = false;
+                }
+            }
+        }
+
         boolean allSameValues = true;
-        Optional<String> firstValue = getDeleteFilePath(page, 0, filterPredicates);
+        Optional<String> firstValue = Optional.ofNullable(deleteFilePaths[0]);
         BlockBuilder blockBuilder = null;
         // Build the varchar block with the deleted file path or null if the row isn't deleted
         for (int position = 1; position < positionCount; position++) {
-            Optional<String> deleteFilePath = getDeleteFilePath(page, position, filterPredicates);
+            Optional<String> deleteFilePath = Optional.ofNullable(deleteFilePaths[position]);
             if (allSameValues && !Objects.equals(firstValue.orElse(null), deleteFilePath.orElse(null))) {
                 blockBuilder = VARCHAR.createBlockBuilder(null, positionCount);
                 for (int idx = 0; idx < position; idx++) {
@@ -412,20 +431,6 @@ public class IcebergUpdateablePageSource
         }
     }
 
-    private Optional<String> getDeleteFilePath(Page page, int position, List<Pair<DeleteFilter, RowPredicate>> filterPredicates)
-    {
-        for (Pair<DeleteFilter, RowPredicate> pair : filterPredicates) {
-            boolean deleted = !pair.second().test(page, position);
-            if (deleted) {
-                String path = pair.first().getDeleteFilePath().orElse(null);
-                if (path != null) {
-                    return Optional.of(path);
-                }
-            }
-        }
-        return Optional.empty();
-    }
-
     @Override
     public void close()
     {
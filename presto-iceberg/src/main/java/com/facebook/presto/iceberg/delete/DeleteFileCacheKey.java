@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.iceberg.delete;
+
+import com.facebook.presto.iceberg.IcebergColumnHandle;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+public class DeleteFileCacheKey
+{
+    private final String path;
+    private final long fileSizeInBytes;
+    private final Optional<String> dataFilePath;
+    private final List<IcebergColumnHandle> columns;
+
+    private DeleteFileCacheKey(String path, long fileSizeInBytes, Optional<String> dataFilePath, List<IcebergColumnHandle> columns)
+    {
+        this.path = requireNonNull(path, "path is null");
+        this.fileSizeInBytes = fileSizeInBytes;
+        this.dataFilePath = requireNonNull(dataFilePath, "dataFilePath is null");
+        this.columns = ImmutableList.copyOf(requireNonNull(columns, "columns is null"));
+    }
+
+    /**
+     * Position deletes are parsed for a single data file at a time.
+     */
+    public static DeleteFileCacheKey positionDeletesKey(String path, long fileSizeInBytes, String dataFilePath)
+    {
+        return new DeleteFileCacheKey(path, fileSizeInBytes, Optional.of(dataFilePath), ImmutableList.of());
+    }
+
+    /**
+     * Equality deletes apply to every data file, but are read with the types of the
+     * current table schema.
+     */
+    public static DeleteFileCacheKey equalityDeletesKey(String path, long fileSizeInBytes, List<IcebergColumnHandle> columns)
+    {
+        return new DeleteFileCacheKey(path, fileSizeInBytes, Optional.empty(), columns);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DeleteFileCacheKey)) {
+            return false;
+        }
+        DeleteFileCacheKey that = (DeleteFileCacheKey) o;
+        return fileSizeInBytes == that.fileSizeInBytes &&
+                path.equals(that.path) &&
+                dataFilePath.equals(that.dataFilePath) &&
+                columns.equals(that.columns);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(path, fileSizeInBytes, dataFilePath, columns);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("path", path)
+                .add("fileSizeInBytes", fileSizeInBytes)
+                .add("dataFilePath", dataFilePath)
+                .add("columns", columns)
+                .toString();
+    }
+}
@@ -14,9 +14,11 @@
 package com.facebook.presto.iceberg.delete;
 
 import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.Block;
 import com.facebook.presto.common.type.Type;
 import com.facebook.presto.iceberg.IcebergColumnHandle;
 import com.facebook.presto.spi.ConnectorPageSource;
+import com.google.common.collect.ImmutableList;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.util.StructLikeSet;
@@ -28,32 +30,50 @@ import java.util.List;
 import java.util.Optional;
 
 import static com.facebook.presto.iceberg.IcebergUtil.schemaFromHandles;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.util.Objects.requireNonNull;
 
 public final class EqualityDeleteFilter
         implements DeleteFilter
 {
     private final Schema schema;
-    private final StructLikeSet deleteSet;
+    private final List<Integer> fieldIds;
+    private final Optional<EqualityDeleteHashSet> deleteHashSet;
+    private final Optional<StructLikeSet> deleteSet;
+    private final long retainedSizeInBytes;
     @Nullable
     private final String deleteFilePath;
 
-    private EqualityDeleteFilter(Schema schema, StructLikeSet deleteSet, @Nullable String deleteFilePath)
+    private EqualityDeleteFilter(
+            Schema schema,
+            List<Integer> fieldIds,
+            Optional<EqualityDeleteHashSet> deleteHashSet,
+            Optional<StructLikeSet> deleteSet,
+            long retainedSizeInBytes,
+            @Nullable String deleteFilePath)
     {
         this.schema = requireNonNull(schema, "schema is null");
+        this.fieldIds = ImmutableList.copyOf(requireNonNull(fieldIds, "fieldIds is null"));
+        this.deleteHashSet = requireNonNull(deleteHashSet, "deleteHashSet is null");
         this.deleteSet = requireNonNull(deleteSet, "deleteSet is null");
+        this.retainedSizeInBytes = retainedSizeInBytes;
         this.deleteFilePath = deleteFilePath;
     }
 
     @Override
     public RowPredicate createPredicate(List<IcebergColumnHandle> columns)
     {
+        if (deleteHashSet.isPresent()) {
+            return new EqualityDeletePredicate(deleteHashSet.get(), keyChannels(columns));
+        }
+
         Type[] types = columns.stream()
                 .map(IcebergColumnHandle::getType)
                 .toArray(Type[]::new);
 
         Schema fileSchema = schemaFromHandles(columns);
         StructProjection projection = StructProjection.create(fileSchema, schema);
+        StructLikeSet deleteSet = this.deleteSet.get();
 
         return (page, position) -> {
             StructLike row = new LazyStructLikeRow(types, page, position);
@@ -67,14 +87,56 @@ public final class EqualityDeleteFilter
         return Optional.ofNullable(deleteFilePath);
     }
 
+    @Override
+    public long getRetainedSizeInBytes()
+    {
+        return retainedSizeInBytes;
+    }
+
+    private int[] keyChannels(List<IcebergColumnHandle> columns)
+    {
+        int[] channels = new int[fieldIds.size()];
+        for (int i = 0; i < channels.length; i++) {
+            channels[i] = -1;
+            for (int channel = 0; channel < columns.size(); channel++) {
+                if (columns.get(channel).getId() == fieldIds.get(i)) {
+                    channels[i] = channel;
+                    break;
+                }
+            }
+            if (channels[i] == -1) {
+                throw new IllegalArgumentException("No column for equality delete field: " + fieldIds.get(i));
+            }
+        }
+        return channels;
+    }
+
     public static DeleteFilter readEqualityDeletes(ConnectorPageSource pageSource, List<IcebergColumnHandle> columns, String deleteFilePath)
     {
-        Type[] types = columns.stream()
+        List<Type> types = columns.stream()
                 .map(IcebergColumnHandle::getType)
-                .toArray(Type[]::new);
-
+                .collect(toImmutableList());
+        List<Integer> fieldIds = columns.stream()
+                .map(IcebergColumnHandle::getId)
+                .collect(toImmutableList());
         Schema deleteSchema = schemaFromHandles(columns);
+
+        if (EqualityDeleteHashSet.isSupported(types)) {
+            ImmutableList.Builder<Page> pages = ImmutableList.builder();
+            while (!pageSource.isFinished()) {
+                Page page = pageSource.getNextPage();
+                if (page == null || page.getPositionCount() == 0) {
+                    continue;
+                }
+                pages.add(page.getLoadedPage().compact());
+            }
+            EqualityDeleteHashSet deleteHashSet = EqualityDeleteHashSet.create(types, pages.build());
+            return new EqualityDeleteFilter(deleteSchema, fieldIds, Optional.of(deleteHashSet), Optional.empty(), deleteHashSet.getRetainedSizeInBytes(), deleteFilePath);
+        }
+
+        Type[] typeArray = types.toArray(new Type[0]);
         StructLikeSet deleteSet = StructLikeSet.create(deleteSchema.asStruct());
+        long retainedSizeInBytes = 0;
 
         while (!pageSource.isFinished()) {
             Page page = pageSource.getNextPage();
@@ -82,11 +144,60 @@ public final class EqualityDeleteFilter
                 continue;
             }
 
+            // the materialized rows are not measured, so use the decoded size as an estimate
+            retainedSizeInBytes += page.getLoadedPage().getRetainedSizeInBytes();
             for (int position = 0; position < page.getPositionCount(); position++) {
-                deleteSet.add(new StructLikeRow(types, page, position));
+                deleteSet.add(new StructLikeRow(typeArray, page, position));
             }
         }
 
-        return new EqualityDeleteFilter(deleteSchema, deleteSet, deleteFilePath);
+        return new EqualityDeleteFilter(deleteSchema, fieldIds, Optional.empty(), Optional.of(deleteSet), retainedSizeInBytes, deleteFilePath);
+    }
+
+    private static final class EqualityDeletePredicate
+            implements RowPredicate
+    {
+        private final EqualityDeleteHashSet deleteHashSet;
+        private final int[] keyChannels;
+
+        public EqualityDeletePredicate(EqualityDeleteHashSet deleteHashSet, int[] keyChannels)
+        {
+            this.deleteHashSet = requireNonNull(deleteHashSet, "deleteHashSet is null");
+            this.keyChannels = requireNonNull(keyChannels, "keyChannels is null");
+        }
+
+        @Override
+        public boolean test(Page page, int position)
+        {
+            Block[] keyBlocks = keyBlocks(page);
+            return !deleteHashSet.contains(keyBlocks, position, deleteHashSet.hash(keyBlocks, position));
+        }
+
+        @Override
+        public void retainPositions(Page page, boolean[] retained)
+        {
+            int positionCount = page.getPositionCount();
+            if (positionCount == 0 || deleteHashSet.size() == 0) {
+                return;
+            }
+
+            Block[] keyBlocks = keyBlocks(page);
+            long[] hashes = new long[positionCount];
+            deleteHashSet.hashPositions(keyBlocks, positionCount, hashes);
+            for (int position = 0; position < positionCount; position++) {
+                if (retained[position] && deleteHashSet.contains(keyBlocks, position, hashes[position])) {
+                    retained[position] = false;
+                }
+            }
+        }
+
+        private Block[] keyBlocks(Page page)
+        {
+            Block[] keyBlocks = new Block[keyChannels.length];
+            for (int i = 0; i < keyChannels.length; i++) {
+                keyBlocks[i] = page.getBlock(keyChannels[i]);
+            }
+            return keyBlocks;
+        }
     }
 }
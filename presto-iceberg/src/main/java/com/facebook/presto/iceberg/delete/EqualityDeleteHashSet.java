@@ -0,0 +1,187 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.iceberg.delete;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.type.Type;
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.common.type.RealType.REAL;
+import static com.facebook.presto.common.type.TypeUtils.hashPosition;
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static java.lang.Math.max;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Open addressing hash set over the key columns of equality delete rows. The rows
+ * stay in their columnar form and probes hash the key blocks of a data page column
+ * by column, so no per-row {@link org.apache.iceberg.StructLike} is materialized.
+ */
+final class EqualityDeleteHashSet
+{
+    private static final long INSTANCE_SIZE = ClassLayout.parseClass(EqualityDeleteHashSet.class).instanceSize();
+    private static final long EMPTY_SLOT = -1;
+
+    private final Type[] types;
+    private final List<Page> pages;
+    private final long[] addresses;
+    private final long[] slotHashes;
+    private final int mask;
+    private final int size;
+    private final long retainedSizeInBytes;
+
+    private EqualityDeleteHashSet(Type[] types, List<Page> pages)
+    {
+        this.types = requireNonNull(types, "types is null");
+        this.pages = ImmutableList.copyOf(requireNonNull(pages, "pages is null"));
+
+        long rowCount = pages.stream().mapToLong(Page::getPositionCount).sum();
+        int capacity = nextPowerOfTwo(toIntExact(max(16, rowCount * 2)));
+        this.addresses = new long[capacity];
+        this.slotHashes = new long[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(addresses, EMPTY_SLOT);
+
+        int size = 0;
+        for (int pageIndex = 0; pageIndex < this.pages.size(); pageIndex++) {
+            Page page = this.pages.get(pageIndex);
+            Block[] blocks = new Block[types.length];
+            for (int channel = 0; channel < types.length; channel++) {
+                blocks[channel] = page.getBlock(channel);
+            }
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                long hash = hash(blocks, position);
+                int slot = findSlot(blocks, position, hash);
+                if (addresses[slot] == EMPTY_SLOT) {
+                    addresses[slot] = ((long) pageIndex << 32) | position;
+                    slotHashes[slot] = hash;
+                    size++;
+                }
+            }
+        }
+        this.size = size;
+        this.retainedSizeInBytes = INSTANCE_SIZE + sizeOf(addresses) + sizeOf(slotHashes) +
+                this.pages.stream().mapToLong(Page::getRetainedSizeInBytes).sum();
+    }
+
+    public static boolean isSupported(List<Type> types)
+    {
+        // Iceberg matches floating point keys with Java equality (NaN equals NaN,
+        // -0.0 does not equal 0.0), which differs from the SQL equality of the types
+        return types.stream().allMatch(type -> !type.equals(DOUBLE) && !type.equals(REAL) &&
+                (type.getJavaType() == long.class || type.getJavaType() == boolean.class || type.getJavaType() == Slice.class));
+    }
+
+    public static EqualityDeleteHashSet create(List<Type> types, List<Page> pages)
+    {
+        checkArgument(isSupported(types), "unsupported equality delete types: %s", types);
+        for (Page page : pages) {
+            checkArgument(page.getChannelCount() == types.size(), "mismatched types for page");
+        }
+        return new EqualityDeleteHashSet(types.toArray(new Type[0]), pages);
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        return retainedSizeInBytes;
+    }
+
+    public long hash(Block[] blocks, int position)
+    {
+        long hash = 0;
+        for (int channel = 0; channel < types.length; channel++) {
+            hash = 31 * hash + hashPosition(types[channel], blocks[channel], position);
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the hashes of the first {@code positionCount} rows of the key blocks,
+     * one column at a time.
+     */
+    public void hashPositions(Block[] blocks, int positionCount, long[] hashes)
+    {
+        Arrays.fill(hashes, 0, positionCount, 0);
+        for (int channel = 0; channel < types.length; channel++) {
+            Type type = types[channel];
+            Block block = blocks[channel];
+            for (int position = 0; position < positionCount; position++) {
+                hashes[position] = 31 * hashes[position] + hashPosition(type, block, position);
+            }
+        }
+    }
+
+    public boolean contains(Block[] blocks, int position, long hash)
+    {
+        return addresses[findSlot(blocks, position, hash)] != EMPTY_SLOT;
+    }
+
+    private int findSlot(Block[] blocks, int position, long hash)
+    {
+        int slot = (int) mix(hash) & mask;
+        while (addresses[slot] != EMPTY_SLOT) {
+            if (slotHashes[slot] == hash && positionEquals(addresses[slot], blocks, position)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean positionEquals(long address, Block[] blocks, int position)
+    {
+        Page page = pages.get((int) (address >>> 32));
+        int deletePosition = (int) address;
+        for (int channel = 0; channel < types.length; channel++) {
+            Block deleteBlock = page.getBlock(channel);
+            Block block = blocks[channel];
+            boolean deleteNull = deleteBlock.isNull(deletePosition);
+            if (deleteNull != block.isNull(position)) {
+                return false;
+            }
+            if (!deleteNull && !types[channel].equalTo(deleteBlock, deletePosition, block, position)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mix(long hash)
+    {
+        // spread the high bits of the combined hash into the slot index
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static int nextPowerOfTwo(int value)
+    {
+        return Integer.highestOneBit(value - 1) << 1;
+    }
+}
@@ -18,6 +18,7 @@ import com.facebook.presto.common.block.Block;
 import com.facebook.presto.iceberg.IcebergColumnHandle;
 import com.facebook.presto.spi.ConnectorPageSource;
 import io.airlift.slice.Slice;
+import org.openjdk.jol.info.ClassLayout;
 import org.roaringbitmap.longlong.ImmutableLongBitmapDataProvider;
 import org.roaringbitmap.longlong.LongBitmapDataProvider;
 
@@ -34,6 +35,8 @@ import static java.util.Objects.requireNonNull;
 public final class PositionDeleteFilter
         implements DeleteFilter
 {
+    private static final long INSTANCE_SIZE = ClassLayout.parseClass(PositionDeleteFilter.class).instanceSize();
+
     private final ImmutableLongBitmapDataProvider deletedRows;
     @Nullable
     private final String deleteFilePath;
@@ -47,18 +50,28 @@ public final class PositionDeleteFilter
     @Override
     public RowPredicate createPredicate(List<IcebergColumnHandle> columns)
     {
-        int filePosChannel = rowPositionChannel(columns);
-        return (page, position) -> {
-            long filePos = BIGINT.getLong(page.getBlock(filePosChannel), position);
-            return !deletedRows.contains(filePos);
-        };
+        return new PositionDeletePredicate(deletedRows, rowPositionChannel(columns));
     }
 
+    @Override
     public Optional<String> getDeleteFilePath()
     {
         return Optional.ofNullable(deleteFilePath);
     }
 
+    public ImmutableLongBitmapDataProvider getDeletedRows()
+    {
+        return deletedRows;
+    }
+
+    @Override
+    public long getRetainedSizeInBytes()
+    {
+        // Roaring64Bitmap does not implement getLongSizeInBytes, and the serialized
+        // size is close to its in-memory footprint
+        return INSTANCE_SIZE + deletedRows.serializedSizeInBytes();
+    }
+
     private static int rowPositionChannel(List<IcebergColumnHandle> columns)
     {
         for (int i = 0; i < columns.size(); i++) {
@@ -98,6 +111,80 @@ public final class PositionDeleteFilter
         }
     }
 
+    private static final class PositionDeletePredicate
+            implements RowPredicate
+    {
+        private final ImmutableLongBitmapDataProvider deletedRows;
+        private final int filePosChannel;
+
+        public PositionDeletePredicate(ImmutableLongBitmapDataProvider deletedRows, int filePosChannel)
+        {
+            this.deletedRows = requireNonNull(deletedRows, "deletedRows is null");
+            this.filePosChannel = filePosChannel;
+        }
+
+        @Override
+        public boolean test(Page page, int position)
+        {
+            long filePos = BIGINT.getLong(page.getBlock(filePosChannel), position);
+            return !deletedRows.contains(filePos);
+        }
+
+        @Override
+        public void retainPositions(Page page, boolean[] retained)
+        {
+            int positionCount = page.getPositionCount();
+            if (positionCount == 0 || deletedRows.isEmpty()) {
+                return;
+            }
+
+            Block block = page.getBlock(filePosChannel);
+            long[] filePositions = new long[positionCount];
+            boolean ascending = true;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int position = 0; position < positionCount; position++) {
+                long filePos = BIGINT.getLong(block, position);
+                filePositions[position] = filePos;
+                if (position > 0 && filePos <= filePositions[position - 1]) {
+                    ascending = false;
+                }
+                min = Math.min(min, filePos);
+                max = Math.max(max, filePos);
+            }
+
+            // number of deleted rows below min and at or below max
+            long startRank = deletedRows.rankLong(min) - (deletedRows.contains(min) ? 1 : 0);
+            long endRank = deletedRows.rankLong(max);
+            if (startRank == endRank) {
+                return;
+            }
+
+            if (!ascending || endRank - startRank > positionCount) {
+                for (int position = 0; position < positionCount; position++) {
+                    if (deletedRows.contains(filePositions[position])) {
+                        retained[position] = false;
+                    }
+                }
+                return;
+            }
+
+            // Row positions produced by the readers are ascending, so walk the few deleted
+            // rows in [min, max] alongside the page instead of probing every position
+            int position = 0;
+            for (long rank = startRank; rank < endRank && position < positionCount; rank++) {
+                long deleted = deletedRows.select(rank);
+                while (position < positionCount && filePositions[position] < deleted) {
+                    position++;
+                }
+                if (position < positionCount && filePositions[position] == deleted) {
+                    retained[position] = false;
+                    position++;
+                }
+            }
+        }
+    }
+
     private static final class CachingVarcharComparator
     {
         private final Slice reference;
@@ -15,9 +15,12 @@ package com.facebook.presto.iceberg.delete;
 
 import com.facebook.presto.common.Page;
 import com.facebook.presto.common.block.Block;
-import com.facebook.presto.common.block.BlockBuilder;
+import com.facebook.presto.common.block.ByteArrayBlock;
 import com.facebook.presto.common.block.RunLengthEncodedBlock;
 
+import java.util.Arrays;
+import java.util.Optional;
+
 import static com.facebook.presto.common.type.BooleanType.BOOLEAN;
 import static java.util.Objects.requireNonNull;
 
@@ -25,19 +28,56 @@ public interface RowPredicate
 {
     boolean test(Page page, int position);
 
+    /**
+     * Clears {@code retained[position]} for every position of the page that is
+     * rejected by this predicate. Positions that are already cleared may be skipped.
+     */
+    default void retainPositions(Page page, boolean[] retained)
+    {
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            if (retained[position] && !test(page, position)) {
+                retained[position] = false;
+            }
+        }
+    }
+
     default RowPredicate and(RowPredicate other)
     {
         requireNonNull(other, "other is null");
-        return (page, position) -> test(page, position) && other.test(page, position);
+        RowPredicate self = this;
+        return new RowPredicate()
+        {
+            @Override
+            public boolean test(Page page, int position)
+            {
+                return self.test(page, position) && other.test(page, position);
+            }
+
+            @Override
+            public void retainPositions(Page page, boolean[] retained)
+            {
+                self.retainPositions(page, retained);
+                other.retainPositions(page, retained);
+            }
+        };
+    }
+
+    default boolean[] getRetainedPositions(Page page)
+    {
+        boolean[] retained = new boolean[page.getPositionCount()];
+        Arrays.fill(retained, true);
+        retainPositions(page, retained);
+        return retained;
     }
 
     default Page filterPage(Page page)
     {
         int positionCount = page.getPositionCount();
+        boolean[] retainedPositions = getRetainedPositions(page);
         int[] retained = new int[positionCount];
         int retainedCount = 0;
         for (int position = 0; position < positionCount; position++) {
-            if (test(page, position)) {
+            if (retainedPositions[position]) {
                 retained[retainedCount] = position;
                 retainedCount++;
             }
@@ -55,30 +95,24 @@ public interface RowPredicate
             return page;
         }
 
-        boolean allSameValues = true;
-        boolean firstValue = !test(page, 0);
-        BlockBuilder blockBuilder = null;
-        for (int position = 1; position < positionCount; position++) {
-            boolean deleted = !test(page, position);
-            if (allSameValues && deleted != firstValue) {
-                blockBuilder = BOOLEAN.createFixedSizeBlockBuilder(positionCount);
-                for (int idx = 0; idx < position; idx++) {
-                    BOOLEAN.writeBoolean(blockBuilder, firstValue);
-                }
-                BOOLEAN.writeBoolean(blockBuilder, deleted);
-                allSameValues = false;
+        boolean[] retained = getRetainedPositions(page);
+        int retainedCount = 0;
+        byte[] deleted = new byte[positionCount];
+        for (int position = 0; position < positionCount; position++) {
+            if (retained[position]) {
+                retainedCount++;
             }
-            else if (!allSameValues) {
-                BOOLEAN.writeBoolean(blockBuilder, deleted);
+            else {
+                deleted[position] = 1;
             }
         }
 
         Block block;
-        if (blockBuilder != null) {
-            block = blockBuilder.build();
+        if (retainedCount == 0 || retainedCount == positionCount) {
+            block = RunLengthEncodedBlock.create(BOOLEAN, retainedCount == 0, positionCount);
         }
         else {
-            block = RunLengthEncodedBlock.create(BOOLEAN, firstValue, positionCount);
+            block = new ByteArrayBlock(positionCount, Optional.empty(), deleted);
         }
 
         return page.replaceColumn(deletedDelegateColumnId, block);
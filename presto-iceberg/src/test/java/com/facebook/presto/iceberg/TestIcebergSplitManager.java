@@ -14,6 +14,7 @@
 package com.facebook.presto.iceberg;
 
 import com.facebook.presto.Session;
+import com.facebook.presto.common.RuntimeStats;
 import com.facebook.presto.common.transaction.TransactionId;
 import com.facebook.presto.execution.Lifespan;
 import com.facebook.presto.metadata.Split;
@@ -235,6 +236,30 @@ public class TestIcebergSplitManager
         assertQuerySucceeds("DROP TABLE test_affinity_section_scheduling");
     }
 
+    @Test
+    public void testSplitGenerationMetrics()
+    {
+        assertQuerySucceeds("CREATE TABLE test_split_generation_metrics (a int, b varchar)");
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertQuerySucceeds("INSERT INTO test_split_generation_metrics VALUES (" + i + ", 'value" + i + "')");
+            }
+
+            RuntimeStats runtimeStats = new RuntimeStats();
+            Session session = Session.builder(sessionWithFilterPushdown(false))
+                    .setRuntimeStats(runtimeStats)
+                    .build();
+
+            assertEquals(getSplitsForSql(session, "SELECT * FROM test_split_generation_metrics").size(), 5);
+            assertEquals(runtimeStats.getMetric("IcebergTimeToFirstSplitNanos").getCount(), 1);
+            // one manifest per insert, each read on the planning executor
+            assertTrue(runtimeStats.getMetric("IcebergManifestReadCpuNanos").getCount() >= 5);
+        }
+        finally {
+            assertQuerySucceeds("DROP TABLE test_split_generation_metrics");
+        }
+    }
+
     private Session sessionWithFilterPushdown(boolean pushdown)
     {
         return Session.builder(getQueryRunner().getDefaultSession())
@@ -0,0 +1,228 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.iceberg;
+
+import com.facebook.presto.cache.CacheConfig;
+import com.facebook.presto.common.predicate.TupleDomain;
+import com.facebook.presto.hive.HiveCommonClientConfig;
+import com.facebook.presto.hive.HiveCommonSessionProperties;
+import com.facebook.presto.hive.OrcFileWriterConfig;
+import com.facebook.presto.hive.ParquetFileWriterConfig;
+import com.facebook.presto.spi.ConnectorSession;
+import com.facebook.presto.spi.ConnectorSplitSource.ConnectorSplitBatch;
+import com.facebook.presto.spi.session.PropertyMetadata;
+import com.facebook.presto.testing.TestingConnectorSession;
+import com.google.common.collect.ImmutableList;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.AppendFiles;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableScan;
+import org.apache.iceberg.hadoop.HadoopTables;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.types.Types;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
+import static com.facebook.presto.spi.connector.NotPartitionedPartitionHandle.NOT_PARTITIONED;
+import static com.google.common.io.Files.createTempDir;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class TestIcebergSplitSource
+{
+    private static final int DATA_FILE_COUNT = 10;
+
+    private static final ConnectorSession SESSION = new TestingConnectorSession(
+            ImmutableList.<PropertyMetadata<?>>builder()
+                    .addAll(new IcebergSessionProperties(
+                            new IcebergConfig(),
+                            new ParquetFileWriterConfig(),
+                            new OrcFileWriterConfig(),
+                            new CacheConfig(),
+                            Optional.empty()).getSessionProperties())
+                    .addAll(new HiveCommonSessionProperties(new HiveCommonClientConfig()).getSessionProperties())
+                    .build());
+
+    private File tempDir;
+    private Table table;
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp()
+    {
+        tempDir = createTempDir();
+        executor = newCachedThreadPool(daemonThreadsNamed("test-iceberg-split-loader-%s"));
+
+        table = new HadoopTables(new Configuration()).create(
+                new Schema(Types.NestedField.required(1, "x", Types.LongType.get())),
+                PartitionSpec.unpartitioned(),
+                new File(tempDir, "table").getAbsolutePath());
+        AppendFiles append = table.newAppend();
+        for (int i = 0; i < DATA_FILE_COUNT; i++) {
+            // only the metadata is read when planning splits, so the data files need not exist
+            append.appendFile(DataFiles.builder(PartitionSpec.unpartitioned())
+                    .withPath(new File(tempDir, "data-" + i + ".parquet").getAbsolutePath())
+                    .withFormat("parquet")
+                    .withFileSizeInBytes(1)
+                    .withRecordCount(1)
+                    .build());
+        }
+        append.commit();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        executor.shutdownNow();
+        deleteRecursively(tempDir.toPath(), ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testLoaderStopsWhenBufferIsFull()
+            throws Exception
+    {
+        AtomicInteger consumedTasks = new AtomicInteger();
+        TableScan tableScan = scanWithPlannedFiles(tasks -> CloseableIterable.transform(tasks, task -> {
+            consumedTasks.incrementAndGet();
+            return task;
+        }));
+
+        // the direct executor runs the loader inline, so it has suspended by the time getNextBatch returns
+        IcebergSplitSource splitSource = new IcebergSplitSource(SESSION, tableScan, TupleDomain.all(), directExecutor(), 3);
+
+        ConnectorSplitBatch batch = getDone(splitSource.getNextBatch(NOT_PARTITIONED, 1));
+        assertEquals(batch.getSplits().size(), 1);
+        assertFalse(batch.isNoMoreSplits());
+        // one split was handed out and three fill the buffer
+        assertEquals(consumedTasks.get(), 4);
+
+        batch = getDone(splitSource.getNextBatch(NOT_PARTITIONED, 10));
+        assertEquals(batch.getSplits().size(), 3);
+        assertFalse(batch.isNoMoreSplits());
+        // draining the buffer resumes the loader until the buffer is full again
+        assertEquals(consumedTasks.get(), 7);
+
+        int splitCount = 4;
+        while (!splitSource.isFinished()) {
+            splitCount += getDone(splitSource.getNextBatch(NOT_PARTITIONED, 10)).getSplits().size();
+        }
+        assertEquals(splitCount, DATA_FILE_COUNT);
+        assertEquals(consumedTasks.get(), DATA_FILE_COUNT);
+        splitSource.close();
+    }
+
+    @Test
+    public void testCloseWhileLoading()
+            throws Exception
+    {
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        CountDownLatch resourcesClosed = new CountDownLatch(1);
+        TableScan tableScan = scanWithPlannedFiles(tasks -> CloseableIterable.combine(
+                CloseableIterable.transform(tasks, task -> {
+                    loaderStarted.countDown();
+                    awaitUninterruptibly(releaseLoader);
+                    return task;
+                }),
+                resourcesClosed::countDown));
+
+        IcebergSplitSource splitSource = new IcebergSplitSource(SESSION, tableScan, TupleDomain.all(), executor, 3);
+        CompletableFuture<ConnectorSplitBatch> batch = splitSource.getNextBatch(NOT_PARTITIONED, 1);
+        assertTrue(loaderStarted.await(10, SECONDS));
+
+        splitSource.close();
+        // the running loader still owns the table scan, so closing it is left to the loader
+        assertEquals(resourcesClosed.getCount(), 1);
+
+        releaseLoader.countDown();
+        assertTrue(resourcesClosed.await(10, SECONDS));
+        assertTrue(batch.get(10, SECONDS).getSplits().isEmpty());
+    }
+
+    @Test
+    public void testLoaderFailure()
+            throws Exception
+    {
+        RuntimeException loaderFailure = new RuntimeException("failed to read manifest");
+        TableScan tableScan = scanWithPlannedFiles(tasks -> CloseableIterable.transform(tasks, task -> {
+            throw loaderFailure;
+        }));
+
+        IcebergSplitSource splitSource = new IcebergSplitSource(SESSION, tableScan, TupleDomain.all(), executor, 3);
+        try {
+            splitSource.getNextBatch(NOT_PARTITIONED, 1).get(10, SECONDS);
+            fail("expected loader failure");
+        }
+        catch (ExecutionException e) {
+            assertSame(e.getCause(), loaderFailure);
+        }
+
+        try {
+            splitSource.isFinished();
+            fail("expected loader failure");
+        }
+        catch (RuntimeException e) {
+            assertSame(e, loaderFailure);
+        }
+        splitSource.close();
+    }
+
+    private TableScan scanWithPlannedFiles(Function<CloseableIterable<FileScanTask>, CloseableIterable<FileScanTask>> planFiles)
+    {
+        TableScan tableScan = table.newScan();
+        return (TableScan) Proxy.newProxyInstance(
+                TableScan.class.getClassLoader(),
+                new Class<?>[] {TableScan.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("planFiles")) {
+                        return planFiles.apply(tableScan.planFiles());
+                    }
+                    return method.invoke(tableScan, args);
+                });
+    }
+
+    private static ConnectorSplitBatch getDone(CompletableFuture<ConnectorSplitBatch> future)
+            throws Exception
+    {
+        assertTrue(future.isDone());
+        return future.get();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.iceberg.delete;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.RunLengthEncodedBlock;
+import com.facebook.presto.iceberg.IcebergColumnHandle;
+import com.facebook.presto.spi.FixedPageSource;
+import com.google.common.collect.ImmutableList;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.facebook.presto.block.BlockAssertions.createDoublesBlock;
+import static com.facebook.presto.block.BlockAssertions.createLongsBlock;
+import static com.facebook.presto.block.BlockAssertions.createStringsBlock;
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.iceberg.IcebergColumnHandle.primitiveIcebergColumnHandle;
+import static com.facebook.presto.iceberg.delete.EqualityDeleteFilter.readEqualityDeletes;
+import static org.apache.iceberg.MetadataColumns.ROW_POSITION;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class TestDeleteFilters
+{
+    private static final IcebergColumnHandle ROW_POSITION_COLUMN = primitiveIcebergColumnHandle(ROW_POSITION.fieldId(), ROW_POSITION.name(), BIGINT, Optional.empty());
+    private static final IcebergColumnHandle ID_COLUMN = primitiveIcebergColumnHandle(1, "id", BIGINT, Optional.empty());
+    private static final IcebergColumnHandle NAME_COLUMN = primitiveIcebergColumnHandle(2, "name", VARCHAR, Optional.empty());
+    private static final IcebergColumnHandle SCORE_COLUMN = primitiveIcebergColumnHandle(3, "score", DOUBLE, Optional.empty());
+
+    @Test
+    public void testPositionDeletes()
+    {
+        Roaring64Bitmap deletedRows = new Roaring64Bitmap();
+        for (long row : new long[] {1, 3, 4, 100, 101, 102, 103, 104, 105, 106, 107, 200}) {
+            deletedRows.addLong(row);
+        }
+        PositionDeleteFilter filter = new PositionDeleteFilter(deletedRows, null);
+        assertTrue(filter.getRetainedSizeInBytes() > 0);
+        RowPredicate predicate = filter.createPredicate(ImmutableList.of(ID_COLUMN, ROW_POSITION_COLUMN));
+
+        // contiguous row positions
+        assertRetained(predicate, rowPositionPage(0, 1, 2, 3, 4, 5), true, false, true, false, false, true);
+        // no deleted row in the range of the page
+        Page page = rowPositionPage(5, 6, 7, 8);
+        assertSame(predicate.filterPage(page), page);
+        assertRetained(predicate, page, true, true, true, true);
+        // more deleted rows in the range than positions in the page
+        assertRetained(predicate, rowPositionPage(99, 104, 108, 200), true, false, true, false);
+        // row positions out of order
+        assertRetained(predicate, rowPositionPage(4, 2, 200, 0), false, true, false, true);
+
+        Page filtered = predicate.filterPage(rowPositionPage(0, 1, 2, 3, 4, 5));
+        assertEquals(filtered.getPositionCount(), 3);
+        assertEquals(BIGINT.getLong(filtered.getBlock(1), 0), 0);
+        assertEquals(BIGINT.getLong(filtered.getBlock(1), 1), 2);
+        assertEquals(BIGINT.getLong(filtered.getBlock(1), 2), 5);
+    }
+
+    @Test
+    public void testEqualityDeletes()
+    {
+        List<IcebergColumnHandle> deleteColumns = ImmutableList.of(NAME_COLUMN, ID_COLUMN);
+        Page deletes = new Page(createStringsBlock("a", "b", null, "b"), createLongsBlock(1L, 2L, 3L, 2L));
+        DeleteFilter filter = readEqualityDeletes(new FixedPageSource(ImmutableList.of(deletes)), deleteColumns, "delete.parquet");
+
+        // the data columns are in a different order than the delete columns
+        RowPredicate predicate = filter.createPredicate(ImmutableList.of(ID_COLUMN, ROW_POSITION_COLUMN, NAME_COLUMN));
+        Page page = new Page(
+                createLongsBlock(1L, 1L, 2L, 3L, 3L, null),
+                createLongsBlock(0L, 1L, 2L, 3L, 4L, 5L),
+                createStringsBlock("a", "b", "b", null, "c", "a"));
+        assertRetained(predicate, page, false, true, false, false, true, true);
+        assertEquals(filter.getDeleteFilePath(), Optional.of("delete.parquet"));
+        assertTrue(filter.getRetainedSizeInBytes() > 0);
+    }
+
+    @Test
+    public void testEqualityDeletesOnFloatingPoint()
+    {
+        List<IcebergColumnHandle> deleteColumns = ImmutableList.of(SCORE_COLUMN);
+        Page deletes = new Page(createDoublesBlock(1.5, Double.NaN));
+        DeleteFilter filter = readEqualityDeletes(new FixedPageSource(ImmutableList.of(deletes)), deleteColumns, null);
+
+        RowPredicate predicate = filter.createPredicate(ImmutableList.of(ROW_POSITION_COLUMN, SCORE_COLUMN));
+        Page page = new Page(createLongsBlock(0L, 1L, 2L), createDoublesBlock(1.5, 2.5, Double.NaN));
+        assertRetained(predicate, page, false, true, false);
+    }
+
+    @Test
+    public void testCombinedPredicates()
+    {
+        Roaring64Bitmap deletedRows = new Roaring64Bitmap();
+        deletedRows.addLong(0);
+        List<IcebergColumnHandle> columns = ImmutableList.of(ID_COLUMN, ROW_POSITION_COLUMN);
+        RowPredicate positionPredicate = new PositionDeleteFilter(deletedRows, null).createPredicate(columns);
+        RowPredicate equalityPredicate = readEqualityDeletes(new FixedPageSource(ImmutableList.of(new Page(createLongsBlock(3L)))), ImmutableList.of(ID_COLUMN), null)
+                .createPredicate(columns);
+
+        Page page = new Page(createLongsBlock(1L, 2L, 3L), createLongsBlock(0L, 1L, 2L));
+        RowPredicate predicate = positionPredicate.and(equalityPredicate);
+        assertRetained(predicate, page, false, true, false);
+
+        Block deleted = predicate.markDeleted(page, 0).getBlock(0);
+        assertEquals(deleted.getPositionCount(), 3);
+        assertTrue(BOOLEAN.getBoolean(deleted, 0));
+        assertTrue(!BOOLEAN.getBoolean(deleted, 1));
+        assertTrue(BOOLEAN.getBoolean(deleted, 2));
+
+        Block noneDeleted = predicate.markDeleted(new Page(createLongsBlock(1L, 2L), createLongsBlock(1L, 2L)), 0).getBlock(0);
+        assertTrue(noneDeleted instanceof RunLengthEncodedBlock);
+        assertTrue(!BOOLEAN.getBoolean(noneDeleted, 0));
+    }
+
+    private static Page rowPositionPage(long... rowPositions)
+    {
+        Long[] ids = new Long[rowPositions.length];
+        Long[] positions = new Long[rowPositions.length];
+        for (int i = 0; i < rowPositions.length; i++) {
+            ids[i] = (long) i;
+            positions[i] = rowPositions[i];
+        }
+        return new Page(createLongsBlock(ids), createLongsBlock(positions));
+    }
+
+    private static void assertRetained(RowPredicate predicate, Page page, boolean... expected)
+    {
+        boolean[] retained = predicate.getRetainedPositions(page);
+        assertEquals(retained, expected);
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            assertEquals(predicate.test(page, position), expected[position], "position " + position);
+        }
+    }
+}
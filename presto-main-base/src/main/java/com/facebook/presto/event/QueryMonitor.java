@@ -355,10 +355,10 @@ public class QueryMonitor
                 queryInfo.getPreparedQuery(),
                 queryInfo.getState().toString(),
                 queryInfo.getSelf(),
-                createTextQueryPlan(queryInfo),
-                createJsonQueryPlan(queryInfo),
-                createGraphvizQueryPlan(queryInfo),
-                queryInfo.getOutputStage().flatMap(stage -> stageInfoCodec.toJsonWithLengthLimit(stage, maxJsonLimit)),
+                () -> createTextQueryPlan(queryInfo),
+                () -> createJsonQueryPlan(queryInfo),
+                () -> createGraphvizQueryPlan(queryInfo),
+                () -> queryInfo.getOutputStage().flatMap(stage -> stageInfoCodec.toJsonWithLengthLimit(stage, maxJsonLimit)),
                 queryInfo.getRuntimeOptimizedStages().orElse(ImmutableList.of()).stream()
                         .map(stageId -> String.valueOf(stageId.getId()))
                         .collect(toImmutableList()),
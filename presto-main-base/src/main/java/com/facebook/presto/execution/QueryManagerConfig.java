@@ -24,6 +24,7 @@ import io.airlift.units.Duration;
 import io.airlift.units.MinDataSize;
 import io.airlift.units.MinDuration;
 
+import javax.validation.constraints.AssertTrue;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
@@ -45,6 +46,9 @@ public class QueryManagerConfig
 {
     private int scheduleSplitBatchSize = 1000;
     private int minScheduleSplitBatchSize = 100;
+    private int minAdaptiveScheduleSplitBatchSize = 100;
+    private int maxScheduleSplitBatchSize = 10_000;
+    private boolean adaptiveScheduleSplitBatchSizeEnabled;
     private int maxConcurrentQueries = 1000;
     private int maxQueuedQueries = 5000;
 
@@ -128,6 +132,53 @@ public class QueryManagerConfig
         return this;
     }
 
+    @Min(1)
+    public int getMinAdaptiveScheduleSplitBatchSize()
+    {
+        return minAdaptiveScheduleSplitBatchSize;
+    }
+
+    @Config("query.min-adaptive-schedule-split-batch-size")
+    @ConfigDescription("Lower bound, and starting size, of the number of splits requested from a split source at once when adaptive split batch sizing is enabled")
+    public QueryManagerConfig setMinAdaptiveScheduleSplitBatchSize(int minAdaptiveScheduleSplitBatchSize)
+    {
+        this.minAdaptiveScheduleSplitBatchSize = minAdaptiveScheduleSplitBatchSize;
+        return this;
+    }
+
+    @Min(1)
+    public int getMaxScheduleSplitBatchSize()
+    {
+        return maxScheduleSplitBatchSize;
+    }
+
+    @Config("query.max-schedule-split-batch-size")
+    @ConfigDescription("Upper bound on the number of splits requested from a split source at once when adaptive split batch sizing is enabled")
+    public QueryManagerConfig setMaxScheduleSplitBatchSize(int maxScheduleSplitBatchSize)
+    {
+        this.maxScheduleSplitBatchSize = maxScheduleSplitBatchSize;
+        return this;
+    }
+
+    public boolean isAdaptiveScheduleSplitBatchSizeEnabled()
+    {
+        return adaptiveScheduleSplitBatchSizeEnabled;
+    }
+
+    @Config("query.adaptive-schedule-split-batch-size-enabled")
+    @ConfigDescription("Grow or shrink the split batch size of source stages based on how quickly splits are placed, and prefetch the next batch while the current one is placed")
+    public QueryManagerConfig setAdaptiveScheduleSplitBatchSizeEnabled(boolean adaptiveScheduleSplitBatchSizeEnabled)
+    {
+        this.adaptiveScheduleSplitBatchSizeEnabled = adaptiveScheduleSplitBatchSizeEnabled;
+        return this;
+    }
+
+    @AssertTrue(message = "query.min-adaptive-schedule-split-batch-size must not be greater than query.max-schedule-split-batch-size")
+    public boolean isAdaptiveScheduleSplitBatchSizeRangeValid()
+    {
+        return minAdaptiveScheduleSplitBatchSize <= maxScheduleSplitBatchSize;
+    }
+
     @Deprecated
     @Min(1)
     public int getMaxConcurrentQueries()
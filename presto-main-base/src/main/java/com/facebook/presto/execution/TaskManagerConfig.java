@@ -103,6 +103,9 @@ public class TaskManagerConfig
     private boolean enableEventLoop;
     private Duration slowMethodThresholdOnEventLoop = new Duration(0, SECONDS);
 
+    private DataSize planFragmentCacheMaxSize = new DataSize(32, Unit.MEGABYTE);
+    private Duration planFragmentCacheTtl = new Duration(10, TimeUnit.MINUTES);
+
     public long getSlowMethodThresholdOnEventLoop()
     {
         return slowMethodThresholdOnEventLoop.roundTo(NANOSECONDS);
@@ -704,4 +707,33 @@ public class TaskManagerConfig
         this.taskUpdateSizeTrackingEnabled = taskUpdateSizeTrackingEnabled;
         return this;
     }
+
+    @NotNull
+    public DataSize getPlanFragmentCacheMaxSize()
+    {
+        return planFragmentCacheMaxSize;
+    }
+
+    @Config("task.plan-fragment-cache-max-size")
+    @ConfigDescription("Maximum total serialized size of the decoded plan fragments cached on the worker and shared by tasks of the same stage. Set to 0B to disable the cache")
+    public TaskManagerConfig setPlanFragmentCacheMaxSize(DataSize planFragmentCacheMaxSize)
+    {
+        this.planFragmentCacheMaxSize = planFragmentCacheMaxSize;
+        return this;
+    }
+
+    @NotNull
+    @MinDuration("0s")
+    public Duration getPlanFragmentCacheTtl()
+    {
+        return planFragmentCacheTtl;
+    }
+
+    @Config("task.plan-fragment-cache-ttl")
+    @ConfigDescription("Time after last access after which a decoded plan fragment is evicted from the worker cache")
+    public TaskManagerConfig setPlanFragmentCacheTtl(Duration planFragmentCacheTtl)
+    {
+        this.planFragmentCacheTtl = planFragmentCacheTtl;
+        return this;
+    }
 }
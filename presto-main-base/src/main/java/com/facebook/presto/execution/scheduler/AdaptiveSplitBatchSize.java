@@ -0,0 +1,94 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.execution.scheduler;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Number of splits a {@link SourcePartitionedScheduler} requests from its split source at once.
+ * <p>
+ * An adaptive instance starts at the lower bound so that the first splits reach the workers quickly.
+ * The size doubles every time a full batch is placed without blocking and halves every time
+ * placement is blocked because the split queues of the selected nodes are full.
+ */
+@NotThreadSafe
+public class AdaptiveSplitBatchSize
+{
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private int batchSize;
+
+    public static AdaptiveSplitBatchSize fixed(int batchSize)
+    {
+        return new AdaptiveSplitBatchSize(batchSize, batchSize, batchSize);
+    }
+
+    public static AdaptiveSplitBatchSize adaptive(int minBatchSize, int maxBatchSize)
+    {
+        return new AdaptiveSplitBatchSize(minBatchSize, minBatchSize, maxBatchSize);
+    }
+
+    private AdaptiveSplitBatchSize(int initialBatchSize, int minBatchSize, int maxBatchSize)
+    {
+        checkArgument(minBatchSize > 0, "minBatchSize must be at least one");
+        checkArgument(maxBatchSize >= minBatchSize, "maxBatchSize must be at least minBatchSize");
+        checkArgument(initialBatchSize >= minBatchSize && initialBatchSize <= maxBatchSize, "initialBatchSize must be between minBatchSize and maxBatchSize");
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = initialBatchSize;
+    }
+
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    public boolean isAdaptive()
+    {
+        return minBatchSize != maxBatchSize;
+    }
+
+    /**
+     * Records that {@code placedSplits} splits were placed and no split is waiting for placement.
+     */
+    public void recordPlaced(int placedSplits)
+    {
+        if (placedSplits >= batchSize) {
+            batchSize = (int) min((long) batchSize * 2, maxBatchSize);
+        }
+    }
+
+    /**
+     * Records that some splits could not be placed because the candidate nodes are saturated.
+     */
+    public void recordBackPressure()
+    {
+        batchSize = max(batchSize / 2, minBatchSize);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("minBatchSize", minBatchSize)
+                .add("maxBatchSize", maxBatchSize)
+                .add("batchSize", batchSize)
+                .toString();
+    }
+}
@@ -102,6 +102,8 @@ public class NodeScheduler
     private final NodeSelectionHashStrategy nodeSelectionHashStrategy;
     private final int minVirtualNodeCount;
     private final int maxPreferredNodes;
+    private final boolean affinityLoadBoundEnabled;
+    private final double affinityLoadBoundEpsilon;
 
     @Inject
     public NodeScheduler(
@@ -169,6 +171,8 @@ public class NodeScheduler
         this.nodeSelectionHashStrategy = config.getNodeSelectionHashStrategy();
         this.minVirtualNodeCount = config.getMinVirtualNodeCount();
         this.maxPreferredNodes = config.getMaxPreferredNodes();
+        this.affinityLoadBoundEnabled = config.isAffinityLoadBoundEnabled();
+        this.affinityLoadBoundEpsilon = config.getAffinityLoadBoundEpsilon();
     }
 
     @PreDestroy
@@ -238,7 +242,10 @@ public class NodeScheduler
                 maxPendingSplitsWeightPerTask,
                 maxUnacknowledgedSplitsPerTask,
                 maxTasksPerStage,
-                maxPreferredNodes);
+                maxPreferredNodes,
+                affinityLoadBoundEnabled,
+                affinityLoadBoundEpsilon,
+                session.getRuntimeStats());
 
         if (resourceAwareSchedulingStrategy == TTL) {
             return new SimpleTtlNodeSelector(
@@ -18,6 +18,7 @@ import com.facebook.airlift.configuration.ConfigDescription;
 import com.facebook.airlift.configuration.DefunctConfig;
 import com.facebook.airlift.configuration.LegacyConfig;
 
+import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
@@ -41,6 +42,8 @@ public class NodeSchedulerConfig
     private int minVirtualNodeCount = 1000;
     private ResourceAwareSchedulingStrategy resourceAwareSchedulingStrategy = ResourceAwareSchedulingStrategy.RANDOM;
     private int maxPreferredNodes = 2;
+    private boolean affinityLoadBoundEnabled;
+    private double affinityLoadBoundEpsilon = 0.25;
 
     @NotNull
     public String getNetworkTopology()
@@ -174,6 +177,33 @@ public class NodeSchedulerConfig
         return this;
     }
 
+    public boolean isAffinityLoadBoundEnabled()
+    {
+        return affinityLoadBoundEnabled;
+    }
+
+    @Config("node-scheduler.affinity-load-bound-enabled")
+    @ConfigDescription("Skip a preferred node of a soft affinity split when its load exceeds (1 + epsilon) times the average node load, trying the next preferred node instead of a random one")
+    public NodeSchedulerConfig setAffinityLoadBoundEnabled(boolean affinityLoadBoundEnabled)
+    {
+        this.affinityLoadBoundEnabled = affinityLoadBoundEnabled;
+        return this;
+    }
+
+    @DecimalMin("0.0")
+    public double getAffinityLoadBoundEpsilon()
+    {
+        return affinityLoadBoundEpsilon;
+    }
+
+    @Config("node-scheduler.affinity-load-bound-epsilon")
+    @ConfigDescription("Fraction of the average node load a preferred node may exceed before a soft affinity split moves to the next preferred node")
+    public NodeSchedulerConfig setAffinityLoadBoundEpsilon(double affinityLoadBoundEpsilon)
+    {
+        this.affinityLoadBoundEpsilon = affinityLoadBoundEpsilon;
+        return this;
+    }
+
     public enum ResourceAwareSchedulingStrategy
     {
         RANDOM,
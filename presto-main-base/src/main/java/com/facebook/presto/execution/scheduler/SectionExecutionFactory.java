@@ -107,6 +107,9 @@ public class SectionExecutionFactory
     private final SplitSchedulerStats schedulerStats;
     private final NodeScheduler nodeScheduler;
     private final int splitBatchSize;
+    private final int minSplitBatchSize;
+    private final int maxSplitBatchSize;
+    private final boolean adaptiveSplitBatchSizeEnabled;
     private final boolean isEnableWorkerIsolation;
 
     @Inject
@@ -131,6 +134,9 @@ public class SectionExecutionFactory
                 schedulerStats,
                 nodeScheduler,
                 requireNonNull(queryManagerConfig, "queryManagerConfig is null").getScheduleSplitBatchSize(),
+                queryManagerConfig.getMinAdaptiveScheduleSplitBatchSize(),
+                queryManagerConfig.getMaxScheduleSplitBatchSize(),
+                queryManagerConfig.isAdaptiveScheduleSplitBatchSizeEnabled(),
                 queryManagerConfig.isEnableWorkerIsolation());
     }
 
@@ -144,6 +150,9 @@ public class SectionExecutionFactory
             SplitSchedulerStats schedulerStats,
             NodeScheduler nodeScheduler,
             int splitBatchSize,
+            int minSplitBatchSize,
+            int maxSplitBatchSize,
+            boolean adaptiveSplitBatchSizeEnabled,
             boolean isEnableWorkerIsolation)
     {
         this.metadata = requireNonNull(metadata, "metadata is null");
@@ -155,6 +164,9 @@ public class SectionExecutionFactory
         this.schedulerStats = requireNonNull(schedulerStats, "schedulerStats is null");
         this.nodeScheduler = requireNonNull(nodeScheduler, "nodeScheduler is null");
         this.splitBatchSize = splitBatchSize;
+        this.minSplitBatchSize = minSplitBatchSize;
+        this.maxSplitBatchSize = maxSplitBatchSize;
+        this.adaptiveSplitBatchSizeEnabled = adaptiveSplitBatchSizeEnabled;
         this.isEnableWorkerIsolation = isEnableWorkerIsolation;
     }
 
@@ -305,7 +317,11 @@ public class SectionExecutionFactory
             SplitPlacementPolicy placementPolicy = new DynamicSplitPlacementPolicy(nodeSelector, stageExecution::getAllTasks);
 
             checkArgument(!plan.getFragment().getStageExecutionDescriptor().isStageGroupedExecution());
-            return newSourcePartitionedSchedulerAsStageScheduler(stageExecution, planNodeId, splitSource, placementPolicy, splitBatchSize);
+            AdaptiveSplitBatchSize stageSplitBatchSize = AdaptiveSplitBatchSize.fixed(splitBatchSize);
+            if (adaptiveSplitBatchSizeEnabled) {
+                stageSplitBatchSize = AdaptiveSplitBatchSize.adaptive(minSplitBatchSize, maxSplitBatchSize);
+            }
+            return newSourcePartitionedSchedulerAsStageScheduler(stageExecution, planNodeId, splitSource, placementPolicy, stageSplitBatchSize);
         }
         else if (partitioningHandle.equals(SCALED_WRITER_DISTRIBUTION)) {
             Supplier<Collection<TaskStatus>> sourceTasksProvider = () -> childStageExecutions.stream()
@@ -88,9 +88,11 @@ public class SourcePartitionedScheduler
     private final SqlStageExecution stage;
     private final SplitSource splitSource;
     private final SplitPlacementPolicy splitPlacementPolicy;
-    private final int splitBatchSize;
+    private final AdaptiveSplitBatchSize splitBatchSize;
     private final PlanNodeId partitionedNode;
     private final boolean groupedExecution;
+    // request the next batch while the current one is being placed
+    private final boolean prefetchSplitBatches;
 
     // TODO: Add LIFESPAN_ADDED into SourcePartitionedScheduler#State and remove this boolean
     private boolean lifespanAdded;
@@ -105,17 +107,17 @@ public class SourcePartitionedScheduler
             PlanNodeId partitionedNode,
             SplitSource splitSource,
             SplitPlacementPolicy splitPlacementPolicy,
-            int splitBatchSize,
+            AdaptiveSplitBatchSize splitBatchSize,
             boolean groupedExecution)
     {
         this.stage = requireNonNull(stage, "stage is null");
         this.partitionedNode = requireNonNull(partitionedNode, "partitionedNode is null");
         this.splitSource = requireNonNull(splitSource, "splitSource is null");
         this.splitPlacementPolicy = requireNonNull(splitPlacementPolicy, "splitPlacementPolicy is null");
-
-        checkArgument(splitBatchSize > 0, "splitBatchSize must be at least one");
-        this.splitBatchSize = splitBatchSize;
+        this.splitBatchSize = requireNonNull(splitBatchSize, "splitBatchSize is null");
         this.groupedExecution = groupedExecution;
+        // rewinding a lifespan in grouped execution must not race with an outstanding batch request
+        this.prefetchSplitBatches = splitBatchSize.isAdaptive() && !groupedExecution;
     }
 
     public PlanNodeId getPlanNodeId()
@@ -136,6 +138,22 @@ public class SourcePartitionedScheduler
             SplitSource splitSource,
             SplitPlacementPolicy splitPlacementPolicy,
             int splitBatchSize)
+    {
+        checkArgument(splitBatchSize > 0, "splitBatchSize must be at least one");
+        return newSourcePartitionedSchedulerAsStageScheduler(stage, partitionedNode, splitSource, splitPlacementPolicy, AdaptiveSplitBatchSize.fixed(splitBatchSize));
+    }
+
+    /**
+     * Same as {@link #newSourcePartitionedSchedulerAsStageScheduler(SqlStageExecution, PlanNodeId, SplitSource, SplitPlacementPolicy, int)},
+     * except that the number of splits requested from the split source at once is governed by {@code splitBatchSize}.
+     * An adaptive batch size also enables prefetching of the next split batch while the current one is being placed.
+     */
+    public static StageScheduler newSourcePartitionedSchedulerAsStageScheduler(
+            SqlStageExecution stage,
+            PlanNodeId partitionedNode,
+            SplitSource splitSource,
+            SplitPlacementPolicy splitPlacementPolicy,
+            AdaptiveSplitBatchSize splitBatchSize)
     {
         SourcePartitionedScheduler sourcePartitionedScheduler = new SourcePartitionedScheduler(stage, partitionedNode, splitSource, splitPlacementPolicy, splitBatchSize, false);
         sourcePartitionedScheduler.startLifespan(Lifespan.taskWide(), NOT_PARTITIONED);
@@ -176,7 +194,8 @@ public class SourcePartitionedScheduler
             int splitBatchSize,
             boolean groupedExecution)
     {
-        return new SourcePartitionedScheduler(stage, partitionedNode, splitSource, splitPlacementPolicy, splitBatchSize, groupedExecution);
+        checkArgument(splitBatchSize > 0, "splitBatchSize must be at least one");
+        return new SourcePartitionedScheduler(stage, partitionedNode, splitSource, splitPlacementPolicy, AdaptiveSplitBatchSize.fixed(splitBatchSize), groupedExecution);
     }
 
     @Override
@@ -220,10 +239,7 @@ public class SourcePartitionedScheduler
             else if (scheduleGroup.pendingSplits.isEmpty()) {
                 // try to get the next batch
                 if (scheduleGroup.nextSplitBatchFuture == null) {
-                    scheduleGroup.nextSplitBatchFuture = splitSource.getNextBatch(scheduleGroup.partitionHandle, lifespan, splitBatchSize);
-
-                    long start = System.nanoTime();
-                    addSuccessCallback(scheduleGroup.nextSplitBatchFuture, () -> stage.recordGetSplitTime(start));
+                    requestNextSplitBatch(scheduleGroup, lifespan);
                 }
 
                 if (scheduleGroup.nextSplitBatchFuture.isDone()) {
@@ -247,6 +263,9 @@ public class SourcePartitionedScheduler
                         }
                         scheduleGroup.state = ScheduleGroupState.NO_MORE_SPLITS;
                     }
+                    else if (prefetchSplitBatches) {
+                        requestNextSplitBatch(scheduleGroup, lifespan);
+                    }
                 }
                 else {
                     overallBlockedFutures.add(scheduleGroup.nextSplitBatchFuture);
@@ -282,6 +301,10 @@ public class SourcePartitionedScheduler
                     scheduleGroup.placementFuture = splitPlacementResult.getBlocked();
                     overallBlockedFutures.add(scheduleGroup.placementFuture);
                     anyBlockedOnPlacements = true;
+                    splitBatchSize.recordBackPressure();
+                }
+                else {
+                    splitBatchSize.recordPlaced(splitAssignment.size());
                 }
             }
 
@@ -305,8 +328,15 @@ public class SourcePartitionedScheduler
             // 1. It always returns a completed future when there are no tasks, regardless of whether all nodes are blocked.
             // 2. The returned future will only be completed when a node with an assigned task becomes unblocked. Other nodes don't trigger future completion.
             // As a result, to avoid busy loops caused by 1, we check pendingSplits.isEmpty() instead of placementFuture.isDone() here.
-            if (scheduleGroup.nextSplitBatchFuture == null && scheduleGroup.pendingSplits.isEmpty() && scheduleGroup.state != ScheduleGroupState.DONE) {
-                anyNotBlocked = true;
+            if (scheduleGroup.pendingSplits.isEmpty() && scheduleGroup.state != ScheduleGroupState.DONE) {
+                if (scheduleGroup.nextSplitBatchFuture == null || scheduleGroup.nextSplitBatchFuture.isDone()) {
+                    anyNotBlocked = true;
+                }
+                else {
+                    // a prefetched batch is still in flight
+                    overallBlockedFutures.add(scheduleGroup.nextSplitBatchFuture);
+                    anyBlockedOnNextSplitBatch = true;
+                }
             }
         }
 
@@ -384,6 +414,15 @@ public class SourcePartitionedScheduler
                 overallSplitAssignmentCount);
     }
 
+    private void requestNextSplitBatch(ScheduleGroup scheduleGroup, Lifespan lifespan)
+    {
+        verify(scheduleGroup.nextSplitBatchFuture == null);
+        scheduleGroup.nextSplitBatchFuture = splitSource.getNextBatch(scheduleGroup.partitionHandle, lifespan, splitBatchSize.getBatchSize());
+
+        long start = System.nanoTime();
+        addSuccessCallback(scheduleGroup.nextSplitBatchFuture, () -> stage.recordGetSplitTime(start));
+    }
+
     private synchronized void dropListenersFromWhenFinishedOrNewLifespansAdded()
     {
         // whenFinishedOrNewLifespanAdded may remain in a not-done state for an extended period of time.
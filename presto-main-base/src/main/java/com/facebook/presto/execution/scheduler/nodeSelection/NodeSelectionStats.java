@@ -31,6 +31,7 @@ public class NodeSelectionStats
     private final CounterStat bucketedNonAliveNodeReplacedCount = new CounterStat();
 
     private final CounterStat preferredNonAliveNodeSkippedCount = new CounterStat();
+    private final CounterStat preferredOverloadedNodeSkippedCount = new CounterStat();
 
     public void incrementPrimaryPreferredNodeSelectedCount()
     {
@@ -67,6 +68,11 @@ public class NodeSelectionStats
         preferredNonAliveNodeSkippedCount.update(1);
     }
 
+    public void incrementPreferredOverloadedNodeSkippedCount()
+    {
+        preferredOverloadedNodeSkippedCount.update(1);
+    }
+
     @Managed
     @Nested
     public CounterStat getPrimaryPreferredNodeSelectedCount()
@@ -115,4 +121,22 @@ public class NodeSelectionStats
     {
         return bucketedNonAliveNodeReplacedCount;
     }
+
+    @Managed
+    @Nested
+    public CounterStat getPreferredOverloadedNodeSkippedCount()
+    {
+        return preferredOverloadedNodeSkippedCount;
+    }
+
+    @Managed
+    public double getPreferredNodeSelectedRatio()
+    {
+        long preferred = primaryPreferredNodeSelectedCount.getTotalCount() + nonPrimaryPreferredNodeSelectedCount.getTotalCount();
+        long total = preferred + nonPreferredNodeSelectedCount.getTotalCount();
+        if (total == 0) {
+            return 0;
+        }
+        return (double) preferred / total;
+    }
 }
@@ -14,6 +14,7 @@
 package com.facebook.presto.execution.scheduler.nodeSelection;
 
 import com.facebook.airlift.log.Logger;
+import com.facebook.presto.common.RuntimeStats;
 import com.facebook.presto.execution.NodeTaskMap;
 import com.facebook.presto.execution.RemoteTask;
 import com.facebook.presto.execution.scheduler.BucketNodeMap;
@@ -44,6 +45,9 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.ToLongFunction;
 
+import static com.facebook.presto.common.RuntimeMetricName.SCHEDULER_AFFINITY_NON_PREFERRED_NODE_SPLITS;
+import static com.facebook.presto.common.RuntimeMetricName.SCHEDULER_AFFINITY_PREFERRED_NODE_SPLITS;
+import static com.facebook.presto.common.RuntimeUnit.NONE;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.calculateLowWatermark;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.canAssignSplitBasedOnWeight;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.randomizedNodes;
@@ -55,9 +59,12 @@ import static com.facebook.presto.metadata.InternalNode.NodeStatus.DEAD;
 import static com.facebook.presto.spi.StandardErrorCode.NODE_SELECTION_NOT_SUPPORTED;
 import static com.facebook.presto.spi.StandardErrorCode.NO_NODES_AVAILABLE;
 import static com.facebook.presto.spi.schedule.NodeSelectionStrategy.HARD_AFFINITY;
+import static com.facebook.presto.spi.schedule.NodeSelectionStrategy.SOFT_AFFINITY;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.Sets.newHashSet;
+import static java.lang.Math.addExact;
+import static java.lang.Math.ceil;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -78,6 +85,9 @@ public class SimpleNodeSelector
     private final int maxUnacknowledgedSplitsPerTask;
     private final int maxTasksPerStage;
     private final int maxPreferredNodes;
+    private final boolean affinityLoadBoundEnabled;
+    private final double affinityLoadBoundEpsilon;
+    private final RuntimeStats runtimeStats;
 
     public SimpleNodeSelector(
             InternalNodeManager nodeManager,
@@ -90,7 +100,10 @@ public class SimpleNodeSelector
             long maxPendingSplitsWeightPerTask,
             int maxUnacknowledgedSplitsPerTask,
             int maxTasksPerStage,
-            int maxPreferredNodes)
+            int maxPreferredNodes,
+            boolean affinityLoadBoundEnabled,
+            double affinityLoadBoundEpsilon,
+            RuntimeStats runtimeStats)
     {
         this.nodeManager = requireNonNull(nodeManager, "nodeManager is null");
         this.nodeSelectionStats = requireNonNull(nodeSelectionStats, "nodeSelectionStats is null");
@@ -104,6 +117,10 @@ public class SimpleNodeSelector
         checkArgument(maxUnacknowledgedSplitsPerTask > 0, "maxUnacknowledgedSplitsPerTask must be > 0, found: %s", maxUnacknowledgedSplitsPerTask);
         this.maxTasksPerStage = maxTasksPerStage;
         this.maxPreferredNodes = maxPreferredNodes;
+        checkArgument(affinityLoadBoundEpsilon >= 0, "affinityLoadBoundEpsilon must be >= 0, found: %s", affinityLoadBoundEpsilon);
+        this.affinityLoadBoundEnabled = affinityLoadBoundEnabled;
+        this.affinityLoadBoundEpsilon = affinityLoadBoundEpsilon;
+        this.runtimeStats = requireNonNull(runtimeStats, "runtimeStats is null");
     }
 
     @Override
@@ -151,6 +168,17 @@ public class SimpleNodeSelector
 
         NodeProvider nodeProvider = nodeMap.getNodeProvider(maxPreferredNodes);
         OptionalInt preferredNodeCount = OptionalInt.empty();
+
+        // total weight across the eligible nodes, used to bound the load of preferred nodes of soft affinity splits
+        long totalSplitsWeight = 0;
+        if (affinityLoadBoundEnabled) {
+            for (InternalNode node : eligibleNodes) {
+                totalSplitsWeight = addExact(totalSplitsWeight, assignmentStats.getTotalSplitsWeight(node));
+            }
+        }
+        long affinityPreferredNodeSplits = 0;
+        long affinityNonPreferredNodeSplits = 0;
+
         for (Split split : splits) {
             List<InternalNode> candidateNodes;
             switch (split.getNodeSelectionStrategy()) {
@@ -179,7 +207,15 @@ public class SimpleNodeSelector
             }
 
             SplitWeight splitWeight = split.getSplitWeight();
-            Optional<InternalNodeInfo> chosenNodeInfo = chooseLeastBusyNode(splitWeight, candidateNodes, assignmentStats::getTotalSplitsWeight, preferredNodeCount, maxSplitsWeightPerNode, assignmentStats);
+            long maxPreferredNodeWeight = Long.MAX_VALUE;
+            if (affinityLoadBoundEnabled && split.getNodeSelectionStrategy() == SOFT_AFFINITY && !eligibleNodes.isEmpty()) {
+                // bounded-load consistent hashing: a preferred node may carry at most (1 + epsilon) times the average load,
+                // rounded up to a whole number of splits so that a node can always take at least one split
+                long rawSplitWeight = splitWeight.getRawValue();
+                double averageSplits = (double) addExact(totalSplitsWeight, rawSplitWeight) / rawSplitWeight / eligibleNodes.size();
+                maxPreferredNodeWeight = (long) ceil((1 + affinityLoadBoundEpsilon) * averageSplits) * rawSplitWeight;
+            }
+            Optional<InternalNodeInfo> chosenNodeInfo = chooseLeastBusyNode(splitWeight, candidateNodes, assignmentStats::getTotalSplitsWeight, preferredNodeCount, maxSplitsWeightPerNode, maxPreferredNodeWeight, assignmentStats);
             if (!chosenNodeInfo.isPresent()) {
                 chosenNodeInfo = chooseLeastBusyNode(splitWeight, candidateNodes, assignmentStats::getQueuedSplitsWeightForStage, preferredNodeCount, maxPendingSplitsWeightPerTask, assignmentStats);
             }
@@ -195,6 +231,15 @@ public class SimpleNodeSelector
                 InternalNode chosenNode = chosenNodeInfo.get().getInternalNode();
                 assignment.put(chosenNode, split);
                 assignmentStats.addAssignedSplit(chosenNode, splitWeight);
+                totalSplitsWeight = addExact(totalSplitsWeight, splitWeight.getRawValue());
+                if (split.getNodeSelectionStrategy() == SOFT_AFFINITY) {
+                    if (chosenNodeInfo.get().isCacheable()) {
+                        affinityPreferredNodeSplits++;
+                    }
+                    else {
+                        affinityNonPreferredNodeSplits++;
+                    }
+                }
             }
             else {
                 if (split.getNodeSelectionStrategy() != HARD_AFFINITY) {
@@ -207,6 +252,13 @@ public class SimpleNodeSelector
             }
         }
 
+        if (affinityPreferredNodeSplits > 0) {
+            runtimeStats.addMetricValue(SCHEDULER_AFFINITY_PREFERRED_NODE_SPLITS, NONE, affinityPreferredNodeSplits);
+        }
+        if (affinityNonPreferredNodeSplits > 0) {
+            runtimeStats.addMetricValue(SCHEDULER_AFFINITY_NON_PREFERRED_NODE_SPLITS, NONE, affinityNonPreferredNodeSplits);
+        }
+
         ListenableFuture<?> blocked;
         if (splitWaitingForAnyNode) {
             blocked = toWhenHasSplitQueueSpaceFuture(existingTasks, calculateLowWatermark(maxPendingSplitsWeightPerTask));
@@ -224,6 +276,16 @@ public class SimpleNodeSelector
     }
 
     protected Optional<InternalNodeInfo> chooseLeastBusyNode(SplitWeight splitWeight, List<InternalNode> candidateNodes, ToLongFunction<InternalNode> splitWeightProvider, OptionalInt preferredNodeCount, long maxSplitsWeight, NodeAssignmentStats assignmentStats)
+    {
+        return chooseLeastBusyNode(splitWeight, candidateNodes, splitWeightProvider, preferredNodeCount, maxSplitsWeight, Long.MAX_VALUE, assignmentStats);
+    }
+
+    /**
+     * Same as {@link #chooseLeastBusyNode(SplitWeight, List, ToLongFunction, OptionalInt, long, NodeAssignmentStats)}, except that
+     * a preferred node is only chosen if the split keeps its weight at or below {@code maxPreferredNodeWeight}.
+     * An overloaded preferred node is skipped in favor of the next preferred node rather than the least busy node.
+     */
+    protected Optional<InternalNodeInfo> chooseLeastBusyNode(SplitWeight splitWeight, List<InternalNode> candidateNodes, ToLongFunction<InternalNode> splitWeightProvider, OptionalInt preferredNodeCount, long maxSplitsWeight, long maxPreferredNodeWeight, NodeAssignmentStats assignmentStats)
     {
         long minWeight = Long.MAX_VALUE;
         InternalNode chosenNode = null;
@@ -245,13 +307,17 @@ public class SimpleNodeSelector
 
             // choose the preferred node first as long as they're not busy
             if (preferredNodeCount.isPresent() && i < preferredNodeCount.getAsInt() && canAssignToNode) {
-                if (i == 0) {
-                    nodeSelectionStats.incrementPrimaryPreferredNodeSelectedCount();
-                }
-                else {
-                    nodeSelectionStats.incrementNonPrimaryPreferredNodeSelectedCount();
+                if (currentWeight <= maxPreferredNodeWeight - splitWeight.getRawValue()) {
+                    if (i == 0) {
+                        nodeSelectionStats.incrementPrimaryPreferredNodeSelectedCount();
+                    }
+                    else {
+                        nodeSelectionStats.incrementNonPrimaryPreferredNodeSelectedCount();
+                    }
+                    return Optional.of(new InternalNodeInfo(node, true));
                 }
-                return Optional.of(new InternalNodeInfo(node, true));
+                // overloaded compared to the other nodes, try the next preferred node
+                nodeSelectionStats.incrementPreferredOverloadedNodeSkippedCount();
             }
             // fallback to choosing the least busy nodes
             if (canAssignToNode && currentWeight < minWeight) {
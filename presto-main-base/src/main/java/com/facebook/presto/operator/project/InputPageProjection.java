@@ -60,13 +60,13 @@ public class InputPageProjection
             result = new DictionaryBlock(
                     selectedPositions.getOffset(),
                     selectedPositions.size(),
-                    block.getLoadedBlock(),
+                    block.getFullyLoadedBlock(),
                     selectedPositions.getPositions(),
                     false,
                     DictionaryId.randomDictionaryId());
         }
         else if (selectedPositions.getOffset() == 0 && selectedPositions.size() == page.getPositionCount()) {
-            result = block.getLoadedBlock();
+            result = block.getFullyLoadedBlock();
         }
         else {
             result = block.getRegion(selectedPositions.getOffset(), selectedPositions.size());
@@ -295,6 +295,7 @@ public class FeaturesConfig
 
     private boolean setExcludeInvalidWorkerSessionProperties;
     private int eagerPlanValidationThreadPoolSize = 20;
+    private int planCheckerThreadPoolSize;
     private boolean innerJoinPushdownEnabled;
     private boolean inEqualityJoinPushdownEnabled;
     private boolean rewriteMinMaxByToTopNEnabled;
@@ -2919,6 +2920,20 @@ public class FeaturesConfig
         return this.eagerPlanValidationThreadPoolSize;
     }
 
+    @Config("plan-checker-thread-pool-size")
+    @ConfigDescription("Number of threads used to run independent plan checkers in parallel. Checkers run sequentially on the calling thread when set to 0")
+    public FeaturesConfig setPlanCheckerThreadPoolSize(int planCheckerThreadPoolSize)
+    {
+        this.planCheckerThreadPoolSize = planCheckerThreadPoolSize;
+        return this;
+    }
+
+    @Min(0)
+    public int getPlanCheckerThreadPoolSize()
+    {
+        return planCheckerThreadPoolSize;
+    }
+
     @Config("optimizer.inner-join-pushdown-enabled")
     @ConfigDescription("Push down inner join predicates to database")
     public FeaturesConfig setInnerJoinPushdownEnabled(boolean innerJoinPushdownEnabled)
@@ -62,6 +62,7 @@ import java.util.Set;
 
 import static com.facebook.presto.SystemSessionProperties.isForceSingleNodeOutput;
 import static com.facebook.presto.SystemSessionProperties.isSingleNodeExecutionEnabled;
+import static com.facebook.presto.common.RuntimeMetricName.VALIDATE_FRAGMENT_PLAN_TIME_NANOS;
 import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
 import static com.facebook.presto.sql.TemporaryTableUtil.assignPartitioningVariables;
 import static com.facebook.presto.sql.TemporaryTableUtil.assignTemporaryTableColumnNames;
@@ -163,7 +164,8 @@ public abstract class BasePlanFragmenter
                 Optional.of(statsAndCosts.getForSubplan(root)),
                 Optional.of(jsonFragmentPlan(root, fragmentVariableTypes, statsAndCosts.getForSubplan(root), metadata.getFunctionAndTypeManager(), session)));
 
-        planChecker.validatePlanFragment(fragment, session, metadata, warningCollector);
+        session.getRuntimeStats().recordWallAndCpuTime(VALIDATE_FRAGMENT_PLAN_TIME_NANOS,
+                () -> planChecker.validatePlanFragment(fragment, session, metadata, warningCollector));
 
         return new SubPlan(fragment, properties.getChildren());
     }
@@ -28,6 +28,7 @@ import com.facebook.presto.spi.plan.PlanNodeIdAllocator;
 import com.facebook.presto.sql.analyzer.FeaturesConfig;
 import com.facebook.presto.sql.planner.BasePlanFragmenter.FragmentProperties;
 import com.facebook.presto.sql.planner.plan.SimplePlanRewriter;
+import com.facebook.presto.sql.planner.sanity.ForPlanChecker;
 import com.facebook.presto.sql.planner.sanity.PlanChecker;
 import com.facebook.presto.sql.planner.sanity.PlanCheckerProviderManager;
 import com.google.common.collect.ImmutableList;
@@ -35,6 +36,7 @@ import com.google.common.collect.ImmutableList;
 import javax.inject.Inject;
 
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import static com.facebook.presto.SystemSessionProperties.isForceSingleNodeOutput;
 import static com.facebook.presto.sql.planner.PlanFragmenterUtils.ROOT_FRAGMENT_ID;
@@ -54,14 +56,40 @@ public class PlanFragmenter
     private final PlanChecker distributedPlanChecker;
     private final PlanChecker singleNodePlanChecker;
 
-    @Inject
     public PlanFragmenter(Metadata metadata, NodePartitioningManager nodePartitioningManager, QueryManagerConfig queryManagerConfig, FeaturesConfig featuresConfig, PlanCheckerProviderManager planCheckerProviderManager)
+    {
+        this(
+                metadata,
+                nodePartitioningManager,
+                queryManagerConfig,
+                new PlanChecker(requireNonNull(featuresConfig, "featuresConfig is null"), false, planCheckerProviderManager),
+                new PlanChecker(featuresConfig, true, planCheckerProviderManager));
+    }
+
+    @Inject
+    public PlanFragmenter(
+            Metadata metadata,
+            NodePartitioningManager nodePartitioningManager,
+            QueryManagerConfig queryManagerConfig,
+            FeaturesConfig featuresConfig,
+            PlanCheckerProviderManager planCheckerProviderManager,
+            @ForPlanChecker ExecutorService planCheckerExecutor)
+    {
+        this(
+                metadata,
+                nodePartitioningManager,
+                queryManagerConfig,
+                new PlanChecker(requireNonNull(featuresConfig, "featuresConfig is null"), false, planCheckerProviderManager, planCheckerExecutor),
+                new PlanChecker(featuresConfig, true, planCheckerProviderManager, planCheckerExecutor));
+    }
+
+    private PlanFragmenter(Metadata metadata, NodePartitioningManager nodePartitioningManager, QueryManagerConfig queryManagerConfig, PlanChecker distributedPlanChecker, PlanChecker singleNodePlanChecker)
     {
         this.metadata = requireNonNull(metadata, "metadata is null");
         this.nodePartitioningManager = requireNonNull(nodePartitioningManager, "nodePartitioningManager is null");
         this.config = requireNonNull(queryManagerConfig, "queryManagerConfig is null");
-        this.distributedPlanChecker = new PlanChecker(requireNonNull(featuresConfig, "featuresConfig is null"), false, planCheckerProviderManager);
-        this.singleNodePlanChecker = new PlanChecker(requireNonNull(featuresConfig, "featuresConfig is null"), true, planCheckerProviderManager);
+        this.distributedPlanChecker = requireNonNull(distributedPlanChecker, "distributedPlanChecker is null");
+        this.singleNodePlanChecker = requireNonNull(singleNodePlanChecker, "singleNodePlanChecker is null");
     }
 
     public SubPlan createSubPlans(Session session, Plan plan, boolean noExchange, PlanNodeIdAllocator idAllocator, WarningCollector warningCollector)
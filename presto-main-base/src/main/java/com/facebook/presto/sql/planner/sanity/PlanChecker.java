@@ -15,17 +15,29 @@ package com.facebook.presto.sql.planner.sanity;
 
 import com.facebook.presto.Session;
 import com.facebook.presto.metadata.Metadata;
+import com.facebook.presto.spi.PrestoWarning;
 import com.facebook.presto.spi.WarningCollector;
 import com.facebook.presto.spi.plan.PlanCheckerProvider;
 import com.facebook.presto.spi.plan.PlanNode;
 import com.facebook.presto.spi.plan.SimplePlanFragment;
 import com.facebook.presto.sql.analyzer.FeaturesConfig;
 import com.facebook.presto.sql.planner.PlanFragment;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.Multimap;
 
+import javax.annotation.concurrent.GuardedBy;
 import javax.inject.Inject;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import static com.facebook.airlift.concurrent.MoreFutures.getFutureValue;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -35,14 +47,35 @@ public final class PlanChecker
 {
     private final Multimap<Stage, Checker> checkers;
     private final PlanCheckerProviderManager planCheckerProviderManager;
+    // runs the checkers of a stage in parallel when present
+    private final Optional<ExecutorService> checkerExecutor;
 
     @Inject
+    public PlanChecker(FeaturesConfig featuresConfig, PlanCheckerProviderManager planCheckerProviderManager, @ForPlanChecker ExecutorService checkerExecutor)
+    {
+        this(featuresConfig, false, planCheckerProviderManager, checkerExecutor);
+    }
+
     public PlanChecker(FeaturesConfig featuresConfig, PlanCheckerProviderManager planCheckerProviderManager)
     {
         this(featuresConfig, false, planCheckerProviderManager);
     }
 
     public PlanChecker(FeaturesConfig featuresConfig, boolean noExchange, PlanCheckerProviderManager planCheckerProviderManager)
+    {
+        this(featuresConfig, noExchange, planCheckerProviderManager, Optional.empty());
+    }
+
+    public PlanChecker(FeaturesConfig featuresConfig, boolean noExchange, PlanCheckerProviderManager planCheckerProviderManager, ExecutorService checkerExecutor)
+    {
+        this(
+                featuresConfig,
+                noExchange,
+                planCheckerProviderManager,
+                featuresConfig.getPlanCheckerThreadPoolSize() > 0 ? Optional.of(requireNonNull(checkerExecutor, "checkerExecutor is null")) : Optional.empty());
+    }
+
+    private PlanChecker(FeaturesConfig featuresConfig, boolean noExchange, PlanCheckerProviderManager planCheckerProviderManager, Optional<ExecutorService> checkerExecutor)
     {
         this.planCheckerProviderManager = requireNonNull(planCheckerProviderManager, "planCheckerProviderManager is null");
         ImmutableListMultimap.Builder<Stage, Checker> builder = ImmutableListMultimap.builder();
@@ -80,11 +113,12 @@ public final class PlanChecker
             builder.put(Stage.INTERMEDIATE, new CheckUnsupportedPrestissimoTypes(featuresConfig));
         }
         checkers = builder.build();
+        this.checkerExecutor = requireNonNull(checkerExecutor, "checkerExecutor is null");
     }
 
     public void validateFinalPlan(PlanNode planNode, Session session, Metadata metadata, WarningCollector warningCollector)
     {
-        checkers.get(Stage.FINAL).forEach(checker -> checker.validate(planNode, session, metadata, warningCollector));
+        runCheckers(checkers.get(Stage.FINAL), warningCollector, (checker, checkerWarningCollector) -> checker.validate(planNode, session, metadata, checkerWarningCollector));
         for (PlanCheckerProvider provider : planCheckerProviderManager.getPlanCheckerProviders()) {
             for (com.facebook.presto.spi.plan.PlanChecker checker : provider.getFinalPlanCheckers()) {
                 checker.validate(planNode, warningCollector, session.toConnectorSession());
@@ -94,7 +128,7 @@ public final class PlanChecker
 
     public void validateIntermediatePlan(PlanNode planNode, Session session, Metadata metadata, WarningCollector warningCollector)
     {
-        checkers.get(Stage.INTERMEDIATE).forEach(checker -> checker.validate(planNode, session, metadata, warningCollector));
+        runCheckers(checkers.get(Stage.INTERMEDIATE), warningCollector, (checker, checkerWarningCollector) -> checker.validate(planNode, session, metadata, checkerWarningCollector));
         for (PlanCheckerProvider provider : planCheckerProviderManager.getPlanCheckerProviders()) {
             for (com.facebook.presto.spi.plan.PlanChecker checker : provider.getIntermediatePlanCheckers()) {
                 checker.validate(planNode, warningCollector, session.toConnectorSession());
@@ -104,7 +138,7 @@ public final class PlanChecker
 
     public void validatePlanFragment(PlanFragment planFragment, Session session, Metadata metadata, WarningCollector warningCollector)
     {
-        checkers.get(Stage.FRAGMENT).forEach(checker -> checker.validateFragment(planFragment, session, metadata, warningCollector));
+        runCheckers(checkers.get(Stage.FRAGMENT), warningCollector, (checker, checkerWarningCollector) -> checker.validateFragment(planFragment, session, metadata, checkerWarningCollector));
         for (PlanCheckerProvider provider : planCheckerProviderManager.getPlanCheckerProviders()) {
             for (com.facebook.presto.spi.plan.PlanChecker checker : provider.getFragmentPlanCheckers()) {
                 checker.validateFragment(
@@ -123,6 +157,33 @@ public final class PlanChecker
         }
     }
 
+    private void runCheckers(Collection<Checker> stageCheckers, WarningCollector warningCollector, BiConsumer<Checker, WarningCollector> validation)
+    {
+        if (!checkerExecutor.isPresent() || stageCheckers.size() < 2) {
+            stageCheckers.forEach(checker -> validation.accept(checker, warningCollector));
+            return;
+        }
+
+        // Each checker reports warnings into its own buffer, which is handed to the query's collector on the
+        // calling thread in declaration order, so the collector is never accessed concurrently. The failure
+        // reported is the one of the first failing checker in declaration order, as with sequential validation.
+        List<BufferingWarningCollector> checkerWarnings = new ArrayList<>();
+        List<Future<?>> results = new ArrayList<>();
+        for (Checker checker : stageCheckers) {
+            BufferingWarningCollector checkerWarningCollector = new BufferingWarningCollector();
+            checkerWarnings.add(checkerWarningCollector);
+            results.add(checkerExecutor.get().submit(() -> validation.accept(checker, checkerWarningCollector)));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                getFutureValue(results.get(i));
+            }
+            finally {
+                checkerWarnings.get(i).getWarnings().forEach(warningCollector::add);
+            }
+        }
+    }
+
     public interface Checker
     {
         void validate(PlanNode planNode, Session session, Metadata metadata, WarningCollector warningCollector);
@@ -133,6 +194,31 @@ public final class PlanChecker
         }
     }
 
+    private static class BufferingWarningCollector
+            implements WarningCollector
+    {
+        @GuardedBy("this")
+        private final List<PrestoWarning> warnings = new ArrayList<>();
+
+        @Override
+        public synchronized void add(PrestoWarning warning)
+        {
+            warnings.add(requireNonNull(warning, "warning is null"));
+        }
+
+        @Override
+        public synchronized List<PrestoWarning> getWarnings()
+        {
+            return ImmutableList.copyOf(warnings);
+        }
+
+        @Override
+        public synchronized boolean hasWarnings()
+        {
+            return !warnings.isEmpty();
+        }
+    }
+
     private enum Stage
     {
         INTERMEDIATE, FINAL, FRAGMENT
@@ -89,6 +89,7 @@ import java.util.stream.IntStream;
 import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
 import static com.facebook.presto.SystemSessionProperties.MAX_UNACKNOWLEDGED_SPLITS_PER_TASK;
 import static com.facebook.presto.SystemSessionProperties.RESOURCE_AWARE_SCHEDULING_STRATEGY;
+import static com.facebook.presto.common.RuntimeMetricName.SCHEDULER_AFFINITY_PREFERRED_NODE_SPLITS;
 import static com.facebook.presto.execution.scheduler.NetworkLocation.ROOT_LOCATION;
 import static com.facebook.presto.execution.scheduler.NodeSelectionHashStrategy.CONSISTENT_HASHING;
 import static com.facebook.presto.spi.schedule.NodeSelectionStrategy.HARD_AFFINITY;
@@ -765,6 +766,43 @@ public class TestNodeScheduler
         assertEquals(splitPlacementResult.getAssignments().get(node4).stream().map(Split::getConnectorSplit).map(ConnectorSplit::getSplitIdentifier).collect(toImmutableSet()), ImmutableSet.of(5, 6, 8));
     }
 
+    @Test
+    public void testAffinityAssignmentWithBoundedLoad()
+    {
+        NodeTaskMap nodeTaskMap = new NodeTaskMap(finalizerService);
+        TestingTransactionHandle transactionHandle = TestingTransactionHandle.create();
+        NodeSchedulerConfig nodeSchedulerConfig = new NodeSchedulerConfig()
+                .setNodeSelectionHashStrategy(CONSISTENT_HASHING)
+                .setMinVirtualNodeCount(3)
+                .setMaxPreferredNodes(3)
+                .setAffinityLoadBoundEnabled(true)
+                .setAffinityLoadBoundEpsilon(0.25)
+                .setMaxSplitsPerNode(20)
+                .setIncludeCoordinator(false)
+                .setMaxPendingSplitsPerTask(10);
+
+        NodeSelectionStats nodeSelectionStats = new NodeSelectionStats();
+        NodeScheduler nodeScheduler = new NodeScheduler(new LegacyNetworkTopology(), nodeManager, nodeSelectionStats, nodeSchedulerConfig, nodeTaskMap, new ThrowingNodeTtlFetcherManager(), new NoOpQueryManager(), new SimpleTtlNodeSelectorConfig());
+        NodeSelector nodeSelector = nodeScheduler.createNodeSelector(session, CONNECTOR_ID, 3);
+
+        Set<Split> splits = new HashSet<>();
+        IntStream.range(0, 10).forEach(i -> splits.add(new Split(CONNECTOR_ID, transactionHandle, new TestAffinitySplitRemote(i))));
+
+        // Without the load bound, 8 of the 10 splits hash to the same node (see testAffinityAssignmentWithConsistentHashing).
+        // With the load bound, no node gets more than (1 + 0.25) * 10 / 3 splits, and the overflow goes to the next preferred node.
+        SplitPlacementResult splitPlacementResult = nodeSelector.computeAssignments(splits, ImmutableList.of());
+        assertEquals(splitPlacementResult.getAssignments().size(), 10);
+        assertEquals(splitPlacementResult.getAssignments().keySet().size(), 3);
+        for (InternalNode node : splitPlacementResult.getAssignments().keySet()) {
+            assertTrue(splitPlacementResult.getAssignments().get(node).size() <= 5);
+        }
+        assertTrue(nodeSelectionStats.getPreferredOverloadedNodeSkippedCount().getTotalCount() > 0);
+
+        // every split still lands on one of its preferred nodes
+        assertEquals(session.getRuntimeStats().getMetric(SCHEDULER_AFFINITY_PREFERRED_NODE_SPLITS).getSum(), 10);
+        assertEquals(nodeSelectionStats.getPreferredNodeSelectedRatio(), 1.0);
+    }
+
     @Test
     public void testHardAffinityAssignment()
     {
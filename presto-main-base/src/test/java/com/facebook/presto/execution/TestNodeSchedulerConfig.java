@@ -41,7 +41,9 @@ public class TestNodeSchedulerConfig
                 .setNodeSelectionHashStrategy(MODULAR_HASHING)
                 .setMinVirtualNodeCount(1000)
                 .setResourceAwareSchedulingStrategy(RANDOM)
-                .setMaxPreferredNodes(2));
+                .setMaxPreferredNodes(2)
+                .setAffinityLoadBoundEnabled(false)
+                .setAffinityLoadBoundEpsilon(0.25));
     }
 
     @Test
@@ -58,6 +60,8 @@ public class TestNodeSchedulerConfig
                 .put("node-scheduler.consistent-hashing-min-virtual-node-count", "2000")
                 .put("experimental.resource-aware-scheduling-strategy", "TTL")
                 .put("node-scheduler.max-preferred-nodes", "5")
+                .put("node-scheduler.affinity-load-bound-enabled", "true")
+                .put("node-scheduler.affinity-load-bound-epsilon", "0.5")
                 .build();
 
         NodeSchedulerConfig expected = new NodeSchedulerConfig()
@@ -70,7 +74,9 @@ public class TestNodeSchedulerConfig
                 .setNodeSelectionHashStrategy(CONSISTENT_HASHING)
                 .setMinVirtualNodeCount(2000)
                 .setResourceAwareSchedulingStrategy(TTL)
-                .setMaxPreferredNodes(5);
+                .setMaxPreferredNodes(5)
+                .setAffinityLoadBoundEnabled(true)
+                .setAffinityLoadBoundEpsilon(0.5);
 
         ConfigAssertions.assertFullMapping(properties, expected);
     }
@@ -20,9 +20,13 @@ import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import org.testng.annotations.Test;
 
+import javax.validation.constraints.AssertTrue;
+
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import static com.facebook.airlift.testing.ValidationAssertions.assertFailsValidation;
+import static com.facebook.airlift.testing.ValidationAssertions.assertValidates;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.airlift.units.DataSize.Unit.PETABYTE;
 import static io.airlift.units.DataSize.Unit.TERABYTE;
@@ -50,6 +54,9 @@ public class TestQueryManagerConfig
                 .setClientTimeout(new Duration(5, TimeUnit.MINUTES))
                 .setScheduleSplitBatchSize(1000)
                 .setMinScheduleSplitBatchSize(100)
+                .setMinAdaptiveScheduleSplitBatchSize(100)
+                .setMaxScheduleSplitBatchSize(10_000)
+                .setAdaptiveScheduleSplitBatchSizeEnabled(false)
                 .setMaxConcurrentQueries(1000)
                 .setMaxQueuedQueries(5000)
                 .setHashPartitionCount(100)
@@ -104,6 +111,9 @@ public class TestQueryManagerConfig
                 .put("resource-group-runtimeinfo-refresh-interval", "10ms")
                 .put("query.schedule-split-batch-size", "99")
                 .put("query.min-schedule-split-batch-size", "9")
+                .put("query.min-adaptive-schedule-split-batch-size", "19")
+                .put("query.max-schedule-split-batch-size", "999")
+                .put("query.adaptive-schedule-split-batch-size-enabled", "true")
                 .put("query.max-concurrent-queries", "10")
                 .put("query.max-queued-queries", "15")
                 .put("query.hash-partition-count", "16")
@@ -155,6 +165,9 @@ public class TestQueryManagerConfig
                 .setClientTimeout(new Duration(10, TimeUnit.SECONDS))
                 .setScheduleSplitBatchSize(99)
                 .setMinScheduleSplitBatchSize(9)
+                .setMinAdaptiveScheduleSplitBatchSize(19)
+                .setMaxScheduleSplitBatchSize(999)
+                .setAdaptiveScheduleSplitBatchSizeEnabled(true)
                 .setMaxConcurrentQueries(10)
                 .setMaxQueuedQueries(15)
                 .setHashPartitionCount(16)
@@ -193,4 +206,19 @@ public class TestQueryManagerConfig
                 .setMinColumnarEncodingChannelsToPreferRowWiseEncoding(123);
         ConfigAssertions.assertFullMapping(properties, expected);
     }
+
+    @Test
+    public void testAdaptiveScheduleSplitBatchSizeValidation()
+    {
+        assertValidates(new QueryManagerConfig()
+                .setMinAdaptiveScheduleSplitBatchSize(10)
+                .setMaxScheduleSplitBatchSize(10));
+        assertFailsValidation(
+                new QueryManagerConfig()
+                        .setMinAdaptiveScheduleSplitBatchSize(11)
+                        .setMaxScheduleSplitBatchSize(10),
+                "adaptiveScheduleSplitBatchSizeRangeValid",
+                "query.min-adaptive-schedule-split-batch-size must not be greater than query.max-schedule-split-batch-size",
+                AssertTrue.class);
+    }
 }
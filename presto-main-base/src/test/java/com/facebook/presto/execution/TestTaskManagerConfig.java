@@ -81,7 +81,9 @@ public class TestTaskManagerConfig
                 .setHighMemoryTaskKillerHeapMemoryThreshold(0.9)
                 .setTaskUpdateSizeTrackingEnabled(true)
                 .setSlowMethodThresholdOnEventLoop(new Duration(0, SECONDS))
-                .setEventLoopEnabled(false));
+                .setEventLoopEnabled(false)
+                .setPlanFragmentCacheMaxSize(new DataSize(32, Unit.MEGABYTE))
+                .setPlanFragmentCacheTtl(new Duration(10, MINUTES)));
     }
 
     @Test
@@ -132,6 +134,8 @@ public class TestTaskManagerConfig
                 .put("task.update-size-tracking-enabled", "false")
                 .put("task.enable-event-loop", "true")
                 .put("task.event-loop-slow-method-threshold", "10m")
+                .put("task.plan-fragment-cache-max-size", "8MB")
+                .put("task.plan-fragment-cache-ttl", "1m")
                 .build();
 
         TaskManagerConfig expected = new TaskManagerConfig()
@@ -178,7 +182,9 @@ public class TestTaskManagerConfig
                 .setHighMemoryTaskKillerHeapMemoryThreshold(0.8)
                 .setTaskUpdateSizeTrackingEnabled(false)
                 .setEventLoopEnabled(true)
-                .setSlowMethodThresholdOnEventLoop(new Duration(10, MINUTES));
+                .setSlowMethodThresholdOnEventLoop(new Duration(10, MINUTES))
+                .setPlanFragmentCacheMaxSize(new DataSize(8, Unit.MEGABYTE))
+                .setPlanFragmentCacheTtl(new Duration(1, MINUTES));
 
         assertFullMapping(properties, expected);
     }
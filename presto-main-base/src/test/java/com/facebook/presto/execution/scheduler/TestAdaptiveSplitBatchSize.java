@@ -0,0 +1,67 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.execution.scheduler;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestAdaptiveSplitBatchSize
+{
+    @Test
+    public void testFixed()
+    {
+        AdaptiveSplitBatchSize batchSize = AdaptiveSplitBatchSize.fixed(100);
+        assertFalse(batchSize.isAdaptive());
+
+        batchSize.recordPlaced(1000);
+        assertEquals(batchSize.getBatchSize(), 100);
+        batchSize.recordBackPressure();
+        assertEquals(batchSize.getBatchSize(), 100);
+    }
+
+    @Test
+    public void testRampUpAndDown()
+    {
+        AdaptiveSplitBatchSize batchSize = AdaptiveSplitBatchSize.adaptive(10, 100);
+        assertTrue(batchSize.isAdaptive());
+        assertEquals(batchSize.getBatchSize(), 10);
+
+        // a partially filled batch does not grow the batch size
+        batchSize.recordPlaced(5);
+        assertEquals(batchSize.getBatchSize(), 10);
+
+        batchSize.recordPlaced(10);
+        assertEquals(batchSize.getBatchSize(), 20);
+        batchSize.recordPlaced(20);
+        assertEquals(batchSize.getBatchSize(), 40);
+        batchSize.recordPlaced(40);
+        assertEquals(batchSize.getBatchSize(), 80);
+        batchSize.recordPlaced(80);
+        assertEquals(batchSize.getBatchSize(), 100);
+        batchSize.recordPlaced(100);
+        assertEquals(batchSize.getBatchSize(), 100);
+
+        batchSize.recordBackPressure();
+        assertEquals(batchSize.getBatchSize(), 50);
+        batchSize.recordBackPressure();
+        assertEquals(batchSize.getBatchSize(), 25);
+        batchSize.recordBackPressure();
+        assertEquals(batchSize.getBatchSize(), 12);
+        batchSize.recordBackPressure();
+        assertEquals(batchSize.getBatchSize(), 10);
+    }
+}
@@ -225,6 +225,35 @@ public class TestSourcePartitionedScheduler
         stage.abort();
     }
 
+    @Test
+    public void testScheduleSplitsAdaptiveBatchSize()
+    {
+        SubPlan plan = createPlan();
+        NodeTaskMap nodeTaskMap = new NodeTaskMap(finalizerService);
+        SqlStageExecution stage = createSqlStageExecution(plan, nodeTaskMap);
+
+        AdaptiveSplitBatchSize splitBatchSize = AdaptiveSplitBatchSize.adaptive(1, 16);
+        StageScheduler scheduler = getSourcePartitionedScheduler(createFixedSplitSource(60, TestingSplit::createRemoteSplit), stage, nodeManager, nodeTaskMap, splitBatchSize);
+
+        int scheduleCalls = 0;
+        ScheduleResult scheduleResult;
+        do {
+            scheduleResult = scheduler.schedule();
+            scheduleCalls++;
+            // never blocks
+            assertTrue(scheduleResult.getBlocked().isDone());
+        }
+        while (!scheduleResult.isFinished() && scheduleCalls < 60);
+
+        assertTrue(scheduleResult.isFinished());
+        // the batch size ramps up, so far fewer calls are needed than with one split at a time
+        assertTrue(scheduleCalls < 20, "scheduleCalls: " + scheduleCalls);
+        assertEquals(splitBatchSize.getBatchSize(), 16);
+        assertPartitionedSplitCount(stage, 60);
+
+        stage.abort();
+    }
+
     @Test
     public void testScheduleSplitsBlock()
     {
@@ -458,6 +487,16 @@ public class TestSourcePartitionedScheduler
             InternalNodeManager nodeManager,
             NodeTaskMap nodeTaskMap,
             int splitBatchSize)
+    {
+        return getSourcePartitionedScheduler(connectorSplitSource, stage, nodeManager, nodeTaskMap, AdaptiveSplitBatchSize.fixed(splitBatchSize));
+    }
+
+    private static StageScheduler getSourcePartitionedScheduler(
+            ConnectorSplitSource connectorSplitSource,
+            SqlStageExecution stage,
+            InternalNodeManager nodeManager,
+            NodeTaskMap nodeTaskMap,
+            AdaptiveSplitBatchSize splitBatchSize)
     {
         NodeSchedulerConfig nodeSchedulerConfig = new NodeSchedulerConfig()
                 .setIncludeCoordinator(false)
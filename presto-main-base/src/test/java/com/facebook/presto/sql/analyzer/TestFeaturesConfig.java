@@ -251,6 +251,7 @@ public class TestFeaturesConfig
                 .setIncludeValuesNodeInConnectorOptimizer(true)
                 .setEagerPlanValidationEnabled(false)
                 .setEagerPlanValidationThreadPoolSize(20)
+                .setPlanCheckerThreadPoolSize(0)
                 .setPrestoSparkExecutionEnvironment(false)
                 .setSingleNodeExecutionEnabled(false)
                 .setNativeExecutionScaleWritersThreadsEnabled(false)
@@ -464,6 +465,7 @@ public class TestFeaturesConfig
                 .put("optimizer.include-values-node-in-connector-optimizer", "false")
                 .put("eager-plan-validation-enabled", "true")
                 .put("eager-plan-validation-thread-pool-size", "2")
+                .put("plan-checker-thread-pool-size", "4")
                 .put("optimizer.inner-join-pushdown-enabled", "true")
                 .put("optimizer.broadcast-semi-join-for-delete", "false")
                 .put("optimizer.inequality-join-pushdown-enabled", "true")
@@ -674,6 +676,7 @@ public class TestFeaturesConfig
                 .setIncludeValuesNodeInConnectorOptimizer(false)
                 .setEagerPlanValidationEnabled(true)
                 .setEagerPlanValidationThreadPoolSize(2)
+                .setPlanCheckerThreadPoolSize(4)
                 .setPrestoSparkExecutionEnvironment(true)
                 .setSingleNodeExecutionEnabled(true)
                 .setNativeExecutionScaleWritersThreadsEnabled(true)
@@ -0,0 +1,95 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.sql.planner.sanity;
+
+import com.facebook.presto.metadata.Metadata;
+import com.facebook.presto.spi.WarningCollector;
+import com.facebook.presto.spi.plan.Assignments;
+import com.facebook.presto.spi.plan.OutputNode;
+import com.facebook.presto.spi.plan.PlanNode;
+import com.facebook.presto.spi.plan.PlanNodeIdAllocator;
+import com.facebook.presto.spi.plan.ProjectNode;
+import com.facebook.presto.spi.plan.SimplePlanFragment;
+import com.facebook.presto.spi.plan.ValuesNode;
+import com.facebook.presto.sql.analyzer.FeaturesConfig;
+import com.facebook.presto.sql.planner.plan.JsonCodecSimplePlanFragmentSerde;
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
+import static com.facebook.airlift.json.JsonCodec.jsonCodec;
+import static com.facebook.presto.SessionTestUtils.TEST_SESSION;
+import static com.facebook.presto.metadata.MetadataManager.createTestMetadataManager;
+import static com.facebook.presto.spi.plan.ProjectNode.Locality.LOCAL;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.testng.Assert.assertThrows;
+
+public class TestPlanChecker
+{
+    private final PlanNodeIdAllocator idAllocator = new PlanNodeIdAllocator();
+    private final Metadata metadata = createTestMetadataManager();
+    private final ExecutorService executor = newFixedThreadPool(4, daemonThreadsNamed("test-plan-checker-%s"));
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testParallelValidation()
+    {
+        PlanChecker sequentialChecker = createPlanChecker(0);
+        PlanChecker parallelChecker = createPlanChecker(4);
+
+        PlanNode validPlan = outputNode(valuesNode());
+        sequentialChecker.validateIntermediatePlan(validPlan, TEST_SESSION, metadata, WarningCollector.NOOP);
+        parallelChecker.validateIntermediatePlan(validPlan, TEST_SESSION, metadata, WarningCollector.NOOP);
+        sequentialChecker.validateFinalPlan(validPlan, TEST_SESSION, metadata, WarningCollector.NOOP);
+        parallelChecker.validateFinalPlan(validPlan, TEST_SESSION, metadata, WarningCollector.NOOP);
+
+        // a plan with two output nodes fails with the same error regardless of how the checkers are run
+        PlanNode invalidPlan = outputNode(outputNode(valuesNode()));
+        assertThrows(IllegalStateException.class, () -> sequentialChecker.validateIntermediatePlan(invalidPlan, TEST_SESSION, metadata, WarningCollector.NOOP));
+        assertThrows(IllegalStateException.class, () -> parallelChecker.validateIntermediatePlan(invalidPlan, TEST_SESSION, metadata, WarningCollector.NOOP));
+    }
+
+    private PlanNode outputNode(PlanNode source)
+    {
+        return new OutputNode(Optional.empty(), idAllocator.getNextId(), source, ImmutableList.of(), ImmutableList.of());
+    }
+
+    private PlanNode valuesNode()
+    {
+        return new ProjectNode(
+                Optional.empty(),
+                idAllocator.getNextId(),
+                new ValuesNode(Optional.empty(), idAllocator.getNextId(), ImmutableList.of(), ImmutableList.of(), Optional.empty()),
+                Assignments.of(),
+                LOCAL);
+    }
+
+    private PlanChecker createPlanChecker(int threadPoolSize)
+    {
+        return new PlanChecker(
+                new FeaturesConfig().setPlanCheckerThreadPoolSize(threadPoolSize),
+                false,
+                new PlanCheckerProviderManager(new JsonCodecSimplePlanFragmentSerde(jsonCodec(SimplePlanFragment.class)), new PlanCheckerProviderManagerConfig()),
+                executor);
+    }
+}
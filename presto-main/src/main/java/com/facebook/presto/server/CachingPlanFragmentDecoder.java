@@ -0,0 +1,144 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.server;
+
+import com.facebook.airlift.json.Codec;
+import com.facebook.presto.sql.planner.PlanFragment;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.airlift.slice.XxHash64;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import org.weakref.jmx.Managed;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.airlift.slice.Slices.wrappedBuffer;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Decodes the plan fragments of task update requests.
+ * <p>
+ * This is a worker-side decode cache only: the coordinator still sends the full fragment to
+ * every task, and the task update protocol is unchanged. All tasks of a stage receive
+ * byte-identical fragments, so the decoded fragment is cached by its serialized form and shared
+ * by the tasks of that stage running on this worker. Lookups hash the bytes with XxHash64 and
+ * compare them on a hash match, and entries are weighed by their serialized size.
+ * <p>
+ * Sharing is safe because a decoded fragment is read-only: plan nodes and row expressions only
+ * have final fields (verified by {@code TestCachingPlanFragmentDecoder}), the only mutable state of
+ * {@link PlanFragment} is its synchronized serialization cache, and connector handles referenced by
+ * the plan are already used concurrently by all drivers of a single task.
+ */
+public class CachingPlanFragmentDecoder
+{
+    private final Codec<PlanFragment> planFragmentCodec;
+    @Nullable
+    private final Cache<FragmentBytes, PlanFragment> cache;
+
+    public CachingPlanFragmentDecoder(Codec<PlanFragment> planFragmentCodec, DataSize maxSize, Duration expireAfterAccess)
+    {
+        this.planFragmentCodec = requireNonNull(planFragmentCodec, "planFragmentCodec is null");
+        requireNonNull(maxSize, "maxSize is null");
+        requireNonNull(expireAfterAccess, "expireAfterAccess is null");
+
+        if (maxSize.toBytes() > 0) {
+            cache = CacheBuilder.newBuilder()
+                    .recordStats()
+                    .maximumWeight(maxSize.toBytes())
+                    .weigher((FragmentBytes key, PlanFragment value) -> key.getSize())
+                    .expireAfterAccess(expireAfterAccess.toMillis(), MILLISECONDS)
+                    .build();
+        }
+        else {
+            cache = null;
+        }
+    }
+
+    public PlanFragment decode(byte[] fragment)
+    {
+        requireNonNull(fragment, "fragment is null");
+        if (cache == null) {
+            return planFragmentCodec.fromBytes(fragment);
+        }
+
+        try {
+            return cache.get(new FragmentBytes(fragment), () -> planFragmentCodec.fromBytes(fragment));
+        }
+        catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Managed
+    public long getCacheSize()
+    {
+        return cache == null ? 0 : cache.size();
+    }
+
+    @Managed
+    public long getCacheHitCount()
+    {
+        return cache == null ? 0 : cache.stats().hitCount();
+    }
+
+    @Managed
+    public long getCacheMissCount()
+    {
+        return cache == null ? 0 : cache.stats().missCount();
+    }
+
+    private static final class FragmentBytes
+    {
+        private final byte[] bytes;
+        private final int hashCode;
+
+        public FragmentBytes(byte[] bytes)
+        {
+            this.bytes = bytes;
+            this.hashCode = Long.hashCode(XxHash64.hash(wrappedBuffer(bytes)));
+        }
+
+        public int getSize()
+        {
+            return bytes.length;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            FragmentBytes other = (FragmentBytes) obj;
+            return hashCode == other.hashCode && Arrays.equals(bytes, other.bytes);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+}
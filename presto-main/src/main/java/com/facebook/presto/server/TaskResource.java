@@ -14,13 +14,13 @@
 package com.facebook.presto.server;
 
 import com.facebook.airlift.concurrent.BoundedExecutor;
-import com.facebook.airlift.json.Codec;
 import com.facebook.airlift.json.JsonCodec;
 import com.facebook.presto.Session;
 import com.facebook.presto.connector.ConnectorTypeSerdeManager;
 import com.facebook.presto.execution.TaskId;
 import com.facebook.presto.execution.TaskInfo;
 import com.facebook.presto.execution.TaskManager;
+import com.facebook.presto.execution.TaskManagerConfig;
 import com.facebook.presto.execution.TaskState;
 import com.facebook.presto.execution.TaskStatus;
 import com.facebook.presto.execution.buffer.OutputBufferInfo;
@@ -33,6 +33,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.units.Duration;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
 
 import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
@@ -92,7 +94,7 @@ public class TaskResource
     private final SessionPropertyManager sessionPropertyManager;
     private final Executor responseExecutor;
     private final ScheduledExecutorService timeoutExecutor;
-    private final Codec<PlanFragment> planFragmentCodec;
+    private final CachingPlanFragmentDecoder planFragmentDecoder;
     private final HandleResolver handleResolver;
     private final ConnectorTypeSerdeManager connectorTypeSerdeManager;
 
@@ -104,13 +106,18 @@ public class TaskResource
             @ForAsyncRpc ScheduledExecutorService timeoutExecutor,
             JsonCodec<PlanFragment> planFragmentJsonCodec,
             HandleResolver handleResolver,
-            ConnectorTypeSerdeManager connectorTypeSerdeManager)
+            ConnectorTypeSerdeManager connectorTypeSerdeManager,
+            TaskManagerConfig taskManagerConfig)
     {
         this.taskManager = requireNonNull(taskManager, "taskManager is null");
         this.sessionPropertyManager = requireNonNull(sessionPropertyManager, "sessionPropertyManager is null");
         this.responseExecutor = requireNonNull(responseExecutor, "responseExecutor is null");
         this.timeoutExecutor = requireNonNull(timeoutExecutor, "timeoutExecutor is null");
-        this.planFragmentCodec = planFragmentJsonCodec;
+        requireNonNull(taskManagerConfig, "taskManagerConfig is null");
+        this.planFragmentDecoder = new CachingPlanFragmentDecoder(
+                requireNonNull(planFragmentJsonCodec, "planFragmentJsonCodec is null"),
+                taskManagerConfig.getPlanFragmentCacheMaxSize(),
+                taskManagerConfig.getPlanFragmentCacheTtl());
         this.handleResolver = requireNonNull(handleResolver, "handleResolver is null");
         this.connectorTypeSerdeManager = requireNonNull(connectorTypeSerdeManager, "connectorTypeSerdeManager is null");
     }
@@ -140,7 +147,7 @@ public class TaskResource
         Session session = taskUpdateRequest.getSession().toSession(sessionPropertyManager, taskUpdateRequest.getExtraCredentials());
         TaskInfo taskInfo = taskManager.updateTask(session,
                 taskId,
-                taskUpdateRequest.getFragment().map(planFragmentCodec::fromBytes),
+                taskUpdateRequest.getFragment().map(planFragmentDecoder::decode),
                 taskUpdateRequest.getSources(),
                 taskUpdateRequest.getOutputIds(),
                 taskUpdateRequest.getTableWriteInfo());
@@ -350,6 +357,13 @@ public class TaskResource
         taskManager.removeRemoteSource(taskId, remoteSourceTaskId);
     }
 
+    @Managed
+    @Nested
+    public CachingPlanFragmentDecoder getPlanFragmentDecoder()
+    {
+        return planFragmentDecoder;
+    }
+
     private static boolean shouldSummarize(UriInfo uriInfo)
     {
         return uriInfo.getQueryParameters().containsKey("summarize");
@@ -0,0 +1,166 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.server;
+
+import com.facebook.airlift.json.Codec;
+import com.facebook.presto.spi.plan.PlanNode;
+import com.facebook.presto.spi.relation.RowExpression;
+import com.facebook.presto.sql.planner.PlanFragment;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.reflect.ClassPath;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static com.facebook.presto.execution.TaskTestUtils.PLAN_FRAGMENT;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static io.airlift.units.DataSize.Unit.KILOBYTE;
+import static java.lang.reflect.Modifier.isFinal;
+import static java.lang.reflect.Modifier.isStatic;
+import static java.lang.reflect.Modifier.isSynchronized;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class TestCachingPlanFragmentDecoder
+{
+    @Test
+    public void testCachedDecode()
+    {
+        CountingCodec codec = new CountingCodec();
+        CachingPlanFragmentDecoder decoder = new CachingPlanFragmentDecoder(codec, new DataSize(1, KILOBYTE), new Duration(10, MINUTES));
+
+        PlanFragment first = decoder.decode("fragment-1".getBytes(UTF_8));
+        assertSame(decoder.decode("fragment-1".getBytes(UTF_8)), first);
+        assertEquals(codec.getDecodeCount(), 1);
+        assertEquals(decoder.getCacheHitCount(), 1);
+
+        decoder.decode("fragment-2".getBytes(UTF_8));
+        assertEquals(codec.getDecodeCount(), 2);
+        assertEquals(decoder.getCacheMissCount(), 2);
+        assertEquals(decoder.getCacheSize(), 2);
+    }
+
+    @Test
+    public void testWeighedBySerializedSize()
+    {
+        CountingCodec codec = new CountingCodec();
+        CachingPlanFragmentDecoder decoder = new CachingPlanFragmentDecoder(codec, new DataSize(1, KILOBYTE), new Duration(10, MINUTES));
+
+        decoder.decode("fragment-1".getBytes(UTF_8));
+        assertEquals(decoder.getCacheSize(), 1);
+
+        // a fragment larger than the whole cache is decoded but not retained
+        byte[] largeFragment = new byte[2048];
+        decoder.decode(largeFragment);
+        decoder.decode(largeFragment);
+        assertEquals(codec.getDecodeCount(), 3);
+        assertEquals(decoder.getCacheSize(), 1);
+    }
+
+    @Test
+    public void testCacheDisabled()
+    {
+        CountingCodec codec = new CountingCodec();
+        CachingPlanFragmentDecoder decoder = new CachingPlanFragmentDecoder(codec, new DataSize(0, BYTE), new Duration(10, MINUTES));
+
+        decoder.decode("fragment-1".getBytes(UTF_8));
+        decoder.decode("fragment-1".getBytes(UTF_8));
+        assertEquals(codec.getDecodeCount(), 2);
+        assertEquals(decoder.getCacheSize(), 0);
+    }
+
+    @Test
+    public void testSharedFragmentsAreImmutable()
+            throws IOException, NoSuchMethodException
+    {
+        // A cached fragment is shared by all tasks of the stage on this worker, so neither the
+        // fragment nor the plan nodes and expressions it references may carry mutable state
+        // the only mutable state of a fragment is its serialization cache, which is guarded by the fragment
+        Set<String> mutableFragmentFields = Arrays.stream(PlanFragment.class.getDeclaredFields())
+                .filter(field -> !isStatic(field.getModifiers()) && !isFinal(field.getModifiers()))
+                .map(Field::getName)
+                .collect(toImmutableSet());
+        assertEquals(mutableFragmentFields, ImmutableSet.of("cachedSerialization", "lastUsedCodec"));
+        assertTrue(isSynchronized(PlanFragment.class.getMethod("bytesForTaskSerialization", Codec.class).getModifiers()));
+
+        List<String> packages = ImmutableList.of("com.facebook.presto.spi.plan", "com.facebook.presto.spi.relation", "com.facebook.presto.sql.planner.plan");
+        ClassPath classPath = ClassPath.from(getClass().getClassLoader());
+        int checkedClasses = 0;
+        for (String packageName : packages) {
+            for (ClassPath.ClassInfo classInfo : classPath.getTopLevelClasses(packageName)) {
+                Class<?> clazz = classInfo.load();
+                if (!PlanNode.class.isAssignableFrom(clazz) && !RowExpression.class.isAssignableFrom(clazz)) {
+                    continue;
+                }
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (!isStatic(field.getModifiers())) {
+                        assertTrue(isFinal(field.getModifiers()), "Plan field is not final: " + field);
+                    }
+                }
+                checkedClasses++;
+            }
+        }
+        assertTrue(checkedClasses > 50, "Plan node classes were not found on the class path");
+    }
+
+    private static class CountingCodec
+            implements Codec<PlanFragment>
+    {
+        private int decodeCount;
+
+        public int getDecodeCount()
+        {
+            return decodeCount;
+        }
+
+        @Override
+        public byte[] toBytes(PlanFragment instance)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PlanFragment fromBytes(byte[] bytes)
+        {
+            decodeCount++;
+            // return a distinct instance for every decode so that cache hits are observable
+            return PLAN_FRAGMENT.withBucketToPartition(PLAN_FRAGMENT.getPartitioningScheme().getBucketToPartition());
+        }
+
+        @Override
+        public void writeBytes(OutputStream output, PlanFragment instance)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PlanFragment readBytes(InputStream input)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -15,6 +15,7 @@ package com.facebook.presto.orc;
 
 import com.facebook.presto.common.Page;
 import com.facebook.presto.common.RuntimeStats;
+import com.facebook.presto.common.RuntimeUnit;
 import com.facebook.presto.common.Subfield;
 import com.facebook.presto.common.block.Block;
 import com.facebook.presto.common.type.FixedWidthType;
@@ -43,6 +44,7 @@ import org.openjdk.jol.info.ClassLayout;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -54,6 +56,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static com.facebook.presto.orc.AbstractOrcRecordReader.LinearProbeRangeFinder.createTinyStripesRangeFinder;
@@ -64,6 +71,8 @@ import static com.facebook.presto.orc.OrcReader.MAX_BATCH_SIZE;
 import static com.facebook.presto.orc.OrcWriteValidation.WriteChecksumBuilder.createWriteChecksumBuilder;
 import static com.facebook.presto.orc.metadata.OrcType.OrcTypeKind.STRUCT;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.base.Verify.verify;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
@@ -124,6 +133,9 @@ abstract class AbstractOrcRecordReader<T extends StreamReader>
 
     private final RuntimeStats runtimeStats;
 
+    private final Optional<Executor> stripePrefetchExecutor;
+    private StripePrefetch stripePrefetch;
+
     public AbstractOrcRecordReader(
             Map<Integer, Type> includedColumns,
             Map<Integer, List<Subfield>> requiredSubfields,
@@ -156,7 +168,8 @@ abstract class AbstractOrcRecordReader<T extends StreamReader>
             boolean cacheable,
             RuntimeStats runtimeStats,
             Optional<OrcFileIntrospector> fileIntrospector,
-            long fileModificationTime)
+            long fileModificationTime,
+            Optional<Executor> stripePrefetchExecutor)
     {
         requireNonNull(includedColumns, "includedColumns is null");
         requireNonNull(predicate, "predicate is null");
@@ -266,6 +279,14 @@ abstract class AbstractOrcRecordReader<T extends StreamReader>
                 fileIntrospector,
                 fileModificationTime);
 
+        // a prefetched stripe is read on another thread, so prefetching is not used when reading a stripe
+        // has side effects on this reader, or when the data source is not safe for concurrent reads
+        this.stripePrefetchExecutor = requireNonNull(stripePrefetchExecutor, "stripePrefetchExecutor is null")
+                .filter(executor -> !writeValidation.isPresent()
+                        && !fileIntrospector.isPresent()
+                        && this.dwrfEncryptionGroupMap.isEmpty()
+                        && !(this.orcDataSource instanceof CachingOrcDataSource));
+
         this.streamReaders = requireNonNull(streamReaders, "streamReaders is null");
         for (int columnId = 0; columnId < root.getFieldCount(); columnId++) {
             if (includedColumns.containsKey(columnId)) {
@@ -408,7 +429,14 @@ abstract class AbstractOrcRecordReader<T extends StreamReader>
     protected void updateMaxCombinedBytesPerRow(int columnIndex, Block block)
     {
         if (block.getPositionCount() > 0) {
-            long bytesPerCell = block.getSizeInBytes() / block.getPositionCount();
+            updateMaxCombinedBytesPerRow(columnIndex, block.getSizeInBytes(), block.getPositionCount());
+        }
+    }
+
+    protected void updateMaxCombinedBytesPerRow(int columnIndex, long sizeInBytes, int positionCount)
+    {
+        if (positionCount > 0) {
+            long bytesPerCell = sizeInBytes / positionCount;
             if (maxBytesPerCell[columnIndex] < bytesPerCell) {
                 maxCombinedBytesPerRow = maxCombinedBytesPerRow - maxBytesPerCell[columnIndex] + bytesPerCell;
                 maxBytesPerCell[columnIndex] = bytesPerCell;
@@ -503,6 +531,11 @@ abstract class AbstractOrcRecordReader<T extends StreamReader>
     public void close()
             throws IOException
     {
+        if (stripePrefetch != null) {
+            // the prefetch must not read from the data source after it is closed
+            stripePrefetch.close();
+            stripePrefetch = null;
+        }
         try (Closer closer = Closer.create()) {
             closer.register(orcDataSource);
             for (StreamReader column : streamReaders) {
@@ -627,9 +660,30 @@ abstract class AbstractOrcRecordReader<T extends StreamReader>
         currentBatchSize = toIntExact(min(nextBatchSize, maxBatchSize));
         nextBatchSize = min(currentBatchSize * BATCH_SIZE_GROWTH_FACTOR, MAX_BATCH_SIZE);
         currentBatchSize = toIntExact(min(currentBatchSize, currentGroupRowCount - nextRowInGroup));
+
+        if (stripePrefetchExecutor.isPresent()) {
+            startStripePrefetchIfNeeded();
+        }
         return currentBatchSize;
     }
 
+    private void startStripePrefetchIfNeeded()
+    {
+        int nextStripe = currentStripe + 1;
+        if (stripePrefetch != null || nextStripe >= stripes.size()) {
+            return;
+        }
+
+        // start reading the next stripe once half of the current stripe is consumed
+        long stripeRowsRead = currentPosition + currentBatchSize - currentStripePosition;
+        if (stripeRowsRead * 2 < stripes.get(currentStripe).getNumberOfRows()) {
+            return;
+        }
+
+        stripePrefetch = new StripePrefetch(nextStripe, stripes.get(nextStripe), stripeReader, systemMemoryUsage.newOrcAggregatedMemoryContext());
+        stripePrefetchExecutor.get().execute(stripePrefetch::run);
+    }
+
     private void advanceToNextStripe()
             throws IOException
     {
@@ -668,8 +722,25 @@ abstract class AbstractOrcRecordReader<T extends StreamReader>
             dwrfEncryptionInfo = Optional.of(createDwrfEncryptionInfo(encryptionLibrary.get(), stripeDecryptionKeyMetadata, intermediateKeyMetadata, dwrfEncryptionGroupMap));
         }
 
-        SharedBuffer sharedDecompressionBuffer = new SharedBuffer(currentStripeSystemMemoryContext.newOrcLocalMemoryContext("sharedDecompressionBuffer"));
-        Stripe stripe = stripeReader.readStripe(stripeInformation, currentStripeSystemMemoryContext, dwrfEncryptionInfo, sharedDecompressionBuffer);
+        Stripe stripe;
+        long start = System.nanoTime();
+        if (stripePrefetch != null) {
+            verify(stripePrefetch.getStripeIndex() == currentStripe, "prefetched stripe %s, but reading stripe %s", stripePrefetch.getStripeIndex(), currentStripe);
+            StripePrefetch prefetch = stripePrefetch;
+            stripePrefetch = null;
+
+            // the buffers of the prefetched stripe are already accounted in its own memory context
+            currentStripeSystemMemoryContext.close();
+            currentStripeSystemMemoryContext = prefetch.getMemoryContext();
+            stripe = prefetch.getStripe();
+            runtimeStats.addMetricValue("OrcPrefetchedStripes", RuntimeUnit.NONE, 1);
+        }
+        else {
+            SharedBuffer sharedDecompressionBuffer = new SharedBuffer(currentStripeSystemMemoryContext.newOrcLocalMemoryContext("sharedDecompressionBuffer"));
+            stripe = stripeReader.readStripe(stripeInformation, currentStripeSystemMemoryContext, dwrfEncryptionInfo, sharedDecompressionBuffer);
+        }
+        runtimeStats.addMetricValue("OrcStripeReadBlockedTimeNanos", RuntimeUnit.NANO, System.nanoTime() - start);
+
         if (stripe != null) {
             for (StreamReader column : streamReaders) {
                 if (column != null) {
@@ -789,6 +860,90 @@ abstract class AbstractOrcRecordReader<T extends StreamReader>
         return orcDataSource.getId();
     }
 
+    private static final class StripePrefetch
+    {
+        private final int stripeIndex;
+        private final StripeInformation stripeInformation;
+        private final StripeReader stripeReader;
+        private final OrcAggregatedMemoryContext memoryContext;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final CompletableFuture<Stripe> stripe = new CompletableFuture<>();
+
+        public StripePrefetch(int stripeIndex, StripeInformation stripeInformation, StripeReader stripeReader, OrcAggregatedMemoryContext memoryContext)
+        {
+            this.stripeIndex = stripeIndex;
+            this.stripeInformation = requireNonNull(stripeInformation, "stripeInformation is null");
+            this.stripeReader = requireNonNull(stripeReader, "stripeReader is null");
+            this.memoryContext = requireNonNull(memoryContext, "memoryContext is null");
+        }
+
+        public int getStripeIndex()
+        {
+            return stripeIndex;
+        }
+
+        public OrcAggregatedMemoryContext getMemoryContext()
+        {
+            return memoryContext;
+        }
+
+        public void run()
+        {
+            if (!started.compareAndSet(false, true)) {
+                // the stripe was taken over by the reader or the reader was closed before the executor got to it
+                return;
+            }
+            try {
+                stripe.complete(readStripe());
+            }
+            catch (Throwable t) {
+                stripe.completeExceptionally(t);
+            }
+        }
+
+        public Stripe getStripe()
+                throws IOException
+        {
+            if (started.compareAndSet(false, true)) {
+                // the executor has not started the prefetch yet, so read the stripe on the calling thread
+                return readStripe();
+            }
+            try {
+                return stripe.get();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a prefetched stripe");
+            }
+            catch (ExecutionException e) {
+                throwIfInstanceOf(e.getCause(), IOException.class);
+                throwIfUnchecked(e.getCause());
+                throw new IOException(e.getCause());
+            }
+        }
+
+        private Stripe readStripe()
+                throws IOException
+        {
+            // prefetching is only used without encrypted columns
+            SharedBuffer sharedDecompressionBuffer = new SharedBuffer(memoryContext.newOrcLocalMemoryContext("sharedDecompressionBuffer"));
+            return stripeReader.readStripe(stripeInformation, memoryContext, Optional.empty(), sharedDecompressionBuffer);
+        }
+
+        public void close()
+        {
+            if (!started.compareAndSet(false, true)) {
+                try {
+                    stripe.join();
+                }
+                catch (CompletionException ignored) {
+                    // the stripe is not used
+                }
+            }
+            memoryContext.close();
+        }
+    }
+
     private static class StripeInfo
     {
         private final StripeInformation stripe;
@@ -64,7 +64,16 @@ public final class ChunkedSliceOutput
 
     public ChunkedSliceOutput(int minChunkSize, int maxChunkSize, boolean resetOutputBuffer)
     {
-        this.chunkSupplier = new ChunkSupplier(minChunkSize, maxChunkSize, resetOutputBuffer);
+        this(minChunkSize, maxChunkSize, resetOutputBuffer, true);
+    }
+
+    /**
+     * @param reuseChunks whether chunks are reused after a reset. When disabled, the slices written
+     * by {@link #writeTo} stay unchanged after a reset and can be handed to another thread.
+     */
+    public ChunkedSliceOutput(int minChunkSize, int maxChunkSize, boolean resetOutputBuffer, boolean reuseChunks)
+    {
+        this.chunkSupplier = new ChunkSupplier(minChunkSize, maxChunkSize, resetOutputBuffer, reuseChunks);
 
         this.buffer = chunkSupplier.get();
         this.slice = Slices.wrappedBuffer(buffer);
@@ -348,13 +357,14 @@ public final class ChunkedSliceOutput
         private static final Logger log = Logger.get(ChunkSupplier.class);
         private final int maxChunkSize;
         private boolean resetOutputBuffer;
+        private final boolean reuseChunks;
 
         private final List<byte[]> bufferPool = new ArrayList<>();
         private final List<byte[]> usedBuffers = new ArrayList<>();
 
         private int currentSize;
 
-        public ChunkSupplier(int minChunkSize, int maxChunkSize, boolean resetOutputBuffer)
+        public ChunkSupplier(int minChunkSize, int maxChunkSize, boolean resetOutputBuffer, boolean reuseChunks)
         {
             checkArgument(minChunkSize >= MINIMUM_CHUNK_SIZE, "minimum chunk size of " + MINIMUM_CHUNK_SIZE + " required");
             checkArgument(maxChunkSize <= MAXIMUM_CHUNK_SIZE, "maximum chunk size of " + MAXIMUM_CHUNK_SIZE + " required");
@@ -363,6 +373,7 @@ public final class ChunkedSliceOutput
             this.currentSize = minChunkSize;
             this.maxChunkSize = maxChunkSize;
             this.resetOutputBuffer = resetOutputBuffer;
+            this.reuseChunks = reuseChunks;
         }
 
         public void reset()
@@ -376,7 +387,9 @@ public final class ChunkedSliceOutput
                 bufferPool.clear();
                 System.setProperty("RESET_OUTPUT_BUFFER", "RESET_OUTPUT_BUFFER");
             }
-            bufferPool.addAll(0, usedBuffers);
+            if (reuseChunks) {
+                bufferPool.addAll(0, usedBuffers);
+            }
             usedBuffers.clear();
         }
 
@@ -52,6 +52,7 @@ public class ColumnWriterOptions
     private final boolean mapStatisticsEnabled;
     private final int maxFlattenedMapKeyCount;
     private final boolean resetOutputBuffer;
+    private final boolean reuseOutputBufferChunks;
 
     public ColumnWriterOptions(
             CompressionKind compressionKind,
@@ -69,7 +70,8 @@ public class ColumnWriterOptions
             Set<Integer> flattenedNodes,
             boolean mapStatisticsEnabled,
             int maxFlattenedMapKeyCount,
-            boolean resetOutputBuffer)
+            boolean resetOutputBuffer,
+            boolean reuseOutputBufferChunks)
     {
         checkArgument(maxFlattenedMapKeyCount > 0, "maxFlattenedMapKeyCount must be positive: %s", maxFlattenedMapKeyCount);
         requireNonNull(compressionMaxBufferSize, "compressionMaxBufferSize is null");
@@ -90,6 +92,7 @@ public class ColumnWriterOptions
         this.mapStatisticsEnabled = mapStatisticsEnabled;
         this.maxFlattenedMapKeyCount = maxFlattenedMapKeyCount;
         this.resetOutputBuffer = resetOutputBuffer;
+        this.reuseOutputBufferChunks = reuseOutputBufferChunks;
     }
 
     public CompressionKind getCompressionKind()
@@ -171,6 +174,15 @@ public class ColumnWriterOptions
     {
         return resetOutputBuffer;
     }
+
+    /**
+     * Whether output buffers write the next stripe into the chunks of the previous one.
+     * Disabled when a flushed stripe is still read after the column writers are reset.
+     */
+    public boolean isReuseOutputBufferChunks()
+    {
+        return reuseOutputBufferChunks;
+    }
     /**
      * Create a copy of this ColumnWriterOptions, but disable string and integer dictionary encodings.
      */
@@ -200,7 +212,8 @@ public class ColumnWriterOptions
                 .setFlattenedNodes(getFlattenedNodes())
                 .setMapStatisticsEnabled(isMapStatisticsEnabled())
                 .setMaxFlattenedMapKeyCount(getMaxFlattenedMapKeyCount())
-                .setResetOutputBuffer(resetOutputBuffer);
+                .setResetOutputBuffer(resetOutputBuffer)
+                .setReuseOutputBufferChunks(reuseOutputBufferChunks);
     }
 
     public static Builder builder()
@@ -226,6 +239,7 @@ public class ColumnWriterOptions
         private boolean mapStatisticsEnabled;
         private int maxFlattenedMapKeyCount = DEFAULT_MAX_FLATTENED_MAP_KEY_COUNT;
         private boolean resetOutputBuffer = DEFAULT_RESET_OUTPUT_BUFFER;
+        private boolean reuseOutputBufferChunks = true;
 
         private Builder() {}
 
@@ -325,6 +339,12 @@ public class ColumnWriterOptions
             return this;
         }
 
+        public Builder setReuseOutputBufferChunks(boolean reuseOutputBufferChunks)
+        {
+            this.reuseOutputBufferChunks = reuseOutputBufferChunks;
+            return this;
+        }
+
         public ColumnWriterOptions build()
         {
             return new ColumnWriterOptions(
@@ -343,7 +363,8 @@ public class ColumnWriterOptions
                     flattenedNodes,
                     mapStatisticsEnabled,
                     maxFlattenedMapKeyCount,
-                    resetOutputBuffer);
+                    resetOutputBuffer,
+                    reuseOutputBufferChunks);
         }
     }
 }
@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc;
+
+import com.facebook.presto.cache.LocalDiskCache;
+import com.facebook.presto.common.RuntimeStats;
+import com.facebook.presto.orc.StripeReader.StripeId;
+import com.facebook.presto.orc.metadata.MetadataReader;
+import com.facebook.presto.orc.metadata.PostScript.HiveWriterVersion;
+import com.facebook.presto.orc.metadata.RowGroupIndex;
+import com.facebook.presto.orc.metadata.Stream.StreamKind;
+import com.facebook.presto.orc.metadata.statistics.HiveBloomFilter;
+import com.facebook.presto.orc.stream.OrcInputStream;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.slice.BasicSliceInput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import static com.facebook.presto.orc.metadata.Stream.StreamKind.BLOOM_FILTER;
+import static com.facebook.presto.orc.metadata.Stream.StreamKind.ROW_INDEX;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps stripe footers, and optionally the row index and bloom filter streams, in a
+ * {@link LocalDiskCache}, so they survive restarts and evictions from the on-heap caches.
+ */
+public class DiskCachingStripeMetadataSource
+        implements StripeMetadataSource
+{
+    private final StripeMetadataSource delegate;
+    private final LocalDiskCache diskCache;
+    private final boolean streamCacheEnabled;
+
+    public DiskCachingStripeMetadataSource(StripeMetadataSource delegate, LocalDiskCache diskCache, boolean streamCacheEnabled)
+    {
+        this.delegate = requireNonNull(delegate, "delegate is null");
+        this.diskCache = requireNonNull(diskCache, "diskCache is null");
+        this.streamCacheEnabled = streamCacheEnabled;
+    }
+
+    @Override
+    public Slice getStripeFooterSlice(OrcDataSource orcDataSource, StripeId stripeId, long footerOffset, int footerLength, boolean cacheable, long fileModificationTime)
+            throws IOException
+    {
+        if (!cacheable) {
+            return delegate.getStripeFooterSlice(orcDataSource, stripeId, footerOffset, footerLength, cacheable, fileModificationTime);
+        }
+        String key = stripeKey(stripeId, fileModificationTime) + "#footer";
+        Optional<Slice> cachedSlice = diskCache.get(key);
+        if (cachedSlice.isPresent() && cachedSlice.get().length() == footerLength) {
+            return cachedSlice.get();
+        }
+        Slice footerSlice = delegate.getStripeFooterSlice(orcDataSource, stripeId, footerOffset, footerLength, cacheable, fileModificationTime);
+        diskCache.put(key, footerSlice);
+        return footerSlice;
+    }
+
+    @Override
+    public Map<StreamId, OrcDataSourceInput> getInputs(OrcDataSource orcDataSource, StripeId stripeId, Map<StreamId, DiskRange> diskRanges, boolean cacheable, long fileModificationTime)
+            throws IOException
+    {
+        if (!cacheable || !streamCacheEnabled) {
+            return delegate.getInputs(orcDataSource, stripeId, diskRanges, cacheable, fileModificationTime);
+        }
+
+        ImmutableMap.Builder<StreamId, OrcDataSourceInput> inputsBuilder = ImmutableMap.builder();
+        ImmutableMap.Builder<StreamId, DiskRange> uncachedDiskRangesBuilder = ImmutableMap.builder();
+        for (Entry<StreamId, DiskRange> entry : diskRanges.entrySet()) {
+            if (isCachedStream(entry.getKey().getStreamKind())) {
+                Optional<Slice> streamSlice = diskCache.get(streamKey(stripeId, entry.getKey(), fileModificationTime));
+                if (streamSlice.isPresent() && streamSlice.get().length() == entry.getValue().getLength()) {
+                    inputsBuilder.put(entry.getKey(), new OrcDataSourceInput(new BasicSliceInput(streamSlice.get()), streamSlice.get().length()));
+                    continue;
+                }
+            }
+            uncachedDiskRangesBuilder.put(entry);
+        }
+
+        Map<StreamId, OrcDataSourceInput> uncachedInputs = delegate.getInputs(orcDataSource, stripeId, uncachedDiskRangesBuilder.build(), cacheable, fileModificationTime);
+        for (Entry<StreamId, OrcDataSourceInput> entry : uncachedInputs.entrySet()) {
+            if (isCachedStream(entry.getKey().getStreamKind())) {
+                // the input is consumed while the slice is copied, so it is replaced by an input over the copy
+                Slice streamSlice = Slices.wrappedBuffer(entry.getValue().getInput().readSlice(toIntExact(entry.getValue().getInput().length())).getBytes());
+                diskCache.put(streamKey(stripeId, entry.getKey(), fileModificationTime), streamSlice);
+                inputsBuilder.put(entry.getKey(), new OrcDataSourceInput(new BasicSliceInput(streamSlice), toIntExact(streamSlice.getRetainedSize())));
+            }
+            else {
+                inputsBuilder.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return inputsBuilder.build();
+    }
+
+    @Override
+    public List<RowGroupIndex> getRowIndexes(
+            MetadataReader metadataReader,
+            HiveWriterVersion hiveWriterVersion,
+            StripeId stripeId,
+            StreamId streamId,
+            OrcInputStream inputStream,
+            List<HiveBloomFilter> bloomFilters,
+            RuntimeStats runtimeStats,
+            long fileModificationTime)
+            throws IOException
+    {
+        return delegate.getRowIndexes(metadataReader, hiveWriterVersion, stripeId, streamId, inputStream, bloomFilters, runtimeStats, fileModificationTime);
+    }
+
+    private static String stripeKey(StripeId stripeId, long fileModificationTime)
+    {
+        return stripeId.getSourceId() + "#" + fileModificationTime + "#" + stripeId.getOffset();
+    }
+
+    private static String streamKey(StripeId stripeId, StreamId streamId, long fileModificationTime)
+    {
+        return stripeKey(stripeId, fileModificationTime) + "#" + streamId.getColumn() + "#" + streamId.getSequence() + "#" + streamId.getStreamKind();
+    }
+
+    private static boolean isCachedStream(StreamKind streamKind)
+    {
+        return streamKind == BLOOM_FILTER || streamKind == ROW_INDEX;
+    }
+}
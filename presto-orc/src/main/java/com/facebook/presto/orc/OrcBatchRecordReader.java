@@ -25,6 +25,7 @@ import com.facebook.presto.orc.metadata.statistics.ColumnStatistics;
 import com.facebook.presto.orc.metadata.statistics.StripeStatistics;
 import com.facebook.presto.orc.reader.BatchStreamReader;
 import com.facebook.presto.orc.reader.BatchStreamReaders;
+import com.facebook.presto.orc.reader.NestedBatchStreamReader;
 import com.google.common.collect.ImmutableMap;
 import io.airlift.slice.Slice;
 import org.joda.time.DateTimeZone;
@@ -42,6 +43,10 @@ public class OrcBatchRecordReader
 {
     private static final int INSTANCE_SIZE = ClassLayout.parseClass(OrcBatchRecordReader.class).instanceSize();
 
+    private final boolean lazyNestedBlocksEnabled;
+    // position counts of the blocks with lazy nested blocks returned for the current batch
+    private final int[] lazyNestedBlockPositionCounts;
+
     public OrcBatchRecordReader(
             Map<Integer, Type> includedColumns,
             OrcPredicate predicate,
@@ -109,12 +114,20 @@ public class OrcBatchRecordReader
                 cacheable,
                 runtimeStats,
                 Optional.empty(),
-                 fileModificationTime);
+                fileModificationTime,
+                options.getStripePrefetchExecutor());
+
+        this.lazyNestedBlocksEnabled = options.isLazyNestedBlocksEnabled();
+        this.lazyNestedBlockPositionCounts = new int[getStreamReaders().length];
     }
 
     public int nextBatch()
             throws IOException
     {
+        if (lazyNestedBlocksEnabled) {
+            updateLazyNestedBlockSizes();
+        }
+
         int batchSize = prepareNextBatch();
         if (batchSize < 0) {
             return batchSize;
@@ -134,11 +147,29 @@ public class OrcBatchRecordReader
     public Block readBlock(int columnIndex)
             throws IOException
     {
-        Block block = getStreamReaders()[columnIndex].readBlock();
-        updateMaxCombinedBytesPerRow(columnIndex, block);
+        BatchStreamReader streamReader = getStreamReaders()[columnIndex];
+        Block block = streamReader.readBlock();
+        if (lazyNestedBlocksEnabled && streamReader instanceof NestedBatchStreamReader) {
+            // the nested blocks are decoded on first access, so their size is only known when the next batch starts
+            lazyNestedBlockPositionCounts[columnIndex] = block.getPositionCount();
+        }
+        else {
+            updateMaxCombinedBytesPerRow(columnIndex, block);
+        }
         return block;
     }
 
+    private void updateLazyNestedBlockSizes()
+    {
+        for (int columnIndex = 0; columnIndex < lazyNestedBlockPositionCounts.length; columnIndex++) {
+            if (lazyNestedBlockPositionCounts[columnIndex] > 0) {
+                long decodedSizeInBytes = ((NestedBatchStreamReader) getStreamReaders()[columnIndex]).getAndResetDecodedSizeInBytes();
+                updateMaxCombinedBytesPerRow(columnIndex, decodedSizeInBytes, lazyNestedBlockPositionCounts[columnIndex]);
+                lazyNestedBlockPositionCounts[columnIndex] = 0;
+            }
+        }
+    }
+
     private void validateWritePageChecksum(int batchSize)
             throws IOException
     {
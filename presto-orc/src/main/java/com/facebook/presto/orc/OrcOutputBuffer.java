@@ -58,6 +58,7 @@ public class OrcOutputBuffer
     private final int maxOutputBufferChunkSize;
     private final int minCompressibleSize;
     private final boolean resetOutputBuffer;
+    private final boolean reuseOutputBufferChunks;
 
     private final CompressionBufferPool compressionBufferPool;
     private final Optional<DwrfDataEncryptor> dwrfEncryptor;
@@ -89,6 +90,7 @@ public class OrcOutputBuffer
         this.minOutputBufferChunkSize = columnWriterOptions.getMinOutputBufferChunkSize();
         this.maxOutputBufferChunkSize = columnWriterOptions.getMaxOutputBufferChunkSize();
         this.resetOutputBuffer = columnWriterOptions.isResetOutputBuffer();
+        this.reuseOutputBufferChunks = columnWriterOptions.isReuseOutputBufferChunks();
         this.minCompressibleSize = compressionKind.getMinCompressibleSize();
 
         this.buffer = new byte[INITIAL_BUFFER_SIZE];
@@ -475,7 +477,7 @@ public class OrcOutputBuffer
     private void initCompressedOutputStream()
     {
         checkState(compressedOutputStream == null, "compressedOutputStream is already initialized");
-        compressedOutputStream = new ChunkedSliceOutput(minOutputBufferChunkSize, maxOutputBufferChunkSize, resetOutputBuffer);
+        compressedOutputStream = new ChunkedSliceOutput(minOutputBufferChunkSize, maxOutputBufferChunkSize, resetOutputBuffer, reuseOutputBufferChunks);
     }
 
     private void writeChunkToOutputStream(byte[] chunk, int offset, int length)
@@ -15,6 +15,9 @@ package com.facebook.presto.orc;
 
 import io.airlift.units.DataSize;
 
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static io.airlift.units.DataSize.Unit.GIGABYTE;
 import static java.util.Objects.requireNonNull;
@@ -32,6 +35,10 @@ public class OrcReaderOptions
     // slice reader will throw if the slice size is larger than this value
     private final DataSize maxSliceSize;
     private final boolean resetAllReaders;
+    // if the option is set to true, the batch readers return struct fields, list elements and map values as lazy blocks
+    private final boolean lazyNestedBlocksEnabled;
+    // if present, the record readers start reading the next stripe on this executor while the current one is consumed
+    private final Optional<Executor> stripePrefetchExecutor;
 
     /**
      * Read column statistics for flat map columns. Usually there are quite a
@@ -48,7 +55,9 @@ public class OrcReaderOptions
             boolean appendRowNumber,
             boolean readMapStatistics,
             DataSize maxSliceSize,
-            boolean resetAllReaders)
+            boolean resetAllReaders,
+            boolean lazyNestedBlocksEnabled,
+            Optional<Executor> stripePrefetchExecutor)
     {
         this.maxMergeDistance = requireNonNull(maxMergeDistance, "maxMergeDistance is null");
         this.maxBlockSize = requireNonNull(maxBlockSize, "maxBlockSize is null");
@@ -59,6 +68,8 @@ public class OrcReaderOptions
         this.readMapStatistics = readMapStatistics;
         this.maxSliceSize = maxSliceSize;
         this.resetAllReaders = resetAllReaders;
+        this.lazyNestedBlocksEnabled = lazyNestedBlocksEnabled;
+        this.stripePrefetchExecutor = requireNonNull(stripePrefetchExecutor, "stripePrefetchExecutor is null");
     }
 
     public DataSize getMaxMergeDistance()
@@ -106,6 +117,16 @@ public class OrcReaderOptions
         return resetAllReaders;
     }
 
+    public boolean isLazyNestedBlocksEnabled()
+    {
+        return lazyNestedBlocksEnabled;
+    }
+
+    public Optional<Executor> getStripePrefetchExecutor()
+    {
+        return stripePrefetchExecutor;
+    }
+
     @Override
     public String toString()
     {
@@ -119,6 +140,8 @@ public class OrcReaderOptions
                 .add("readMapStatistics", readMapStatistics)
                 .add("maxSliceSize", maxSliceSize)
                 .add("resetAllReaders", resetAllReaders)
+                .add("lazyNestedBlocksEnabled", lazyNestedBlocksEnabled)
+                .add("stripePrefetchEnabled", stripePrefetchExecutor.isPresent())
                 .toString();
     }
 
@@ -138,6 +161,8 @@ public class OrcReaderOptions
         private boolean readMapStatistics;
         private DataSize maxSliceSize = DEFAULT_MAX_SLICE_SIZE;
         private boolean resetAllReaders;
+        private boolean lazyNestedBlocksEnabled;
+        private Optional<Executor> stripePrefetchExecutor = Optional.empty();
 
         private Builder() {}
 
@@ -195,6 +220,18 @@ public class OrcReaderOptions
             return this;
         }
 
+        public Builder withLazyNestedBlocksEnabled(boolean lazyNestedBlocksEnabled)
+        {
+            this.lazyNestedBlocksEnabled = lazyNestedBlocksEnabled;
+            return this;
+        }
+
+        public Builder withStripePrefetchExecutor(Executor stripePrefetchExecutor)
+        {
+            this.stripePrefetchExecutor = Optional.of(requireNonNull(stripePrefetchExecutor, "stripePrefetchExecutor is null"));
+            return this;
+        }
+
         public OrcReaderOptions build()
         {
             return new OrcReaderOptions(
@@ -206,7 +243,9 @@ public class OrcReaderOptions
                     appendRowNumber,
                     readMapStatistics,
                     maxSliceSize,
-                    resetAllReaders);
+                    resetAllReaders,
+                    lazyNestedBlocksEnabled,
+                    stripePrefetchExecutor);
         }
     }
 }
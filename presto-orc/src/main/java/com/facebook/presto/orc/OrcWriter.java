@@ -40,6 +40,7 @@ import com.facebook.presto.orc.stream.StreamDataOutput;
 import com.facebook.presto.orc.writer.ColumnWriter;
 import com.facebook.presto.orc.writer.CompressionBufferPool;
 import com.facebook.presto.orc.writer.CompressionBufferPool.LastUsedCompressionBufferPool;
+import com.facebook.presto.orc.writer.CompressionBufferPool.SynchronizedCompressionBufferPool;
 import com.facebook.presto.orc.writer.DictionaryColumnWriter;
 import com.facebook.presto.orc.writer.StreamLayout;
 import com.google.common.annotations.VisibleForTesting;
@@ -72,7 +73,11 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -93,6 +98,8 @@ import static com.facebook.presto.orc.metadata.statistics.ColumnStatistics.merge
 import static com.facebook.presto.orc.writer.ColumnWriters.createColumnWriter;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
@@ -142,6 +149,9 @@ public class OrcWriter
     @Nullable
     private final OrcWriteValidation.OrcWriteValidationBuilder validationBuilder;
     private final CompressionBufferPool compressionBufferPool;
+    private final Optional<Executor> encodingExecutor;
+    // column writer channels encoded together by one task when encoding in parallel
+    private final List<int[]> encodingGroups;
 
     private int stripeRowCount;
     private int rowGroupRowCount;
@@ -151,6 +161,14 @@ public class OrcWriter
     private long previouslyRecordedSizeInBytes;
     private boolean closed;
 
+    // stripe being written to the data sink in the background when encoding in parallel
+    @Nullable
+    private CompletableFuture<Void> pendingStripeWrite;
+    private long pendingStripeBytes;
+    private long writtenBytesAfterPendingStripe;
+    // retained size of the data sink when the pending stripe write started
+    private long dataSinkRetainedBytesBeforePendingStripe;
+
     private long numberOfRows;
     private long stripeRawSize;
     private long rawSize;
@@ -211,10 +229,23 @@ public class OrcWriter
         this.dataSink = requireNonNull(dataSink, "dataSink is null");
         this.types = ImmutableList.copyOf(requireNonNull(types, "types is null"));
         this.orcEncoding = requireNonNull(orcEncoding, "orcEncoding is null");
-        this.compressionBufferPool = new LastUsedCompressionBufferPool();
 
         requireNonNull(columnNames, "columnNames is null");
         requireNonNull(inputOrcTypes, "inputOrcTypes is null");
+        requireNonNull(options, "options is null");
+        requireNonNull(encryption, "encryption is null");
+        // encryptors are shared by all the column writers of a group, so encrypted files are always encoded on the calling thread
+        int encodingParallelism = encryption.isPresent() ? 1 : min(options.getEncodingParallelism(), types.size());
+        if (encodingParallelism > 1 && options.getEncodingExecutor().isPresent()) {
+            this.encodingExecutor = options.getEncodingExecutor();
+            this.encodingGroups = createEncodingGroups(types.size(), encodingParallelism);
+            this.compressionBufferPool = new SynchronizedCompressionBufferPool(new LastUsedCompressionBufferPool());
+        }
+        else {
+            this.encodingExecutor = Optional.empty();
+            this.encodingGroups = ImmutableList.of();
+            this.compressionBufferPool = new LastUsedCompressionBufferPool();
+        }
         this.orcTypes = inputOrcTypes.orElseGet(() -> OrcType.createOrcRowType(0, columnNames, types));
         this.nodeIdToColumn = createNodeIdToColumnMap(this.orcTypes);
 
@@ -237,12 +268,13 @@ public class OrcWriter
                 .setMapStatisticsEnabled(options.isMapStatisticsEnabled())
                 .setMaxFlattenedMapKeyCount(options.getMaxFlattenedMapKeyCount())
                 .setResetOutputBuffer(options.isResetOutputBuffer())
+                // stripes written in the background keep the output buffer chunks of the column writers
+                .setReuseOutputBufferChunks(!encodingExecutor.isPresent())
                 .build();
         recordValidation(validation -> validation.setCompression(compressionKind));
         recordValidation(validation -> validation.setFlattenedNodes(flattenedNodes));
         recordValidation(validation -> validation.setOrcTypes(orcTypes));
 
-        requireNonNull(options, "options is null");
         this.flushPolicy = requireNonNull(options.getFlushPolicy(), "flushPolicy is null");
         this.rowGroupMaxRowCount = options.getRowGroupMaxRowCount();
         recordValidation(validation -> validation.setRowGroupMaxRowCount(rowGroupMaxRowCount));
@@ -374,6 +406,9 @@ public class OrcWriter
      */
     public long getWrittenBytes()
     {
+        if (pendingStripeWrite != null) {
+            return writtenBytesAfterPendingStripe;
+        }
         return dataSink.size();
     }
 
@@ -390,8 +425,9 @@ public class OrcWriter
         return INSTANCE_SIZE +
                 columnWritersRetainedBytes +
                 closedStripesRetainedBytes +
-                dataSink.getRetainedSizeInBytes() +
+                getDataSinkRetainedBytes() +
                 compressionBufferPool.getRetainedBytes() +
+                (pendingStripeWrite == null ? 0 : pendingStripeBytes) +
                 (validationBuilder == null ? 0 : validationBuilder.getRetainedSize());
     }
 
@@ -443,10 +479,24 @@ public class OrcWriter
 
         // write chunks
         bufferedBytes = 0;
-        for (int channel = 0; channel < chunk.getChannelCount(); channel++) {
-            ColumnWriter writer = columnWriters.get(channel);
-            stripeRawSize += writer.writeBlock(chunk.getBlock(channel));
-            bufferedBytes += writer.getBufferedBytes();
+        if (encodingExecutor.isPresent()) {
+            long[] groupRawSizes = new long[encodingGroups.size()];
+            runEncodingTasks(group -> {
+                for (int channel : encodingGroups.get(group)) {
+                    groupRawSizes[group] += columnWriters.get(channel).writeBlock(chunk.getBlock(channel));
+                }
+            });
+            for (int group = 0; group < encodingGroups.size(); group++) {
+                stripeRawSize += groupRawSizes[group];
+            }
+            bufferedBytes = toIntExact(columnWriters.stream().mapToLong(ColumnWriter::getBufferedBytes).sum());
+        }
+        else {
+            for (int channel = 0; channel < chunk.getChannelCount(); channel++) {
+                ColumnWriter writer = columnWriters.get(channel);
+                stripeRawSize += writer.writeBlock(chunk.getBlock(channel));
+                bufferedBytes += writer.getBufferedBytes();
+            }
         }
 
         // update stats
@@ -483,6 +533,9 @@ public class OrcWriter
     private void flushStripe(FlushReason flushReason)
             throws IOException
     {
+        // the previous stripe must be in the sink before the offsets of this stripe are computed
+        awaitPendingStripeWrite();
+
         List<DataOutput> outputData = new ArrayList<>();
         long stripeStartOffset = dataSink.size();
         // add header to first stripe (this is not required but nice to have)
@@ -502,7 +555,12 @@ public class OrcWriter
             }
 
             // write all data
-            dataSink.write(outputData);
+            if (encodingExecutor.isPresent() && flushReason != CLOSED) {
+                writeStripeInBackground(outputData);
+            }
+            else {
+                dataSink.write(outputData);
+            }
         }
         finally {
             // open next stripe
@@ -529,7 +587,126 @@ public class OrcWriter
             dictionaryCompressionOptimizer.finalOptimize(bufferedBytes);
         }
 
-        columnWriters.forEach(ColumnWriter::close);
+        if (encodingExecutor.isPresent()) {
+            runEncodingTasks(group -> {
+                for (int channel : encodingGroups.get(group)) {
+                    columnWriters.get(channel).close();
+                }
+            });
+        }
+        else {
+            columnWriters.forEach(ColumnWriter::close);
+        }
+    }
+
+    /**
+     * Hands the stripe to the data sink on the encoding executor. The output buffers of the column
+     * writers do not reuse their chunks in this mode, so the slices of the stripe are owned by the
+     * write once the column writers are reset, and are not copied.
+     */
+    private void writeStripeInBackground(List<DataOutput> outputData)
+    {
+        StripeSliceCollector stripe = new StripeSliceCollector();
+        outputData.forEach(data -> data.writeData(stripe));
+        List<DataOutput> stripeData = stripe.getSlices().stream()
+                .map(DataOutput::createDataOutput)
+                .collect(toImmutableList());
+
+        writtenBytesAfterPendingStripe = dataSink.size() + stripeData.stream().mapToLong(DataOutput::size).sum();
+        dataSinkRetainedBytesBeforePendingStripe = dataSink.getRetainedSizeInBytes();
+        pendingStripeBytes = stripe.getRetainedSize();
+        pendingStripeWrite = CompletableFuture.runAsync(() -> {
+            try {
+                dataSink.write(stripeData);
+            }
+            catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, encodingExecutor.get());
+    }
+
+    /**
+     * The data sink is written by the encoding executor while a stripe is pending. It is only
+     * read once the pending write is done, so the completion of the future orders the writes
+     * of the background thread before the read.
+     */
+    private long getDataSinkRetainedBytes()
+    {
+        if (pendingStripeWrite != null && !pendingStripeWrite.isDone()) {
+            return dataSinkRetainedBytesBeforePendingStripe;
+        }
+        return dataSink.getRetainedSizeInBytes();
+    }
+
+    private void awaitPendingStripeWrite()
+            throws IOException
+    {
+        if (pendingStripeWrite == null) {
+            return;
+        }
+        try {
+            pendingStripeWrite.join();
+        }
+        catch (CompletionException e) {
+            throwIfInstanceOf(e.getCause(), IOException.class);
+            throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+        finally {
+            pendingStripeWrite = null;
+            pendingStripeBytes = 0;
+        }
+    }
+
+    /**
+     * Runs the task for every encoding group. The first group is encoded on
+     * the calling thread and the remaining groups on the encoding executor.
+     */
+    private void runEncodingTasks(IntConsumer task)
+    {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(encodingGroups.size() - 1);
+        for (int group = 1; group < encodingGroups.size(); group++) {
+            int taskGroup = group;
+            futures.add(CompletableFuture.runAsync(() -> task.accept(taskGroup), encodingExecutor.get()));
+        }
+        Throwable failure = null;
+        try {
+            task.accept(0);
+        }
+        catch (RuntimeException | Error e) {
+            failure = e;
+        }
+
+        // wait for every task, column writers must not be used by another thread once this method returns
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            }
+            catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+                else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throwIfUnchecked(failure);
+            throw new RuntimeException(failure);
+        }
+    }
+
+    private static List<int[]> createEncodingGroups(int columnCount, int encodingParallelism)
+    {
+        ImmutableList.Builder<int[]> groups = ImmutableList.builder();
+        for (int group = 0; group < encodingParallelism; group++) {
+            int firstChannel = group;
+            groups.add(IntStream.range(0, columnCount)
+                    .filter(channel -> channel % encodingParallelism == firstChannel)
+                    .toArray());
+        }
+        return groups.build();
     }
 
     /**
@@ -958,4 +1135,58 @@ public class OrcWriter
             return INSTANCE_SIZE + statistics.getRetainedSizeInBytes();
         }
     }
+
+    /**
+     * Collects the slices written to it by reference. Bytes written in any other way are
+     * buffered and emitted as a copied slice, so the order of the data is preserved.
+     */
+    private static class StripeSliceCollector
+            extends DynamicSliceOutput
+    {
+        private final ImmutableList.Builder<Slice> slices = ImmutableList.builder();
+        private long retainedSize;
+
+        public StripeSliceCollector()
+        {
+            super(64);
+        }
+
+        @Override
+        public void writeBytes(Slice source)
+        {
+            writeBytes(source, 0, source.length());
+        }
+
+        @Override
+        public void writeBytes(Slice source, int sourceIndex, int length)
+        {
+            flushBufferedBytes();
+            if (length > 0) {
+                slices.add(source.slice(sourceIndex, length));
+                retainedSize += source.getRetainedSize();
+            }
+        }
+
+        public List<Slice> getSlices()
+        {
+            flushBufferedBytes();
+            return slices.build();
+        }
+
+        @Override
+        public long getRetainedSize()
+        {
+            return super.getRetainedSize() + retainedSize;
+        }
+
+        private void flushBufferedBytes()
+        {
+            if (size() > 0) {
+                Slice buffered = Slices.copyOf(slice());
+                slices.add(buffered);
+                retainedSize += buffered.getRetainedSize();
+                reset();
+            }
+        }
+    }
 }
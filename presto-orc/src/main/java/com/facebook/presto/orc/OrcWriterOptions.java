@@ -22,6 +22,7 @@ import io.airlift.units.DataSize;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static com.facebook.presto.orc.metadata.DwrfStripeCacheMode.INDEX_AND_FOOTER;
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -50,6 +51,7 @@ public class OrcWriterOptions
     public static final boolean DEFAULT_STRING_DICTIONARY_ENCODING_ENABLED = true;
     public static final boolean DEFAULT_STRING_DICTIONARY_SORTING_ENABLED = true;
     public static final boolean DEFAULT_RESET_OUTPUT_BUFFER = false;
+    public static final int DEFAULT_ENCODING_PARALLELISM = 1;
 
     private final OrcWriterFlushPolicy flushPolicy;
     private final int rowGroupMaxRowCount;
@@ -76,6 +78,8 @@ public class OrcWriterOptions
     private final boolean mapStatisticsEnabled;
     private final int maxFlattenedMapKeyCount;
     private final boolean resetOutputBuffer;
+    private final int encodingParallelism;
+    private final Optional<Executor> encodingExecutor;
 
     /**
      * Contains indexes of columns (not nodes!) for which writer should use flattened encoding, e.g. flat maps.
@@ -104,7 +108,9 @@ public class OrcWriterOptions
             Set<Integer> flattenedColumns,
             boolean mapStatisticsEnabled,
             int maxFlattenedMapKeyCount,
-            boolean resetOutputBuffer)
+            boolean resetOutputBuffer,
+            int encodingParallelism,
+            Optional<Executor> encodingExecutor)
     {
         requireNonNull(flushPolicy, "flushPolicy is null");
         checkArgument(rowGroupMaxRowCount >= 1, "rowGroupMaxRowCount must be at least 1");
@@ -120,6 +126,8 @@ public class OrcWriterOptions
         requireNonNull(dwrfWriterOptions, "dwrfWriterOptions is null");
         requireNonNull(flattenedColumns, "flattenedColumns is null");
         checkArgument(maxFlattenedMapKeyCount > 0, "maxFlattenedMapKeyCount must be positive: %s", maxFlattenedMapKeyCount);
+        checkArgument(encodingParallelism >= 1, "encodingParallelism must be at least 1: %s", encodingParallelism);
+        requireNonNull(encodingExecutor, "encodingExecutor is null");
 
         this.flushPolicy = flushPolicy;
         this.rowGroupMaxRowCount = rowGroupMaxRowCount;
@@ -143,6 +151,8 @@ public class OrcWriterOptions
         this.mapStatisticsEnabled = mapStatisticsEnabled;
         this.maxFlattenedMapKeyCount = maxFlattenedMapKeyCount;
         this.resetOutputBuffer = resetOutputBuffer;
+        this.encodingParallelism = encodingParallelism;
+        this.encodingExecutor = encodingExecutor;
     }
 
     public OrcWriterFlushPolicy getFlushPolicy()
@@ -255,6 +265,21 @@ public class OrcWriterOptions
         return resetOutputBuffer;
     }
 
+    /**
+     * Maximum number of threads a single writer uses to encode and compress its columns.
+     * When greater than 1 and an encoding executor is set, stripes are also written to
+     * the data sink in the background while the next stripe is being encoded.
+     */
+    public int getEncodingParallelism()
+    {
+        return encodingParallelism;
+    }
+
+    public Optional<Executor> getEncodingExecutor()
+    {
+        return encodingExecutor;
+    }
+
     @Override
     public String toString()
     {
@@ -279,6 +304,7 @@ public class OrcWriterOptions
                 .add("mapStatisticsEnabled", mapStatisticsEnabled)
                 .add("maxFlattenedMapKeyCount", maxFlattenedMapKeyCount)
                 .add("resetOutputBuffer", resetOutputBuffer)
+                .add("encodingParallelism", encodingParallelism)
                 .toString();
     }
 
@@ -318,6 +344,8 @@ public class OrcWriterOptions
         private boolean mapStatisticsEnabled;
         private int maxFlattenedMapKeyCount = DEFAULT_MAX_FLATTENED_MAP_KEY_COUNT;
         private boolean resetOutputBuffer = DEFAULT_RESET_OUTPUT_BUFFER;
+        private int encodingParallelism = DEFAULT_ENCODING_PARALLELISM;
+        private Optional<Executor> encodingExecutor = Optional.empty();
 
         public Builder withFlushPolicy(OrcWriterFlushPolicy flushPolicy)
         {
@@ -465,6 +493,19 @@ public class OrcWriterOptions
             return this;
         }
 
+        public Builder withEncodingParallelism(int encodingParallelism)
+        {
+            checkArgument(encodingParallelism >= 1, "encodingParallelism must be at least 1");
+            this.encodingParallelism = encodingParallelism;
+            return this;
+        }
+
+        public Builder withEncodingExecutor(Executor encodingExecutor)
+        {
+            this.encodingExecutor = Optional.of(requireNonNull(encodingExecutor, "encodingExecutor is null"));
+            return this;
+        }
+
         public OrcWriterOptions build()
         {
             Optional<DwrfStripeCacheOptions> dwrfWriterOptions;
@@ -497,7 +538,9 @@ public class OrcWriterOptions
                     flattenedColumns,
                     mapStatisticsEnabled,
                     maxFlattenedMapKeyCount,
-                    resetOutputBuffer);
+                    resetOutputBuffer,
+                    encodingParallelism,
+                    encodingExecutor);
         }
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc.cache;
+
+import com.facebook.presto.cache.LocalDiskCache;
+import com.facebook.presto.orc.OrcDataSource;
+import com.facebook.presto.orc.OrcWriteValidation;
+import com.facebook.presto.orc.metadata.CompressionKind;
+import com.facebook.presto.orc.metadata.DwrfStripeCacheData;
+import com.facebook.presto.orc.metadata.DwrfStripeCacheMode;
+import com.facebook.presto.orc.metadata.MetadataReader;
+import com.facebook.presto.orc.metadata.OrcFileTail;
+import com.facebook.presto.orc.metadata.PostScript.HiveWriterVersion;
+import io.airlift.slice.BasicSliceInput;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps serialized {@link OrcFileTail}s in a {@link LocalDiskCache}, keyed by the data source
+ * and the file modification time, so a restarted or cold worker does not need to read the
+ * footers from remote storage again.
+ */
+public class DiskCachingOrcFileTailSource
+        implements OrcFileTailSource
+{
+    private static final byte FORMAT_VERSION = 1;
+
+    private final OrcFileTailSource delegate;
+    private final LocalDiskCache diskCache;
+
+    public DiskCachingOrcFileTailSource(OrcFileTailSource delegate, LocalDiskCache diskCache)
+    {
+        this.delegate = requireNonNull(delegate, "delegate is null");
+        this.diskCache = requireNonNull(diskCache, "diskCache is null");
+    }
+
+    @Override
+    public OrcFileTail getOrcFileTail(OrcDataSource orcDataSource, MetadataReader metadataReader, Optional<OrcWriteValidation> writeValidation, boolean cacheable, long fileModificationTime)
+            throws IOException
+    {
+        if (!cacheable) {
+            return delegate.getOrcFileTail(orcDataSource, metadataReader, writeValidation, cacheable, fileModificationTime);
+        }
+        String key = orcDataSource.getId() + "#" + fileModificationTime;
+        Optional<Slice> cachedTail = diskCache.get(key);
+        if (cachedTail.isPresent()) {
+            Optional<OrcFileTail> orcFileTail = Optional.empty();
+            try {
+                orcFileTail = deserialize(cachedTail.get(), fileModificationTime);
+            }
+            catch (RuntimeException e) {
+                // the entry was written by an incompatible version, it is replaced by the tail read from the file
+                diskCache.invalidate(key);
+            }
+            if (orcFileTail.isPresent()) {
+                return orcFileTail.get();
+            }
+        }
+        OrcFileTail orcFileTail = delegate.getOrcFileTail(orcDataSource, metadataReader, writeValidation, cacheable, fileModificationTime);
+        diskCache.put(key, serialize(orcFileTail));
+        return orcFileTail;
+    }
+
+    static Slice serialize(OrcFileTail orcFileTail)
+    {
+        SliceOutput output = new DynamicSliceOutput(orcFileTail.getFooterSlice().length() + orcFileTail.getMetadataSlice().length() + 64);
+        output.writeByte(FORMAT_VERSION);
+        writeString(output, orcFileTail.getHiveWriterVersion().name());
+        writeString(output, orcFileTail.getCompressionKind().name());
+        output.writeInt(orcFileTail.getBufferSize());
+        output.writeInt(orcFileTail.getFooterSize());
+        writeSlice(output, orcFileTail.getFooterSlice());
+        output.writeInt(orcFileTail.getMetadataSize());
+        writeSlice(output, orcFileTail.getMetadataSlice());
+        Optional<DwrfStripeCacheData> dwrfStripeCacheData = orcFileTail.getDwrfStripeCacheData();
+        output.writeBoolean(dwrfStripeCacheData.isPresent());
+        if (dwrfStripeCacheData.isPresent()) {
+            writeString(output, dwrfStripeCacheData.get().getDwrfStripeCacheMode().name());
+            output.writeInt(dwrfStripeCacheData.get().getDwrfStripeCacheSize());
+            writeSlice(output, dwrfStripeCacheData.get().getDwrfStripeCacheSlice());
+        }
+        return output.slice();
+    }
+
+    static Optional<OrcFileTail> deserialize(Slice slice, long fileModificationTime)
+    {
+        BasicSliceInput input = new BasicSliceInput(slice);
+        if (input.readByte() != FORMAT_VERSION) {
+            return Optional.empty();
+        }
+        HiveWriterVersion hiveWriterVersion = HiveWriterVersion.valueOf(readString(input));
+        CompressionKind compressionKind = CompressionKind.valueOf(readString(input));
+        int bufferSize = input.readInt();
+        int footerSize = input.readInt();
+        Slice footerSlice = readSlice(input);
+        int metadataSize = input.readInt();
+        Slice metadataSlice = readSlice(input);
+        Optional<DwrfStripeCacheData> dwrfStripeCacheData = Optional.empty();
+        if (input.readBoolean()) {
+            DwrfStripeCacheMode mode = DwrfStripeCacheMode.valueOf(readString(input));
+            int dwrfStripeCacheSize = input.readInt();
+            dwrfStripeCacheData = Optional.of(new DwrfStripeCacheData(readSlice(input), dwrfStripeCacheSize, mode));
+        }
+        return Optional.of(new OrcFileTail(
+                hiveWriterVersion,
+                bufferSize,
+                compressionKind,
+                footerSlice,
+                footerSize,
+                metadataSlice,
+                metadataSize,
+                dwrfStripeCacheData,
+                fileModificationTime));
+    }
+
+    private static void writeString(SliceOutput output, String value)
+    {
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.writeBytes(bytes);
+    }
+
+    private static String readString(BasicSliceInput input)
+    {
+        return input.readSlice(input.readInt()).toStringUtf8();
+    }
+
+    private static void writeSlice(SliceOutput output, Slice slice)
+    {
+        output.writeInt(slice.length());
+        output.writeBytes(slice);
+    }
+
+    private static Slice readSlice(BasicSliceInput input)
+    {
+        return input.readSlice(input.readInt());
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc.reader;
+
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockBuilder;
+import com.facebook.presto.common.block.LazyBlock;
+import com.facebook.presto.common.block.LazyBlockLoader;
+import com.facebook.presto.common.type.Type;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The values block of a flat map whose values are decoded lazily. The values of each key
+ * are stored in separate streams, so they are read into a lazy block per key, and single
+ * values are read from the block of their key. A query that only reads some keys of a flat
+ * map therefore only decodes the values of those keys.
+ * <p>
+ * The values are copied into a single block when the block is loaded, e.g. when it is
+ * serialized or sliced.
+ */
+final class FlatMapValueBlock
+        extends LazyBlock
+{
+    private final Block[] keyValueBlocks;
+    private final int[] keyIds;
+    private final int[] keyValuePositions;
+
+    /**
+     * @param keyValueBlocks the values of each key
+     * @param keyIds the key of each value
+     * @param keyValuePositions the position of each value in the values of its key
+     */
+    FlatMapValueBlock(Type valueType, Block[] keyValueBlocks, int[] keyIds, int[] keyValuePositions)
+    {
+        super(keyIds.length, new ValueLoader(valueType, keyValueBlocks, keyIds, keyValuePositions), true);
+        this.keyValueBlocks = keyValueBlocks;
+        this.keyIds = keyIds;
+        this.keyValuePositions = keyValuePositions;
+    }
+
+    @Override
+    public int getSliceLength(int position)
+    {
+        return getKeyValueBlock(position).getSliceLength(keyValuePositions[position]);
+    }
+
+    @Override
+    public byte getByte(int position)
+    {
+        return getKeyValueBlock(position).getByte(keyValuePositions[position]);
+    }
+
+    @Override
+    public short getShort(int position)
+    {
+        return getKeyValueBlock(position).getShort(keyValuePositions[position]);
+    }
+
+    @Override
+    public int getInt(int position)
+    {
+        return getKeyValueBlock(position).getInt(keyValuePositions[position]);
+    }
+
+    @Override
+    public long getLong(int position)
+    {
+        return getKeyValueBlock(position).getLong(keyValuePositions[position]);
+    }
+
+    @Override
+    public long getLong(int position, int offset)
+    {
+        return getKeyValueBlock(position).getLong(keyValuePositions[position], offset);
+    }
+
+    @Override
+    public Slice getSlice(int position, int offset, int length)
+    {
+        return getKeyValueBlock(position).getSlice(keyValuePositions[position], offset, length);
+    }
+
+    @Override
+    public Block getBlock(int position)
+    {
+        return getKeyValueBlock(position).getBlock(keyValuePositions[position]);
+    }
+
+    @Override
+    public boolean bytesEqual(int position, int offset, Slice otherSlice, int otherOffset, int length)
+    {
+        return getKeyValueBlock(position).bytesEqual(keyValuePositions[position], offset, otherSlice, otherOffset, length);
+    }
+
+    @Override
+    public int bytesCompare(int position, int offset, int length, Slice otherSlice, int otherOffset, int otherLength)
+    {
+        return getKeyValueBlock(position).bytesCompare(keyValuePositions[position], offset, length, otherSlice, otherOffset, otherLength);
+    }
+
+    @Override
+    public void writeBytesTo(int position, int offset, int length, BlockBuilder blockBuilder)
+    {
+        getKeyValueBlock(position).writeBytesTo(keyValuePositions[position], offset, length, blockBuilder);
+    }
+
+    @Override
+    public void writeBytesTo(int position, int offset, int length, SliceOutput sliceOutput)
+    {
+        getKeyValueBlock(position).writeBytesTo(keyValuePositions[position], offset, length, sliceOutput);
+    }
+
+    @Override
+    public void writePositionTo(int position, BlockBuilder blockBuilder)
+    {
+        getKeyValueBlock(position).writePositionTo(keyValuePositions[position], blockBuilder);
+    }
+
+    @Override
+    public void writePositionTo(int position, SliceOutput output)
+    {
+        getKeyValueBlock(position).writePositionTo(keyValuePositions[position], output);
+    }
+
+    @Override
+    public boolean equals(int position, int offset, Block otherBlock, int otherPosition, int otherOffset, int length)
+    {
+        return getKeyValueBlock(position).equals(keyValuePositions[position], offset, otherBlock, otherPosition, otherOffset, length);
+    }
+
+    @Override
+    public long hash(int position, int offset, int length)
+    {
+        return getKeyValueBlock(position).hash(keyValuePositions[position], offset, length);
+    }
+
+    @Override
+    public int compareTo(int leftPosition, int leftOffset, int leftLength, Block rightBlock, int rightPosition, int rightOffset, int rightLength)
+    {
+        return getKeyValueBlock(leftPosition).compareTo(keyValuePositions[leftPosition], leftOffset, leftLength, rightBlock, rightPosition, rightOffset, rightLength);
+    }
+
+    @Override
+    public Block getSingleValueBlock(int position)
+    {
+        return getKeyValueBlock(position).getSingleValueBlock(keyValuePositions[position]);
+    }
+
+    @Override
+    public long getEstimatedDataSizeForStats(int position)
+    {
+        return getKeyValueBlock(position).getEstimatedDataSizeForStats(keyValuePositions[position]);
+    }
+
+    @Override
+    public boolean isNull(int position)
+    {
+        return getKeyValueBlock(position).isNull(keyValuePositions[position]);
+    }
+
+    /**
+     * Copies the values of all keys into a single block.
+     */
+    static Block copyValues(Type valueType, Block[] keyValueBlocks, int[] keyIds, int[] keyValuePositions)
+    {
+        BlockBuilder valueBlockBuilder = valueType.createBlockBuilder(null, keyIds.length);
+        for (int position = 0; position < keyIds.length; position++) {
+            valueType.appendTo(keyValueBlocks[keyIds[position]], keyValuePositions[position], valueBlockBuilder);
+        }
+        return valueBlockBuilder.build();
+    }
+
+    private Block getKeyValueBlock(int position)
+    {
+        return keyValueBlocks[keyIds[position]];
+    }
+
+    private static final class ValueLoader
+            implements LazyBlockLoader<LazyBlock>
+    {
+        private final Type valueType;
+        private final Block[] keyValueBlocks;
+        private final int[] keyIds;
+        private final int[] keyValuePositions;
+
+        private ValueLoader(Type valueType, Block[] keyValueBlocks, int[] keyIds, int[] keyValuePositions)
+        {
+            this.valueType = requireNonNull(valueType, "valueType is null");
+            this.keyValueBlocks = requireNonNull(keyValueBlocks, "keyValueBlocks is null");
+            this.keyIds = requireNonNull(keyIds, "keyIds is null");
+            this.keyValuePositions = requireNonNull(keyValuePositions, "keyValuePositions is null");
+        }
+
+        @Override
+        public void load(LazyBlock lazyBlock)
+        {
+            lazyBlock.setBlock(copyValues(valueType, keyValueBlocks, keyIds, keyValuePositions));
+        }
+    }
+}
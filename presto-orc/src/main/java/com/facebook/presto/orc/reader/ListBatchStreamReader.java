@@ -49,7 +49,7 @@ import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 
 public class ListBatchStreamReader
-        implements BatchStreamReader
+        implements NestedBatchStreamReader
 {
     private static final int INSTANCE_SIZE = ClassLayout.parseClass(ListBatchStreamReader.class).instanceSize();
 
@@ -57,6 +57,7 @@ public class ListBatchStreamReader
     private final StreamDescriptor streamDescriptor;
 
     private final BatchStreamReader elementStreamReader;
+    private final NestedBlockFactory nestedBlockFactory;
 
     private int readOffset;
     private int nextBatchSize;
@@ -79,6 +80,7 @@ public class ListBatchStreamReader
         elementType = ((ArrayType) type).getElementType();
         this.streamDescriptor = requireNonNull(streamDescriptor, "stream is null");
         this.elementStreamReader = createStreamReader(elementType, streamDescriptor.getNestedStreams().get(0), hiveStorageTimeZone, options, systemMemoryContext);
+        this.nestedBlockFactory = new NestedBlockFactory(streamDescriptor, options.isLazyNestedBlocksEnabled());
     }
 
     @Override
@@ -86,6 +88,7 @@ public class ListBatchStreamReader
     {
         readOffset += nextBatchSize;
         nextBatchSize = batchSize;
+        nestedBlockFactory.nextBatch();
     }
 
     @Override
@@ -140,7 +143,7 @@ public class ListBatchStreamReader
         Block elements;
         if (elementCount > 0) {
             elementStreamReader.prepareNextRead(elementCount);
-            elements = elementStreamReader.readBlock();
+            elements = nestedBlockFactory.createBlock(elementCount, elementStreamReader);
         }
         else {
             elements = elementType.createBlockBuilder(null, 0).build();
@@ -176,6 +179,7 @@ public class ListBatchStreamReader
         lengthStream = null;
 
         rowGroupOpen = false;
+        nestedBlockFactory.nextBatch();
 
         elementStreamReader.startStripe(stripe);
     }
@@ -194,6 +198,7 @@ public class ListBatchStreamReader
         lengthStream = null;
 
         rowGroupOpen = false;
+        nestedBlockFactory.nextBatch();
 
         elementStreamReader.startRowGroup(dataStreamSources);
     }
@@ -206,6 +211,16 @@ public class ListBatchStreamReader
                 .toString();
     }
 
+    @Override
+    public long getAndResetDecodedSizeInBytes()
+    {
+        long decodedSizeInBytes = nestedBlockFactory.getAndResetDecodedSizeInBytes();
+        if (elementStreamReader instanceof NestedBatchStreamReader) {
+            decodedSizeInBytes += ((NestedBatchStreamReader) elementStreamReader).getAndResetDecodedSizeInBytes();
+        }
+        return decodedSizeInBytes;
+    }
+
     @Override
     public void close()
     {
@@ -37,7 +37,7 @@ import static com.google.common.base.MoreObjects.toStringHelper;
 import static java.util.Objects.requireNonNull;
 
 public class MapBatchStreamReader
-        implements BatchStreamReader
+        implements NestedBatchStreamReader
 {
     private static final int INSTANCE_SIZE = ClassLayout.parseClass(MapBatchStreamReader.class).instanceSize();
 
@@ -102,6 +102,12 @@ public class MapBatchStreamReader
                 .toString();
     }
 
+    @Override
+    public long getAndResetDecodedSizeInBytes()
+    {
+        return directReader.getAndResetDecodedSizeInBytes() + flatReader.getAndResetDecodedSizeInBytes();
+    }
+
     @Override
     public void close()
     {
@@ -49,7 +49,7 @@ import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 
 public class MapDirectBatchStreamReader
-        implements BatchStreamReader
+        implements NestedBatchStreamReader
 {
     private static final int INSTANCE_SIZE = ClassLayout.parseClass(MapDirectBatchStreamReader.class).instanceSize();
 
@@ -59,6 +59,7 @@ public class MapDirectBatchStreamReader
     private final BatchStreamReader keyStreamReader;
     private final BatchStreamReader valueStreamReader;
     private final OrcRecordReaderOptions options;
+    private final NestedBlockFactory nestedBlockFactory;
 
     private int readOffset;
     private int nextBatchSize;
@@ -88,6 +89,7 @@ public class MapDirectBatchStreamReader
         this.streamDescriptor = requireNonNull(streamDescriptor, "stream is null");
         this.keyStreamReader = createStreamReader(this.type.getKeyType(), streamDescriptor.getNestedStreams().get(0), hiveStorageTimeZone, options, systemMemoryContext);
         this.valueStreamReader = createStreamReader(this.type.getValueType(), streamDescriptor.getNestedStreams().get(1), hiveStorageTimeZone, options, systemMemoryContext);
+        this.nestedBlockFactory = new NestedBlockFactory(streamDescriptor, options.isLazyNestedBlocksEnabled());
     }
 
     @Override
@@ -95,6 +97,7 @@ public class MapDirectBatchStreamReader
     {
         readOffset += nextBatchSize;
         nextBatchSize = batchSize;
+        nestedBlockFactory.nextBatch();
     }
 
     @Override
@@ -158,8 +161,9 @@ public class MapDirectBatchStreamReader
         if (entryCount > 0) {
             keyStreamReader.prepareNextRead(entryCount);
             valueStreamReader.prepareNextRead(entryCount);
-            keys = keyStreamReader.readBlock();
-            values = valueStreamReader.readBlock();
+            // the keys are needed to build the map block, only the values are loaded lazily
+            keys = nestedBlockFactory.readBlock(keyStreamReader);
+            values = nestedBlockFactory.createBlock(entryCount, valueStreamReader);
         }
         else {
             keys = keyType.createBlockBuilder(null, 0).build();
@@ -244,6 +248,7 @@ public class MapDirectBatchStreamReader
         lengthStream = null;
 
         rowGroupOpen = false;
+        nestedBlockFactory.nextBatch();
 
         keyStreamReader.startStripe(stripe);
         valueStreamReader.startStripe(stripe);
@@ -263,6 +268,7 @@ public class MapDirectBatchStreamReader
         lengthStream = null;
 
         rowGroupOpen = false;
+        nestedBlockFactory.nextBatch();
 
         keyStreamReader.startRowGroup(dataStreamSources);
         valueStreamReader.startRowGroup(dataStreamSources);
@@ -276,6 +282,19 @@ public class MapDirectBatchStreamReader
                 .toString();
     }
 
+    @Override
+    public long getAndResetDecodedSizeInBytes()
+    {
+        long decodedSizeInBytes = nestedBlockFactory.getAndResetDecodedSizeInBytes();
+        if (keyStreamReader instanceof NestedBatchStreamReader) {
+            decodedSizeInBytes += ((NestedBatchStreamReader) keyStreamReader).getAndResetDecodedSizeInBytes();
+        }
+        if (valueStreamReader instanceof NestedBatchStreamReader) {
+            decodedSizeInBytes += ((NestedBatchStreamReader) valueStreamReader).getAndResetDecodedSizeInBytes();
+        }
+        return decodedSizeInBytes;
+    }
+
     @Override
     public void close()
     {
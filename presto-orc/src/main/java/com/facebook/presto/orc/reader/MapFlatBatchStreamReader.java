@@ -70,7 +70,7 @@ import static java.util.Objects.requireNonNull;
  * is a ColumnEncoding for the key stream which has no data associated with it, only statistics, so it is not used in this class.
  */
 public class MapFlatBatchStreamReader
-        implements BatchStreamReader
+        implements NestedBatchStreamReader
 {
     private static final int INSTANCE_SIZE = ClassLayout.parseClass(MapFlatBatchStreamReader.class).instanceSize();
 
@@ -100,6 +100,7 @@ public class MapFlatBatchStreamReader
 
     private OrcAggregatedMemoryContext systemMemoryContext;
     private final OrcRecordReaderOptions options;
+    private final NestedBlockFactory nestedBlockFactory;
 
     public MapFlatBatchStreamReader(Type type, StreamDescriptor streamDescriptor, DateTimeZone hiveStorageTimeZone, OrcRecordReaderOptions options, OrcAggregatedMemoryContext systemMemoryContext)
             throws OrcCorruptionException
@@ -113,6 +114,7 @@ public class MapFlatBatchStreamReader
         this.keyOrcType = streamDescriptor.getNestedStreams().get(0).getOrcTypeKind();
         this.baseValueStreamDescriptor = streamDescriptor.getNestedStreams().get(1);
         this.options = requireNonNull(options);
+        this.nestedBlockFactory = new NestedBlockFactory(streamDescriptor, options.isLazyNestedBlocksEnabled());
     }
 
     @Override
@@ -120,6 +122,7 @@ public class MapFlatBatchStreamReader
     {
         readOffset += nextBatchSize;
         nextBatchSize = batchSize;
+        nestedBlockFactory.nextBatch();
     }
 
     @Override
@@ -165,9 +168,7 @@ public class MapFlatBatchStreamReader
             }
         }
 
-        MapType mapType = (MapType) type;
-        Type valueType = mapType.getValueType();
-
+        Type valueType = type.getValueType();
         Block[] valueBlocks = new Block[valueStreamReaders.size()];
 
         if (totalMapEntries > 0) {
@@ -183,7 +184,7 @@ public class MapFlatBatchStreamReader
                 if (mapsContainingKey > 0) {
                     BatchStreamReader streamReader = valueStreamReaders.get(keyIndex);
                     streamReader.prepareNextRead(mapsContainingKey);
-                    valueBlocks[keyIndex] = streamReader.readBlock();
+                    valueBlocks[keyIndex] = nestedBlockFactory.createBlock(mapsContainingKey, streamReader);
                 }
                 else {
                     valueBlocks[keyIndex] = valueType.createBlockBuilder(null, 0).build();
@@ -192,7 +193,7 @@ public class MapFlatBatchStreamReader
         }
 
         int[] valueBlockPositions = new int[inMapVectors.length];
-        BlockBuilder valueBlockBuilder = valueType.createBlockBuilder(null, totalMapEntries);
+        int[] keyValuePositions = new int[totalMapEntries];
         int[] keyIds = new int[totalMapEntries];
         int keyIdsIndex = 0;
         int[] mapOffsets = new int[nextBatchSize + 1];
@@ -204,7 +205,7 @@ public class MapFlatBatchStreamReader
                 for (int keyIndex = 0; keyIndex < inMapVectors.length; keyIndex++) {
                     if (inMapVectors[keyIndex][mapIndex]) {
                         mapLength++;
-                        valueType.appendTo(valueBlocks[keyIndex], valueBlockPositions[keyIndex], valueBlockBuilder);
+                        keyValuePositions[keyIdsIndex] = valueBlockPositions[keyIndex];
                         keyIds[keyIdsIndex++] = keyIndex;
                         valueBlockPositions[keyIndex]++;
                     }
@@ -214,7 +215,15 @@ public class MapFlatBatchStreamReader
             mapOffsets[mapIndex + 1] = mapOffsets[mapIndex] + mapLength;
         }
 
-        Block block = mapType.createBlockFromKeyValue(nextBatchSize, Optional.ofNullable(nullVector), mapOffsets, new DictionaryBlock(keyBlockTemplate, keyIds), valueBlockBuilder);
+        Block values;
+        if (options.isLazyNestedBlocksEnabled()) {
+            // the values of each key are decoded on first access
+            values = new FlatMapValueBlock(valueType, valueBlocks, keyIds, keyValuePositions);
+        }
+        else {
+            values = FlatMapValueBlock.copyValues(valueType, valueBlocks, keyIds, keyValuePositions);
+        }
+        Block block = type.createBlockFromKeyValue(nextBatchSize, Optional.ofNullable(nullVector), mapOffsets, new DictionaryBlock(keyBlockTemplate, keyIds), values);
 
         readOffset = 0;
         nextBatchSize = 0;
@@ -271,6 +280,7 @@ public class MapFlatBatchStreamReader
         presentStream = null;
 
         rowGroupOpen = false;
+        nestedBlockFactory.nextBatch();
     }
 
     private Block getKeyBlockTemplate(Collection<DwrfSequenceEncoding> sequenceEncodings)
@@ -356,6 +366,7 @@ public class MapFlatBatchStreamReader
         inMapStreams.clear();
 
         rowGroupOpen = false;
+        nestedBlockFactory.nextBatch();
 
         for (BatchStreamReader valueStreamReader : valueStreamReaders) {
             valueStreamReader.startRowGroup(dataStreamSources);
@@ -370,6 +381,18 @@ public class MapFlatBatchStreamReader
                 .toString();
     }
 
+    @Override
+    public long getAndResetDecodedSizeInBytes()
+    {
+        long decodedSizeInBytes = nestedBlockFactory.getAndResetDecodedSizeInBytes();
+        for (BatchStreamReader valueStreamReader : valueStreamReaders) {
+            if (valueStreamReader instanceof NestedBatchStreamReader) {
+                decodedSizeInBytes += ((NestedBatchStreamReader) valueStreamReader).getAndResetDecodedSizeInBytes();
+            }
+        }
+        return decodedSizeInBytes;
+    }
+
     @Override
     public void close()
     {
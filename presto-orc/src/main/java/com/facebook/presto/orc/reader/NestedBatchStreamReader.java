@@ -0,0 +1,29 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc.reader;
+
+/**
+ * A reader of a struct, list or map column, which can return blocks whose nested
+ * blocks are decoded on first access.
+ */
+public interface NestedBatchStreamReader
+        extends BatchStreamReader
+{
+    /**
+     * Returns the size of the blocks decoded by this reader and its nested readers since
+     * the last call. It is only tracked when lazy nested blocks are enabled, since the size
+     * of a block with lazy nested blocks is not known when the block is returned.
+     */
+    long getAndResetDecodedSizeInBytes();
+}
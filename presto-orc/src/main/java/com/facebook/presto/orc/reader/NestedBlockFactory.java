@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc.reader;
+
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.LazyBlock;
+import com.facebook.presto.common.block.LazyBlockLoader;
+import com.facebook.presto.orc.StreamDescriptor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static com.facebook.presto.common.block.LazyBlock.nestedLazyBlock;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Creates the nested blocks of struct, list and map readers. When lazy nested blocks are
+ * enabled, a nested block is only decoded on first access, so a query that touches one
+ * field of a wide struct does not decode the other fields.
+ * <p>
+ * The nested readers are positioned when the parent block is read, and they are advanced
+ * when the parent reads its next batch or moves to another row group, so a lazy block can
+ * not be loaded after that. Nested readers skip the batches that were never loaded.
+ */
+class NestedBlockFactory
+{
+    private final StreamDescriptor streamDescriptor;
+    private final boolean lazy;
+
+    private int batchId;
+    private long decodedSizeInBytes;
+
+    NestedBlockFactory(StreamDescriptor streamDescriptor, boolean lazy)
+    {
+        this.streamDescriptor = requireNonNull(streamDescriptor, "streamDescriptor is null");
+        this.lazy = lazy;
+    }
+
+    /**
+     * Invalidates the lazy blocks created since the last call.
+     */
+    public void nextBatch()
+    {
+        batchId++;
+    }
+
+    /**
+     * Reads the next block of a nested reader, which must already be prepared for the batch.
+     */
+    public Block createBlock(int positionCount, BatchStreamReader reader)
+            throws IOException
+    {
+        if (!lazy) {
+            return reader.readBlock();
+        }
+        // the size of nested blocks is recorded by the nested reader itself
+        return createLazyBlock(positionCount, reader::readBlock, !(reader instanceof NestedBatchStreamReader));
+    }
+
+    /**
+     * Creates a block that is built from one or more nested readers, which must already be prepared for the batch.
+     */
+    public Block createBlock(int positionCount, BlockReader blockReader)
+            throws IOException
+    {
+        if (!lazy) {
+            return blockReader.readBlock();
+        }
+        return createLazyBlock(positionCount, blockReader, true);
+    }
+
+    /**
+     * Reads the next block of a nested reader eagerly, e.g. the keys of a map.
+     */
+    public Block readBlock(BatchStreamReader reader)
+            throws IOException
+    {
+        Block block = reader.readBlock();
+        if (lazy && !(reader instanceof NestedBatchStreamReader)) {
+            decodedSizeInBytes += block.getSizeInBytes();
+        }
+        return block;
+    }
+
+    public long getAndResetDecodedSizeInBytes()
+    {
+        long sizeInBytes = decodedSizeInBytes;
+        decodedSizeInBytes = 0;
+        return sizeInBytes;
+    }
+
+    private Block createLazyBlock(int positionCount, BlockReader blockReader, boolean recordSize)
+    {
+        int expectedBatchId = batchId;
+        return nestedLazyBlock(positionCount, new LazyBlockLoader<LazyBlock>()
+        {
+            private boolean loaded;
+
+            @Override
+            public void load(LazyBlock lazyBlock)
+            {
+                if (loaded) {
+                    return;
+                }
+                checkState(batchId == expectedBatchId, "Nested block of %s can not be loaded after the reader advanced", streamDescriptor);
+
+                Block block;
+                try {
+                    block = blockReader.readBlock();
+                }
+                catch (IOException e) {
+                    streamDescriptor.getOrcDataSourceId().attachToException(e);
+                    throw new UncheckedIOException(e);
+                }
+                if (recordSize) {
+                    decodedSizeInBytes += block.getSizeInBytes();
+                }
+                lazyBlock.setBlock(block);
+                loaded = true;
+            }
+        });
+    }
+
+    interface BlockReader
+    {
+        Block readBlock()
+                throws IOException;
+    }
+}
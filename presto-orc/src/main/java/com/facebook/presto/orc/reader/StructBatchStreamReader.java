@@ -53,7 +53,7 @@ import static com.google.common.base.Verify.verify;
 import static java.util.Objects.requireNonNull;
 
 public class StructBatchStreamReader
-        implements BatchStreamReader
+        implements NestedBatchStreamReader
 {
     private static final int INSTANCE_SIZE = ClassLayout.parseClass(StructBatchStreamReader.class).instanceSize();
 
@@ -62,6 +62,7 @@ public class StructBatchStreamReader
     private final Map<String, BatchStreamReader> structFields;
     private final RowType type;
     private final List<String> fieldNames;
+    private final NestedBlockFactory nestedBlockFactory;
 
     private int readOffset;
     private int nextBatchSize;
@@ -97,6 +98,7 @@ public class StructBatchStreamReader
         }
         this.fieldNames = fieldNames.build();
         this.structFields = structFields.build();
+        this.nestedBlockFactory = new NestedBlockFactory(streamDescriptor, options.isLazyNestedBlocksEnabled());
     }
 
     @Override
@@ -104,6 +106,7 @@ public class StructBatchStreamReader
     {
         readOffset += nextBatchSize;
         nextBatchSize = batchSize;
+        nestedBlockFactory.nextBatch();
     }
 
     @Override
@@ -180,6 +183,7 @@ public class StructBatchStreamReader
         presentStream = null;
 
         rowGroupOpen = false;
+        nestedBlockFactory.nextBatch();
 
         for (BatchStreamReader structField : structFields.values()) {
             structField.startStripe(stripe);
@@ -198,6 +202,7 @@ public class StructBatchStreamReader
         presentStream = null;
 
         rowGroupOpen = false;
+        nestedBlockFactory.nextBatch();
 
         for (BatchStreamReader structField : structFields.values()) {
             structField.startRowGroup(dataStreamSources);
@@ -222,7 +227,7 @@ public class StructBatchStreamReader
             BatchStreamReader streamReader = structFields.get(fieldName);
             if (streamReader != null) {
                 streamReader.prepareNextRead(positionCount);
-                blocks[i] = streamReader.readBlock();
+                blocks[i] = nestedBlockFactory.createBlock(positionCount, streamReader);
             }
             else {
                 blocks[i] = RunLengthEncodedBlock.create(type.getFields().get(i).getType(), null, positionCount);
@@ -231,6 +236,18 @@ public class StructBatchStreamReader
         return blocks;
     }
 
+    @Override
+    public long getAndResetDecodedSizeInBytes()
+    {
+        long decodedSizeInBytes = nestedBlockFactory.getAndResetDecodedSizeInBytes();
+        for (BatchStreamReader structField : structFields.values()) {
+            if (structField instanceof NestedBatchStreamReader) {
+                decodedSizeInBytes += ((NestedBatchStreamReader) structField).getAndResetDecodedSizeInBytes();
+            }
+        }
+        return decodedSizeInBytes;
+    }
+
     @Override
     public void close()
     {
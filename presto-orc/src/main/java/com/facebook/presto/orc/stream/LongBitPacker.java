@@ -29,6 +29,8 @@ public final class LongBitPacker
 {
     // ORC uses no more than 9 bits to store run lengths (https://orc.apache.org/docs/run-length.html#direct)
     private static final int MAX_BUFFERED_POSITIONS = 512;
+    // A value of up to 57 bits always fits in the 8 bytes starting at the byte that holds its first bit
+    private static final int MAX_WINDOWED_BIT_SIZE = Long.SIZE - Byte.SIZE + 1;
 
     // We use this temp buffer to work around poor read performance of single bytes from Slice.
     // Benchmarks show that reading from this byte[] is ~3x faster, even after accounting for the
@@ -76,7 +78,36 @@ public final class LongBitPacker
                 unpack64(buffer, offset, len, input);
                 break;
             default:
-                unpackGeneric(buffer, offset, len, bitSize, input);
+                if (bitSize <= MAX_WINDOWED_BIT_SIZE) {
+                    unpackWindowed(buffer, offset, len, bitSize, input);
+                }
+                else {
+                    unpackGeneric(buffer, offset, len, bitSize, input);
+                }
+        }
+    }
+
+    /**
+     * Unpacks values of any width up to {@link #MAX_WINDOWED_BIT_SIZE} bits. The whole run is
+     * read into the temp buffer at once, then every value is extracted from a big endian long
+     * read at the byte holding its first bit. The loop has no data dependent branches, so it
+     * is a single pass of loads and shifts for every bit width that does not have its own kernel.
+     */
+    private void unpackWindowed(long[] buffer, int offset, int len, int bitSize, InputStream input)
+            throws IOException
+    {
+        int blockReadableBytes = (len * bitSize + 7) / 8;
+        for (int i = 0; i < blockReadableBytes; ) {
+            i += input.read(tmp, i, blockReadableBytes - i);
+        }
+        int valueShift = Long.SIZE - bitSize;
+        int bitPosition = 0;
+        for (int i = 0; i < len; i++) {
+            // It's safe to read 8-bytes at a time, because slice is a view over tmp,
+            // which has 8 bytes of buffer space for every position
+            long window = Long.reverseBytes(getLongUnchecked(slice, bitPosition >>> 3));
+            buffer[offset + i] = (window << (bitPosition & 0b111)) >>> valueShift;
+            bitPosition += bitSize;
         }
     }
 
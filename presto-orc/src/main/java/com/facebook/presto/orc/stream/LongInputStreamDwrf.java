@@ -75,8 +75,16 @@ public class LongInputStreamDwrf
     public void next(long[] values, int items)
             throws IOException
     {
-        for (int i = 0; i < items; i++) {
-            values[i] = next();
+        // choose the encoding once per batch instead of once per value
+        if (usesVInt) {
+            for (int i = 0; i < items; i++) {
+                values[i] = input.readVarint(signed);
+            }
+        }
+        else {
+            for (int i = 0; i < items; i++) {
+                values[i] = input.readDwrfLong(orcTypeKind);
+            }
         }
     }
 
@@ -84,8 +92,15 @@ public class LongInputStreamDwrf
     public void next(int[] values, int items)
             throws IOException
     {
-        for (int i = 0; i < items; i++) {
-            values[i] = (int) next();
+        if (usesVInt) {
+            for (int i = 0; i < items; i++) {
+                values[i] = (int) input.readVarint(signed);
+            }
+        }
+        else {
+            for (int i = 0; i < items; i++) {
+                values[i] = (int) input.readDwrfLong(orcTypeKind);
+            }
         }
     }
 
@@ -93,8 +108,15 @@ public class LongInputStreamDwrf
     public void next(short[] values, int items)
             throws IOException
     {
-        for (int i = 0; i < items; i++) {
-            values[i] = (short) next();
+        if (usesVInt) {
+            for (int i = 0; i < items; i++) {
+                values[i] = (short) input.readVarint(signed);
+            }
+        }
+        else {
+            for (int i = 0; i < items; i++) {
+                values[i] = (short) input.readDwrfLong(orcTypeKind);
+            }
         }
     }
 }
@@ -31,6 +31,8 @@ public class LongInputStreamV2
 {
     private static final int MIN_REPEAT_SIZE = 3;
     private static final int MAX_LITERAL_SIZE = 512;
+    // the patch list length of a patched base run is stored in 5 bits
+    private static final int MAX_PATCH_LIST_LENGTH = 0b1_1111;
 
     private enum EncodingType
     {
@@ -41,6 +43,7 @@ public class LongInputStreamV2
     private final OrcInputStream input;
     private final boolean signed;
     private final long[] literals = new long[MAX_LITERAL_SIZE];
+    private final long[] patches = new long[MAX_PATCH_LIST_LENGTH];
     private int numLiterals;
     private int used;
     private final boolean skipCorrupt;
@@ -102,39 +105,43 @@ public class LongInputStreamV2
         literals[numLiterals++] = firstVal;
 
         // if fixed bits is 0 then all values have fixed delta
-        long prevVal;
         if (fixedBits == 0) {
             // read the fixed delta value stored as vint (deltas can be negative even
             // if all number are positive)
             long fixedDelta = LongDecode.readSignedVInt(input);
 
             // add fixed deltas to adjacent values
+            long value = firstVal;
             for (int i = 0; i < length; i++) {
-                literals[numLiterals++] = literals[numLiterals - 2] + fixedDelta;
+                value += fixedDelta;
+                literals[numLiterals++] = value;
             }
         }
         else {
             long deltaBase = LongDecode.readSignedVInt(input);
             // add delta base and first value
             literals[numLiterals++] = firstVal + deltaBase;
-            prevVal = literals[numLiterals - 1];
+            long prevVal = literals[numLiterals - 1];
             length -= 1;
 
             // write the unpacked values, add it to previous value and store final
             // value to result buffer. if the delta base value is negative then it
             // is a decreasing sequence else an increasing sequence
             packer.unpack(literals, numLiterals, length, fixedBits, input);
-            while (length > 0) {
-                if (deltaBase < 0) {
-                    literals[numLiterals] = prevVal - literals[numLiterals];
+            int end = numLiterals + length;
+            if (deltaBase < 0) {
+                for (int i = numLiterals; i < end; i++) {
+                    prevVal -= literals[i];
+                    literals[i] = prevVal;
                 }
-                else {
-                    literals[numLiterals] = prevVal + literals[numLiterals];
+            }
+            else {
+                for (int i = numLiterals; i < end; i++) {
+                    prevVal += literals[i];
+                    literals[i] = prevVal;
                 }
-                prevVal = literals[numLiterals];
-                length--;
-                numLiterals++;
             }
+            numLiterals = end;
         }
     }
 
@@ -178,78 +185,41 @@ public class LongInputStreamV2
             base = -base;
         }
 
-        // unpack the data blob
-        long[] unpacked = new long[length];
-        packer.unpack(unpacked, 0, length, fb, input);
-
-        // unpack the patch blob
-        long[] unpackedPatch = new long[patchListLength];
-
         if ((patchWidth + patchGapWidth) > 64 && !skipCorrupt) {
             throw new OrcCorruptionException(input.getOrcDataSourceId(), "Invalid RLEv2 encoded stream");
         }
 
-        int bitSize = LongDecode.getClosestFixedBits(patchWidth + patchGapWidth);
-        packer.unpack(unpackedPatch, 0, patchListLength, bitSize, input);
+        // unpack the data blob directly into the result buffer
+        packer.unpack(literals, numLiterals, length, fb, input);
 
-        // apply the patch directly when decoding the packed data
-        int patchIndex = 0;
-        long currentGap;
-        long currentPatch;
-        long patchMask = ((1L << patchWidth) - 1);
-        currentGap = unpackedPatch[patchIndex] >>> patchWidth;
-        currentPatch = unpackedPatch[patchIndex] & patchMask;
-        long actualGap = 0;
+        // unpack the patch blob
+        int bitSize = LongDecode.getClosestFixedBits(patchWidth + patchGapWidth);
+        packer.unpack(patches, 0, patchListLength, bitSize, input);
 
+        // apply the patches, each gap is relative to the previous patched position.
         // special case: gap is >255 then patch value will be 0.
         // if gap is <=255 then patch value cannot be 0
-        while (currentGap == 255 && currentPatch == 0) {
-            actualGap += 255;
-            patchIndex++;
-            currentGap = unpackedPatch[patchIndex] >>> patchWidth;
-            currentPatch = unpackedPatch[patchIndex] & patchMask;
-        }
-        // add the left over gap
-        actualGap += currentGap;
-
-        // unpack data blob, patch it (if required), add base to get final result
-        for (int i = 0; i < unpacked.length; i++) {
-            if (i == actualGap) {
-                // extract the patch value
-                long patchedValue = unpacked[i] | (currentPatch << fb);
-
-                // add base to patched value
-                literals[numLiterals++] = base + patchedValue;
-
-                // increment the patch to point to next entry in patch list
-                patchIndex++;
-
-                if (patchIndex < patchListLength) {
-                    // read the next gap and patch
-                    currentGap = unpackedPatch[patchIndex] >>> patchWidth;
-                    currentPatch = unpackedPatch[patchIndex] & patchMask;
-                    actualGap = 0;
-
-                    // special case: gap is >255 then patch will be 0. if gap is
-                    // <=255 then patch cannot be 0
-                    while (currentGap == 255 && currentPatch == 0) {
-                        actualGap += 255;
-                        patchIndex++;
-                        currentGap = unpackedPatch[patchIndex] >>> patchWidth;
-                        currentPatch = unpackedPatch[patchIndex] & patchMask;
-                    }
-                    // add the left over gap
-                    actualGap += currentGap;
-
-                    // next gap is relative to the current gap
-                    actualGap += i;
-                }
+        long patchMask = ((1L << patchWidth) - 1);
+        long patchPosition = 0;
+        for (int patchIndex = 0; patchIndex < patchListLength; patchIndex++) {
+            long currentGap = patches[patchIndex] >>> patchWidth;
+            long currentPatch = patches[patchIndex] & patchMask;
+            patchPosition += currentGap;
+            if (currentGap == 255 && currentPatch == 0) {
+                continue;
             }
-            else {
-                // no patching required. add base to unpacked value to get final value
-                literals[numLiterals++] = base + unpacked[i];
+            if (patchPosition >= length) {
+                break;
             }
+            literals[numLiterals + (int) patchPosition] |= currentPatch << fb;
+        }
+
+        // add base to get final result
+        int end = numLiterals + length;
+        for (int i = numLiterals; i < end; i++) {
+            literals[i] += base;
         }
+        numLiterals = end;
     }
 
     // This comes from the Apache Hive ORC code
@@ -167,6 +167,8 @@ public class BenchmarkSelectiveStreamReaders
 
                 "integer",
                 "bigint",
+                "bigint_narrow",
+                "bigint_sequence",
                 "smallint",
                 "tinyint",
 
@@ -191,6 +193,8 @@ public class BenchmarkSelectiveStreamReaders
         })
         private Nulls withNulls = Nulls.PARTIAL;
 
+        private long sequence;
+
         // 0 means no rows will be filtered out, 1 means all rows will be filtered out, -1 means no filter.
         // When withNulls is ALL, only -1, 0, 1 are meaningful. Other values are regarded as 1.
         // "|" is the column delimiter.
@@ -245,6 +249,9 @@ public class BenchmarkSelectiveStreamReaders
             else if (typeSignature.startsWith("varchar")) {
                 type = createTestFunctionAndTypeManager().getType(TypeSignature.parseTypeSignature("varchar"));
             }
+            else if (typeSignature.startsWith("bigint")) {
+                type = BIGINT;
+            }
             else {
                 type = createTestFunctionAndTypeManager().getType(TypeSignature.parseTypeSignature(typeSignature));
             }
@@ -398,6 +405,15 @@ public class BenchmarkSelectiveStreamReaders
             }
 
             if (type == BIGINT) {
+                if (typeSignature.equals("bigint_narrow")) {
+                    // 13 bit values are bit packed with a width that has no dedicated unpack kernel
+                    return (long) random.nextInt(1 << 13);
+                }
+                if (typeSignature.equals("bigint_sequence")) {
+                    // increasing values with small varying steps are written as delta runs
+                    sequence += random.nextInt(100);
+                    return sequence;
+                }
                 return random.nextLong();
             }
 
@@ -66,6 +66,8 @@ import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static java.lang.Math.toIntExact;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 public class TestMapFlatBatchStreamReader
 {
@@ -415,6 +417,51 @@ public class TestMapFlatBatchStreamReader
                 ExpectedValuesBuilder.get(Function.identity()));
     }
 
+    @Test
+    public void testLazyValuesOfSingleKey()
+            throws Exception
+    {
+        // only the values of one key are read, so the values of the other keys are never decoded
+        List<Map<Integer, Integer>> expectedValues = ExpectedValuesBuilder.get(Function.identity()).setNullRowsFrequency(SOME).build();
+        int key = 5;
+
+        OrcReaderOptions options = OrcReaderOptions.builder()
+                .withMaxMergeDistance(new DataSize(1, MEGABYTE))
+                .withTinyStripeThreshold(new DataSize(1, MEGABYTE))
+                .withMaxBlockSize(new DataSize(1, MEGABYTE))
+                .withLazyNestedBlocksEnabled(true)
+                .build();
+        Type mapType = mapType(INTEGER, INTEGER);
+        try (OrcBatchRecordReader recordReader = createRecordReader("test_flat_map/flat_map_some_null_maps.dwrf", mapType, expectedValues, options)) {
+            Iterator<Map<Integer, Integer>> expectedValuesIterator = expectedValues.iterator();
+            int rowsWithKey = 0;
+            for (int batchSize = toIntExact(recordReader.nextBatch()); batchSize >= 0; batchSize = toIntExact(recordReader.nextBatch())) {
+                Block block = recordReader.readBlock(0);
+                for (int position = 0; position < block.getPositionCount(); position++) {
+                    Map<Integer, Integer> expected = expectedValuesIterator.next();
+                    if (block.isNull(position)) {
+                        assertNull(expected);
+                        continue;
+                    }
+
+                    Block map = (Block) mapType.getObject(block, position);
+                    Integer value = null;
+                    for (int entry = 0; entry < map.getPositionCount(); entry += 2) {
+                        if (INTEGER.getLong(map, entry) == key) {
+                            value = toIntExact(INTEGER.getLong(map, entry + 1));
+                        }
+                    }
+                    assertEquals(value, expected.get(key));
+                    if (value != null) {
+                        rowsWithKey++;
+                    }
+                }
+            }
+            assertFalse(expectedValuesIterator.hasNext());
+            assertTrue(rowsWithKey > 0);
+        }
+    }
+
     private <K, V> void runTest(String testOrcFileName, Type type, ExpectedValuesBuilder<K, V> expectedValuesBuilder)
             throws Exception
     {
@@ -494,6 +541,34 @@ public class TestMapFlatBatchStreamReader
         }
     }
 
+    private static <K, V> OrcBatchRecordReader createRecordReader(String testOrcFileName, Type mapType, List<Map<K, V>> expectedValues, OrcReaderOptions options)
+            throws Exception
+    {
+        OrcDataSource orcDataSource = new FileOrcDataSource(
+                OrcReaderTestingUtils.getResourceFile(testOrcFileName),
+                new DataSize(1, MEGABYTE),
+                new DataSize(1, MEGABYTE),
+                new DataSize(1, MEGABYTE),
+                true);
+        OrcReader orcReader = new OrcReader(
+                orcDataSource,
+                OrcEncoding.DWRF,
+                new StorageOrcFileTailSource(),
+                new StorageStripeMetadataSource(),
+                NOOP_ORC_AGGREGATED_MEMORY_CONTEXT,
+                options,
+                false,
+                NO_ENCRYPTION,
+                DwrfKeyProvider.EMPTY,
+                new RuntimeStats());
+        return orcReader.createBatchRecordReader(
+                ImmutableMap.of(0, mapType),
+                createOrcPredicate(0, mapType, expectedValues, OrcTester.Format.DWRF, true),
+                HIVE_STORAGE_TIME_ZONE,
+                new TestingHiveOrcAggregatedMemoryContext(),
+                1024);
+    }
+
     private static boolean intToBoolean(int i)
     {
         return i % 2 == 0;
@@ -52,6 +52,8 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.LongStream;
 
 import static com.facebook.presto.common.type.BigintType.BIGINT;
@@ -63,14 +65,17 @@ import static com.facebook.presto.orc.OrcReader.BATCH_SIZE_GROWTH_FACTOR;
 import static com.facebook.presto.orc.OrcReader.INITIAL_BATCH_SIZE;
 import static com.facebook.presto.orc.OrcReader.MAX_BATCH_SIZE;
 import static com.facebook.presto.orc.OrcTester.Format.ORC_12;
+import static com.facebook.presto.orc.OrcTester.HIVE_STORAGE_TIME_ZONE;
 import static com.facebook.presto.orc.OrcTester.MAX_BLOCK_SIZE;
 import static com.facebook.presto.orc.OrcTester.createCustomOrcRecordReader;
 import static com.facebook.presto.orc.OrcTester.createCustomOrcSelectiveRecordReader;
 import static com.facebook.presto.orc.OrcTester.createOrcRecordWriter;
 import static com.facebook.presto.orc.OrcTester.createSettableStructObjectInspector;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static java.lang.Math.min;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.apache.hadoop.hive.ql.io.orc.CompressionKind.SNAPPY;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
@@ -148,6 +153,68 @@ public class TestOrcReaderPositions
         }
     }
 
+    @Test
+    public void testStripePrefetch()
+            throws Exception
+    {
+        ExecutorService executor = newSingleThreadExecutor();
+        try (TempFile tempFile = new TempFile()) {
+            createMultiStripeFile(tempFile.getFile());
+
+            RuntimeStats runtimeStats = new RuntimeStats();
+            OrcDataSource orcDataSource = new FileOrcDataSource(tempFile.getFile(), new DataSize(1, MEGABYTE), new DataSize(1, MEGABYTE), new DataSize(1, MEGABYTE), true);
+            OrcReader orcReader = new OrcReader(
+                    orcDataSource,
+                    ORC,
+                    new StorageOrcFileTailSource(),
+                    new StorageStripeMetadataSource(),
+                    NOOP_ORC_AGGREGATED_MEMORY_CONTEXT,
+                    OrcReaderOptions.builder()
+                            .withMaxMergeDistance(new DataSize(1, MEGABYTE))
+                            // stripes below the tiny stripe threshold are read together and never prefetched
+                            .withTinyStripeThreshold(new DataSize(0, MEGABYTE))
+                            .withMaxBlockSize(MAX_BLOCK_SIZE)
+                            .withStripePrefetchExecutor(executor)
+                            .build(),
+                    false,
+                    NO_ENCRYPTION,
+                    DwrfKeyProvider.EMPTY,
+                    runtimeStats);
+
+            List<Long> values = new ArrayList<>();
+            try (OrcSelectiveRecordReader reader = orcReader.createSelectiveRecordReader(
+                    ImmutableMap.of(0, BIGINT),
+                    ImmutableList.of(0),
+                    ImmutableMap.of(),
+                    ImmutableList.of(),
+                    ImmutableMap.of(),
+                    ImmutableMap.of(),
+                    ImmutableMap.of(),
+                    ImmutableMap.of(),
+                    OrcPredicate.TRUE,
+                    0,
+                    orcDataSource.getSize(),
+                    HIVE_STORAGE_TIME_ZONE,
+                    new TestingHiveOrcAggregatedMemoryContext(),
+                    Optional.empty(),
+                    MAX_BATCH_SIZE)) {
+                for (Page page = reader.getNextPage(); page != null; page = reader.getNextPage()) {
+                    Block block = page.getBlock(0).getLoadedBlock();
+                    for (int position = 0; position < block.getPositionCount(); position++) {
+                        values.add(BIGINT.getLong(block, position));
+                    }
+                }
+            }
+
+            assertEquals(values, LongStream.range(0, 100).map(value -> value * 3).boxed().collect(toImmutableList()));
+            // every stripe but the first one is read ahead while the previous stripe is consumed
+            assertEquals(runtimeStats.getMetric("OrcPrefetchedStripes").getSum(), 4);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testCompleteFileWithAppendRowNumber()
             throws Exception
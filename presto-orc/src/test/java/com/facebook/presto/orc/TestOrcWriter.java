@@ -35,12 +35,15 @@ import org.testng.annotations.Test;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -59,6 +62,8 @@ import static com.facebook.presto.orc.metadata.CompressionKind.NONE;
 import static com.facebook.presto.orc.metadata.CompressionKind.ZLIB;
 import static com.facebook.presto.orc.metadata.CompressionKind.ZSTD;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.Collections.nCopies;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 
@@ -179,6 +184,178 @@ public class TestOrcWriter
         }
     }
 
+    @Test(dataProvider = "compressionLevels")
+    public void testParallelEncoding(OrcEncoding encoding, CompressionKind kind, OptionalInt level)
+            throws IOException
+    {
+        ExecutorService executor = newFixedThreadPool(4);
+        try {
+            TempFile serialFile = new TempFile();
+            TempFile parallelFile = new TempFile();
+            writeMultipleStripes(new OutputStreamDataSink(new FileOutputStream(serialFile.getFile())), encoding, kind, createMultipleStripesOptions(level).build());
+            // background writes reach the file only after the column writers encoded the next stripe
+            writeMultipleStripes(new DeferringDataSink(new OutputStreamDataSink(new FileOutputStream(parallelFile.getFile()))), encoding, kind, createMultipleStripesOptions(level)
+                    .withEncodingParallelism(3)
+                    .withEncodingExecutor(executor)
+                    .build());
+
+            // encoding and writing in the background must produce exactly the same file
+            assertGreaterThanOrEqual(OrcTester.getStripes(parallelFile.getFile(), encoding).size(), 2);
+            assertEquals(Files.readAllBytes(parallelFile.getFile().toPath()), Files.readAllBytes(serialFile.getFile().toPath()));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Dummy exception from mocked instance")
+    public void testParallelEncodingWriteFailure()
+            throws IOException
+    {
+        ExecutorService executor = newFixedThreadPool(2);
+        try {
+            OrcWriter writer = new OrcWriter(
+                    new MockDataSink(),
+                    ImmutableList.of("test1", "test2"),
+                    ImmutableList.of(VARCHAR, VARCHAR),
+                    ORC,
+                    NONE,
+                    Optional.empty(),
+                    NO_ENCRYPTION,
+                    createMultipleStripesOptions(OptionalInt.empty())
+                            .withEncodingParallelism(2)
+                            .withEncodingExecutor(executor)
+                            .build(),
+                    ImmutableMap.of(),
+                    HIVE_STORAGE_TIME_ZONE,
+                    false,
+                    null,
+                    NOOP_WRITER_STATS);
+
+            // the failed background write of the first stripe is reported by a later flush
+            writer.write(createVarcharPage(2, 30_000, 0));
+            writer.close();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static OrcWriterOptions.Builder createMultipleStripesOptions(OptionalInt level)
+    {
+        return OrcWriterOptions.builder()
+                .withFlushPolicy(DefaultOrcWriterFlushPolicy.builder()
+                        .withStripeMinSize(new DataSize(0, MEGABYTE))
+                        .withStripeMaxSize(new DataSize(32, MEGABYTE))
+                        .withStripeMaxRowCount(10_000)
+                        .build())
+                .withRowGroupMaxRowCount(ORC_ROW_GROUP_SIZE)
+                .withDictionaryMaxMemory(new DataSize(32, MEGABYTE))
+                .withCompressionLevel(level);
+    }
+
+    private static void writeMultipleStripes(DataSink dataSink, OrcEncoding encoding, CompressionKind kind, OrcWriterOptions options)
+            throws IOException
+    {
+        int columnCount = 7;
+        ImmutableList.Builder<String> columnNames = ImmutableList.builder();
+        for (int column = 0; column < columnCount; column++) {
+            columnNames.add("test" + column);
+        }
+        OrcWriter writer = new OrcWriter(
+                dataSink,
+                columnNames.build(),
+                nCopies(columnCount, VARCHAR),
+                encoding,
+                kind,
+                Optional.empty(),
+                NO_ENCRYPTION,
+                options,
+                ImmutableMap.of(),
+                HIVE_STORAGE_TIME_ZONE,
+                false,
+                null,
+                NOOP_WRITER_STATS);
+        for (int page = 0; page < 5; page++) {
+            writer.write(createVarcharPage(columnCount, 7_000, page));
+        }
+        writer.close();
+    }
+
+    /**
+     * Writes the data handed over by other threads only on the next write or on close,
+     * so a background stripe write reads its data after the column writers were reused.
+     */
+    private static class DeferringDataSink
+            implements DataSink
+    {
+        private final Thread writerThread = Thread.currentThread();
+        private final DataSink delegate;
+        private final List<DataOutput> deferredData = new ArrayList<>();
+
+        public DeferringDataSink(DataSink delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized long size()
+        {
+            return delegate.size() + deferredData.stream().mapToLong(DataOutput::size).sum();
+        }
+
+        @Override
+        public synchronized long getRetainedSizeInBytes()
+        {
+            return delegate.getRetainedSizeInBytes();
+        }
+
+        @Override
+        public synchronized void write(List<DataOutput> outputData)
+                throws IOException
+        {
+            writeDeferredData();
+            if (Thread.currentThread() == writerThread) {
+                delegate.write(outputData);
+            }
+            else {
+                deferredData.addAll(outputData);
+            }
+        }
+
+        @Override
+        public synchronized void close()
+                throws IOException
+        {
+            writeDeferredData();
+            delegate.close();
+        }
+
+        private void writeDeferredData()
+                throws IOException
+        {
+            if (!deferredData.isEmpty()) {
+                delegate.write(ImmutableList.copyOf(deferredData));
+                deferredData.clear();
+            }
+        }
+    }
+
+    private static Page createVarcharPage(int columnCount, int positionCount, int seed)
+    {
+        Block[] blocks = new Block[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            BlockBuilder blockBuilder = VARCHAR.createBlockBuilder(null, positionCount);
+            for (int position = 0; position < positionCount; position++) {
+                // mix low and high cardinality columns so both dictionary and direct encodings are written
+                int value = column % 2 == 0 ? position % 17 : position * 31 + seed;
+                VARCHAR.writeSlice(blockBuilder, Slices.utf8Slice(column + "_" + value));
+            }
+            blocks[column] = blockBuilder.build();
+        }
+        return new Page(blocks);
+    }
+
     @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Dummy exception from mocked instance")
     public void testVerifyNoIllegalStateException()
             throws IOException
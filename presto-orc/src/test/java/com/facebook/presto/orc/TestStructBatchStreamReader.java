@@ -60,6 +60,7 @@ import static com.facebook.presto.orc.metadata.CompressionKind.NONE;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static org.joda.time.DateTimeZone.UTC;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
 
 @Test(singleThreaded = true)
@@ -220,6 +221,43 @@ public class TestStructBatchStreamReader
         assertEquals(actual.get(1), "field_c_value");
     }
 
+    @Test
+    public void testLazyNestedBlocks()
+            throws IOException
+    {
+        List<String> fields = new ArrayList<>(Arrays.asList("field_a", "field_b", "field_c"));
+        List<String> writerData = new ArrayList<>(Arrays.asList("field_a_value", "field_b_value", "field_c_value"));
+        Type type = getType(fields);
+
+        write(tempFile, type, writerData);
+        try (OrcBatchRecordReader recordReader = createRecordReader(tempFile, type, true)) {
+            recordReader.nextBatch();
+            Block block = recordReader.readBlock(0);
+            Block loadedBlock = block.getLoadedBlock();
+            assertNotSame(loadedBlock, block);
+
+            List actual = (List) type.getObjectValue(SESSION.getSqlFunctionProperties(), loadedBlock, 0);
+            assertEquals(actual, writerData);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = "Nested block of .* can not be loaded after the reader advanced")
+    public void testLazyNestedBlockLoadedAfterNextBatch()
+            throws IOException
+    {
+        List<String> fields = new ArrayList<>(Arrays.asList("field_a", "field_b", "field_c"));
+        List<String> writerData = new ArrayList<>(Arrays.asList("field_a_value", "field_b_value", "field_c_value"));
+        Type type = getType(fields);
+
+        write(tempFile, type, writerData);
+        try (OrcBatchRecordReader recordReader = createRecordReader(tempFile, type, true)) {
+            recordReader.nextBatch();
+            Block block = recordReader.readBlock(0);
+            recordReader.nextBatch();
+            block.getLoadedBlock();
+        }
+    }
+
     private void write(TempFile tempFile, Type writerType, List<String> data)
             throws IOException
     {
@@ -270,6 +308,16 @@ public class TestStructBatchStreamReader
 
     private RowBlock read(TempFile tempFile, Type readerType)
             throws IOException
+    {
+        OrcBatchRecordReader recordReader = createRecordReader(tempFile, readerType, false);
+        recordReader.nextBatch();
+        RowBlock block = (RowBlock) recordReader.readBlock(0);
+        recordReader.close();
+        return block;
+    }
+
+    private OrcBatchRecordReader createRecordReader(TempFile tempFile, Type readerType, boolean lazyNestedBlocksEnabled)
+            throws IOException
     {
         DataSize dataSize = new DataSize(1, MEGABYTE);
         OrcDataSource orcDataSource = new FileOrcDataSource(tempFile.getFile(), dataSize, dataSize, dataSize, true);
@@ -283,6 +331,7 @@ public class TestStructBatchStreamReader
                         .withMaxMergeDistance(dataSize)
                         .withTinyStripeThreshold(dataSize)
                         .withMaxBlockSize(dataSize)
+                        .withLazyNestedBlocksEnabled(lazyNestedBlocksEnabled)
                         .build(),
                 false,
                 NO_ENCRYPTION,
@@ -292,17 +341,12 @@ public class TestStructBatchStreamReader
         Map<Integer, Type> includedColumns = new HashMap<>();
         includedColumns.put(0, readerType);
 
-        OrcBatchRecordReader recordReader = orcReader.createBatchRecordReader(
+        return orcReader.createBatchRecordReader(
                 includedColumns,
                 OrcPredicate.TRUE,
                 UTC,
                 new TestingHiveOrcAggregatedMemoryContext(),
                 OrcReader.INITIAL_BATCH_SIZE);
-
-        recordReader.nextBatch();
-        RowBlock block = (RowBlock) recordReader.readBlock(0);
-        recordReader.close();
-        return block;
     }
 
     private Type getType(List<String> fieldNames)
@@ -0,0 +1,147 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc.cache;
+
+import com.facebook.presto.cache.LocalDiskCache;
+import com.facebook.presto.orc.NoopOrcDataSource;
+import com.facebook.presto.orc.metadata.DwrfStripeCacheData;
+import com.facebook.presto.orc.metadata.OrcFileTail;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.facebook.presto.orc.metadata.CompressionKind.ZSTD;
+import static com.facebook.presto.orc.metadata.DwrfStripeCacheMode.INDEX_AND_FOOTER;
+import static com.facebook.presto.orc.metadata.PostScript.HiveWriterVersion.ORC_HIVE_8732;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.airlift.slice.Slices.wrappedBuffer;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class TestDiskCachingOrcFileTailSource
+{
+    @Test
+    public void testCachesFileTail()
+            throws IOException
+    {
+        Path directory = Files.createTempDirectory("orc-file-tail-cache");
+        try {
+            OrcFileTail expected = createOrcFileTail(10);
+            AtomicInteger loads = new AtomicInteger();
+            OrcFileTailSource delegate = (orcDataSource, metadataReader, writeValidation, cacheable, fileModificationTime) -> {
+                loads.incrementAndGet();
+                return createOrcFileTail(fileModificationTime);
+            };
+
+            try (LocalDiskCache diskCache = new LocalDiskCache(directory, 1024 * 1024)) {
+                OrcFileTailSource source = new DiskCachingOrcFileTailSource(delegate, diskCache);
+                assertOrcFileTail(source.getOrcFileTail(NoopOrcDataSource.INSTANCE, null, Optional.empty(), true, 10), expected);
+                assertOrcFileTail(source.getOrcFileTail(NoopOrcDataSource.INSTANCE, null, Optional.empty(), true, 10), expected);
+                assertEquals(loads.get(), 1);
+
+                // a new modification time is a different entry
+                assertOrcFileTail(source.getOrcFileTail(NoopOrcDataSource.INSTANCE, null, Optional.empty(), true, 11), createOrcFileTail(11));
+                assertEquals(loads.get(), 2);
+
+                // non cacheable tails always go to the delegate
+                source.getOrcFileTail(NoopOrcDataSource.INSTANCE, null, Optional.empty(), false, 10);
+                assertEquals(loads.get(), 3);
+            }
+
+            // the cached tails survive reopening the cache
+            try (LocalDiskCache diskCache = new LocalDiskCache(directory, 1024 * 1024)) {
+                OrcFileTailSource source = new DiskCachingOrcFileTailSource(delegate, diskCache);
+                assertOrcFileTail(source.getOrcFileTail(NoopOrcDataSource.INSTANCE, null, Optional.empty(), true, 10), expected);
+                assertEquals(loads.get(), 3);
+            }
+        }
+        finally {
+            deleteRecursively(directory, ALLOW_INSECURE);
+        }
+    }
+
+    @Test
+    public void testUnparsableEntryFallsBackToDelegate()
+            throws IOException
+    {
+        Path directory = Files.createTempDirectory("orc-file-tail-cache");
+        try (LocalDiskCache diskCache = new LocalDiskCache(directory, 1024 * 1024)) {
+            AtomicInteger loads = new AtomicInteger();
+            OrcFileTailSource delegate = (orcDataSource, metadataReader, writeValidation, cacheable, fileModificationTime) -> {
+                loads.incrementAndGet();
+                return createOrcFileTail(fileModificationTime);
+            };
+            // an entry with a valid checksum that is not a serialized tail
+            String key = NoopOrcDataSource.INSTANCE.getId() + "#10";
+            diskCache.put(key, wrappedBuffer(new byte[] {1, 2, 3}));
+
+            OrcFileTailSource source = new DiskCachingOrcFileTailSource(delegate, diskCache);
+            assertOrcFileTail(source.getOrcFileTail(NoopOrcDataSource.INSTANCE, null, Optional.empty(), true, 10), createOrcFileTail(10));
+            assertEquals(loads.get(), 1);
+
+            // the entry was replaced by the tail from the delegate
+            assertOrcFileTail(source.getOrcFileTail(NoopOrcDataSource.INSTANCE, null, Optional.empty(), true, 10), createOrcFileTail(10));
+            assertEquals(loads.get(), 1);
+        }
+        finally {
+            deleteRecursively(directory, ALLOW_INSECURE);
+        }
+    }
+
+    @Test
+    public void testRoundTripWithoutStripeCache()
+    {
+        OrcFileTail orcFileTail = new OrcFileTail(ORC_HIVE_8732, 1024, ZSTD, utf8Slice("footer"), 6, utf8Slice(""), 0, Optional.empty(), 5);
+        Optional<OrcFileTail> deserialized = DiskCachingOrcFileTailSource.deserialize(DiskCachingOrcFileTailSource.serialize(orcFileTail), 5);
+        assertOrcFileTail(deserialized.get(), orcFileTail);
+    }
+
+    private static OrcFileTail createOrcFileTail(long fileModificationTime)
+    {
+        return new OrcFileTail(
+                ORC_HIVE_8732,
+                256 * 1024,
+                ZSTD,
+                utf8Slice("footer"),
+                6,
+                utf8Slice("metadata"),
+                8,
+                Optional.of(new DwrfStripeCacheData(utf8Slice("stripe cache"), 12, INDEX_AND_FOOTER)),
+                fileModificationTime);
+    }
+
+    private static void assertOrcFileTail(OrcFileTail actual, OrcFileTail expected)
+    {
+        assertEquals(actual.getHiveWriterVersion(), expected.getHiveWriterVersion());
+        assertEquals(actual.getBufferSize(), expected.getBufferSize());
+        assertSame(actual.getCompressionKind(), expected.getCompressionKind());
+        assertEquals(actual.getFooterSlice(), expected.getFooterSlice());
+        assertEquals(actual.getFooterSize(), expected.getFooterSize());
+        assertEquals(actual.getMetadataSlice(), expected.getMetadataSlice());
+        assertEquals(actual.getMetadataSize(), expected.getMetadataSize());
+        assertEquals(actual.getDwrfStripeCacheData().isPresent(), expected.getDwrfStripeCacheData().isPresent());
+        if (expected.getDwrfStripeCacheData().isPresent()) {
+            assertEquals(actual.getDwrfStripeCacheData().get().getDwrfStripeCacheSlice(), expected.getDwrfStripeCacheData().get().getDwrfStripeCacheSlice());
+            assertEquals(actual.getDwrfStripeCacheData().get().getDwrfStripeCacheSize(), expected.getDwrfStripeCacheData().get().getDwrfStripeCacheSize());
+            assertSame(actual.getDwrfStripeCacheData().get().getDwrfStripeCacheMode(), expected.getDwrfStripeCacheData().get().getDwrfStripeCacheMode());
+        }
+        assertEquals(actual.getFileModificationTime(), expected.getFileModificationTime());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc.reader;
+
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockBuilder;
+import com.facebook.presto.common.block.LazyBlock;
+import org.testng.annotations.Test;
+
+import static com.facebook.presto.common.block.LazyBlock.nestedLazyBlock;
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestFlatMapValueBlock
+{
+    @Test
+    public void testValuesOfKeyAreLoadedOnAccess()
+    {
+        LazyBlock firstKeyValues = createKeyValues(10, 11, 12);
+        LazyBlock secondKeyValues = createKeyValues(20, 21);
+        // three maps: {0: 10, 1: 20}, {0: 11}, {0: 12, 1: 21}
+        FlatMapValueBlock values = new FlatMapValueBlock(
+                BIGINT,
+                new Block[] {firstKeyValues, secondKeyValues},
+                new int[] {0, 1, 0, 0, 1},
+                new int[] {0, 0, 1, 2, 1});
+
+        assertEquals(BIGINT.getLong(values, 4), 21);
+        assertTrue(secondKeyValues.isLoaded());
+        assertFalse(firstKeyValues.isLoaded());
+        assertFalse(values.isLoaded());
+
+        assertEquals(BIGINT.getLong(values, 2), 11);
+        assertTrue(firstKeyValues.isLoaded());
+        assertFalse(values.isLoaded());
+    }
+
+    @Test
+    public void testLoadedBlock()
+    {
+        FlatMapValueBlock values = new FlatMapValueBlock(
+                BIGINT,
+                new Block[] {createKeyValues(10, 11, 12), createKeyValues(20, 21)},
+                new int[] {0, 1, 0, 0, 1},
+                new int[] {0, 0, 1, 2, 1});
+
+        Block loadedBlock = values.getLoadedBlock();
+        assertTrue(values.isLoaded());
+        long[] expected = {10, 20, 11, 12, 21};
+        assertEquals(loadedBlock.getPositionCount(), expected.length);
+        for (int position = 0; position < expected.length; position++) {
+            assertEquals(BIGINT.getLong(loadedBlock, position), expected[position]);
+        }
+    }
+
+    private static LazyBlock createKeyValues(long... values)
+    {
+        return nestedLazyBlock(values.length, lazyBlock -> {
+            BlockBuilder blockBuilder = BIGINT.createBlockBuilder(null, values.length);
+            for (long value : values) {
+                BIGINT.writeLong(blockBuilder, value);
+            }
+            lazyBlock.setBlock(blockBuilder.build());
+        });
+    }
+}
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 
 import static com.facebook.presto.orc.metadata.Stream.StreamKind.DATA;
 
@@ -44,6 +45,50 @@ public class TestLongStreamV2
         testWriteValue(groups);
     }
 
+    @Test
+    public void testRunEncodings()
+            throws IOException
+    {
+        Random random = new Random(0);
+        List<List<Long>> groups = new ArrayList<>();
+
+        // increasing and decreasing delta runs with varying deltas
+        List<Long> increasing = new ArrayList<>();
+        List<Long> decreasing = new ArrayList<>();
+        long value = 0;
+        for (int i = 0; i < 2000; i++) {
+            value += random.nextInt(1000);
+            increasing.add(value);
+            decreasing.add(-value);
+        }
+        groups.add(increasing);
+        groups.add(decreasing);
+
+        // fixed delta runs
+        List<Long> fixedDelta = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            fixedDelta.add(7L * i - 1000);
+        }
+        groups.add(fixedDelta);
+
+        // small values with rare large outliers are written as patched base runs
+        List<Long> patched = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            patched.add(i % 97 == 0 ? random.nextInt(1 << 30) + (1L << 30) : random.nextInt(1 << 9));
+        }
+        groups.add(patched);
+
+        // direct runs of every bit width
+        for (int bits = 1; bits < 64; bits++) {
+            List<Long> direct = new ArrayList<>();
+            for (int i = 0; i < 600; i++) {
+                direct.add(random.nextLong() >> (64 - bits));
+            }
+            groups.add(direct);
+        }
+        testWriteValue(groups);
+    }
+
     @Override
     protected LongOutputStreamV2 createValueOutputStream()
     {
@@ -13,18 +13,45 @@
  */
 package com.facebook.presto.parquet;
 
+import com.facebook.presto.memory.context.AggregatedMemoryContext;
+import com.facebook.presto.memory.context.LocalMemoryContext;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static com.facebook.presto.parquet.ParquetDataSourceUtils.mergeAdjacentDiskRanges;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Verify.verify;
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 
 public abstract class AbstractParquetDataSource
         implements ParquetDataSource
 {
     private final ParquetDataSourceId id;
+    private final DataSize maxMergeDistance;
+    private final DataSize maxBufferSize;
     private long readTimeNanos;
     private long readBytes;
 
     public AbstractParquetDataSource(ParquetDataSourceId id)
+    {
+        // disable merging of disk ranges
+        this(id, new DataSize(0, BYTE), new DataSize(0, BYTE));
+    }
+
+    public AbstractParquetDataSource(ParquetDataSourceId id, DataSize maxMergeDistance, DataSize maxBufferSize)
     {
         this.id = requireNonNull(id, "id is null");
+        this.maxMergeDistance = requireNonNull(maxMergeDistance, "maxMergeDistance is null");
+        this.maxBufferSize = requireNonNull(maxBufferSize, "maxBufferSize is null");
     }
 
     @Override
@@ -63,5 +90,157 @@ public abstract class AbstractParquetDataSource
         readTimeNanos += currentReadTimeNanos;
     }
 
+    /**
+     * Merged ranges are read synchronously on the calling thread when one of their streams is first used.
+     * Ranges are not fetched concurrently or prefetched: a data source is owned by a single driver and this
+     * layer has no executor, so fewer, larger requests are the only latency saving made here.
+     */
+    @Override
+    public final <K> Map<K, InputStream> readFully(Map<K, DiskRange> diskRanges, AggregatedMemoryContext memoryContext)
+    {
+        requireNonNull(diskRanges, "diskRanges is null");
+        requireNonNull(memoryContext, "memoryContext is null");
+
+        if (diskRanges.isEmpty()) {
+            return ImmutableMap.of();
+        }
+
+        // split disk ranges into "small" ranges that are merged and read in one request,
+        // and "large" ranges that are streamed
+        long maxBufferSizeBytes = maxBufferSize.toBytes();
+        ImmutableMap.Builder<K, DiskRange> smallRangesBuilder = ImmutableMap.builder();
+        ImmutableMap.Builder<K, InputStream> streams = ImmutableMap.builder();
+        for (Entry<K, DiskRange> entry : diskRanges.entrySet()) {
+            DiskRange diskRange = entry.getValue();
+            if (diskRange.getLength() <= maxBufferSizeBytes) {
+                smallRangesBuilder.put(entry);
+            }
+            else {
+                streams.put(entry.getKey(), new ParquetDataSourceInputStream(this, diskRange.getOffset(), diskRange.getLength()));
+            }
+        }
+        Map<K, DiskRange> smallRanges = smallRangesBuilder.build();
+
+        if (!smallRanges.isEmpty()) {
+            List<DiskRange> mergedRanges = mergeAdjacentDiskRanges(smallRanges.values(), maxMergeDistance, maxBufferSize);
+            for (DiskRange mergedRange : mergedRanges) {
+                LazyBufferLoader mergedRangeLoader = new LazyBufferLoader(mergedRange, memoryContext.newLocalMemoryContext(AbstractParquetDataSource.class.getSimpleName()));
+                for (Entry<K, DiskRange> entry : smallRanges.entrySet()) {
+                    if (mergedRange.contains(entry.getValue())) {
+                        streams.put(entry.getKey(), new LazyMergedInputStream(entry.getValue(), mergedRangeLoader));
+                    }
+                }
+            }
+        }
+
+        Map<K, InputStream> result = streams.build();
+        verify(result.keySet().equals(diskRanges.keySet()));
+        return result;
+    }
+
     protected abstract void readInternal(long position, byte[] buffer, int bufferOffset, int bufferLength);
+
+    private final class LazyBufferLoader
+    {
+        private final DiskRange diskRange;
+        private final LocalMemoryContext memoryContext;
+        private int openStreams;
+        private byte[] buffer;
+
+        public LazyBufferLoader(DiskRange diskRange, LocalMemoryContext memoryContext)
+        {
+            this.diskRange = requireNonNull(diskRange, "diskRange is null");
+            this.memoryContext = requireNonNull(memoryContext, "memoryContext is null");
+        }
+
+        public void addStream()
+        {
+            openStreams++;
+        }
+
+        public ByteArrayInputStream loadNestedDiskRange(DiskRange nestedDiskRange)
+        {
+            checkArgument(diskRange.contains(nestedDiskRange));
+            checkState(openStreams > 0, "all streams of the merged range are closed");
+            if (buffer == null) {
+                memoryContext.setBytes(diskRange.getLength());
+                buffer = new byte[diskRange.getLength()];
+                readFully(diskRange.getOffset(), buffer);
+            }
+            int offset = toIntExact(nestedDiskRange.getOffset() - diskRange.getOffset());
+            return new ByteArrayInputStream(buffer, offset, nestedDiskRange.getLength());
+        }
+
+        public void closeStream()
+        {
+            openStreams--;
+            if (openStreams == 0) {
+                buffer = null;
+                memoryContext.close();
+            }
+        }
+    }
+
+    /**
+     * Defers the read of the merged range until one of the streams it contains is first used.
+     */
+    private static final class LazyMergedInputStream
+            extends InputStream
+    {
+        private final DiskRange diskRange;
+        private final LazyBufferLoader loader;
+        private ByteArrayInputStream delegate;
+        private boolean closed;
+
+        public LazyMergedInputStream(DiskRange diskRange, LazyBufferLoader loader)
+        {
+            this.diskRange = requireNonNull(diskRange, "diskRange is null");
+            this.loader = requireNonNull(loader, "loader is null");
+            loader.addStream();
+        }
+
+        @Override
+        public int read()
+        {
+            return getDelegate().read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length)
+        {
+            return getDelegate().read(buffer, offset, length);
+        }
+
+        @Override
+        public int available()
+        {
+            if (closed) {
+                return 0;
+            }
+            if (delegate == null) {
+                return diskRange.getLength();
+            }
+            return delegate.available();
+        }
+
+        @Override
+        public void close()
+        {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            delegate = null;
+            loader.closeStream();
+        }
+
+        private ByteArrayInputStream getDelegate()
+        {
+            checkState(!closed, "stream is closed");
+            if (delegate == null) {
+                delegate = loader.loadNestedDiskRange(diskRange);
+            }
+            return delegate;
+        }
+    }
 }
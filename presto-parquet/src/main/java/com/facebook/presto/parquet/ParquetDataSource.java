@@ -13,12 +13,16 @@
  */
 package com.facebook.presto.parquet;
 
+import com.facebook.presto.memory.context.AggregatedMemoryContext;
+import com.google.common.collect.ImmutableMap;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.internal.column.columnindex.ColumnIndex;
 import org.apache.parquet.internal.column.columnindex.OffsetIndex;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ParquetDataSource
@@ -34,6 +38,19 @@ public interface ParquetDataSource
 
     void readFully(long position, byte[] buffer, int bufferOffset, int bufferLength);
 
+    /**
+     * Returns a stream for each of the disk ranges. Implementations may coalesce nearby
+     * ranges into a single read; data is not read until a stream is first used.
+     * Buffers held for coalesced ranges are charged to the memory context and released
+     * once every stream sharing them is closed.
+     */
+    default <K> Map<K, InputStream> readFully(Map<K, DiskRange> diskRanges, AggregatedMemoryContext memoryContext)
+    {
+        ImmutableMap.Builder<K, InputStream> streams = ImmutableMap.builder();
+        diskRanges.forEach((key, diskRange) -> streams.put(key, new ParquetDataSourceInputStream(this, diskRange.getOffset(), diskRange.getLength())));
+        return streams.build();
+    }
+
     Optional<ColumnIndex> readColumnIndex(ColumnChunkMetaData column) throws IOException;
 
     Optional<OffsetIndex> readOffsetIndex(ColumnChunkMetaData column) throws IOException;
@@ -0,0 +1,73 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet;
+
+import java.io.InputStream;
+
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Streams a range of a {@link ParquetDataSource}, issuing one read per call.
+ */
+public class ParquetDataSourceInputStream
+        extends InputStream
+{
+    private final ParquetDataSource dataSource;
+    private final long totalSize;
+    private long currentPosition;
+    private long readBytes;
+
+    public ParquetDataSourceInputStream(ParquetDataSource dataSource, long startingPosition, long totalSize)
+    {
+        this.dataSource = requireNonNull(dataSource, "dataSource is null");
+        this.currentPosition = startingPosition;
+        this.totalSize = totalSize;
+    }
+
+    @Override
+    public int read()
+    {
+        byte[] buffer = new byte[1];
+        if (read(buffer, 0, 1) <= 0) {
+            return -1;
+        }
+        return buffer[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length)
+    {
+        checkPositionIndexes(offset, offset + length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+        if (readBytes >= totalSize) {
+            return -1;
+        }
+        // read up to totalSize bytes
+        length = (int) Math.min(length, totalSize - readBytes);
+        dataSource.readFully(currentPosition, buffer, offset, length);
+
+        currentPosition += length;
+        readBytes += length;
+        return length;
+    }
+
+    @Override
+    public int available()
+    {
+        return (int) (totalSize - readBytes);
+    }
+}
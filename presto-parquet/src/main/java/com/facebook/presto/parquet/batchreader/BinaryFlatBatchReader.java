@@ -15,6 +15,8 @@
 package com.facebook.presto.parquet.batchreader;
 
 import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.DictionaryBlock;
+import com.facebook.presto.common.block.DictionaryId;
 import com.facebook.presto.common.block.RunLengthEncodedBlock;
 import com.facebook.presto.common.block.VariableWidthBlock;
 import com.facebook.presto.parquet.ColumnReader;
@@ -26,6 +28,9 @@ import com.facebook.presto.parquet.batchreader.decoders.Decoders.FlatDecoders;
 import com.facebook.presto.parquet.batchreader.decoders.FlatDefinitionLevelDecoder;
 import com.facebook.presto.parquet.batchreader.decoders.ValuesDecoder.BinaryValuesDecoder;
 import com.facebook.presto.parquet.batchreader.decoders.ValuesDecoder.BinaryValuesDecoder.ValueBuffer;
+import com.facebook.presto.parquet.batchreader.decoders.rle.BinaryRLEDictionaryValuesDecoder;
+import com.facebook.presto.parquet.batchreader.decoders.rle.BinaryRLEDictionaryValuesDecoder.RLEValueBuffer;
+import com.facebook.presto.parquet.batchreader.dictionary.BinaryBatchDictionary;
 import com.facebook.presto.parquet.batchreader.dictionary.Dictionaries;
 import com.facebook.presto.parquet.dictionary.Dictionary;
 import com.facebook.presto.parquet.reader.ColumnChunk;
@@ -42,6 +47,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import static com.facebook.presto.common.block.DictionaryId.randomDictionaryId;
 import static com.facebook.presto.parquet.ParquetErrorCode.PARQUET_IO_READ_ERROR;
 import static com.facebook.presto.parquet.batchreader.decoders.Decoders.readFlatPage;
 import static com.google.common.base.Preconditions.checkArgument;
@@ -61,6 +67,9 @@ public class BinaryFlatBatchReader
     protected int remainingCountInPage;
 
     private Dictionary dictionary;
+    // created on first use and shared by all the dictionary blocks of the column chunk
+    private Block dictionaryBlock;
+    private DictionaryId dictionaryId;
     private int readOffset;
     private PageReader pageReader;
 
@@ -125,6 +134,7 @@ public class BinaryFlatBatchReader
                 (definitionLevelDecoder == null ? 0 : definitionLevelDecoder.getRetainedSizeInBytes()) +
                 (valuesDecoder == null ? 0 : valuesDecoder.getRetainedSizeInBytes()) +
                 (dictionary == null ? 0 : dictionary.getRetainedSizeInBytes()) +
+                (dictionaryBlock == null ? 0 : dictionaryBlock.getRetainedSizeInBytes()) +
                 (pageReader == null ? 0 : pageReader.getRetainedSizeInBytes());
     }
 
@@ -189,6 +199,21 @@ public class BinaryFlatBatchReader
             return new ColumnChunk(block, new int[0], new int[0]);
         }
 
+        if (isDictionaryEncoded(valuesDecoderContexts)) {
+            BinaryBatchDictionary batchDictionary = (BinaryBatchDictionary) dictionary;
+            int nullId = batchDictionary.getDictionarySize();
+            int[] ids = new int[nextBatchSize];
+            for (int i = 0; i < valuesDecoderContexts.size(); i++) {
+                ValuesDecoderContext valuesDecoderContext = valuesDecoderContexts.get(i);
+                int[] dictionaryIds = ((RLEValueBuffer) valueBuffers.get(i)).getDictionaryIds();
+                int sourceIndex = 0;
+                for (int position = valuesDecoderContext.getStart(); position < valuesDecoderContext.getEnd(); position++) {
+                    ids[position] = isNull[position] ? nullId : dictionaryIds[sourceIndex++];
+                }
+            }
+            return new ColumnChunk(createDictionaryBlock(ids), new int[0], new int[0]);
+        }
+
         byte[] byteBuffer = new byte[bufferSize];
         int[] offsets = new int[nextBatchSize + 1];
 
@@ -260,6 +285,15 @@ public class BinaryFlatBatchReader
             remainingCountInPage -= readChunkSize;
         }
 
+        if (isDictionaryEncoded(valuesDecoderContexts)) {
+            int[] ids = new int[nextBatchSize];
+            for (int i = 0; i < valuesDecoderContexts.size(); i++) {
+                int[] dictionaryIds = ((RLEValueBuffer) valueBuffers.get(i)).getDictionaryIds();
+                System.arraycopy(dictionaryIds, 0, ids, valuesDecoderContexts.get(i).getStart(), dictionaryIds.length);
+            }
+            return new ColumnChunk(createDictionaryBlock(ids), new int[0], new int[0]);
+        }
+
         byte[] byteBuffer = new byte[bufferSize];
         int[] offsets = new int[nextBatchSize + 1];
 
@@ -279,6 +313,32 @@ public class BinaryFlatBatchReader
         return new ColumnChunk(block, new int[0], new int[0]);
     }
 
+    /**
+     * Dictionary blocks are only produced when every page read for the batch is dictionary encoded.
+     * Writers fall back to plain encoding in the middle of a column chunk when the dictionary grows too large.
+     */
+    private boolean isDictionaryEncoded(List<ValuesDecoderContext> valuesDecoderContexts)
+    {
+        if (!(dictionary instanceof BinaryBatchDictionary) || valuesDecoderContexts.isEmpty()) {
+            return false;
+        }
+        for (ValuesDecoderContext valuesDecoderContext : valuesDecoderContexts) {
+            if (!(valuesDecoderContext.getValuesDecoder() instanceof BinaryRLEDictionaryValuesDecoder)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Block createDictionaryBlock(int[] ids)
+    {
+        if (dictionaryBlock == null) {
+            dictionaryBlock = ((BinaryBatchDictionary) dictionary).toBlockWithNullEntry();
+            dictionaryId = randomDictionaryId();
+        }
+        return new DictionaryBlock(nextBatchSize, dictionaryBlock, ids, dictionaryId);
+    }
+
     private void seek()
             throws IOException
     {
@@ -14,13 +14,18 @@
 
 package com.facebook.presto.parquet.batchreader.dictionary;
 
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.VariableWidthBlock;
 import com.facebook.presto.parquet.DictionaryPage;
 import com.facebook.presto.parquet.batchreader.BytesUtils;
 import com.facebook.presto.parquet.dictionary.Dictionary;
+import io.airlift.slice.Slices;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import org.openjdk.jol.info.ClassLayout;
 
+import java.util.Optional;
+
 import static com.google.common.base.Preconditions.checkArgument;
 import static io.airlift.slice.SizeOf.sizeOf;
 import static java.util.Objects.requireNonNull;
@@ -76,6 +81,31 @@ public final class BinaryBatchDictionary
         checkArgument(offsets.length - 1 == dictionarySize, "Dictionary size and number of entries don't match");
     }
 
+    public int getDictionarySize()
+    {
+        return dictionarySize;
+    }
+
+    /**
+     * Returns the dictionary values as a block with one extra null entry at position {@link #getDictionarySize()},
+     * which the ids of null values refer to.
+     */
+    public Block toBlockWithNullEntry()
+    {
+        int[] blockOffsets = new int[dictionarySize + 2];
+        byte[] values = new byte[offsets[dictionarySize] - (length == null ? Integer.BYTES * dictionarySize : 0)];
+        int valuesOffset = 0;
+        for (int dictionaryId = 0; dictionaryId < dictionarySize; dictionaryId++) {
+            valuesOffset += copyTo(values, valuesOffset, dictionaryId);
+            blockOffsets[dictionaryId + 1] = valuesOffset;
+        }
+        blockOffsets[dictionarySize + 1] = valuesOffset;
+
+        boolean[] isNull = new boolean[dictionarySize + 1];
+        isNull[dictionarySize] = true;
+        return new VariableWidthBlock(dictionarySize + 1, Slices.wrappedBuffer(values), blockOffsets, Optional.of(isNull));
+    }
+
     public int getLength(int dictionaryId)
     {
         checkArgument(dictionaryId >= 0 && dictionaryId < dictionarySize, "invalid dictionary id: %s", dictionaryId);
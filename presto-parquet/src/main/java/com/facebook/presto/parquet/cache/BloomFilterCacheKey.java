@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.cache;
+
+import com.facebook.presto.parquet.ParquetDataSourceId;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Identifies the bloom filter of a column chunk. The modification time is part of the key so that
+ * filters of a rewritten file are never served, without having to invalidate them explicitly.
+ */
+public class BloomFilterCacheKey
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(BloomFilterCacheKey.class).instanceSize();
+
+    private final ParquetDataSourceId id;
+    private final long modificationTime;
+    private final long bloomFilterOffset;
+
+    public BloomFilterCacheKey(ParquetDataSourceId id, long modificationTime, long bloomFilterOffset)
+    {
+        this.id = requireNonNull(id, "id is null");
+        this.modificationTime = modificationTime;
+        this.bloomFilterOffset = bloomFilterOffset;
+    }
+
+    /**
+     * Weigher for a cache of bloom filters, in bytes.
+     */
+    public static int getRetainedSize(BloomFilterCacheKey key, Optional<BloomFilter> bloomFilter)
+    {
+        return INSTANCE_SIZE + key.id.toString().length() + bloomFilter.map(BloomFilter::getBitsetSize).orElse(0);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BloomFilterCacheKey that = (BloomFilterCacheKey) o;
+        return modificationTime == that.modificationTime &&
+                bloomFilterOffset == that.bloomFilterOffset &&
+                id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(id, modificationTime, bloomFilterOffset);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("id", id)
+                .add("modificationTime", modificationTime)
+                .add("bloomFilterOffset", bloomFilterOffset)
+                .toString();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.cache;
+
+import com.facebook.presto.cache.LocalDiskCache;
+import com.facebook.presto.parquet.ParquetDataSource;
+import io.airlift.slice.Slice;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.crypto.InternalFileDecryptor;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static com.facebook.presto.parquet.cache.MetadataReader.parseFooter;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps the raw Parquet footers in a {@link LocalDiskCache}, keyed by the data source, the
+ * file size and the modification time. The footers are stored as they are in the file, so
+ * encrypted footers stay encrypted on the local disk and are decrypted on every parse.
+ * Footers missing from the disk cache are fetched from the delegate and parsed here.
+ */
+public class DiskCachingParquetMetadataSource
+        implements ParquetMetadataSource
+{
+    private final ParquetMetadataSource delegate;
+    private final LocalDiskCache diskCache;
+
+    public DiskCachingParquetMetadataSource(ParquetMetadataSource delegate, LocalDiskCache diskCache)
+    {
+        this.delegate = requireNonNull(delegate, "delegate is null");
+        this.diskCache = requireNonNull(diskCache, "diskCache is null");
+    }
+
+    @Override
+    public ParquetFileMetadata getParquetMetadata(
+            ParquetDataSource parquetDataSource,
+            long fileSize,
+            boolean cacheable,
+            long modificationTime,
+            Optional<InternalFileDecryptor> fileDecryptor,
+            boolean readMaskedValue)
+            throws IOException
+    {
+        if (!cacheable) {
+            return delegate.getParquetMetadata(parquetDataSource, fileSize, cacheable, modificationTime, fileDecryptor, readMaskedValue);
+        }
+        String key = parquetDataSource.getId() + "#" + fileSize + "#" + modificationTime;
+        Optional<Slice> cachedFooter = diskCache.get(key);
+        if (cachedFooter.isPresent()) {
+            try {
+                return parseFooter(cachedFooter.get(), parquetDataSource.getId(), modificationTime, fileDecryptor, readMaskedValue);
+            }
+            catch (IOException | RuntimeException e) {
+                // the footer is fetched from the delegate again, which reports the error if the file itself is corrupted
+                diskCache.invalidate(key);
+            }
+        }
+        Slice footerSlice = delegate.getFooterSlice(parquetDataSource, fileSize);
+        ParquetFileMetadata parquetFileMetadata = parseFooter(footerSlice, parquetDataSource.getId(), modificationTime, fileDecryptor, readMaskedValue);
+        // only cache footers that could be parsed
+        diskCache.put(key, footerSlice);
+        return parquetFileMetadata;
+    }
+
+    @Override
+    public Slice getFooterSlice(ParquetDataSource parquetDataSource, long fileSize)
+            throws IOException
+    {
+        return delegate.getFooterSlice(parquetDataSource, fileSize);
+    }
+
+    @Override
+    public Optional<BloomFilter> getBloomFilter(ParquetDataSource parquetDataSource, ColumnChunkMetaData columnChunk, boolean cacheable, long modificationTime)
+            throws IOException
+    {
+        return delegate.getBloomFilter(parquetDataSource, columnChunk, cacheable, modificationTime);
+    }
+}
@@ -18,6 +18,8 @@ import com.facebook.presto.parquet.ParquetDataSource;
 import com.facebook.presto.parquet.ParquetDataSourceId;
 import io.airlift.slice.BasicSliceInput;
 import io.airlift.slice.Slice;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 import org.apache.parquet.crypto.AesCipher;
 import org.apache.parquet.crypto.AesGcmEncryptor;
 import org.apache.parquet.crypto.HiddenColumnChunkMetaData;
@@ -28,6 +30,7 @@ import org.apache.parquet.crypto.ModuleCipherFactory.ModuleType;
 import org.apache.parquet.crypto.ParquetCryptoRuntimeException;
 import org.apache.parquet.crypto.TagVerificationException;
 import org.apache.parquet.format.BlockCipher.Decryptor;
+import org.apache.parquet.format.BloomFilterHeader;
 import org.apache.parquet.format.ColumnChunk;
 import org.apache.parquet.format.ColumnCryptoMetaData;
 import org.apache.parquet.format.ColumnMetaData;
@@ -101,6 +104,7 @@ public final class MetadataReader
     private static final int EXPECTED_FOOTER_SIZE = 16 * 1024;
     private static final ParquetMetadataConverter PARQUET_METADATA_CONVERTER = new ParquetMetadataConverter();
     private static final long MODIFICATION_TIME_NOT_SET = 0L;
+    private static final int EXPECTED_BLOOM_FILTER_HEADER_SIZE = 64;
 
     public static ParquetFileMetadata readFooter(ParquetDataSource parquetDataSource, long fileSize, Optional<InternalFileDecryptor> fileDecryptor, boolean readMaskedValue)
             throws IOException
@@ -110,6 +114,15 @@ public final class MetadataReader
 
     public static ParquetFileMetadata readFooter(ParquetDataSource parquetDataSource, long fileSize, long modificationTime, Optional<InternalFileDecryptor> fileDecryptor, boolean readMaskedValue)
             throws IOException
+    {
+        return parseFooter(readFooterSlice(parquetDataSource, fileSize), parquetDataSource.getId(), modificationTime, fileDecryptor, readMaskedValue);
+    }
+
+    /**
+     * Reads the serialized file metadata together with its length and the trailing magic number.
+     */
+    public static Slice readFooterSlice(ParquetDataSource parquetDataSource, long fileSize)
+            throws IOException
     {
         // Parquet File Layout: https://github.com/apache/parquet-format/blob/master/Encryption.md
         validateParquet(fileSize >= MAGIC.length() + POST_SCRIPT_SIZE, "%s is not a valid Parquet File", parquetDataSource.getId());
@@ -123,7 +136,6 @@ public final class MetadataReader
         if (!MAGIC.equals(magic) && !EMAGIC.equals(magic)) {
             throw new ParquetCorruptionException(format("Not valid Parquet file: %s expected magic number: %s or %s, but got: %s", parquetDataSource.getId(), Arrays.toString(MAGIC.getBytes()), Arrays.toString(EMAGIC.getBytes()), Arrays.toString(magic.getBytes())));
         }
-        boolean encryptedFooterMode = EMAGIC.equals(magic);
 
         int metadataLength = tailSlice.getInt(tailSlice.length() - POST_SCRIPT_SIZE);
         int completeFooterSize = metadataLength + POST_SCRIPT_SIZE;
@@ -139,7 +151,21 @@ public final class MetadataReader
             tailSlice = wrappedBuffer(footerBuffer, 0, footerBuffer.length);
         }
 
-        return readParquetMetadata(tailSlice.slice(tailSlice.length() - completeFooterSize, metadataLength).getInput(), metadataLength, modificationTime, fileDecryptor, encryptedFooterMode, parquetDataSource.getId(), readMaskedValue);
+        return tailSlice.slice(tailSlice.length() - completeFooterSize, completeFooterSize);
+    }
+
+    /**
+     * Parses a footer returned by {@link #readFooterSlice(ParquetDataSource, long)}.
+     */
+    public static ParquetFileMetadata parseFooter(Slice footerSlice, ParquetDataSourceId id, long modificationTime, Optional<InternalFileDecryptor> fileDecryptor, boolean readMaskedValue)
+            throws IOException
+    {
+        validateParquet(footerSlice.length() >= POST_SCRIPT_SIZE, "Corrupted Parquet file: %s footer is too short", id);
+        Slice magic = footerSlice.slice(footerSlice.length() - MAGIC.length(), MAGIC.length());
+        boolean encryptedFooterMode = EMAGIC.equals(magic);
+        int metadataLength = footerSlice.getInt(footerSlice.length() - POST_SCRIPT_SIZE);
+        validateParquet(metadataLength + POST_SCRIPT_SIZE == footerSlice.length(), "Corrupted Parquet file: %s footer length does not match metadata length %s", id, metadataLength);
+        return readParquetMetadata(footerSlice.slice(0, metadataLength).getInput(), metadataLength, modificationTime, fileDecryptor, encryptedFooterMode, id, readMaskedValue);
     }
 
     private static ParquetFileMetadata readParquetMetadata(BasicSliceInput input, int metadataLength, long modificationTime, Optional<InternalFileDecryptor> fileDecryptor, boolean encryptedFooterMode, ParquetDataSourceId id, boolean readMaskedValue)
@@ -257,6 +283,10 @@ public final class MetadataReader
                     ColumnChunkMetaData column = buildColumnChunkMetaData(metaData, columnPath, messageType.getType(columnPath.toArray()).asPrimitiveType());
                     column.setColumnIndexReference(toColumnIndexReference(columnChunk));
                     column.setOffsetIndexReference(toOffsetIndexReference(columnChunk));
+                    // bloom filters of encrypted columns are encrypted too, and are not read
+                    if (cryptoMetaData == null && metaData.isSetBloom_filter_offset()) {
+                        column.setBloomFilterOffset(metaData.getBloom_filter_offset());
+                    }
                     blockMetaData.addColumn(column);
                 }
                 blockMetaData.setPath(filePath);
@@ -558,6 +588,51 @@ public final class MetadataReader
         return readFooter(parquetDataSource, fileSize, modificationTime, fileDecryptor, readMaskedValue);
     }
 
+    @Override
+    public Slice getFooterSlice(ParquetDataSource parquetDataSource, long fileSize)
+            throws IOException
+    {
+        return readFooterSlice(parquetDataSource, fileSize);
+    }
+
+    @Override
+    public Optional<BloomFilter> getBloomFilter(ParquetDataSource parquetDataSource, ColumnChunkMetaData columnChunk, boolean cacheable, long modificationTime)
+            throws IOException
+    {
+        return readBloomFilter(parquetDataSource, columnChunk);
+    }
+
+    public static Optional<BloomFilter> readBloomFilter(ParquetDataSource parquetDataSource, ColumnChunkMetaData columnChunk)
+            throws IOException
+    {
+        long offset = columnChunk.getBloomFilterOffset();
+        if (offset <= 0) {
+            return Optional.empty();
+        }
+
+        // The header is small, so read it together with the beginning of the bitset
+        byte[] buffer = new byte[EXPECTED_BLOOM_FILTER_HEADER_SIZE];
+        parquetDataSource.readFully(offset, buffer);
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(buffer);
+        BloomFilterHeader header = Util.readBloomFilterHeader(inputStream);
+        if (!header.getAlgorithm().isSetBLOCK() ||
+                !header.getHash().isSetXXHASH() ||
+                !header.getCompression().isSetUNCOMPRESSED() ||
+                header.getNumBytes() <= 0 ||
+                header.getNumBytes() > BlockSplitBloomFilter.UPPER_BOUND_BYTES) {
+            return Optional.empty();
+        }
+
+        int headerSize = buffer.length - inputStream.available();
+        byte[] bitset = new byte[header.getNumBytes()];
+        int buffered = min(bitset.length, inputStream.available());
+        System.arraycopy(buffer, headerSize, bitset, 0, buffered);
+        if (buffered < bitset.length) {
+            parquetDataSource.readFully(offset + buffer.length, bitset, buffered, bitset.length - buffered);
+        }
+        return Optional.of(new BlockSplitBloomFilter(bitset));
+    }
+
     private static IndexReference toColumnIndexReference(ColumnChunk columnChunk)
     {
         if (columnChunk.isSetColumn_index_offset() && columnChunk.isSetColumn_index_length()) {
@@ -14,7 +14,10 @@
 package com.facebook.presto.parquet.cache;
 
 import com.facebook.presto.parquet.ParquetDataSource;
+import io.airlift.slice.Slice;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 import org.apache.parquet.crypto.InternalFileDecryptor;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 
 import java.io.IOException;
 import java.util.Optional;
@@ -29,4 +32,23 @@ public interface ParquetMetadataSource
             Optional<InternalFileDecryptor> fileDecryptor,
             boolean readMaskedValue)
             throws IOException;
+
+    /**
+     * Returns the raw footer of the file, which {@link MetadataReader#parseFooter} turns into metadata.
+     */
+    Slice getFooterSlice(ParquetDataSource parquetDataSource, long fileSize)
+            throws IOException;
+
+    /**
+     * Returns the bloom filter of the column chunk, or empty if the source cannot provide one.
+     */
+    default Optional<BloomFilter> getBloomFilter(
+            ParquetDataSource parquetDataSource,
+            ColumnChunkMetaData columnChunk,
+            boolean cacheable,
+            long modificationTime)
+            throws IOException
+    {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.predicate;
+
+import com.facebook.airlift.log.Logger;
+import com.facebook.presto.parquet.ParquetDataSource;
+import com.facebook.presto.parquet.cache.ParquetMetadataSource;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the bloom filters of the column chunks of a file on demand, through the
+ * {@link ParquetMetadataSource} so that they are cached together with the file metadata.
+ * A filter that cannot be read is logged, reported to {@code readFailureListener} and treated as absent.
+ */
+public class BloomFilterStore
+{
+    private static final Logger log = Logger.get(BloomFilterStore.class);
+
+    private final ParquetMetadataSource metadataSource;
+    private final ParquetDataSource dataSource;
+    private final boolean cacheable;
+    private final long modificationTime;
+    private final Runnable readFailureListener;
+
+    public BloomFilterStore(ParquetMetadataSource metadataSource, ParquetDataSource dataSource, boolean cacheable, long modificationTime, Runnable readFailureListener)
+    {
+        this.metadataSource = requireNonNull(metadataSource, "metadataSource is null");
+        this.dataSource = requireNonNull(dataSource, "dataSource is null");
+        this.cacheable = cacheable;
+        this.modificationTime = modificationTime;
+        this.readFailureListener = requireNonNull(readFailureListener, "readFailureListener is null");
+    }
+
+    public Optional<BloomFilter> getBloomFilter(ColumnChunkMetaData columnChunk)
+    {
+        if (columnChunk.getBloomFilterOffset() <= 0) {
+            return Optional.empty();
+        }
+        try {
+            return metadataSource.getBloomFilter(dataSource, columnChunk, cacheable, modificationTime);
+        }
+        catch (IOException e) {
+            // A corrupted bloom filter does not prevent reading the data
+            log.warn(e, "Failed to read bloom filter of column %s in %s", columnChunk.getPath(), dataSource.getId());
+            readFailureListener.run();
+            return Optional.empty();
+        }
+    }
+}
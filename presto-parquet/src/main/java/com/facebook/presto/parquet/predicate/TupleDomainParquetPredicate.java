@@ -31,6 +31,7 @@ import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 import org.apache.parquet.filter2.predicate.FilterApi;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
@@ -44,6 +45,7 @@ import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -58,11 +60,14 @@ import static com.facebook.presto.common.type.IntegerType.INTEGER;
 import static com.facebook.presto.common.type.RealType.REAL;
 import static com.facebook.presto.common.type.SmallintType.SMALLINT;
 import static com.facebook.presto.common.type.TinyintType.TINYINT;
+import static com.facebook.presto.common.type.VarbinaryType.VARBINARY;
 import static com.facebook.presto.common.type.Varchars.isVarcharType;
 import static com.facebook.presto.parquet.ParquetWarningCode.PARQUET_FILE_STATISTICS_CORRUPTION;
 import static com.facebook.presto.parquet.predicate.PredicateUtils.isStatisticsOverflow;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.Float.floatToRawIntBits;
+import static java.lang.Float.intBitsToFloat;
+import static java.lang.Math.toIntExact;
 import static java.lang.String.format;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.util.Objects.requireNonNull;
@@ -393,6 +398,100 @@ public class TupleDomainParquetPredicate
         return true;
     }
 
+    @Override
+    public boolean matches(ColumnDescriptor column, BloomFilter bloomFilter)
+    {
+        requireNonNull(column, "column is null");
+        requireNonNull(bloomFilter, "bloomFilter is null");
+        if (effectivePredicate.isNone()) {
+            return false;
+        }
+
+        Domain effectivePredicateDomain = effectivePredicate.getDomains()
+                .orElseThrow(() -> new IllegalStateException("Effective predicate other than none should have domains"))
+                .get(column);
+        // nulls are not added to bloom filters, so a predicate that accepts nulls can not be evaluated
+        if (effectivePredicateDomain == null || effectivePredicateDomain.isNullAllowed()) {
+            return true;
+        }
+
+        Optional<Collection<Object>> discreteValues = extractDiscreteValues(effectivePredicateDomain.getValues());
+        if (!discreteValues.isPresent()) {
+            return true;
+        }
+
+        // if none of the discrete predicate values are found in the bloom filter, the section can be skipped
+        Type type = effectivePredicateDomain.getType();
+        PrimitiveTypeName primitiveType = column.getPrimitiveType().getPrimitiveTypeName();
+        return discreteValues.get().stream().anyMatch(value -> checkInBloomFilter(bloomFilter, value, type, primitiveType));
+    }
+
+    /**
+     * Returns the values accepted by the value set if it is a set of single values, or empty otherwise.
+     */
+    @VisibleForTesting
+    public static Optional<Collection<Object>> extractDiscreteValues(ValueSet valueSet)
+    {
+        return valueSet.getValuesProcessor().transform(
+                ranges -> {
+                    ImmutableList.Builder<Object> discreteValues = ImmutableList.builder();
+                    for (Range range : ranges.getOrderedRanges()) {
+                        if (!range.isSingleValue()) {
+                            return Optional.empty();
+                        }
+                        discreteValues.add(range.getSingleValue());
+                    }
+                    return Optional.of(discreteValues.build());
+                },
+                discreteValues -> Optional.of(discreteValues.getValues()),
+                allOrNone -> allOrNone.isAll() ? Optional.empty() : Optional.of(ImmutableList.of()));
+    }
+
+    /**
+     * Checks whether a value of the effective predicate may be part of the bloom filter. The value is
+     * hashed the same way the writer hashed the physical value; unsupported combinations of types
+     * are conservatively reported as present.
+     */
+    @VisibleForTesting
+    public static boolean checkInBloomFilter(BloomFilter bloomFilter, Object predicateValue, Type type, PrimitiveTypeName primitiveType)
+    {
+        boolean integerType = type.equals(TINYINT) || type.equals(SMALLINT) || type.equals(INTEGER) || type.equals(BIGINT) || type.equals(DATE);
+        if (primitiveType == INT32 && integerType) {
+            long value = asLong(predicateValue);
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                return true;
+            }
+            return bloomFilter.findHash(bloomFilter.hash(toIntExact(value)));
+        }
+
+        if (primitiveType == INT64 && integerType) {
+            return bloomFilter.findHash(bloomFilter.hash(asLong(predicateValue)));
+        }
+
+        // 0.0 and -0.0 compare equal but hash differently, and NaN has many representations
+        if (primitiveType == FLOAT && type.equals(REAL)) {
+            float value = intBitsToFloat(toIntExact(asLong(predicateValue)));
+            if (value == 0 || Float.isNaN(value)) {
+                return true;
+            }
+            return bloomFilter.findHash(bloomFilter.hash(value));
+        }
+
+        if (primitiveType == PrimitiveTypeName.DOUBLE && type.equals(DOUBLE)) {
+            double value = (Double) predicateValue;
+            if (value == 0 || Double.isNaN(value)) {
+                return true;
+            }
+            return bloomFilter.findHash(bloomFilter.hash(value));
+        }
+
+        if (primitiveType == BINARY && (isVarcharType(type) || type.equals(VARBINARY))) {
+            return bloomFilter.findHash(bloomFilter.hash(Binary.fromConstantByteBuffer(((Slice) predicateValue).toByteBuffer())));
+        }
+
+        return true;
+    }
+
     @VisibleForTesting
     public Domain getDomain(Type type, long rowCount, ColumnIndex columnIndex, RichColumnDescriptor descriptor)
     {
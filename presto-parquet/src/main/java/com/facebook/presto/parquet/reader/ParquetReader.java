@@ -17,6 +17,8 @@ import com.facebook.presto.common.block.ArrayBlock;
 import com.facebook.presto.common.block.Block;
 import com.facebook.presto.common.block.BlockBuilder;
 import com.facebook.presto.common.block.IntArrayBlock;
+import com.facebook.presto.common.block.LazyBlock;
+import com.facebook.presto.common.block.LazyBlockLoader;
 import com.facebook.presto.common.block.LongArrayBlock;
 import com.facebook.presto.common.block.RowBlock;
 import com.facebook.presto.common.block.RunLengthEncodedBlock;
@@ -27,10 +29,12 @@ import com.facebook.presto.memory.context.AggregatedMemoryContext;
 import com.facebook.presto.memory.context.LocalMemoryContext;
 import com.facebook.presto.parquet.ColumnReader;
 import com.facebook.presto.parquet.ColumnReaderFactory;
+import com.facebook.presto.parquet.DiskRange;
 import com.facebook.presto.parquet.Field;
 import com.facebook.presto.parquet.GroupField;
 import com.facebook.presto.parquet.ParquetCorruptionException;
 import com.facebook.presto.parquet.ParquetDataSource;
+import com.facebook.presto.parquet.ParquetDataSourceInputStream;
 import com.facebook.presto.parquet.ParquetResultVerifierUtils;
 import com.facebook.presto.parquet.PrimitiveField;
 import com.facebook.presto.parquet.RichColumnDescriptor;
@@ -63,6 +67,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -73,6 +78,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.facebook.presto.common.block.LazyBlock.nestedLazyBlock;
 import static com.facebook.presto.common.type.BigintType.BIGINT;
 import static com.facebook.presto.common.type.IntegerType.INTEGER;
 import static com.facebook.presto.common.type.SmallintType.SMALLINT;
@@ -83,6 +89,7 @@ import static com.facebook.presto.common.type.TinyintType.TINYINT;
 import static com.facebook.presto.parquet.ParquetValidationUtils.validateParquet;
 import static com.facebook.presto.parquet.reader.ListColumnReader.calculateCollectionOffsets;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static io.airlift.slice.SizeOf.sizeOf;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
@@ -103,6 +110,7 @@ public class ParquetReader
     private final Optional<List<Long>> firstRowsOfBlocks;
     private final List<PrimitiveColumnIO> columns;
     private final AggregatedMemoryContext systemMemoryContext;
+    private final AggregatedMemoryContext columnChunkMemoryContext;
     private final LocalMemoryContext parquetReaderMemoryContext;
     private final LocalMemoryContext pageReaderMemoryContext;
     private final LocalMemoryContext verificationPageReaderMemoryContext;
@@ -115,12 +123,21 @@ public class ParquetReader
     private final List<RowRanges> blockRowRanges;
     private final Map<ColumnPath, ColumnDescriptor> paths = new HashMap<>();
     private final boolean columnIndexFilterEnabled;
+    private final boolean lazyNestedBlocksEnabled;
     private BlockMetaData currentBlockMetadata;
     /**
      * Index in the Parquet file of the first row of the current group
      */
     private Optional<Long> firstRowIndexInGroup = Optional.empty();
     private RowRanges currentGroupRowRanges;
+    /**
+     * Column chunk streams of the current group, planned together so nearby chunks can be read in one request
+     */
+    private Map<ColumnPath, InputStream> currentGroupColumnChunks = new HashMap<>();
+    /**
+     * All column chunk streams of the current group, closed when the group is done to release their buffers
+     */
+    private List<InputStream> currentGroupColumnChunkStreams = new ArrayList<>();
     private long nextRowInGroup;
     private int batchSize;
     private int nextBatchSize = INITIAL_BATCH_SIZE;
@@ -130,6 +147,10 @@ public class ParquetReader
     private int currentBlock;
     private long currentPosition;
     private long currentGroupRowCount;
+    /**
+     * Incremented on every batch, so lazy nested blocks can detect the column readers moved past them
+     */
+    private int batchId;
 
     public ParquetReader(
             MessageColumnIO messageColumnIO,
@@ -144,11 +165,43 @@ public class ParquetReader
             List<ColumnIndexStore> blockIndexStores,
             boolean columnIndexFilterEnabled,
             Optional<InternalFileDecryptor> fileDecryptor)
+    {
+        this(
+                messageColumnIO,
+                blocks,
+                firstRowsOfBlocks,
+                dataSource,
+                systemMemoryContext,
+                maxReadBlockSize,
+                batchReadEnabled,
+                enableVerification,
+                parquetPredicate,
+                blockIndexStores,
+                columnIndexFilterEnabled,
+                fileDecryptor,
+                false);
+    }
+
+    public ParquetReader(
+            MessageColumnIO messageColumnIO,
+            List<BlockMetaData> blocks,
+            Optional<List<Long>> firstRowsOfBlocks,
+            ParquetDataSource dataSource,
+            AggregatedMemoryContext systemMemoryContext,
+            DataSize maxReadBlockSize,
+            boolean batchReadEnabled,
+            boolean enableVerification,
+            Predicate parquetPredicate,
+            List<ColumnIndexStore> blockIndexStores,
+            boolean columnIndexFilterEnabled,
+            Optional<InternalFileDecryptor> fileDecryptor,
+            boolean lazyNestedBlocksEnabled)
     {
         this.blocks = blocks;
         this.firstRowsOfBlocks = requireNonNull(firstRowsOfBlocks, "firstRowsOfBlocks is null");
         this.dataSource = requireNonNull(dataSource, "dataSource is null");
         this.systemMemoryContext = requireNonNull(systemMemoryContext, "systemMemoryContext is null");
+        this.columnChunkMemoryContext = systemMemoryContext.newAggregatedMemoryContext();
         this.parquetReaderMemoryContext = systemMemoryContext.newLocalMemoryContext("ParquetReader");
         this.pageReaderMemoryContext = systemMemoryContext.newLocalMemoryContext("PageReader");
         this.verificationPageReaderMemoryContext = systemMemoryContext.newLocalMemoryContext("PageReader");
@@ -180,12 +233,14 @@ public class ParquetReader
         this.columnIndexFilterEnabled = columnIndexFilterEnabled;
         requireNonNull(fileDecryptor, "fileDecryptor is null");
         this.fileDecryptor = fileDecryptor;
+        this.lazyNestedBlocksEnabled = lazyNestedBlocksEnabled;
     }
 
     @Override
     public void close()
             throws IOException
     {
+        closeColumnChunkStreams();
         dataSource.close();
         parquetReaderMemoryContext.close();
         systemMemoryContext.close();
@@ -207,6 +262,7 @@ public class ParquetReader
 
     public int nextBatch()
     {
+        batchId++;
         if (nextRowInGroup >= currentGroupRowCount && !advanceToNextRowGroup()) {
             return -1;
         }
@@ -240,6 +296,7 @@ public class ParquetReader
 
     private boolean advanceToNextRowGroup()
     {
+        closeColumnChunkStreams();
         currentBlock++;
         if (currentBlock == blocks.size()) {
             return false;
@@ -261,9 +318,41 @@ public class ParquetReader
         nextRowInGroup = 0L;
         currentGroupRowCount = currentBlockMetadata.getRowCount();
         initializeColumnReaders();
+        currentGroupColumnChunks = readColumnChunks();
+        currentGroupColumnChunkStreams = new ArrayList<>(currentGroupColumnChunks.values());
         return true;
     }
 
+    private void closeColumnChunkStreams()
+    {
+        for (InputStream stream : currentGroupColumnChunkStreams) {
+            try {
+                stream.close();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        currentGroupColumnChunkStreams.clear();
+        currentGroupColumnChunks.clear();
+    }
+
+    private Map<ColumnPath, InputStream> readColumnChunks()
+    {
+        Map<ColumnPath, DiskRange> diskRanges = new HashMap<>();
+        for (ColumnChunkMetaData metadata : currentBlockMetadata.getColumns()) {
+            if (HiddenColumnChunkMetaData.isHiddenColumn(metadata)) {
+                continue;
+            }
+            ColumnPath path = metadata.getPath();
+            // column chunks filtered by the column index read only the selected pages
+            if (paths.containsKey(path) && metadata.getTotalSize() > 0 && !shouldUseColumnIndex(path)) {
+                diskRanges.put(path, new DiskRange(metadata.getStartingPos(), toIntExact(metadata.getTotalSize())));
+            }
+        }
+        return new HashMap<>(dataSource.readFully(diskRanges, columnChunkMemoryContext));
+    }
+
     private ColumnChunk readArray(GroupField field)
             throws IOException
     {
@@ -288,7 +377,7 @@ public class ParquetReader
 
         ColumnChunk columnChunk = readColumnChunk(field.getChildren().get(0).get());
         blocks[0] = columnChunk.getBlock();
-        blocks[1] = readColumnChunk(field.getChildren().get(1).get()).getBlock();
+        blocks[1] = readNestedBlock(field.getChildren().get(1).get(), blocks[0].getPositionCount());
         IntList offsets = new IntArrayList();
         BooleanList valueIsNull = new BooleanArrayList();
         calculateCollectionOffsets(field, offsets, valueIsNull, columnChunk.getDefinitionLevels(), columnChunk.getRepetitionLevels());
@@ -306,8 +395,14 @@ public class ParquetReader
         for (int i = 0; i < fields.size(); i++) {
             Optional<Field> parameter = parameters.get(i);
             if (parameter.isPresent()) {
-                columnChunk = readColumnChunk(parameter.get());
-                blocks[i] = columnChunk.getBlock();
+                if (columnChunk == null) {
+                    // the first field is read eagerly as it carries the levels of the struct
+                    columnChunk = readColumnChunk(parameter.get());
+                    blocks[i] = columnChunk.getBlock();
+                }
+                else {
+                    blocks[i] = readNestedBlock(parameter.get(), columnChunk.getBlock().getPositionCount());
+                }
             }
         }
         for (int i = 0; i < fields.size(); i++) {
@@ -363,8 +458,12 @@ public class ParquetReader
                 }
             }
             else {
+                InputStream columnChunkInput = currentGroupColumnChunks.remove(columnChunkMetaData.getPath());
+                if (columnChunkInput == null) {
+                    columnChunkInput = dataSourceAsInputStream(startingPosition, columnChunkSize);
+                }
                 PageReader pageReader = createPageReader(
-                        dataSourceAsInputStream(startingPosition, columnChunkSize),
+                        columnChunkInput,
                         columnChunkSize,
                         columnChunkMetaData,
                         columnDescriptor,
@@ -419,42 +518,7 @@ public class ParquetReader
 
     private InputStream dataSourceAsInputStream(long startingPosition, long totalSize)
     {
-        InputStream dataSourceAsStream = new InputStream()
-        {
-            private long readBytes;
-            private long currentPosition = startingPosition;
-
-            @Override
-            public int read()
-            {
-                byte[] buffer = new byte[1];
-                read(buffer, 0, 1);
-                return buffer[0];
-            }
-
-            @Override
-            public int read(byte[] buffer, int offset, int len)
-            {
-                if (readBytes >= totalSize) {
-                    return 0;
-                }
-                //Read upto totalSize bytes
-                len = (int) Math.min(len, totalSize - readBytes);
-                dataSource.readFully(currentPosition, buffer, offset, len);
-
-                //Update references
-                currentPosition += len;
-                readBytes += len;
-                return len;
-            }
-
-            @Override
-            public int available()
-            {
-                return (int) (totalSize - readBytes);
-            }
-        };
-        return dataSourceAsStream;
+        return new ParquetDataSourceInputStream(dataSource, startingPosition, totalSize);
     }
 
     private boolean shouldUseColumnIndex(ColumnPath path)
@@ -533,6 +597,15 @@ public class ParquetReader
         return readColumnChunk(field).getBlock();
     }
 
+    private Block readNestedBlock(Field field, int positionCount)
+            throws IOException
+    {
+        if (!lazyNestedBlocksEnabled) {
+            return readColumnChunk(field).getBlock();
+        }
+        return nestedLazyBlock(positionCount, new NestedBlockLoader(field, batchId));
+    }
+
     private ColumnChunk readColumnChunk(Field field)
             throws IOException
     {
@@ -667,4 +740,35 @@ public class ParquetReader
         }
         return pageRanges;
     }
+
+    private final class NestedBlockLoader
+            implements LazyBlockLoader<LazyBlock>
+    {
+        private final Field field;
+        private final int expectedBatchId;
+        private boolean loaded;
+
+        public NestedBlockLoader(Field field, int expectedBatchId)
+        {
+            this.field = requireNonNull(field, "field is null");
+            this.expectedBatchId = expectedBatchId;
+        }
+
+        @Override
+        public void load(LazyBlock lazyBlock)
+        {
+            if (loaded) {
+                return;
+            }
+
+            checkState(batchId == expectedBatchId, "Nested block can not be loaded after the reader advanced");
+            try {
+                lazyBlock.setBlock(readColumnChunk(field).getBlock());
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            loaded = true;
+        }
+    }
 }
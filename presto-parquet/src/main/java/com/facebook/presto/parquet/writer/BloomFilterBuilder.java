@@ -0,0 +1,135 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.writer;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.io.api.Binary;
+import org.openjdk.jol.info.ClassLayout;
+
+import javax.annotation.Nullable;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter.LOWER_BOUND_BYTES;
+import static org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter.optimalNumOfBits;
+
+/**
+ * Builds the bloom filter of a column chunk with at most {@code maxBytes} of memory.
+ * <p>
+ * The hashes of the distinct values are buffered so the filter can be sized for the
+ * actual number of distinct values of the chunk. Once the buffer would outgrow the
+ * bound, the hashes are moved into a filter of {@code maxBytes}.
+ */
+public class BloomFilterBuilder
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(BloomFilterBuilder.class).instanceSize();
+
+    private final double fpp;
+    private final int maxBytes;
+    private final int maxBufferedHashes;
+    // only used to compute hashes
+    private final BloomFilter hasher = new BlockSplitBloomFilter(LOWER_BOUND_BYTES);
+
+    private LongOpenHashSet hashes = new LongOpenHashSet();
+    @Nullable
+    private BloomFilter bloomFilter;
+
+    public BloomFilterBuilder(double fpp, int maxBytes)
+    {
+        checkArgument(fpp > 0.0 && fpp < 1.0, "fpp must be between 0 and 1");
+        checkArgument(maxBytes >= LOWER_BOUND_BYTES, "maxBytes must be at least %s", LOWER_BOUND_BYTES);
+        this.fpp = fpp;
+        this.maxBytes = maxBytes;
+        // an open hash set of longs uses about 16 bytes per entry
+        this.maxBufferedHashes = maxBytes / 16;
+    }
+
+    public void add(int value)
+    {
+        addHash(hasher.hash(value));
+    }
+
+    public void add(long value)
+    {
+        addHash(hasher.hash(value));
+    }
+
+    public void add(float value)
+    {
+        addHash(hasher.hash(value));
+    }
+
+    public void add(double value)
+    {
+        addHash(hasher.hash(value));
+    }
+
+    public void add(Binary value)
+    {
+        addHash(hasher.hash(value));
+    }
+
+    public Optional<BloomFilter> build()
+    {
+        if (bloomFilter != null) {
+            return Optional.of(bloomFilter);
+        }
+        if (hashes.isEmpty()) {
+            return Optional.empty();
+        }
+        BloomFilter result = new BlockSplitBloomFilter(optimalNumOfBits(hashes.size(), fpp) / 8, maxBytes);
+        insertHashes(result);
+        return Optional.of(result);
+    }
+
+    public void reset()
+    {
+        hashes = new LongOpenHashSet();
+        bloomFilter = null;
+    }
+
+    public long getRetainedBytes()
+    {
+        // the backing array of the set is twice the number of entries at the default load factor
+        long hashesSize = sizeOf(new long[0]) + 2L * Long.BYTES * hashes.size();
+        return INSTANCE_SIZE + hashesSize + (bloomFilter == null ? 0 : bloomFilter.getBitsetSize());
+    }
+
+    private void addHash(long hash)
+    {
+        if (bloomFilter != null) {
+            bloomFilter.insertHash(hash);
+            return;
+        }
+        hashes.add(hash);
+        if (hashes.size() > maxBufferedHashes) {
+            bloomFilter = new BlockSplitBloomFilter(maxBytes, maxBytes);
+            insertHashes(bloomFilter);
+            hashes = new LongOpenHashSet();
+        }
+    }
+
+    private void insertHashes(BloomFilter filter)
+    {
+        LongIterator iterator = hashes.iterator();
+        while (iterator.hasNext()) {
+            filter.insertHash(iterator.nextLong());
+        }
+    }
+}
@@ -25,6 +25,8 @@ import io.airlift.slice.Slices;
 import io.airlift.units.DataSize;
 import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.column.ParquetProperties.Builder;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.format.ColumnIndex;
 import org.apache.parquet.format.ColumnMetaData;
 import org.apache.parquet.format.FileMetaData;
 import org.apache.parquet.format.RowGroup;
@@ -33,14 +35,18 @@ import org.apache.parquet.format.Util;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+import org.apache.parquet.internal.column.columnindex.OffsetIndexBuilder;
 import org.apache.parquet.schema.MessageType;
 import org.openjdk.jol.info.ClassLayout;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static com.facebook.presto.parquet.writer.ParquetDataOutput.createDataOutput;
 import static com.facebook.presto.parquet.writer.ParquetWriterOptions.DEFAULT_MAX_PAGE_SIZE;
@@ -81,6 +87,7 @@ public class ParquetWriter
     private final int chunkMaxLogicalBytes;
 
     private ImmutableList.Builder<RowGroup> rowGroupBuilder = ImmutableList.builder();
+    private final List<ColumnChunkPageIndexes> pageIndexes = new ArrayList<>();
 
     private int rows;
     private boolean closed;
@@ -119,7 +126,7 @@ public class ParquetWriter
         }
         ParquetProperties parquetProperties = parquetPropertiesBuilder.build();
         CompressionCodecName compressionCodecName = getCompressionCodecName(compressionCodecClass);
-        this.columnWriters = ParquetWriters.getColumnWriters(messageType, primitiveTypes, parquetProperties, compressionCodecName);
+        this.columnWriters = ParquetWriters.getColumnWriters(messageType, primitiveTypes, parquetProperties, compressionCodecName, writerOption);
 
         this.chunkMaxLogicalBytes = max(1, CHUNK_MAX_BYTES / 2);
     }
@@ -211,7 +218,9 @@ public class ParquetWriter
     // Parquet File Layout:
     //
     // MAGIC
-    // variable: Data
+    // variable: Data, each row group followed by its bloom filters
+    // variable: Column indexes
+    // variable: Offset indexes
     // variable: Metadata
     // 4 bytes: MetadataLength
     // MAGIC
@@ -233,22 +242,66 @@ public class ParquetWriter
 
         // update stats
         long stripeStartOffset = outputStream.longSize();
-        List<ColumnMetaData> metadatas = bufferDataList.stream()
-                .map(BufferData::getMetaData)
+        List<ColumnMetaData> metadatas = updateColumnMetadataOffset(
+                bufferDataList.stream()
+                        .map(BufferData::getMetaData)
+                        .collect(toImmutableList()),
+                stripeStartOffset);
+        List<org.apache.parquet.format.ColumnChunk> columnChunks = metadatas.stream()
+                .map(ParquetWriter::toColumnChunk)
                 .collect(toImmutableList());
-        updateRowGroups(updateColumnMetadataOffset(metadatas, stripeStartOffset));
+        updateRowGroups(columnChunks);
 
         // flush pages
         bufferDataList.stream()
                 .map(BufferData::getData)
                 .flatMap(List::stream)
                 .forEach(data -> data.writeData(outputStream));
+
+        // bloom filters are written right after their row group, so they are not held until the footer
+        for (int i = 0; i < bufferDataList.size(); i++) {
+            BufferData bufferData = bufferDataList.get(i);
+            Optional<BloomFilter> bloomFilter = bufferData.getBloomFilter();
+            if (bloomFilter.isPresent()) {
+                metadatas.get(i).setBloom_filter_offset(outputStream.longSize());
+                Util.writeBloomFilterHeader(ParquetMetadataConverter.toBloomFilterHeader(bloomFilter.get()), outputStream);
+                bloomFilter.get().writeTo(outputStream);
+            }
+
+            long columnChunkOffset = metadatas.get(i).getData_page_offset();
+            Optional<OffsetIndex> offsetIndex = bufferData.getOffsetIndex()
+                    .map(index -> OffsetIndexBuilder.getBuilder().fromOffsetIndex(index).build(columnChunkOffset));
+            pageIndexes.add(new ColumnChunkPageIndexes(columnChunks.get(i), bufferData.getColumnIndex(), offsetIndex));
+        }
+    }
+
+    private void writePageIndexes()
+            throws IOException
+    {
+        for (ColumnChunkPageIndexes indexes : pageIndexes) {
+            if (indexes.getColumnIndex().isPresent()) {
+                long offset = outputStream.longSize();
+                Util.writeColumnIndex(indexes.getColumnIndex().get(), outputStream);
+                indexes.getColumnChunk().setColumn_index_offset(offset);
+                indexes.getColumnChunk().setColumn_index_length(toIntExact(outputStream.longSize() - offset));
+            }
+        }
+        for (ColumnChunkPageIndexes indexes : pageIndexes) {
+            if (indexes.getOffsetIndex().isPresent()) {
+                long offset = outputStream.longSize();
+                Util.writeOffsetIndex(ParquetMetadataConverter.toParquetOffsetIndex(indexes.getOffsetIndex().get()), outputStream);
+                indexes.getColumnChunk().setOffset_index_offset(offset);
+                indexes.getColumnChunk().setOffset_index_length(toIntExact(outputStream.longSize() - offset));
+            }
+        }
+        pageIndexes.clear();
     }
 
     private void writeFooter()
             throws IOException
     {
         checkState(closed);
+        writePageIndexes();
         Slice footer = getFooter(rowGroupBuilder.build(), messageType);
         createDataOutput(footer).writeData(outputStream);
 
@@ -286,11 +339,10 @@ public class ParquetWriter
         return parquetMetaData.getSchema();
     }
 
-    private void updateRowGroups(List<ColumnMetaData> columnMetaData)
+    private void updateRowGroups(List<org.apache.parquet.format.ColumnChunk> columnChunks)
     {
         // TODO Avoid writing empty row group
-        long totalBytes = columnMetaData.stream().mapToLong(ColumnMetaData::getTotal_compressed_size).sum();
-        ImmutableList<org.apache.parquet.format.ColumnChunk> columnChunks = columnMetaData.stream().map(ParquetWriter::toColumnChunk).collect(toImmutableList());
+        long totalBytes = columnChunks.stream().mapToLong(columnChunk -> columnChunk.getMeta_data().getTotal_compressed_size()).sum();
         rowGroupBuilder.add(new RowGroup(columnChunks, totalBytes, rows));
     }
 
@@ -340,4 +392,33 @@ public class ParquetWriter
         }
         throw new IllegalArgumentException("Invalid compressionCodec: " + compressionCodecClass);
     }
+
+    private static class ColumnChunkPageIndexes
+    {
+        private final org.apache.parquet.format.ColumnChunk columnChunk;
+        private final Optional<ColumnIndex> columnIndex;
+        private final Optional<OffsetIndex> offsetIndex;
+
+        public ColumnChunkPageIndexes(org.apache.parquet.format.ColumnChunk columnChunk, Optional<ColumnIndex> columnIndex, Optional<OffsetIndex> offsetIndex)
+        {
+            this.columnChunk = requireNonNull(columnChunk, "columnChunk is null");
+            this.columnIndex = requireNonNull(columnIndex, "columnIndex is null");
+            this.offsetIndex = requireNonNull(offsetIndex, "offsetIndex is null");
+        }
+
+        public org.apache.parquet.format.ColumnChunk getColumnChunk()
+        {
+            return columnChunk;
+        }
+
+        public Optional<ColumnIndex> getColumnIndex()
+        {
+            return columnIndex;
+        }
+
+        public Optional<OffsetIndex> getOffsetIndex()
+        {
+            return offsetIndex;
+        }
+    }
 }
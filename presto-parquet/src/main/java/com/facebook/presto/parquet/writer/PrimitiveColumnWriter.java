@@ -26,9 +26,13 @@ import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.format.ColumnIndex;
 import org.apache.parquet.format.ColumnMetaData;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.internal.column.columnindex.ColumnIndexBuilder;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+import org.apache.parquet.internal.column.columnindex.OffsetIndexBuilder;
 
 import javax.annotation.Nullable;
 
@@ -37,6 +41,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static com.facebook.presto.parquet.writer.ParquetCompressor.getCompressor;
@@ -46,6 +51,7 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 import static org.apache.parquet.bytes.BytesInput.copy;
+import static org.apache.parquet.column.ParquetProperties.DEFAULT_COLUMN_INDEX_TRUNCATE_LENGTH;
 
 public abstract class PrimitiveColumnWriter
         implements ColumnWriter
@@ -63,6 +69,7 @@ public abstract class PrimitiveColumnWriter
 
     private final Type type;
     private final CompressionCodecName compressionCodec;
+    private final Optional<BloomFilterBuilder> bloomFilterBuilder;
 
     protected boolean closed;
     protected boolean getDataStreamsCalled;
@@ -70,6 +77,7 @@ public abstract class PrimitiveColumnWriter
     // current page stats
     protected int valueCount;
     protected int currentPageNullCounts;
+    protected int currentPageRowCount;
 
     // column meta data stats
     protected long totalCompressedSize;
@@ -77,7 +85,12 @@ public abstract class PrimitiveColumnWriter
     protected long totalValues;
     protected Statistics<?> columnStatistics;
 
-    public PrimitiveColumnWriter(Type type, ColumnDescriptor columnDescriptor, PrimitiveValueWriter primitiveValueWriter, CompressionCodecName compressionCodecName, int pageSizeThreshold)
+    // page indexes of the column chunk
+    private ColumnIndexBuilder columnIndexBuilder;
+    private OffsetIndexBuilder offsetIndexBuilder;
+    private long dictionaryPageSize;
+
+    public PrimitiveColumnWriter(Type type, ColumnDescriptor columnDescriptor, PrimitiveValueWriter primitiveValueWriter, CompressionCodecName compressionCodecName, int pageSizeThreshold, Optional<BloomFilterBuilder> bloomFilterBuilder)
     {
         this.type = requireNonNull(type, "type is null");
         this.columnDescriptor = requireNonNull(columnDescriptor, "columnDescriptor is null");
@@ -89,7 +102,11 @@ public abstract class PrimitiveColumnWriter
         this.compressor = getCompressor(compressionCodecName);
         this.pageSizeThreshold = pageSizeThreshold;
 
+        this.bloomFilterBuilder = requireNonNull(bloomFilterBuilder, "bloomFilterBuilder is null");
+
         this.columnStatistics = Statistics.createStats(columnDescriptor.getPrimitiveType());
+        this.columnIndexBuilder = ColumnIndexBuilder.getBuilder(columnDescriptor.getPrimitiveType(), DEFAULT_COLUMN_INDEX_TRUNCATE_LENGTH);
+        this.offsetIndexBuilder = OffsetIndexBuilder.getBuilder();
     }
 
     @Override
@@ -129,7 +146,30 @@ public abstract class PrimitiveColumnWriter
             throws IOException
     {
         checkState(closed);
-        return ImmutableList.of(new BufferData(getDataStreams(), getColumnMetaData()));
+        return ImmutableList.of(new BufferData(getDataStreams(), getColumnMetaData(), getColumnIndex(), getOffsetIndex(), bloomFilterBuilder.flatMap(BloomFilterBuilder::build)));
+    }
+
+    // Records a data page in the page indexes, must be called before the page stats are reset
+    protected void updatePageIndexes(Statistics<?> pageStatistics, long compressedPageSize)
+    {
+        columnIndexBuilder.add(pageStatistics);
+        offsetIndexBuilder.add(toIntExact(compressedPageSize), currentPageRowCount);
+    }
+
+    protected Optional<ColumnIndex> getColumnIndex()
+    {
+        checkState(getDataStreamsCalled);
+        // the builder gives up on pages with statistics it cannot represent
+        return Optional.ofNullable(columnIndexBuilder.build())
+                .map(columnIndex -> ParquetMetadataConverter.toParquetColumnIndex(columnDescriptor.getPrimitiveType(), columnIndex));
+    }
+
+    // Returns OffsetIndex with page offsets relative to the start of the column chunk
+    protected Optional<OffsetIndex> getOffsetIndex()
+    {
+        checkState(getDataStreamsCalled);
+        // data pages follow the dictionary page
+        return Optional.ofNullable(offsetIndexBuilder.build(dictionaryPageSize));
     }
 
     // Returns ColumnMetaData that offset is invalid
@@ -180,6 +220,7 @@ public abstract class PrimitiveColumnWriter
             dictPage.add(pageData);
             totalCompressedSize += pageHeader.size() + compressedSize;
             totalUnCompressedSize += pageHeader.size() + uncompressedSize;
+            dictionaryPageSize = pageHeader.size() + compressedSize;
 
             primitiveValueWriter.resetDictionary();
         }
@@ -196,7 +237,7 @@ public abstract class PrimitiveColumnWriter
     @Override
     public long getRetainedBytes()
     {
-        return 0;
+        return bloomFilterBuilder.map(BloomFilterBuilder::getRetainedBytes).orElse(0L);
     }
 
     @Override
@@ -211,6 +252,10 @@ public abstract class PrimitiveColumnWriter
         totalValues = 0;
         encodings.clear();
         this.columnStatistics = Statistics.createStats(columnDescriptor.getPrimitiveType());
+        this.columnIndexBuilder = ColumnIndexBuilder.getBuilder(columnDescriptor.getPrimitiveType(), DEFAULT_COLUMN_INDEX_TRUNCATE_LENGTH);
+        this.offsetIndexBuilder = OffsetIndexBuilder.getBuilder();
+        dictionaryPageSize = 0;
+        bloomFilterBuilder.ifPresent(BloomFilterBuilder::reset);
 
         getDataStreamsCalled = false;
     }
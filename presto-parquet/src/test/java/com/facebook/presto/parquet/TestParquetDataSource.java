@@ -0,0 +1,177 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet;
+
+import com.facebook.presto.memory.context.AggregatedMemoryContext;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.internal.column.columnindex.ColumnIndex;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static com.facebook.presto.parquet.ParquetDataSourceUtils.mergeAdjacentDiskRanges;
+import static com.google.common.io.ByteStreams.toByteArray;
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static java.util.Arrays.copyOfRange;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+public class TestParquetDataSource
+{
+    @Test
+    public void testMergeAdjacentDiskRanges()
+    {
+        assertEquals(
+                mergeAdjacentDiskRanges(
+                        ImmutableMap.of("b", new DiskRange(100, 50), "a", new DiskRange(0, 90), "c", new DiskRange(400, 10)).values(),
+                        new DataSize(10, BYTE),
+                        new DataSize(1000, BYTE)),
+                ImmutableList.of(new DiskRange(0, 150), new DiskRange(400, 10)));
+
+        // the merged range may not exceed the max read size
+        assertEquals(
+                mergeAdjacentDiskRanges(
+                        ImmutableList.of(new DiskRange(0, 90), new DiskRange(100, 50)),
+                        new DataSize(10, BYTE),
+                        new DataSize(100, BYTE)),
+                ImmutableList.of(new DiskRange(0, 90), new DiskRange(100, 50)));
+    }
+
+    @Test
+    public void testMergedReads()
+            throws IOException
+    {
+        TestingParquetDataSource dataSource = new TestingParquetDataSource(1000, new DataSize(10, BYTE), new DataSize(200, BYTE));
+        Map<String, InputStream> streams = dataSource.readFully(ImmutableMap.of(
+                "a", new DiskRange(0, 90),
+                "b", new DiskRange(100, 50),
+                "c", new DiskRange(400, 10),
+                "large", new DiskRange(500, 300)),
+                newSimpleAggregatedMemoryContext());
+
+        // nothing is read until the streams are used
+        assertEquals(dataSource.getReadCount(), 0);
+
+        assertEquals(toByteArray(streams.get("b")), copyOfRange(dataSource.getData(), 100, 150));
+        assertEquals(dataSource.getReadCount(), 1);
+        assertEquals(dataSource.getReadBytes(), 150);
+
+        // "a" was loaded by the same read
+        assertEquals(toByteArray(streams.get("a")), copyOfRange(dataSource.getData(), 0, 90));
+        assertEquals(dataSource.getReadCount(), 1);
+
+        assertEquals(toByteArray(streams.get("c")), copyOfRange(dataSource.getData(), 400, 410));
+        assertEquals(dataSource.getReadCount(), 2);
+
+        assertEquals(toByteArray(streams.get("large")), copyOfRange(dataSource.getData(), 500, 800));
+        assertEquals(dataSource.getReadBytes(), 460);
+    }
+
+    @Test
+    public void testMergingDisabled()
+            throws IOException
+    {
+        TestingParquetDataSource dataSource = new TestingParquetDataSource(1000, new DataSize(0, BYTE), new DataSize(0, BYTE));
+        Map<String, InputStream> streams = dataSource.readFully(ImmutableMap.of(
+                "a", new DiskRange(0, 90),
+                "b", new DiskRange(90, 50)),
+                newSimpleAggregatedMemoryContext());
+
+        assertEquals(toByteArray(streams.get("a")), copyOfRange(dataSource.getData(), 0, 90));
+        assertEquals(toByteArray(streams.get("b")), copyOfRange(dataSource.getData(), 90, 140));
+        assertEquals(dataSource.getReadBytes(), 140);
+    }
+
+    @Test
+    public void testMergedBufferMemory()
+            throws IOException
+    {
+        TestingParquetDataSource dataSource = new TestingParquetDataSource(1000, new DataSize(10, BYTE), new DataSize(200, BYTE));
+        AggregatedMemoryContext memoryContext = newSimpleAggregatedMemoryContext();
+        Map<String, InputStream> streams = dataSource.readFully(ImmutableMap.of(
+                "a", new DiskRange(0, 90),
+                "b", new DiskRange(100, 50),
+                "large", new DiskRange(500, 300)),
+                memoryContext);
+        assertEquals(memoryContext.getBytes(), 0);
+
+        // the merged buffer is charged when it is loaded
+        assertEquals(toByteArray(streams.get("a")), copyOfRange(dataSource.getData(), 0, 90));
+        assertEquals(memoryContext.getBytes(), 150);
+
+        // and released once every stream sharing it is closed
+        streams.get("a").close();
+        assertEquals(memoryContext.getBytes(), 150);
+        streams.get("b").close();
+        assertEquals(memoryContext.getBytes(), 0);
+        assertThrows(IllegalStateException.class, () -> streams.get("b").read());
+
+        // streamed ranges do not hold a buffer
+        assertEquals(toByteArray(streams.get("large")), copyOfRange(dataSource.getData(), 500, 800));
+        assertEquals(memoryContext.getBytes(), 0);
+    }
+
+    private static class TestingParquetDataSource
+            extends AbstractParquetDataSource
+    {
+        private final byte[] data;
+        private int readCount;
+
+        public TestingParquetDataSource(int size, DataSize maxMergeDistance, DataSize maxBufferSize)
+        {
+            super(new ParquetDataSourceId("test"), maxMergeDistance, maxBufferSize);
+            data = new byte[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = (byte) i;
+            }
+        }
+
+        public byte[] getData()
+        {
+            return data;
+        }
+
+        public int getReadCount()
+        {
+            return readCount;
+        }
+
+        @Override
+        protected void readInternal(long position, byte[] buffer, int bufferOffset, int bufferLength)
+        {
+            readCount++;
+            System.arraycopy(data, (int) position, buffer, bufferOffset, bufferLength);
+        }
+
+        @Override
+        public Optional<ColumnIndex> readColumnIndex(ColumnChunkMetaData column)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<OffsetIndex> readOffsetIndex(ColumnChunkMetaData column)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -36,6 +36,9 @@ import org.apache.parquet.column.statistics.FloatStatistics;
 import org.apache.parquet.column.statistics.IntStatistics;
 import org.apache.parquet.column.statistics.LongStatistics;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.PrimitiveType;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -394,6 +397,44 @@ public class TestTupleDomainParquetPredicate
         assertTrue(parquetPredicate.matches(new DictionaryDescriptor(column, Optional.of(page))));
     }
 
+    @Test
+    public void testBloomFilter()
+    {
+        RichColumnDescriptor bigintColumn = new RichColumnDescriptor(
+                new ColumnDescriptor(new String[] {"bigint"}, INT64, 0, 0),
+                new PrimitiveType(OPTIONAL, INT64, "bigint"));
+        RichColumnDescriptor varcharColumn = new RichColumnDescriptor(
+                new ColumnDescriptor(new String[] {"varchar"}, BINARY, 0, 0),
+                new PrimitiveType(OPTIONAL, BINARY, "varchar"));
+        RichColumnDescriptor doubleColumn = new RichColumnDescriptor(
+                new ColumnDescriptor(new String[] {"double"}, PrimitiveTypeName.DOUBLE, 0, 0),
+                new PrimitiveType(OPTIONAL, PrimitiveTypeName.DOUBLE, "double"));
+
+        BloomFilter bloomFilter = new BlockSplitBloomFilter(1024);
+        bloomFilter.insertHash(bloomFilter.hash(42L));
+        bloomFilter.insertHash(bloomFilter.hash(Binary.fromString("needle")));
+        bloomFilter.insertHash(bloomFilter.hash(-0.0));
+
+        assertTrue(bloomFilterPredicate(bigintColumn, Domain.create(ValueSet.of(BIGINT, 42L), false)).matches(bigintColumn, bloomFilter));
+        assertTrue(bloomFilterPredicate(bigintColumn, Domain.create(ValueSet.of(BIGINT, 1L, 42L), false)).matches(bigintColumn, bloomFilter));
+        assertFalse(bloomFilterPredicate(bigintColumn, Domain.create(ValueSet.of(BIGINT, 1L, 2L), false)).matches(bigintColumn, bloomFilter));
+        // nulls and ranges can not be checked against a bloom filter
+        assertTrue(bloomFilterPredicate(bigintColumn, Domain.create(ValueSet.of(BIGINT, 1L), true)).matches(bigintColumn, bloomFilter));
+        assertTrue(bloomFilterPredicate(bigintColumn, Domain.create(ValueSet.ofRanges(range(BIGINT, 1L, true, 2L, true)), false)).matches(bigintColumn, bloomFilter));
+
+        assertTrue(bloomFilterPredicate(varcharColumn, singleValue(createUnboundedVarcharType(), utf8Slice("needle"))).matches(varcharColumn, bloomFilter));
+        assertFalse(bloomFilterPredicate(varcharColumn, singleValue(createUnboundedVarcharType(), utf8Slice("haystack"))).matches(varcharColumn, bloomFilter));
+
+        // 0.0 equals -0.0, which hash differently
+        assertTrue(bloomFilterPredicate(doubleColumn, singleValue(DOUBLE, 0.0)).matches(doubleColumn, bloomFilter));
+        assertFalse(bloomFilterPredicate(doubleColumn, singleValue(DOUBLE, 1.0)).matches(doubleColumn, bloomFilter));
+    }
+
+    private static TupleDomainParquetPredicate bloomFilterPredicate(RichColumnDescriptor column, Domain domain)
+    {
+        return new TupleDomainParquetPredicate(withColumnDomains(ImmutableMap.of(column, domain)), singletonList(column));
+    }
+
     @Test
     public void testGetRange()
     {
@@ -0,0 +1,165 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.batchreader;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockBuilder;
+import com.facebook.presto.common.block.DictionaryBlock;
+import com.facebook.presto.common.block.DictionaryId;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.parquet.Field;
+import com.facebook.presto.parquet.FileParquetDataSource;
+import com.facebook.presto.parquet.cache.MetadataReader;
+import com.facebook.presto.parquet.reader.ParquetReader;
+import com.facebook.presto.parquet.writer.ParquetWriter;
+import com.facebook.presto.parquet.writer.ParquetWriterOptions;
+import com.google.common.collect.ImmutableList;
+import io.airlift.units.DataSize;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.ColumnIOConverter;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.schema.MessageType;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static com.facebook.presto.parquet.ParquetTypeUtils.getColumnIO;
+import static com.facebook.presto.parquet.writer.TestParquetWriter.createParquetWriter;
+import static com.google.common.io.Files.createTempDir;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.UUID.randomUUID;
+import static org.apache.parquet.hadoop.metadata.CompressionCodecName.UNCOMPRESSED;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+@Test(singleThreaded = true)
+public class TestBinaryFlatBatchReader
+{
+    private static final int ROW_COUNT = 5000;
+
+    private File temporaryDirectory;
+
+    @BeforeMethod
+    public void setUp()
+    {
+        temporaryDirectory = createTempDir();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown()
+            throws Exception
+    {
+        deleteRecursively(temporaryDirectory.toPath(), ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testDictionaryEncodedColumnChunk()
+            throws Exception
+    {
+        IntFunction<String> values = position -> position % 7 == 3 ? null : "value_" + (position % 10);
+        List<Block> blocks = writeAndRead(values, ParquetWriterOptions.builder().build());
+
+        Set<DictionaryId> dictionaryIds = new HashSet<>();
+        for (Block block : blocks) {
+            assertTrue(block instanceof DictionaryBlock, "expected dictionary block but got " + block.getClass().getSimpleName());
+            dictionaryIds.add(((DictionaryBlock) block).getDictionarySourceId());
+        }
+        assertTrue(blocks.size() > 1);
+        // all the batches of a column chunk share the dictionary
+        assertEquals(dictionaryIds.size(), 1);
+        assertValues(blocks, values);
+    }
+
+    @Test
+    public void testFallbackToPlainEncoding()
+            throws Exception
+    {
+        // the dictionary outgrows its maximum size part way through the column chunk
+        IntFunction<String> values = position -> position % 7 == 3 ? null : (position < 100 ? "value_" + (position % 10) : "value_" + position);
+        ParquetWriterOptions writerOptions = ParquetWriterOptions.builder()
+                .setMaxDictionaryPageSize(DataSize.succinctBytes(1000))
+                .build();
+        List<Block> blocks = writeAndRead(values, writerOptions);
+
+        assertFalse(blocks.get(blocks.size() - 1) instanceof DictionaryBlock);
+        assertValues(blocks, values);
+    }
+
+    private List<Block> writeAndRead(IntFunction<String> values, ParquetWriterOptions writerOptions)
+            throws Exception
+    {
+        File parquetFile = new File(temporaryDirectory, randomUUID().toString());
+        List<Type> types = ImmutableList.of(VARCHAR);
+        try (ParquetWriter parquetWriter = createParquetWriter(parquetFile, types, ImmutableList.of("col_1"), writerOptions, UNCOMPRESSED)) {
+            BlockBuilder blockBuilder = VARCHAR.createBlockBuilder(null, ROW_COUNT);
+            for (int position = 0; position < ROW_COUNT; position++) {
+                String value = values.apply(position);
+                if (value == null) {
+                    blockBuilder.appendNull();
+                }
+                else {
+                    VARCHAR.writeString(blockBuilder, value);
+                }
+            }
+            parquetWriter.write(new Page(blockBuilder.build()));
+        }
+
+        FileParquetDataSource dataSource = new FileParquetDataSource(parquetFile);
+        ParquetMetadata parquetMetadata = MetadataReader.readFooter(dataSource, parquetFile.length(), Optional.empty(), false).getParquetMetadata();
+        MessageType schema = parquetMetadata.getFileMetaData().getSchema();
+        MessageColumnIO messageColumnIO = getColumnIO(schema, schema);
+        Field field = ColumnIOConverter.constructField(VARCHAR, messageColumnIO.getChild(0)).get();
+
+        List<Block> blocks = new ArrayList<>();
+        try (ParquetReader parquetReader = new ParquetReader(messageColumnIO, parquetMetadata.getBlocks(), Optional.empty(), dataSource, newSimpleAggregatedMemoryContext(), new DataSize(16, MEGABYTE), true, false, null, null, false, Optional.empty())) {
+            while (parquetReader.nextBatch() > 0) {
+                blocks.add(parquetReader.readBlock(field));
+            }
+        }
+        return blocks;
+    }
+
+    private static void assertValues(List<Block> blocks, IntFunction<String> values)
+    {
+        int position = 0;
+        for (Block block : blocks) {
+            for (int i = 0; i < block.getPositionCount(); i++, position++) {
+                String expected = values.apply(position);
+                if (expected == null) {
+                    assertTrue(block.isNull(i));
+                    assertNull(VARCHAR.getObjectValue(null, block, i));
+                }
+                else {
+                    assertEquals(VARCHAR.getSlice(block, i).toStringUtf8(), expected);
+                }
+            }
+        }
+        assertEquals(position, ROW_COUNT);
+    }
+}
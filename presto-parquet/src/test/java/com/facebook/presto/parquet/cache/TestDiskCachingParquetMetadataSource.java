@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.cache;
+
+import com.facebook.presto.cache.LocalDiskCache;
+import com.facebook.presto.common.PageBuilder;
+import com.facebook.presto.parquet.FileParquetDataSource;
+import com.facebook.presto.parquet.ParquetDataSource;
+import com.facebook.presto.parquet.writer.ParquetWriter;
+import com.facebook.presto.parquet.writer.ParquetWriterOptions;
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.crypto.InternalFileDecryptor;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.parquet.writer.TestParquetWriter.createParquetWriter;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static org.apache.parquet.hadoop.metadata.CompressionCodecName.UNCOMPRESSED;
+import static org.testng.Assert.assertEquals;
+
+public class TestDiskCachingParquetMetadataSource
+{
+    @Test
+    public void testCachesFooter()
+            throws Exception
+    {
+        Path directory = Files.createTempDirectory("parquet-footer-cache");
+        try {
+            File parquetFile = directory.resolve("data.parquet").toFile();
+            try (ParquetWriter parquetWriter = createParquetWriter(parquetFile, ImmutableList.of(BIGINT), ImmutableList.of("col_1"), ParquetWriterOptions.builder().build(), UNCOMPRESSED)) {
+                PageBuilder pageBuilder = new PageBuilder(100, ImmutableList.of(BIGINT));
+                for (long value = 0; value < 100; value++) {
+                    BIGINT.writeLong(pageBuilder.getBlockBuilder(0), value);
+                    pageBuilder.declarePosition();
+                }
+                parquetWriter.write(pageBuilder.build());
+            }
+
+            CountingFooterSource delegate = new CountingFooterSource();
+            ParquetDataSource dataSource = new FileParquetDataSource(parquetFile);
+            try (LocalDiskCache diskCache = new LocalDiskCache(directory.resolve("cache"), 1024 * 1024)) {
+                ParquetMetadataSource source = new DiskCachingParquetMetadataSource(delegate, diskCache);
+                assertEquals(getRowCount(source, dataSource, parquetFile, 10), 100);
+                assertEquals(getRowCount(source, dataSource, parquetFile, 10), 100);
+                // footers missing from the disk cache are read through the delegate
+                assertEquals(delegate.getFooterReads(), 1);
+
+                // a new modification time is a different entry
+                assertEquals(getRowCount(source, dataSource, parquetFile, 11), 100);
+                assertEquals(delegate.getFooterReads(), 2);
+            }
+        }
+        finally {
+            deleteRecursively(directory, ALLOW_INSECURE);
+        }
+    }
+
+    private static long getRowCount(ParquetMetadataSource source, ParquetDataSource dataSource, File parquetFile, long modificationTime)
+            throws IOException
+    {
+        return source.getParquetMetadata(dataSource, parquetFile.length(), true, modificationTime, Optional.empty(), false)
+                .getParquetMetadata()
+                .getBlocks()
+                .stream()
+                .mapToLong(BlockMetaData::getRowCount)
+                .sum();
+    }
+
+    private static class CountingFooterSource
+            implements ParquetMetadataSource
+    {
+        private final MetadataReader delegate = new MetadataReader();
+        private int footerReads;
+
+        public int getFooterReads()
+        {
+            return footerReads;
+        }
+
+        @Override
+        public ParquetFileMetadata getParquetMetadata(ParquetDataSource parquetDataSource, long fileSize, boolean cacheable, long modificationTime, Optional<InternalFileDecryptor> fileDecryptor, boolean readMaskedValue)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Slice getFooterSlice(ParquetDataSource parquetDataSource, long fileSize)
+                throws IOException
+        {
+            footerReads++;
+            return delegate.getFooterSlice(parquetDataSource, fileSize);
+        }
+
+        @Override
+        public Optional<BloomFilter> getBloomFilter(ParquetDataSource parquetDataSource, ColumnChunkMetaData columnChunk, boolean cacheable, long modificationTime)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -13,17 +13,58 @@
  */
 package com.facebook.presto.parquet.predicate;
 
+import com.facebook.presto.common.PageBuilder;
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.TupleDomain;
+import com.facebook.presto.common.predicate.ValueSet;
+import com.facebook.presto.parquet.FileParquetDataSource;
+import com.facebook.presto.parquet.ParquetDataSource;
+import com.facebook.presto.parquet.RichColumnDescriptor;
+import com.facebook.presto.parquet.cache.BloomFilterCacheKey;
+import com.facebook.presto.parquet.cache.CachingParquetMetadataSource;
+import com.facebook.presto.parquet.cache.MetadataReader;
+import com.facebook.presto.parquet.cache.ParquetFileMetadata;
+import com.facebook.presto.parquet.cache.ParquetMetadataSource;
+import com.facebook.presto.parquet.writer.ParquetWriter;
+import com.facebook.presto.parquet.writer.ParquetWriterOptions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import io.airlift.slice.Slice;
+import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.EncodingStats;
 import org.apache.parquet.column.statistics.BinaryStatistics;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.crypto.InternalFileDecryptor;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.facebook.presto.common.predicate.Domain.singleValue;
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.parquet.ParquetTypeUtils.getDescriptors;
 import static com.facebook.presto.parquet.predicate.PredicateUtils.isOnlyDictionaryEncodingPages;
+import static com.facebook.presto.parquet.predicate.PredicateUtils.predicateMatches;
+import static com.facebook.presto.parquet.writer.TestParquetWriter.createParquetWriter;
+import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.google.common.collect.Sets.union;
+import static com.google.common.io.Files.createTempDir;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static java.util.UUID.randomUUID;
 import static org.apache.parquet.column.Encoding.BIT_PACKED;
 import static org.apache.parquet.column.Encoding.PLAIN;
 import static org.apache.parquet.column.Encoding.PLAIN_DICTIONARY;
@@ -32,6 +73,7 @@ import static org.apache.parquet.column.Encoding.RLE_DICTIONARY;
 import static org.apache.parquet.hadoop.metadata.ColumnPath.fromDotString;
 import static org.apache.parquet.hadoop.metadata.CompressionCodecName.UNCOMPRESSED;
 import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
@@ -72,6 +114,117 @@ public class TestPredicateUtils
         assertFalse(isOnlyDictionaryEncodingPages(createColumnMetaDataV2(RLE_DICTIONARY, PLAIN)));
     }
 
+    @Test
+    public void testBloomFilterPredicate()
+            throws Exception
+    {
+        File temporaryDirectory = createTempDir();
+        File parquetFile = new File(temporaryDirectory, randomUUID().toString());
+        try {
+            ParquetWriterOptions writerOptions = ParquetWriterOptions.builder()
+                    .setBloomFilterColumns(ImmutableSet.of("col_1"))
+                    .build();
+            try (ParquetWriter parquetWriter = createParquetWriter(parquetFile, ImmutableList.of(BIGINT), ImmutableList.of("col_1"), writerOptions, UNCOMPRESSED)) {
+                // only even values, so that odd values are within the min/max statistics but not in the bloom filter
+                PageBuilder pageBuilder = new PageBuilder(1000, ImmutableList.of(BIGINT));
+                for (long value = 0; value < 2000; value += 2) {
+                    BIGINT.writeLong(pageBuilder.getBlockBuilder(0), value);
+                    pageBuilder.declarePosition();
+                }
+                parquetWriter.write(pageBuilder.build());
+            }
+
+            ParquetDataSource dataSource = new FileParquetDataSource(parquetFile);
+            ParquetMetadata parquetMetadata = MetadataReader.readFooter(dataSource, parquetFile.length(), Optional.empty(), false).getParquetMetadata();
+            BlockMetaData block = getOnlyElement(parquetMetadata.getBlocks());
+            assertTrue(getOnlyElement(block.getColumns()).getBloomFilterOffset() > 0);
+
+            MessageType schema = parquetMetadata.getFileMetaData().getSchema();
+            Map<List<String>, RichColumnDescriptor> descriptorsByPath = getDescriptors(schema, schema);
+            CountingMetadataSource countingMetadataSource = new CountingMetadataSource();
+            Cache<BloomFilterCacheKey, Optional<BloomFilter>> bloomFilterCache = CacheBuilder.newBuilder().build();
+            ParquetMetadataSource metadataSource = new CachingParquetMetadataSource(CacheBuilder.newBuilder().build(), Optional.of(bloomFilterCache), countingMetadataSource);
+            Optional<BloomFilterStore> bloomFilterStore = Optional.of(new BloomFilterStore(metadataSource, dataSource, true, 1, () -> {}));
+
+            assertTrue(bloomFilterPredicateMatches(block, dataSource, descriptorsByPath, singleValue(BIGINT, 500L), bloomFilterStore));
+            assertFalse(bloomFilterPredicateMatches(block, dataSource, descriptorsByPath, singleValue(BIGINT, 501L), bloomFilterStore));
+            assertFalse(bloomFilterPredicateMatches(block, dataSource, descriptorsByPath, Domain.create(ValueSet.of(BIGINT, 501L, 503L), false), bloomFilterStore));
+            // the bloom filter is read once and then served from the cache
+            assertEquals(countingMetadataSource.getBloomFilterReads(), 1);
+            assertEquals(bloomFilterCache.size(), 1);
+
+            // without bloom filters the block can not be skipped
+            assertTrue(bloomFilterPredicateMatches(block, dataSource, descriptorsByPath, singleValue(BIGINT, 501L), Optional.empty()));
+
+            // a bloom filter that can not be read is reported and does not skip the block
+            CountingMetadataSource failingMetadataSource = new CountingMetadataSource();
+            failingMetadataSource.setFailBloomFilterReads(true);
+            AtomicInteger readFailures = new AtomicInteger();
+            Optional<BloomFilterStore> failingBloomFilterStore = Optional.of(new BloomFilterStore(failingMetadataSource, dataSource, true, 1, readFailures::incrementAndGet));
+            assertTrue(bloomFilterPredicateMatches(block, dataSource, descriptorsByPath, singleValue(BIGINT, 501L), failingBloomFilterStore));
+            assertEquals(readFailures.get(), 1);
+        }
+        finally {
+            deleteRecursively(temporaryDirectory.toPath(), ALLOW_INSECURE);
+        }
+    }
+
+    private static boolean bloomFilterPredicateMatches(
+            BlockMetaData block,
+            ParquetDataSource dataSource,
+            Map<List<String>, RichColumnDescriptor> descriptorsByPath,
+            Domain domain,
+            Optional<BloomFilterStore> bloomFilterStore)
+    {
+        RichColumnDescriptor column = getOnlyElement(descriptorsByPath.values());
+        TupleDomain<ColumnDescriptor> parquetTupleDomain = TupleDomain.withColumnDomains(ImmutableMap.of(column, domain));
+        Predicate predicate = new TupleDomainParquetPredicate(parquetTupleDomain, ImmutableList.of(column));
+        return predicateMatches(predicate, block, dataSource, descriptorsByPath, parquetTupleDomain, Optional.empty(), false, Optional.empty(), bloomFilterStore);
+    }
+
+    private static class CountingMetadataSource
+            implements ParquetMetadataSource
+    {
+        private final MetadataReader delegate = new MetadataReader();
+        private int bloomFilterReads;
+        private boolean failBloomFilterReads;
+
+        public int getBloomFilterReads()
+        {
+            return bloomFilterReads;
+        }
+
+        public void setFailBloomFilterReads(boolean failBloomFilterReads)
+        {
+            this.failBloomFilterReads = failBloomFilterReads;
+        }
+
+        @Override
+        public ParquetFileMetadata getParquetMetadata(ParquetDataSource parquetDataSource, long fileSize, boolean cacheable, long modificationTime, Optional<InternalFileDecryptor> fileDecryptor, boolean readMaskedValue)
+                throws IOException
+        {
+            return delegate.getParquetMetadata(parquetDataSource, fileSize, cacheable, modificationTime, fileDecryptor, readMaskedValue);
+        }
+
+        @Override
+        public Slice getFooterSlice(ParquetDataSource parquetDataSource, long fileSize)
+                throws IOException
+        {
+            return delegate.getFooterSlice(parquetDataSource, fileSize);
+        }
+
+        @Override
+        public Optional<BloomFilter> getBloomFilter(ParquetDataSource parquetDataSource, ColumnChunkMetaData columnChunk, boolean cacheable, long modificationTime)
+                throws IOException
+        {
+            bloomFilterReads++;
+            if (failBloomFilterReads) {
+                throw new IOException("corrupted bloom filter");
+            }
+            return delegate.getBloomFilter(parquetDataSource, columnChunk, cacheable, modificationTime);
+        }
+    }
+
     private ColumnChunkMetaData createColumnMetaDataV2(Encoding... dataEncodings)
     {
         EncodingStats encodingStats = new EncodingStats.Builder()
@@ -0,0 +1,140 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.reader;
+
+import com.facebook.presto.common.PageBuilder;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockBuilder;
+import com.facebook.presto.common.type.MapType;
+import com.facebook.presto.common.type.RowType;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.parquet.Field;
+import com.facebook.presto.parquet.FileParquetDataSource;
+import com.facebook.presto.parquet.cache.MetadataReader;
+import com.facebook.presto.parquet.writer.ParquetWriter;
+import com.facebook.presto.parquet.writer.ParquetWriterOptions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.ColumnIOConverter;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.schema.MessageType;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static com.facebook.presto.common.block.MethodHandleUtil.nativeValueGetter;
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static com.facebook.presto.parquet.ParquetTypeUtils.getColumnIO;
+import static com.facebook.presto.parquet.writer.TestParquetWriter.createParquetWriter;
+import static com.google.common.io.Files.createTempDir;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.UUID.randomUUID;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertThrows;
+
+public class TestParquetReaderLazyNestedBlocks
+{
+    private static final Type ROW = RowType.from(ImmutableList.of(RowType.field("id", BIGINT), RowType.field("name", VARCHAR)));
+    private static final Type MAP = new MapType(
+            VARCHAR,
+            VARCHAR,
+            nativeValueGetter(VARCHAR),
+            nativeValueGetter(VARCHAR));
+    private static final int ROW_COUNT = 1000;
+
+    private File temporaryDirectory;
+    private File parquetFile;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception
+    {
+        temporaryDirectory = createTempDir();
+        parquetFile = new File(temporaryDirectory, randomUUID().toString());
+        List<Type> types = ImmutableList.of(ROW, MAP);
+        try (ParquetWriter parquetWriter = createParquetWriter(parquetFile, types, ImmutableList.of("row_col", "map_col"), ParquetWriterOptions.builder().build(), CompressionCodecName.UNCOMPRESSED)) {
+            PageBuilder pageBuilder = new PageBuilder(ROW_COUNT, types);
+            for (int rowIdx = 0; rowIdx < ROW_COUNT; rowIdx++) {
+                BlockBuilder rowBuilder = pageBuilder.getBlockBuilder(0).beginBlockEntry();
+                BIGINT.writeLong(rowBuilder, rowIdx);
+                VARCHAR.writeString(rowBuilder, "name_" + rowIdx);
+                pageBuilder.getBlockBuilder(0).closeEntry();
+                BlockBuilder mapBuilder = pageBuilder.getBlockBuilder(1).beginBlockEntry();
+                VARCHAR.writeString(mapBuilder, "key_" + rowIdx);
+                VARCHAR.writeString(mapBuilder, "value_" + rowIdx);
+                pageBuilder.getBlockBuilder(1).closeEntry();
+                pageBuilder.declarePosition();
+            }
+            parquetWriter.write(pageBuilder.build());
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(temporaryDirectory.toPath(), ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testLazyNestedBlocks()
+            throws Exception
+    {
+        FileParquetDataSource dataSource = new FileParquetDataSource(parquetFile);
+        ParquetMetadata parquetMetadata = MetadataReader.readFooter(dataSource, parquetFile.length(), Optional.empty(), false).getParquetMetadata();
+        MessageType schema = parquetMetadata.getFileMetaData().getSchema();
+        MessageColumnIO messageColumnIO = getColumnIO(schema, schema);
+        Field rowField = ColumnIOConverter.constructField(ROW, messageColumnIO.getChild(0)).get();
+        Field mapField = ColumnIOConverter.constructField(MAP, messageColumnIO.getChild(1)).get();
+
+        try (ParquetReader parquetReader = new ParquetReader(messageColumnIO, parquetMetadata.getBlocks(), Optional.empty(), dataSource, newSimpleAggregatedMemoryContext(), new DataSize(16, MEGABYTE), false, false, null, null, false, Optional.empty(), true)) {
+            int position = 0;
+            Block staleRowBlock = null;
+            for (int batchSize = parquetReader.nextBatch(); batchSize > 0; batchSize = parquetReader.nextBatch()) {
+                Block rowBlock = parquetReader.readBlock(rowField);
+                Block mapBlock = parquetReader.readBlock(mapField);
+                if (staleRowBlock == null) {
+                    // the nested blocks of the first batch are never loaded, so the column readers have to skip them
+                    staleRowBlock = rowBlock;
+                    position += batchSize;
+                    continue;
+                }
+
+                Block loadedRowBlock = rowBlock.getLoadedBlock();
+                assertNotSame(loadedRowBlock, rowBlock);
+                for (int i = 0; i < batchSize; i++) {
+                    int value = position + i;
+                    assertEquals(ROW.getObjectValue(null, loadedRowBlock, i), ImmutableList.of((long) value, "name_" + value));
+                    assertEquals(MAP.getObjectValue(null, mapBlock, i), ImmutableMap.of("key_" + value, "value_" + value));
+                }
+                position += batchSize;
+            }
+            assertEquals(position, ROW_COUNT);
+            assertThrows(IllegalStateException.class, staleRowBlock::getLoadedBlock);
+        }
+    }
+}
@@ -25,7 +25,17 @@ import com.facebook.presto.parquet.FileParquetDataSource;
 import com.facebook.presto.parquet.cache.MetadataReader;
 import com.facebook.presto.parquet.reader.ParquetReader;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import io.airlift.units.DataSize;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.format.BloomFilterHeader;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.OffsetIndex;
+import org.apache.parquet.format.PageLocation;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.Util;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.io.ColumnIOConverter;
@@ -37,8 +47,10 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.List;
 import java.util.Optional;
@@ -58,6 +70,7 @@ import static com.facebook.presto.common.type.VarcharType.VARCHAR;
 import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static com.facebook.presto.parquet.ParquetTypeUtils.getColumnIO;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.io.ByteStreams.readFully;
 import static com.google.common.io.Files.createTempDir;
 import static com.google.common.io.MoreFiles.deleteRecursively;
 import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
@@ -200,6 +213,95 @@ public class TestParquetWriter
         };
     }
 
+    @Test
+    public void testPageIndexesAndBloomFilters()
+            throws Exception
+    {
+        temporaryDirectory = createTempDir();
+        parquetFile = new File(temporaryDirectory, randomUUID().toString());
+        List<Type> types = ImmutableList.of(BIGINT, VARCHAR);
+        List<String> names = ImmutableList.of("col_1", "col_2");
+        ParquetWriterOptions parquetWriterOptions = ParquetWriterOptions.builder()
+                .setMaxPageSize(DataSize.succinctBytes(1000))
+                .setBloomFilterColumns(ImmutableSet.of("col_1"))
+                .build();
+        int rowCount = 5000;
+        try (ParquetWriter parquetWriter = createParquetWriter(parquetFile, types, names, parquetWriterOptions, CompressionCodecName.UNCOMPRESSED)) {
+            // column writers check the page size after each block
+            for (int start = 0; start < rowCount; start += 100) {
+                PageBuilder pageBuilder = new PageBuilder(100, types);
+                for (int rowIdx = start; rowIdx < start + 100; rowIdx++) {
+                    BIGINT.writeLong(pageBuilder.getBlockBuilder(0), rowIdx);
+                    VARCHAR.writeString(pageBuilder.getBlockBuilder(1), "value_" + rowIdx);
+                    pageBuilder.declarePosition();
+                }
+                parquetWriter.write(pageBuilder.build());
+            }
+        }
+
+        byte[] file = Files.readAllBytes(parquetFile.toPath());
+        FileMetaData fileMetaData = readFileMetaData(file);
+        assertEquals(fileMetaData.getRow_groups().size(), 1);
+        RowGroup rowGroup = fileMetaData.getRow_groups().get(0);
+
+        for (ColumnChunk columnChunk : rowGroup.getColumns()) {
+            assertTrue(columnChunk.isSetColumn_index_offset());
+            assertEquals(Util.readColumnIndex(streamAt(file, columnChunk.getColumn_index_offset())).getNull_pages().size(), readOffsetIndex(file, columnChunk).getPage_locations().size());
+
+            // pages cover all rows and end where the column chunk ends
+            List<PageLocation> pages = readOffsetIndex(file, columnChunk).getPage_locations();
+            assertTrue(pages.size() > 1);
+            assertEquals(pages.get(0).getFirst_row_index(), 0);
+            for (int i = 1; i < pages.size(); i++) {
+                assertTrue(pages.get(i).getFirst_row_index() > pages.get(i - 1).getFirst_row_index());
+                assertEquals(pages.get(i).getOffset(), pages.get(i - 1).getOffset() + pages.get(i - 1).getCompressed_page_size());
+            }
+            PageLocation lastPage = pages.get(pages.size() - 1);
+            assertEquals(lastPage.getOffset() + lastPage.getCompressed_page_size(), columnChunk.getMeta_data().getData_page_offset() + columnChunk.getMeta_data().getTotal_compressed_size());
+        }
+
+        assertFalse(rowGroup.getColumns().get(1).getMeta_data().isSetBloom_filter_offset());
+        InputStream bloomFilterInput = streamAt(file, rowGroup.getColumns().get(0).getMeta_data().getBloom_filter_offset());
+        BloomFilterHeader header = Util.readBloomFilterHeader(bloomFilterInput);
+        byte[] bitset = new byte[header.getNumBytes()];
+        readFully(bloomFilterInput, bitset);
+        BloomFilter bloomFilter = new BlockSplitBloomFilter(bitset);
+        // sized for the distinct values of the row group rather than the maximum size
+        assertTrue(bitset.length < ParquetWriterOptions.DEFAULT_BLOOM_FILTER_MAX_SIZE.toBytes());
+        for (long value = 0; value < rowCount; value++) {
+            assertTrue(bloomFilter.findHash(bloomFilter.hash(value)));
+        }
+        int falsePositives = 0;
+        for (long value = rowCount; value < 2 * rowCount; value++) {
+            if (bloomFilter.findHash(bloomFilter.hash(value))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < rowCount / 20, "too many false positives: " + falsePositives);
+    }
+
+    private static FileMetaData readFileMetaData(byte[] file)
+            throws IOException
+    {
+        int footerLength = (file[file.length - 8] & 0xFF) |
+                (file[file.length - 7] & 0xFF) << 8 |
+                (file[file.length - 6] & 0xFF) << 16 |
+                (file[file.length - 5] & 0xFF) << 24;
+        return Util.readFileMetaData(streamAt(file, file.length - 8 - footerLength));
+    }
+
+    private static OffsetIndex readOffsetIndex(byte[] file, ColumnChunk columnChunk)
+            throws IOException
+    {
+        assertTrue(columnChunk.isSetOffset_index_offset());
+        return Util.readOffsetIndex(streamAt(file, columnChunk.getOffset_index_offset()));
+    }
+
+    private static InputStream streamAt(byte[] file, long offset)
+    {
+        return new ByteArrayInputStream(file, (int) offset, file.length - (int) offset);
+    }
+
     @Test(dataProvider = "testMetadataCreation")
     public void testMetadataCreation(Type type, Class<?> annotationType, String primitiveName)
             throws Exception
@@ -198,6 +198,7 @@ import com.facebook.presto.sql.planner.PlanFragment;
 import com.facebook.presto.sql.planner.PlanFragmenter;
 import com.facebook.presto.sql.planner.PlanOptimizers;
 import com.facebook.presto.sql.planner.plan.JsonCodecSimplePlanFragmentSerde;
+import com.facebook.presto.sql.planner.sanity.ForPlanChecker;
 import com.facebook.presto.sql.planner.sanity.PlanChecker;
 import com.facebook.presto.sql.planner.sanity.PlanCheckerProviderManager;
 import com.facebook.presto.sql.planner.sanity.PlanCheckerProviderManagerConfig;
@@ -222,13 +223,17 @@ import com.google.inject.TypeLiteral;
 import org.weakref.jmx.MBeanExporter;
 import org.weakref.jmx.testing.TestingMBeanServer;
 
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.management.MBeanServer;
 
 import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
 import static com.facebook.airlift.concurrent.Threads.threadsNamed;
@@ -238,10 +243,12 @@ import static com.facebook.airlift.json.JsonCodecBinder.jsonCodecBinder;
 import static com.facebook.airlift.json.smile.SmileCodecBinder.smileCodecBinder;
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
 import static com.google.inject.multibindings.OptionalBinder.newOptionalBinder;
+import static java.lang.Math.max;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.weakref.jmx.ObjectNames.generatedNameOf;
 import static org.weakref.jmx.guice.ExportBinder.newExporter;
 
@@ -569,6 +576,7 @@ public class PrestoSparkModule
         newSetBinder(binder, PrestoSparkAuthenticatorProvider.class);
         binder.bind(ClientRequestFilterManager.class).in(Scopes.SINGLETON);
         binder.bind(PlanCheckerProviderManager.class).in(Scopes.SINGLETON);
+        binder.bind(ExecutorCleanup.class).in(Scopes.SINGLETON);
         binder.bind(NodeManager.class).to(PluginNodeManager.class).in(Scopes.SINGLETON);
     }
 
@@ -583,6 +591,14 @@ public class PrestoSparkModule
         return InMemoryTransactionManager.create(config, scheduledExecutor, catalogManager, executor);
     }
 
+    @Provides
+    @Singleton
+    @ForPlanChecker
+    public static ExecutorService createPlanCheckerExecutor(FeaturesConfig featuresConfig)
+    {
+        return new ThreadPoolExecutor(0, max(1, featuresConfig.getPlanCheckerThreadPoolSize()), 1L, MINUTES, new LinkedBlockingQueue<>(), daemonThreadsNamed("plan-checker-%s"));
+    }
+
     @Provides
     @Singleton
     public static FragmentResultCacheManager createFragmentResultCacheManager(FileFragmentResultCacheConfig config, BlockEncodingSerde blockEncodingSerde, FragmentCacheStats fragmentCacheStats)
@@ -597,4 +613,21 @@ public class PrestoSparkModule
         }
         return new NoOpFragmentResultCacheManager();
     }
+
+    public static class ExecutorCleanup
+    {
+        private final ExecutorService planCheckerExecutor;
+
+        @Inject
+        public ExecutorCleanup(@ForPlanChecker ExecutorService planCheckerExecutor)
+        {
+            this.planCheckerExecutor = requireNonNull(planCheckerExecutor, "planCheckerExecutor is null");
+        }
+
+        @PreDestroy
+        public void shutdown()
+        {
+            planCheckerExecutor.shutdownNow();
+        }
+    }
 }
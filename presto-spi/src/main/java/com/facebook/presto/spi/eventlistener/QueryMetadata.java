@@ -18,7 +18,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.net.URI;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import static com.facebook.presto.common.Utils.memoizedSupplier;
 import static java.util.Objects.requireNonNull;
 
 public class QueryMetadata
@@ -34,12 +36,13 @@ public class QueryMetadata
 
     private final URI uri;
 
-    private final Optional<String> plan;
+    // rendering the plans and the stage payload of a large query is expensive, so it is only done once they are requested
+    private final Supplier<Optional<String>> plan;
 
-    private final Optional<String> jsonPlan;
+    private final Supplier<Optional<String>> jsonPlan;
 
-    private final Optional<String> graphvizPlan;
-    private final Optional<String> payload;
+    private final Supplier<Optional<String>> graphvizPlan;
+    private final Supplier<Optional<String>> payload;
 
     private final List<String> runtimeOptimizedStages;
     private final Optional<String> updateQueryType;
@@ -59,6 +62,42 @@ public class QueryMetadata
             List<String> runtimeOptimizedStages,
             Optional<String> tracingId,
             Optional<String> updateQueryType)
+    {
+        this(
+                queryId,
+                transactionId,
+                query,
+                queryHash,
+                preparedQuery,
+                queryState,
+                uri,
+                constant(requireNonNull(plan, "plan is null")),
+                constant(requireNonNull(jsonPlan, "jsonPlan is null")),
+                constant(requireNonNull(graphvizPlan, "graphvizPlan is null")),
+                constant(requireNonNull(payload, "payload is null")),
+                runtimeOptimizedStages,
+                tracingId,
+                updateQueryType);
+    }
+
+    /**
+     * Creates metadata whose plans and payload are rendered on first access of their getters.
+     */
+    public QueryMetadata(
+            String queryId,
+            Optional<String> transactionId,
+            String query,
+            String queryHash,
+            Optional<String> preparedQuery,
+            String queryState,
+            URI uri,
+            Supplier<Optional<String>> plan,
+            Supplier<Optional<String>> jsonPlan,
+            Supplier<Optional<String>> graphvizPlan,
+            Supplier<Optional<String>> payload,
+            List<String> runtimeOptimizedStages,
+            Optional<String> tracingId,
+            Optional<String> updateQueryType)
     {
         this.queryId = requireNonNull(queryId, "queryId is null");
         this.transactionId = requireNonNull(transactionId, "transactionId is null");
@@ -67,10 +106,10 @@ public class QueryMetadata
         this.preparedQuery = requireNonNull(preparedQuery, "preparedQuery is null");
         this.queryState = requireNonNull(queryState, "queryState is null");
         this.uri = requireNonNull(uri, "uri is null");
-        this.plan = requireNonNull(plan, "plan is null");
-        this.jsonPlan = requireNonNull(jsonPlan, "jsonPlan is null");
-        this.graphvizPlan = requireNonNull(graphvizPlan, "graphvizPlan is null");
-        this.payload = requireNonNull(payload, "payload is null");
+        this.plan = memoizedSupplier(requireNonNull(plan, "plan is null"));
+        this.jsonPlan = memoizedSupplier(requireNonNull(jsonPlan, "jsonPlan is null"));
+        this.graphvizPlan = memoizedSupplier(requireNonNull(graphvizPlan, "graphvizPlan is null"));
+        this.payload = memoizedSupplier(requireNonNull(payload, "payload is null"));
         this.runtimeOptimizedStages = requireNonNull(runtimeOptimizedStages, "runtimeOptimizedStages is null");
         this.tracingId = requireNonNull(tracingId, "tracingId is null");
         this.updateQueryType = requireNonNull(updateQueryType, "updateQueryType is null");
@@ -121,25 +160,25 @@ public class QueryMetadata
     @JsonProperty
     public Optional<String> getPlan()
     {
-        return plan;
+        return plan.get();
     }
 
     @JsonProperty
     public Optional<String> getJsonPlan()
     {
-        return jsonPlan;
+        return jsonPlan.get();
     }
 
     @JsonProperty
     public Optional<String> getGraphvizPlan()
     {
-        return graphvizPlan;
+        return graphvizPlan.get();
     }
 
     @JsonProperty
     public Optional<String> getPayload()
     {
-        return payload;
+        return payload.get();
     }
 
     @JsonProperty
@@ -158,4 +197,9 @@ public class QueryMetadata
     {
         return updateQueryType;
     }
+
+    private static Supplier<Optional<String>> constant(Optional<String> value)
+    {
+        return () -> value;
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.spi.eventlistener;
+
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+
+public class TestQueryMetadata
+{
+    @Test
+    public void testPlansAreRenderedOnlyWhenRequested()
+    {
+        AtomicInteger renderCount = new AtomicInteger();
+        QueryMetadata metadata = new QueryMetadata(
+                "query_id",
+                Optional.empty(),
+                "SELECT 1",
+                "hash",
+                Optional.empty(),
+                "FINISHED",
+                URI.create("http://localhost"),
+                () -> {
+                    renderCount.incrementAndGet();
+                    return Optional.of("plan");
+                },
+                Optional::empty,
+                Optional::empty,
+                Optional::empty,
+                emptyList(),
+                Optional.empty(),
+                Optional.empty());
+
+        assertEquals(renderCount.get(), 0);
+        assertEquals(metadata.getPlan(), Optional.of("plan"));
+        assertEquals(metadata.getPlan(), Optional.of("plan"));
+        assertEquals(renderCount.get(), 1);
+    }
+}